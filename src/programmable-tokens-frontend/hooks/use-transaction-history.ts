@@ -28,8 +28,8 @@ export function useTransactionHistory(stakeKeyHash: string | null, protocolTxHas
           limit,
         };
 
-        const data = await getTransactionHistory(params);
-        setHistory(data);
+        const page = await getTransactionHistory(params);
+        setHistory(page.items);
       } catch (err) {
         setError(err instanceof Error ? err.message : 'Failed to load transaction history');
         setHistory([]);
@@ -54,7 +54,7 @@ export function useTransactionHistory(stakeKeyHash: string | null, protocolTxHas
         protocolTxHash,
         limit,
       })
-        .then(setHistory)
+        .then(page => setHistory(page.items))
         .catch(err => setError(err.message))
         .finally(() => setIsLoading(false));
     },
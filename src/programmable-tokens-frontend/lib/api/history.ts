@@ -2,13 +2,14 @@
  * Transaction History API
  */
 
-import { TransactionHistoryResponse } from '@/types/api';
+import { TransactionHistoryPage } from '@/types/api';
 import { apiGet } from './client';
 
 export interface GetHistoryParams {
   stakeKeyHash: string;
   protocolTxHash?: string;
   limit?: number;
+  cursor?: string;
 }
 
 /**
@@ -16,12 +17,12 @@ export interface GetHistoryParams {
  * Optionally filter by protocol version (protocolTxHash)
  *
  * @param params - Query parameters
- * @returns List of transaction history entries
+ * @returns Page of transaction history entries with the cursor of the next page
  */
 export async function getTransactionHistory(
   params: GetHistoryParams
-): Promise<TransactionHistoryResponse> {
-  const { stakeKeyHash, protocolTxHash, limit = 10 } = params;
+): Promise<TransactionHistoryPage> {
+  const { stakeKeyHash, protocolTxHash, limit = 10, cursor } = params;
 
   // Build query string
   const queryParams = new URLSearchParams({
@@ -32,7 +33,11 @@ export async function getTransactionHistory(
     queryParams.append('protocolTxHash', protocolTxHash);
   }
 
+  if (cursor) {
+    queryParams.append('cursor', cursor);
+  }
+
   const endpoint = `/history/by-stake/${stakeKeyHash}?${queryParams.toString()}`;
 
-  return apiGet<TransactionHistoryResponse>(endpoint);
+  return apiGet<TransactionHistoryPage>(endpoint);
 }
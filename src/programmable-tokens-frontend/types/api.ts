@@ -164,6 +164,11 @@ export interface TransactionHistoryEntry {
 
 export type TransactionHistoryResponse = TransactionHistoryEntry[];
 
+export interface TransactionHistoryPage {
+  items: TransactionHistoryEntry[];
+  nextCursor: string | null; // Pass back as `cursor` for the next page
+}
+
 // ============================================================================
 // API Error
 // ============================================================================
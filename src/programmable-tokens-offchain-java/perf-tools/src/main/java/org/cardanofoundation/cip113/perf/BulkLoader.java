@@ -0,0 +1,107 @@
+package org.cardanofoundation.cip113.perf;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk load of the rows of one table as CSV: streamed through {@code COPY ... FROM STDIN} on PostgreSQL,
+ * written to a temporary file read with {@code CSVREAD} on H2.
+ * <p>
+ * Strings are quoted, so an empty string stays one, and {@code null} is written as an empty unquoted value.
+ */
+class BulkLoader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Connection connection;
+
+    private final String table;
+
+    private final String columns;
+
+    private final Path file;
+
+    private final Writer writer;
+
+    private long rows;
+
+    private BulkLoader(Connection connection, String table, String columns, Path file, Writer writer) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.file = file;
+        this.writer = writer;
+    }
+
+    static BulkLoader open(Connection connection, String table, String... columns) throws SQLException, IOException {
+        String columnList = String.join(", ", columns);
+        String database = connection.getMetaData().getDatabaseProductName();
+        if ("PostgreSQL".equals(database)) {
+            var copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+                    "COPY " + table + " (" + columnList + ") FROM STDIN WITH (FORMAT csv)", BUFFER_SIZE);
+            return new BulkLoader(connection, table, columnList, null,
+                    new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE));
+        }
+        if ("H2".equals(database)) {
+            Path file = Files.createTempFile(table, ".csv");
+            return new BulkLoader(connection, table, columnList, file, Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+        }
+        throw new IllegalArgumentException("Bulk loading into " + database + " is not supported");
+    }
+
+    static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    void row(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value instanceof String string) {
+                writer.write('"');
+                writer.write(string.replace("\"", "\"\""));
+                writer.write('"');
+            } else if (value != null) {
+                writer.write(value.toString());
+            }
+        }
+        writer.write('\n');
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    /**
+     * Complete the load, the rows are in the table afterwards
+     */
+    @Override
+    public void close() throws IOException, SQLException {
+        // Closing the COPY stream ends the COPY
+        writer.close();
+        if (file == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO " + table + " (" + columns + ") SELECT * FROM CSVREAD('"
+                    + file.toAbsolutePath().toString().replace("'", "''") + "', '"
+                    + columns.replace(" ", "") + "', 'charset=UTF-8')");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
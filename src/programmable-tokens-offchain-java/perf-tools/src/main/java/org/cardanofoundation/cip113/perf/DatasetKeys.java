@@ -0,0 +1,124 @@
+package org.cardanofoundation.cip113.perf;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Keys the endpoints are called with, sampled from the database the application reads.
+ * <p>
+ * Balance keys come from the most recent balance log entries, so requests favour the addresses
+ * that are active, and are picked uniformly from the sample.
+ *
+ * @param keys values by key name, see the placeholders of {@link Endpoint}
+ */
+public record DatasetKeys(Map<String, List<String>> keys) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Sample the keys of a dataset
+     *
+     * @param connection connection to the application database
+     * @param sampleSize balance log entries and registry nodes to read
+     */
+    public static DatasetKeys sample(Connection connection, int sampleSize) throws SQLException {
+        Map<String, Set<String>> sampled = new HashMap<>();
+
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT address, payment_script_hash, stake_key_hash, tx_hash, slot, balance
+                FROM balance_log
+                ORDER BY id DESC
+                LIMIT ?""")) {
+            statement.setInt(1, sampleSize);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    add(sampled, "address", resultSet.getString("address"));
+                    add(sampled, "paymentScriptHash", resultSet.getString("payment_script_hash"));
+                    add(sampled, "stakeKeyHash", resultSet.getString("stake_key_hash"));
+                    add(sampled, "txHash", resultSet.getString("tx_hash"));
+                    add(sampled, "slot", Long.toString(resultSet.getLong("slot")));
+                    units(resultSet.getString("balance")).forEach(unit -> add(sampled, "unit", unit));
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT key FROM registry_node WHERE key <> '' ORDER BY id DESC LIMIT ?")) {
+            statement.setInt(1, sampleSize);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    add(sampled, "policyId", resultSet.getString("key"));
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM protocol_params");
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                add(sampled, "protocolParamsId", Long.toString(resultSet.getLong("id")));
+            }
+        }
+
+        Map<String, List<String>> keys = new HashMap<>();
+        sampled.forEach((name, values) -> keys.put(name, List.copyOf(values)));
+        return new DatasetKeys(keys);
+    }
+
+    /**
+     * Fail when an endpoint of the mix needs a key the dataset has none of
+     *
+     * @throws IllegalStateException naming the endpoint and the missing key
+     */
+    public void checkCovers(Set<Endpoint> endpoints) {
+        for (Endpoint endpoint : endpoints) {
+            for (String name : endpoint.keyNames()) {
+                if (keys.getOrDefault(name, List.of()).isEmpty()) {
+                    throw new IllegalStateException("No " + name + " in the dataset for " + endpoint);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pick a random key
+     */
+    public String pick(String name, SplittableRandom random) {
+        List<String> values = keys.get(name);
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static void add(Map<String, Set<String>> sampled, String name, String value) {
+        if (value != null) {
+            sampled.computeIfAbsent(name, k -> new LinkedHashSet<>()).add(value);
+        }
+    }
+
+    private static List<String> units(String balanceJson) {
+        try {
+            Map<String, String> balance = OBJECT_MAPPER.readValue(balanceJson, new TypeReference<>() {
+            });
+            return balance.keySet().stream().filter(unit -> !"lovelace".equals(unit)).toList();
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    @Override
+    public String toString() {
+        List<String> sizes = new ArrayList<>();
+        keys.forEach((name, values) -> sizes.add(name + "=" + values.size()));
+        return "DatasetKeys" + sizes;
+    }
+}
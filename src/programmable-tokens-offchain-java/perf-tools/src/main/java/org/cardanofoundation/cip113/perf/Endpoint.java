@@ -0,0 +1,72 @@
+package org.cardanofoundation.cip113.perf;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Read endpoints driven by the load generator.
+ * <p>
+ * Paths are relative to the API prefix, {@code {name}} placeholders are filled with keys of the
+ * same name sampled from the dataset (see {@link DatasetKeys}).
+ */
+public enum Endpoint {
+
+    // BalanceController
+    BALANCE_CURRENT("/balances/current/{address}"),
+    BALANCE_CURRENT_UNIT("/balances/current/{address}/{unit}"),
+    BALANCE_AT_SLOT("/balances/at-slot/{address}?slot={slot}"),
+    BALANCE_BY_PAYMENT("/balances/current-by-payment/{paymentScriptHash}?limit=100"),
+    BALANCE_BY_STAKE("/balances/current-by-stake/{stakeKeyHash}?limit=100"),
+    BALANCE_HISTORY("/balances/history/{address}?limit=100"),
+    BALANCE_TRANSACTIONS("/balances/transactions/{address}?limit=100"),
+    BALANCE_BY_TRANSACTION("/balances/by-transaction/{txHash}"),
+    BALANCE_PROGRAMMABLE_ONLY("/balances/programmable-only/{address}"),
+
+    // HistoryController
+    HISTORY_BY_STAKE("/history/by-stake/{stakeKeyHash}?limit=10"),
+
+    // RegistryController
+    REGISTRY_TOKENS("/registry/tokens?limit=100"),
+    REGISTRY_TOKEN("/registry/token/{policyId}"),
+    REGISTRY_IS_REGISTERED("/registry/is-registered/{policyId}"),
+    REGISTRY_PROTOCOLS("/registry/protocols"),
+    REGISTRY_NODES("/registry/nodes/all?protocolParamsId={protocolParamsId}&limit=100"),
+
+    // ProtocolParamsController
+    PROTOCOL_PARAMS_LATEST("/protocol-params/latest"),
+    PROTOCOL_PARAMS_VALID_AT_SLOT("/protocol-params/valid-at-slot/{slot}"),
+    PROTOCOL_PARAMS_VERSIONS("/protocol-params/versions");
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+
+    private final String template;
+
+    Endpoint(String template) {
+        this.template = template;
+    }
+
+    /**
+     * Names of the dataset keys this endpoint needs
+     */
+    public List<String> keyNames() {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        return names;
+    }
+
+    /**
+     * Build a path with every placeholder replaced by a random key of the dataset
+     */
+    public String path(DatasetKeys keys, SplittableRandom random) {
+        return PLACEHOLDER.matcher(template).replaceAll(match -> Matcher.quoteReplacement(
+                URLEncoder.encode(keys.pick(match.group(1), random), StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,189 @@
+package org.cardanofoundation.cip113.perf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the read API with a weighted mix of endpoints, one virtual thread per request in flight.
+ * <p>
+ * With a target rate (open model) requests are due at fixed intervals whatever the response times,
+ * at most {@code concurrency} are in flight and the latency of a request counts from the time it was
+ * due, so a slow server is not hidden by the generator slowing down with it. Without a target rate
+ * (closed model) {@code concurrency} clients send their next request as soon as the previous one
+ * completed, which measures the throughput the application saturates at.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private final Workload workload;
+
+    private final DatasetKeys keys;
+
+    private final HttpClient httpClient;
+
+    private final Map<Endpoint, LoadReport.Recorder> recorders = new EnumMap<>(Endpoint.class);
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    // Cumulative weights of the endpoints, in the same order
+    private final int[] weights;
+
+    public LoadGenerator(Workload workload, DatasetKeys keys, HttpClient httpClient) {
+        this.workload = workload;
+        this.keys = keys;
+        this.httpClient = httpClient;
+
+        workload.mix().forEach((endpoint, weight) -> {
+            if (weight > 0) {
+                endpoints.add(endpoint);
+                recorders.put(endpoint, new LoadReport.Recorder());
+            }
+        });
+        keys.checkCovers(recorders.keySet());
+
+        weights = new int[endpoints.size()];
+        int cumulative = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            cumulative += workload.mix().get(endpoints.get(i));
+            weights[i] = cumulative;
+        }
+    }
+
+    public LoadReport run() throws InterruptedException {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(workload.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(workload.durationSeconds());
+
+        log.info("Running {} for {}s after a {}s warmup against {}", endpoints, workload.durationSeconds(),
+                workload.warmupSeconds(), workload.baseUrl());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (workload.requestsPerSecond() > 0) {
+                runOpen(executor, start, measureFrom, end);
+            } else {
+                runClosed(executor, measureFrom, end);
+            }
+        }
+
+        return report(startedAt);
+    }
+
+    private void runOpen(ExecutorService executor, long start, long measureFrom, long end) throws InterruptedException {
+        var inFlight = new Semaphore(workload.concurrency());
+        var random = new SplittableRandom(workload.seed());
+        double interval = TimeUnit.SECONDS.toNanos(1) / workload.requestsPerSecond();
+
+        for (long n = 0; ; n++) {
+            long due = start + (long) (n * interval);
+            if (due >= end) {
+                return;
+            }
+            sleepUntil(due);
+            var request = next(random);
+            // Waiting for a free slot delays the request, the delay is part of its latency
+            inFlight.acquire();
+            executor.submit(() -> {
+                try {
+                    send(request, due, measureFrom);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void runClosed(ExecutorService executor, long measureFrom, long end) {
+        for (int client = 0; client < workload.concurrency(); client++) {
+            var random = new SplittableRandom(workload.seed() + client);
+            executor.submit(() -> {
+                long sent;
+                while ((sent = System.nanoTime()) < end) {
+                    send(next(random), sent, measureFrom);
+                }
+            });
+        }
+    }
+
+    private Request next(SplittableRandom random) {
+        int pick = random.nextInt(weights[weights.length - 1]);
+        int index = 0;
+        while (weights[index] <= pick) {
+            index++;
+        }
+        Endpoint endpoint = endpoints.get(index);
+        return new Request(endpoint, URI.create(workload.baseUrl() + workload.apiPrefix() + endpoint.path(keys, random)));
+    }
+
+    private void send(Request request, long due, long measureFrom) {
+        int status;
+        try {
+            var httpRequest = HttpRequest.newBuilder(request.uri())
+                    .timeout(Duration.ofMillis(workload.timeoutMillis()))
+                    .GET()
+                    .build();
+            status = httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            log.debug("Request to {} failed: {}", request.uri(), e.toString());
+            status = 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (due >= measureFrom) {
+            recorders.get(request.endpoint()).record(System.nanoTime() - due, status);
+        }
+    }
+
+    private LoadReport report(Instant startedAt) {
+        double seconds = workload.durationSeconds();
+        var total = new Histogram(3);
+        Map<Integer, Long> totalStatuses = new TreeMap<>();
+        Map<Endpoint, LoadReport.Stats> stats = new EnumMap<>(Endpoint.class);
+
+        recorders.forEach((endpoint, recorder) -> {
+            Map<Integer, Long> statuses = recorder.statuses();
+            total.add(recorder.latencies());
+            statuses.forEach((status, count) -> totalStatuses.merge(status, count, Long::sum));
+            stats.put(endpoint, LoadReport.stats(recorder.latencies(), statuses, seconds));
+        });
+
+        return new LoadReport(startedAt.toString(),
+                workload.baseUrl(),
+                workload.requestsPerSecond() > 0 ? "open" : "closed",
+                workload.concurrency(),
+                workload.requestsPerSecond(),
+                workload.durationSeconds(),
+                LoadReport.stats(total, totalStatuses, seconds),
+                stats);
+    }
+
+    private static void sleepUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private record Request(Endpoint endpoint, URI uri) {
+    }
+}
@@ -0,0 +1,103 @@
+package org.cardanofoundation.cip113.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Result of a load test run, written as JSON
+ *
+ * @param startedAt         ISO-8601 start of the run
+ * @param baseUrl           the application under test
+ * @param model             {@code open} at a target rate or {@code closed} loop
+ * @param concurrency       requests in flight at most
+ * @param requestsPerSecond target rate, 0 in a closed loop
+ * @param durationSeconds   measured time, the warmup excluded
+ * @param total             all endpoints together
+ * @param endpoints         each endpoint of the mix
+ */
+public record LoadReport(String startedAt,
+                         String baseUrl,
+                         String model,
+                         int concurrency,
+                         double requestsPerSecond,
+                         int durationSeconds,
+                         Stats total,
+                         Map<Endpoint, Stats> endpoints) {
+
+    /**
+     * Measurements of one endpoint or of the whole run. Latencies are in milliseconds and, in an open
+     * model run, measured from the time a request was due so that queueing behind slow responses counts.
+     *
+     * @param requests   completed requests
+     * @param errors     requests failed with a 4xx/5xx status, a timeout or a connection error
+     * @param errorRate  errors / requests
+     * @param throughput completed requests per second
+     * @param statuses   requests by HTTP status, 0 for requests without a response
+     */
+    public record Stats(long requests,
+                        long errors,
+                        double errorRate,
+                        double throughput,
+                        double p50Millis,
+                        double p99Millis,
+                        double p999Millis,
+                        double maxMillis,
+                        Map<Integer, Long> statuses) {
+    }
+
+    /**
+     * Collects the measurements of one endpoint, safe for concurrent requests
+     */
+    static class Recorder {
+
+        // Nanoseconds with 3 significant digits, resized as needed
+        private final Histogram latencies = new ConcurrentHistogram(3);
+
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, int status) {
+            latencies.recordValue(latencyNanos);
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+
+        Histogram latencies() {
+            return latencies;
+        }
+
+        Map<Integer, Long> statuses() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+
+    static Stats stats(Histogram latencies, Map<Integer, Long> statuses, double seconds) {
+        long requests = latencies.getTotalCount();
+        long errors = statuses.entrySet().stream()
+                .filter(entry -> isError(entry.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        return new Stats(requests,
+                errors,
+                requests == 0 ? 0 : (double) errors / requests,
+                requests / seconds,
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()),
+                statuses);
+    }
+
+    static boolean isError(int status) {
+        return status == 0 || status >= 400;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,63 @@
+package org.cardanofoundation.cip113.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs a workload against a locally started application and prints the report.
+ * <p>
+ * Usage: {@code LoadTest <workload.json> [report.json]}
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: LoadTest <workload.json> [report.json]");
+            System.exit(2);
+        }
+
+        var objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Workload workload = objectMapper.readValue(Path.of(args[0]).toFile(), Workload.class);
+
+        DatasetKeys keys;
+        var database = workload.database();
+        try (Connection connection = DriverManager.getConnection(database.url(), database.user(), database.password())) {
+            if (workload.synthetic() != null) {
+                new SyntheticDataset(workload.synthetic(), workload.seed()).seedIfEmpty(connection);
+            }
+            keys = DatasetKeys.sample(connection, workload.sampleSize());
+        }
+        log.info("Sampled {}", keys);
+
+        LoadReport report;
+        try (var httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofMillis(workload.timeoutMillis()))
+                    .executor(httpExecutor)
+                    .build();
+            report = new LoadGenerator(workload, keys, httpClient).run();
+        }
+
+        String json = objectMapper.writeValueAsString(report);
+        if (args.length == 2) {
+            Path reportFile = Path.of(args[1]);
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            Files.writeString(reportFile, json);
+            log.info("Report written to {}", reportFile);
+        }
+        System.out.println(json);
+    }
+}
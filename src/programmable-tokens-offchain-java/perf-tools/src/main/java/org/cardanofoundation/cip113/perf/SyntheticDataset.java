@@ -0,0 +1,539 @@
+package org.cardanofoundation.cip113.perf;
+
+import com.bloxbean.cardano.client.address.AddressProvider;
+import com.bloxbean.cardano.client.address.Credential;
+import com.bloxbean.cardano.client.common.model.Networks;
+import com.bloxbean.cardano.client.util.HexUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * Generates a deterministic dataset shaped like mainnet into an empty application database:
+ * several protocol params versions, each with its registry of programmable tokens, and the balance
+ * history, current holdings and supply of those tokens.
+ * <p>
+ * Address activity is Zipfian: the address of rank r gets a share of the balance entries proportional
+ * to 1 / r^s, so a few addresses have long histories and most have a handful of entries. Addresses
+ * hold up to {@code maxAssetsPerAddress} units, picked with a bias towards the popular tokens of
+ * their protocol version, and some stake keys own addresses of several versions. Every registry is a
+ * linked list in key order ending at the tail marker. The holdings are the last balance of each
+ * address and the supply of a unit is the sum of its holdings.
+ * <p>
+ * Each table is bulk loaded in one pass (see {@link BulkLoader}). Addresses are derived from the seed
+ * and their index, so the balance and holding passes replay the same histories without keeping them
+ * in memory. The Flyway migrations must have run, i.e. the application must have been started once
+ * against the database.
+ */
+@Slf4j
+public class SyntheticDataset {
+
+    /**
+     * Size and shape of the dataset, absent fields take the defaults below
+     *
+     * @param addresses           programmable token addresses
+     * @param balanceEntries      balance log entries, about
+     * @param tokens              registered programmable tokens over all protocol versions
+     * @param protocolVersions    protocol params versions, at most 64
+     * @param maxAssetsPerAddress units an address holds at most
+     * @param zipfExponent        exponent s of the address activity distribution
+     */
+    public record Size(Integer addresses,
+                       Long balanceEntries,
+                       Integer tokens,
+                       Integer protocolVersions,
+                       Integer maxAssetsPerAddress,
+                       Double zipfExponent) {
+
+        public Size {
+            addresses = addresses != null ? addresses : 20_000;
+            balanceEntries = balanceEntries != null ? balanceEntries : 500_000L;
+            tokens = tokens != null ? tokens : 200;
+            protocolVersions = protocolVersions != null ? protocolVersions : 3;
+            maxAssetsPerAddress = maxAssetsPerAddress != null ? maxAssetsPerAddress : 20;
+            zipfExponent = zipfExponent != null ? zipfExponent : 1.0;
+
+            if (addresses < 1 || balanceEntries < addresses || maxAssetsPerAddress < 1 || zipfExponent <= 0) {
+                throw new IllegalArgumentException("addresses, maxAssetsPerAddress and zipfExponent must be positive, "
+                        + "balanceEntries at least addresses");
+            }
+            if (protocolVersions < 1 || protocolVersions > 64 || tokens < protocolVersions) {
+                throw new IllegalArgumentException("protocolVersions must be between 1 and 64, tokens at least protocolVersions");
+            }
+        }
+    }
+
+    /**
+     * A dataset to generate, read from a JSON file (see {@code datasets/})
+     */
+    public record Spec(Workload.Database database, Long seed, Size size) {
+    }
+
+    private static final String REGISTRY_TAIL = "ff".repeat(30);
+
+    private static final String ASSET_NAME = HexUtil.encodeHexString("token".getBytes());
+
+    private static final long FIRST_SLOT = 100_000_000L;
+
+    // About three years of slots
+    private static final long SLOT_SPAN = 100_000_000L;
+
+    private static final long LOG_EVERY = 1_000_000L;
+
+    // Salts separating the random streams derived from the seed
+    private static final long STAKE_SALT = 0x5A17L;
+
+    private static final long SUPPLY_SALT = 0x5C9917L;
+
+    private final Size size;
+
+    private final long seed;
+
+    private final String createdAt = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME).replace('T', ' ');
+
+    public SyntheticDataset(Size size, long seed) {
+        this.size = size;
+        this.seed = seed;
+    }
+
+    /**
+     * Generate the dataset given as JSON file
+     * <p>
+     * Usage: {@code SyntheticDataset <dataset.json>}
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: SyntheticDataset <dataset.json>");
+            System.exit(2);
+        }
+        Spec spec = new ObjectMapper().readValue(Path.of(args[0]).toFile(), Spec.class);
+        var database = spec.database() != null ? spec.database() : new Workload.Database(null, null, null);
+        var size = spec.size() != null ? spec.size() : new Size(null, null, null, null, null, null);
+        try (Connection connection = DriverManager.getConnection(database.url(), database.user(), database.password())) {
+            new SyntheticDataset(size, spec.seed() != null ? spec.seed() : 1L).seedIfEmpty(connection);
+        }
+    }
+
+    /**
+     * Generate the dataset in one transaction unless the tables already have rows
+     *
+     * @return whether the dataset was generated
+     */
+    public boolean seedIfEmpty(Connection connection) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("""
+                     SELECT EXISTS (SELECT 1 FROM balance_log) OR EXISTS (SELECT 1 FROM protocol_params)
+                            OR EXISTS (SELECT 1 FROM registry_node)""")) {
+            resultSet.next();
+            if (resultSet.getBoolean(1)) {
+                log.info("The database has data, not generating the synthetic dataset");
+                return false;
+            }
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            generate(connection);
+            connection.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return true;
+    }
+
+    /**
+     * Load the dataset into empty tables, within the caller's transaction
+     */
+    public void generate(Connection connection) throws SQLException, IOException {
+        long start = System.nanoTime();
+        List<Version> versions = versions();
+        String[] policyIds = policyIds(versions);
+
+        loadProtocolParams(connection, versions);
+        int registryNodes = loadRegistry(connection, versions, policyIds);
+        loadAssetUnits(connection, policyIds);
+        loadHolderAddresses(connection, versions);
+        long entries = loadBalances(connection, versions, policyIds);
+        long[] supply = loadHoldings(connection, versions);
+        loadSupply(connection, versions, policyIds, supply);
+        restartIdentities(connection, versions.size(), registryNodes);
+
+        log.info("Generated {} protocol versions, {} tokens, {} addresses and {} balance entries in {}s",
+                versions.size(), policyIds.length, size.addresses(), entries, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    /**
+     * A protocol params version and the range of token indexes registered in it
+     */
+    private record Version(int id, long slot, String progLogicScriptHash, byte[] progLogicScript,
+                           String registryNodePolicyId, String txHash, int firstToken, int tokens) {
+    }
+
+    /**
+     * An address, its share of the balance entries and the random stream of its history
+     */
+    private record Address(int id, Version version, String stakeKeyHash, String bech32, long entries,
+                           int targetAssets, SplittableRandom random) {
+    }
+
+    private List<Version> versions() {
+        var random = new SplittableRandom(seed);
+        int count = size.protocolVersions();
+        List<Version> versions = new ArrayList<>();
+        int firstToken = 0;
+        for (int v = 0; v < count; v++) {
+            // Versions are published over the first half of the chain
+            long slot = FIRST_SLOT + v * SLOT_SPAN / (2L * count);
+            int tokens = v < count - 1 ? size.tokens() / count : size.tokens() - firstToken;
+            byte[] progLogicScript = bytes(random, 28);
+            versions.add(new Version(v + 1, slot, HexUtil.encodeHexString(progLogicScript), progLogicScript,
+                    hex(random, 28), hex(random, 32), firstToken, tokens));
+            firstToken += tokens;
+        }
+        return versions;
+    }
+
+    private String[] policyIds(List<Version> versions) {
+        var random = new SplittableRandom(seed + 1);
+        var all = new TreeSet<String>();
+        String[] policyIds = new String[size.tokens()];
+        for (Version version : versions) {
+            var keys = new TreeSet<String>();
+            while (keys.size() < version.tokens()) {
+                String key = hex(random, 28);
+                if (all.add(key)) {
+                    keys.add(key);
+                }
+            }
+            int index = version.firstToken();
+            for (String key : keys) {
+                policyIds[index++] = key;
+            }
+        }
+        return policyIds;
+    }
+
+    private void loadProtocolParams(Connection connection, List<Version> versions) throws SQLException, IOException {
+        try (var loader = BulkLoader.open(connection, "protocol_params", "id", "registry_node_policy_id",
+                "prog_logic_script_hash", "tx_hash", "slot", "block_height", "created_at")) {
+            for (Version version : versions) {
+                loader.row(version.id(), version.registryNodePolicyId(), version.progLogicScriptHash(), version.txHash(),
+                        version.slot(), blockHeight(version.slot()), createdAt);
+            }
+        }
+    }
+
+    private int loadRegistry(Connection connection, List<Version> versions, String[] policyIds)
+            throws SQLException, IOException {
+        var random = new SplittableRandom(seed + 2);
+        long id = 1;
+        try (var loader = BulkLoader.open(connection, "registry_node", "id", "key", "next", "transfer_logic_script",
+                "third_party_transfer_logic_script", "global_state_policy_id", "protocol_params_id", "last_tx_hash",
+                "last_slot", "last_block_height", "created_at", "updated_at")) {
+            for (Version version : versions) {
+                // Registry keys are unique over all versions, only the first version can have the empty head key
+                List<String> keys = new ArrayList<>(Arrays.asList(policyIds)
+                        .subList(version.firstToken(), version.firstToken() + version.tokens()));
+                if (version.id() == 1) {
+                    keys.addFirst("");
+                }
+                for (int i = 0; i < keys.size(); i++) {
+                    long slot = version.slot() + 1 + random.nextLong(SLOT_SPAN / 10);
+                    loader.row(id++, keys.get(i), i + 1 < keys.size() ? keys.get(i + 1) : REGISTRY_TAIL,
+                            hex(random, 28), hex(random, 28), random.nextInt(4) == 0 ? hex(random, 28) : null,
+                            version.id(), hex(random, 32), slot, blockHeight(slot), createdAt, createdAt);
+                }
+            }
+            return (int) loader.rows();
+        }
+    }
+
+    private void loadAssetUnits(Connection connection, String[] policyIds) throws SQLException, IOException {
+        try (var loader = BulkLoader.open(connection, "asset_unit", "id", "unit")) {
+            for (int token = 0; token < policyIds.length; token++) {
+                loader.row(token + 1L, policyIds[token] + ASSET_NAME);
+            }
+        }
+    }
+
+    private void loadHolderAddresses(Connection connection, List<Version> versions) throws SQLException, IOException {
+        try (var loader = BulkLoader.open(connection, "holder_address", "id", "address")) {
+            for (Address address : addresses(versions)) {
+                loader.row((long) address.id(), address.bech32());
+            }
+        }
+    }
+
+    private long loadBalances(Connection connection, List<Version> versions, String[] policyIds)
+            throws SQLException, IOException {
+        try (var loader = BulkLoader.open(connection, "balance_log", "address", "payment_script_hash",
+                "stake_key_hash", "tx_hash", "slot", "block_height", "balance", "transaction_type", "balance_diff",
+                "created_at")) {
+            for (Address address : addresses(versions)) {
+                replay(address, (history, slot, txHash, type, unit, delta) -> {
+                    loader.row(address.bech32(), address.version().progLogicScriptHash(), address.stakeKeyHash(), txHash,
+                            slot, blockHeight(slot), history.balanceJson(policyIds), type,
+                            "{\"" + policyIds[unit] + ASSET_NAME + "\":\"" + (delta > 0 ? "+" : "") + delta + "\"}",
+                            createdAt);
+                    if (loader.rows() % LOG_EVERY == 0) {
+                        log.info("{} balance entries", loader.rows());
+                    }
+                });
+            }
+            return loader.rows();
+        }
+    }
+
+    private long[] loadHoldings(Connection connection, List<Version> versions) throws SQLException, IOException {
+        long[] supply = new long[size.tokens()];
+        try (var loader = BulkLoader.open(connection, "holding_current", "unit_id", "address_id", "amount", "last_slot")) {
+            for (Address address : addresses(versions)) {
+                History history = replay(address, null);
+                for (int i = 0; i < history.count; i++) {
+                    loader.row(history.units[i] + 1L, (long) address.id(), history.amounts[i], history.lastSlot);
+                    supply[history.units[i]] += history.amounts[i];
+                }
+            }
+        }
+        return supply;
+    }
+
+    private void loadSupply(Connection connection, List<Version> versions, String[] policyIds, long[] supply)
+            throws SQLException, IOException {
+        try (var loader = BulkLoader.open(connection, "token_supply", "unit", "policy_id", "tx_hash", "slot",
+                "block_height", "quantity", "supply")) {
+            for (Version version : versions) {
+                for (int token = version.firstToken(); token < version.firstToken() + version.tokens(); token++) {
+                    if (supply[token] == 0) {
+                        continue;
+                    }
+                    // The current supply minted over a few transactions
+                    var random = new SplittableRandom(seed + SUPPLY_SALT + token);
+                    int mints = (int) Math.min(supply[token], 1 + random.nextInt(5));
+                    long slot = version.slot();
+                    long minted = 0;
+                    for (int m = 0; m < mints; m++) {
+                        long remaining = supply[token] - minted;
+                        long quantity = m < mints - 1 ? 1 + random.nextLong(remaining - (mints - m - 1)) / 2 : remaining;
+                        minted += quantity;
+                        slot += 1 + random.nextLong(SLOT_SPAN / (2L * mints));
+                        loader.row(policyIds[token] + ASSET_NAME, policyIds[token], hex(random, 32), slot, blockHeight(slot),
+                                quantity, minted);
+                    }
+                }
+            }
+        }
+    }
+
+    private void restartIdentities(Connection connection, int protocolParams, int registryNodes) throws SQLException {
+        // Ids were given explicitly, rows inserted later take the next ones
+        long[] next = {protocolParams + 1L, registryNodes + 1L, size.tokens() + 1L, size.addresses() + 1L};
+        String[] tables = {"protocol_params", "registry_node", "asset_unit", "holder_address"};
+        boolean postgres = BulkLoader.isPostgres(connection);
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < tables.length; i++) {
+                statement.execute(postgres
+                        ? "SELECT setval(pg_get_serial_sequence('" + tables[i] + "', 'id'), " + (next[i] - 1) + ")"
+                        : "ALTER TABLE " + tables[i] + " ALTER COLUMN id RESTART WITH " + next[i]);
+            }
+            if (postgres) {
+                for (String table : List.of("protocol_params", "registry_node", "asset_unit", "holder_address",
+                        "balance_log", "holding_current", "token_supply")) {
+                    statement.execute("ANALYZE " + table);
+                }
+            }
+        }
+    }
+
+    /**
+     * The addresses in id order, derived again on every iteration
+     */
+    private Iterable<Address> addresses(List<Version> versions) {
+        double harmonic = 0;
+        for (int rank = 1; rank <= size.addresses(); rank++) {
+            harmonic += Math.pow(rank, -size.zipfExponent());
+        }
+        double entriesPerWeight = size.balanceEntries() / harmonic;
+
+        return () -> new Iterator<>() {
+
+            private int index;
+
+            // Stake key shared by the last addresses and the versions they belong to
+            private int chainStake;
+
+            private long chainVersions;
+
+            @Override
+            public boolean hasNext() {
+                return index < size.addresses();
+            }
+
+            @Override
+            public Address next() {
+                int i = index++;
+                var random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + i);
+                // Later versions hold more addresses
+                Version version = versions.get((int) (versions.size() * Math.sqrt(random.nextDouble())));
+
+                // A stake key owns addresses of several versions now and then, never two of the same version
+                long versionBit = 1L << (version.id() - 1);
+                if (i > 0 && (chainVersions & versionBit) == 0 && random.nextInt(5) == 0) {
+                    chainVersions |= versionBit;
+                } else {
+                    chainStake = i;
+                    chainVersions = versionBit;
+                }
+                byte[] stakeKey = bytes(new SplittableRandom(seed + STAKE_SALT + chainStake), 28);
+
+                // Ranks are a permutation of the ids, so hot addresses are spread over the table
+                long rank = (i * 2_147_483_647L) % size.addresses() + 1;
+                long entries = Math.max(1, (long) (entriesPerWeight * Math.pow(rank, -size.zipfExponent()) + random.nextDouble()));
+                double skew = random.nextDouble();
+                int targetAssets = 1 + (int) (size.maxAssetsPerAddress() * skew * skew * 0.999);
+
+                String bech32 = AddressProvider.getBaseAddress(Credential.fromScript(version.progLogicScript()),
+                        Credential.fromKey(stakeKey), Networks.mainnet()).toBech32();
+                return new Address(i + 1, version, HexUtil.encodeHexString(stakeKey), bech32, entries, targetAssets, random);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface EntryConsumer {
+        void accept(History history, long slot, String txHash, String type, int unit, long delta) throws IOException;
+    }
+
+    /**
+     * Units held by an address and their amounts, in the order they were first received
+     */
+    private static class History {
+
+        private final int[] units;
+
+        private final long[] amounts;
+
+        private int count;
+
+        private long lovelace;
+
+        private long lastSlot;
+
+        History(int maxAssets) {
+            units = new int[maxAssets];
+            amounts = new long[maxAssets];
+        }
+
+        int indexOf(int unit) {
+            for (int i = 0; i < count; i++) {
+                if (units[i] == unit) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void remove(int i) {
+            count--;
+            units[i] = units[count];
+            amounts[i] = amounts[count];
+        }
+
+        String balanceJson(String[] policyIds) {
+            var json = new StringBuilder(32 + count * 90).append("{\"lovelace\":\"").append(lovelace).append('"');
+            for (int i = 0; i < count; i++) {
+                json.append(",\"").append(policyIds[units[i]]).append(ASSET_NAME).append("\":\"").append(amounts[i]).append('"');
+            }
+            return json.append('}').toString();
+        }
+    }
+
+    /**
+     * Play the history of an address
+     *
+     * @param consumer called after every entry, may be null
+     * @return the final balance
+     */
+    private History replay(Address address, EntryConsumer consumer) throws IOException {
+        var random = address.random();
+        var version = address.version();
+        var history = new History(address.targetAssets());
+
+        long slot = version.slot() + 1 + random.nextLong(SLOT_SPAN / 4);
+        long gap = Math.max(1, (FIRST_SLOT + SLOT_SPAN - slot) / address.entries());
+        for (long e = 0; e < address.entries(); e++) {
+            slot += 1 + random.nextLong(2 * gap);
+            String txHash = hex(random, 32);
+            history.lovelace = 1_500_000 + random.nextInt(1_500_000);
+
+            // Popular tokens of the version first
+            double skew = random.nextDouble();
+            int unit = version.firstToken() + (int) (version.tokens() * skew * skew);
+            int i = history.indexOf(unit);
+            if (i < 0 && history.count == history.units.length) {
+                i = random.nextInt(history.count);
+                unit = history.units[i];
+            }
+
+            long delta;
+            String type;
+            if (i < 0) {
+                delta = 1 + random.nextInt(1_000_000);
+                history.units[history.count] = unit;
+                history.amounts[history.count++] = delta;
+                type = e == 0 || random.nextInt(10) == 0 ? "MINT" : "TRANSFER";
+            } else if (random.nextBoolean()) {
+                delta = 1 + random.nextInt(1_000_000);
+                history.amounts[i] += delta;
+                type = "TRANSFER";
+            } else {
+                delta = -(1 + random.nextLong(history.amounts[i]));
+                history.amounts[i] += delta;
+                type = random.nextInt(20) == 0 ? "BURN" : "TRANSFER";
+                if (history.amounts[i] == 0) {
+                    history.remove(i);
+                }
+            }
+            history.lastSlot = slot;
+
+            if (consumer != null) {
+                consumer.accept(history, slot, txHash, type, unit, delta);
+            }
+        }
+        return history;
+    }
+
+    private static long blockHeight(long slot) {
+        // One block every 20 slots on average
+        return slot / 20;
+    }
+
+    private static byte[] bytes(SplittableRandom random, int length) {
+        byte[] value = new byte[length];
+        random.nextBytes(value);
+        return value;
+    }
+
+    private static String hex(SplittableRandom random, int length) {
+        return HexUtil.encodeHexString(bytes(random, length));
+    }
+}
@@ -0,0 +1,76 @@
+package org.cardanofoundation.cip113.perf;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A load test run, read from a JSON file (see {@code workloads/}). Absent fields take the defaults below.
+ *
+ * @param baseUrl           where the application listens
+ * @param apiPrefix         the application's {@code apiPrefix}
+ * @param mix               relative weight of each endpoint, all endpoints equally when absent
+ * @param concurrency       requests in flight at most
+ * @param requestsPerSecond target rate of an open model run, 0 for a closed loop of {@code concurrency} clients
+ * @param warmupSeconds     time before latencies are recorded
+ * @param durationSeconds   measured time
+ * @param timeoutMillis     time after which a request counts as failed
+ * @param seed              seed of the endpoint and key choices and of the synthetic dataset
+ * @param sampleSize        balance log entries and registry nodes the keys are sampled from
+ * @param database          database of the application, the keys are sampled from it
+ * @param synthetic         synthetic dataset seeded into an empty database, none when absent
+ */
+public record Workload(String baseUrl,
+                       String apiPrefix,
+                       Map<Endpoint, Integer> mix,
+                       Integer concurrency,
+                       Double requestsPerSecond,
+                       Integer warmupSeconds,
+                       Integer durationSeconds,
+                       Integer timeoutMillis,
+                       Long seed,
+                       Integer sampleSize,
+                       Database database,
+                       SyntheticDataset.Size synthetic) {
+
+    public Workload {
+        baseUrl = baseUrl != null ? baseUrl : "http://localhost:8080";
+        apiPrefix = apiPrefix != null ? apiPrefix : "/api/v1";
+        mix = mix != null ? mix : equalMix();
+        concurrency = concurrency != null ? concurrency : 64;
+        requestsPerSecond = requestsPerSecond != null ? requestsPerSecond : 0d;
+        warmupSeconds = warmupSeconds != null ? warmupSeconds : 10;
+        durationSeconds = durationSeconds != null ? durationSeconds : 60;
+        timeoutMillis = timeoutMillis != null ? timeoutMillis : 5000;
+        seed = seed != null ? seed : 1L;
+        sampleSize = sampleSize != null ? sampleSize : 10_000;
+        database = database != null ? database : new Database(null, null, null);
+
+        if (concurrency < 1 || requestsPerSecond < 0 || warmupSeconds < 0 || durationSeconds < 1) {
+            throw new IllegalArgumentException("concurrency and durationSeconds must be positive, "
+                    + "requestsPerSecond and warmupSeconds not negative");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one endpoint with a positive weight");
+        }
+    }
+
+    /**
+     * Connection to the application database, defaults to the local dev database
+     */
+    public record Database(String url, String user, String password) {
+
+        public Database {
+            url = url != null ? url : "jdbc:postgresql://localhost:5432/cip113";
+            user = user != null ? user : "cardano";
+            password = password != null ? password : "password";
+        }
+    }
+
+    private static Map<Endpoint, Integer> equalMix() {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            mix.put(endpoint, 1);
+        }
+        return mix;
+    }
+}
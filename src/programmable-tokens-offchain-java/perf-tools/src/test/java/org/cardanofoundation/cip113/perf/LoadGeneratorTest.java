@@ -0,0 +1,93 @@
+package org.cardanofoundation.cip113.perf;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    private static final DatasetKeys KEYS = new DatasetKeys(Map.of(
+            "address", List.of("addr1", "addr2"),
+            "policyId", List.of("policy1")));
+
+    private HttpServer server;
+
+    private final Queue<String> paths = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Registry lookups fail, everything else succeeds
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            paths.add(path);
+            exchange.sendResponseHeaders(path.contains("/registry/") ? 500 : 200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testClosedLoopReportsEachEndpoint() throws Exception {
+        // Given
+        var workload = workload(0d, Map.of(Endpoint.BALANCE_CURRENT, 3, Endpoint.REGISTRY_TOKEN, 1));
+
+        // When
+        var report = new LoadGenerator(workload, KEYS, HttpClient.newHttpClient()).run();
+
+        // Then
+        assertEquals("closed", report.model());
+        var balances = report.endpoints().get(Endpoint.BALANCE_CURRENT);
+        var registry = report.endpoints().get(Endpoint.REGISTRY_TOKEN);
+        assertTrue(balances.requests() > registry.requests());
+        assertEquals(0, balances.errorRate());
+        assertEquals(1.0, registry.errorRate());
+        assertEquals(balances.requests() + registry.requests(), report.total().requests());
+        assertTrue(balances.p50Millis() <= balances.p99Millis() && balances.p99Millis() <= balances.p999Millis());
+        assertTrue(paths.stream().allMatch(path -> path.equals("/api/v1/registry/token/policy1")
+                || path.equals("/api/v1/balances/current/addr1") || path.equals("/api/v1/balances/current/addr2")));
+    }
+
+    @Test
+    void testOpenModelHoldsTheTargetRate() throws Exception {
+        // Given
+        var workload = workload(200d, Map.of(Endpoint.BALANCE_CURRENT, 1));
+
+        // When
+        var report = new LoadGenerator(workload, KEYS, HttpClient.newHttpClient()).run();
+
+        // Then - one second at 200 requests per second
+        assertEquals("open", report.model());
+        assertTrue(report.total().requests() >= 180 && report.total().requests() <= 201,
+                "requests: " + report.total().requests());
+        assertEquals(Map.of(200, report.total().requests()), report.total().statuses());
+    }
+
+    @Test
+    void testEndpointWithoutDatasetKeysIsRejected() {
+        var workload = workload(0d, Map.of(Endpoint.BALANCE_BY_STAKE, 1));
+        assertThrows(IllegalStateException.class, () -> new LoadGenerator(workload, KEYS, HttpClient.newHttpClient()));
+    }
+
+    private Workload workload(double requestsPerSecond, Map<Endpoint, Integer> mix) {
+        return new Workload("http://localhost:" + server.getAddress().getPort(), null, mix, 4, requestsPerSecond,
+                0, 1, 1000, 7L, null, null, null);
+    }
+}
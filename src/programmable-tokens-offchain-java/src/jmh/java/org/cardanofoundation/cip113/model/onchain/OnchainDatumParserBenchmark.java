@@ -0,0 +1,42 @@
+package org.cardanofoundation.cip113.model.onchain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inline datum parsing of registry nodes and protocol params, run for every output at the
+ * directory and protocol params addresses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OnchainDatumParserBenchmark {
+
+    private static final String REGISTRY_NODE_DATUM = "d8799f581c0befd1269cf3b5b41cce136c92c64b45dde93e4bfe11875839b713d1581effffffffffffffffffffffffffffffffffffffffffffffffffffffffd8799f581caaa513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126102ffd8799f581cdef513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126103ff581c1234567890abcdef1234567890abcdef1234567890abcdef12345678ff";
+
+    private static final String PROTOCOL_PARAMS_DATUM = "d8799f581c2584c485b40f65f3659dc94d36ee4389c3f95349f41437cb9b422160d87a9f581caaa513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126102ffff";
+
+    private RegistryNodeParser registryNodeParser;
+
+    private ProtocolParamsParser protocolParamsParser;
+
+    @Setup
+    public void setUp() {
+        var objectMapper = new ObjectMapper();
+        registryNodeParser = new RegistryNodeParser(objectMapper);
+        protocolParamsParser = new ProtocolParamsParser(objectMapper);
+    }
+
+    @Benchmark
+    public Optional<RegistryNode> parseRegistryNode() {
+        return registryNodeParser.parse(REGISTRY_NODE_DATUM);
+    }
+
+    @Benchmark
+    public Optional<ProtocolParams> parseProtocolParams() {
+        return protocolParamsParser.parse(PROTOCOL_PARAMS_DATUM);
+    }
+}
@@ -0,0 +1,58 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.plutus.spec.PlutusScript;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cardanofoundation.cip113.config.AppConfig;
+import org.cardanofoundation.cip113.model.bootstrap.ProtocolBootstrapParams;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parameterization of the protocol validators from the blueprint. Scripts are cached per protocol
+ * version, the cache is cleared before every call so that the uncached cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProtocolScriptBuilderBenchmark {
+
+    private ProtocolScriptBuilderService scriptBuilder;
+
+    private ProtocolBootstrapParams bootstrapParams;
+
+    @Setup
+    public void setUp() {
+        var network = new AppConfig.Network();
+        ReflectionTestUtils.setField(network, "network", "preview");
+        var bootstrapService = new ProtocolBootstrapService(new ObjectMapper(), network);
+        bootstrapService.init();
+
+        scriptBuilder = new ProtocolScriptBuilderService(bootstrapService);
+        bootstrapParams = bootstrapService.getProtocolBootstrapParams();
+    }
+
+    @Benchmark
+    public PlutusScript directoryMintScript() {
+        scriptBuilder.clearCache(bootstrapParams.txHash());
+        return scriptBuilder.getParameterizedDirectoryMintScript(bootstrapParams);
+    }
+
+    @Benchmark
+    public PlutusScript programmableLogicBaseScript() {
+        scriptBuilder.clearCache(bootstrapParams.txHash());
+        return scriptBuilder.getParameterizedProgrammableLogicBaseScript(bootstrapParams);
+    }
+
+    @Benchmark
+    public PlutusScript programmableLogicGlobalScript() {
+        scriptBuilder.clearCache(bootstrapParams.txHash());
+        return scriptBuilder.getParameterizedProgrammableLogicGlobalScript(bootstrapParams);
+    }
+
+    @Benchmark
+    public PlutusScript cachedProgrammableLogicBaseScript() {
+        return scriptBuilder.getParameterizedProgrammableLogicBaseScript(bootstrapParams);
+    }
+}
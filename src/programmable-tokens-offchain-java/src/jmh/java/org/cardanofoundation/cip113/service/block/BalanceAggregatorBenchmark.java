@@ -0,0 +1,54 @@
+package org.cardanofoundation.cip113.service.block;
+
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import org.cardanofoundation.cip113.util.BalanceValueHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Net change aggregation of a transaction, as done by {@link BalanceBlockHandler} for each
+ * address: add every output value, subtract every spent input value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BalanceAggregatorBenchmark {
+
+    private static final String UNIT = "0befd1269cf3b5b41cce136c92c64b45dde93e4bfe11875839b713d1" + "746f6b656e";
+
+    /**
+     * Number of inputs and of outputs of the address in the transaction
+     */
+    @Param({"2", "20"})
+    int utxos;
+
+    private List<Value> inputs;
+
+    private List<Value> outputs;
+
+    @Setup
+    public void setUp() {
+        inputs = new ArrayList<>();
+        outputs = new ArrayList<>();
+        for (int i = 0; i < utxos; i++) {
+            inputs.add(BalanceValueHelper.fromUnitMap(Map.of("lovelace", "2000000", UNIT, Integer.toString(100 + i))));
+            outputs.add(BalanceValueHelper.fromUnitMap(Map.of("lovelace", "1800000", UNIT, Integer.toString(90 + i))));
+        }
+    }
+
+    @Benchmark
+    public Value aggregate() {
+        var aggregator = new BalanceBlockHandler.BalanceAggregator("addr_test1", null);
+        for (Value output : outputs) {
+            aggregator.addOutput(output);
+        }
+        for (Value input : inputs) {
+            aggregator.subtractInput(input);
+        }
+        return aggregator.getNetChange();
+    }
+}
@@ -0,0 +1,43 @@
+package org.cardanofoundation.cip113.util;
+
+import com.bloxbean.cardano.client.address.AddressProvider;
+import com.bloxbean.cardano.client.address.Credential;
+import com.bloxbean.cardano.client.common.model.Networks;
+import com.bloxbean.cardano.client.util.HexUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Address decomposition, run for every input and output address of an indexed transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AddressUtilBenchmark {
+
+    private String scriptBaseAddress;
+
+    private String enterpriseAddress;
+
+    @Setup
+    public void setUp() {
+        var scriptHash = HexUtil.decodeHexString("aaa513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126102");
+        var stakeKeyHash = HexUtil.decodeHexString("def513b0fcc01d635f8535d49f38acc33d4d6b62ee8732ca6e126103");
+
+        // Programmable token holder: programmable logic base script payment part, user stake key
+        scriptBaseAddress = AddressProvider.getBaseAddress(Credential.fromScript(scriptHash),
+                Credential.fromKey(stakeKeyHash), Networks.preview()).toBech32();
+        enterpriseAddress = AddressProvider.getEntAddress(Credential.fromKey(stakeKeyHash), Networks.preview()).toBech32();
+    }
+
+    @Benchmark
+    public AddressUtil.AddressComponents decomposeBaseAddress() {
+        return AddressUtil.decompose(scriptBaseAddress);
+    }
+
+    @Benchmark
+    public AddressUtil.AddressComponents decomposeEnterpriseAddress() {
+        return AddressUtil.decompose(enterpriseAddress);
+    }
+}
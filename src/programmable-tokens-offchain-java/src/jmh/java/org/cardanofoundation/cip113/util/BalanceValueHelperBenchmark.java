@@ -0,0 +1,64 @@
+package org.cardanofoundation.cip113.util;
+
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions between {@link Value} and the unit map stored in balance_log, run for every balance
+ * entry written by the indexer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BalanceValueHelperBenchmark {
+
+    /**
+     * Number of native asset units besides lovelace
+     */
+    @Param({"1", "10", "50"})
+    int assets;
+
+    private Value value;
+
+    private String json;
+
+    private Map<String, String> unitMap;
+
+    @Setup
+    public void setUp() {
+        unitMap = new HashMap<>();
+        unitMap.put("lovelace", "1500000");
+        for (int i = 0; i < assets; i++) {
+            // Spread the assets over a few policies, as a wallet holding several tokens would
+            String policyId = String.format("%056x", i % 5 + 1);
+            String assetName = String.format("%08x", i);
+            unitMap.put(policyId + assetName, Integer.toString(1_000 + i));
+        }
+        value = BalanceValueHelper.fromUnitMap(unitMap);
+        json = BalanceValueHelper.toJson(value);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return BalanceValueHelper.toJson(value);
+    }
+
+    @Benchmark
+    public Value fromJson() {
+        return BalanceValueHelper.fromJson(json);
+    }
+
+    @Benchmark
+    public Map<String, String> toUnitMap() {
+        return BalanceValueHelper.toUnitMap(value);
+    }
+
+    @Benchmark
+    public Value fromUnitMap() {
+        return BalanceValueHelper.fromUnitMap(unitMap);
+    }
+}
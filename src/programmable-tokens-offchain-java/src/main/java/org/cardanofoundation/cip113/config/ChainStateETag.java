@@ -0,0 +1,63 @@
+package org.cardanofoundation.cip113.config;
+
+import org.cardanofoundation.cip113.service.ChainStateVersions;
+import org.cardanofoundation.cip113.util.AddressUtil;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Marks a read endpoint whose response only changes when the indexer commits a change to the given
+ * read models. {@link ChainStateETagInterceptor} answers conditional GETs for it from memory.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ChainStateETag {
+
+    /**
+     * Read models the response is built from
+     */
+    ChainStateVersions.Scope[] value();
+
+    /**
+     * Path variable holding the address or stake key of a keyed scope
+     */
+    String key() default "";
+
+    /**
+     * How the keys of the keyed scopes are derived from the {@link #key()} path variable
+     */
+    KeyResolver keyResolver() default KeyResolver.PATH_VARIABLE;
+
+    enum KeyResolver {
+        /**
+         * The path variable is the key
+         */
+        PATH_VARIABLE,
+        /**
+         * The path variable is a wallet address, keyed by its payment and stake credentials, which
+         * programmable token addresses carry as their stake credential
+         */
+        WALLET_CREDENTIALS;
+
+        public List<String> resolve(String value) {
+            if (value == null) {
+                return List.of();
+            }
+            if (this == PATH_VARIABLE) {
+                return List.of(value);
+            }
+            var components = AddressUtil.decompose(value);
+            if (components == null) {
+                return List.of();
+            }
+            return Stream.of(components.getPaymentScriptHash(), components.getStakeKeyHash())
+                    .filter(credential -> credential != null && !credential.isEmpty())
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.cardanofoundation.cip113.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.cardanofoundation.cip113.service.ChainStateVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conditional GET for endpoints annotated with {@link ChainStateETag}.
+ * <p>
+ * The ETag is derived from {@link ChainStateVersions} before the handler runs, so a matching
+ * {@code If-None-Match} is answered with 304 without touching the database. Other responses get the
+ * ETag and a short {@code Cache-Control} max-age, below the ~20s block time, after which clients
+ * revalidate.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChainStateETagInterceptor implements HandlerInterceptor {
+
+    private final ChainStateVersions chainStateVersions;
+
+    @Value("${http-cache.max-age-seconds:5}")
+    private long maxAgeSeconds;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        var annotation = handlerMethod.getMethodAnnotation(ChainStateETag.class);
+        if (annotation == null) {
+            return true;
+        }
+
+        List<String> keys = List.of();
+        if (!annotation.key().isEmpty()) {
+            @SuppressWarnings("unchecked")
+            var pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            keys = annotation.keyResolver().resolve(pathVariables != null ? pathVariables.get(annotation.key()) : null);
+        }
+
+        var etag = chainStateVersions.etag(Arrays.asList(annotation.value()), keys);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS)
+                .mustRevalidate()
+                .getHeaderValue());
+
+        // Sets the ETag header, and the 304 status when it matches
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
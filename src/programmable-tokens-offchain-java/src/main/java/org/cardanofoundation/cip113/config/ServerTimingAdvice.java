@@ -0,0 +1,47 @@
+package org.cardanofoundation.cip113.config;
+
+import org.cardanofoundation.cip113.service.BuildTimings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Adds a {@code Server-Timing} header with the phase durations of the transaction built by a request,
+ * e.g. {@code utxo_fetch;dur=12.4, backend;dur=840.2, total;dur=1203.9}. Enabled with
+ * {@code tx-builder.timing.server-timing-header}, as it exposes internals of the service.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "tx-builder.timing", name = "server-timing-header", havingValue = "true")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(BuildTimings.REQUEST_ATTRIBUTE) instanceof Map<?, ?> phases) {
+            response.getHeaders().add(SERVER_TIMING, phases.entrySet()
+                    .stream()
+                    .map(phase -> String.format(Locale.ROOT, "%s;dur=%.1f", phase.getKey(), (Double) phase.getValue()))
+                    .collect(Collectors.joining(", ")));
+        }
+        return body;
+    }
+}
@@ -1,17 +1,56 @@
 package org.cardanofoundation.cip113.config;
 
+import com.bloxbean.cardano.client.backend.api.DefaultProtocolParamsSupplier;
+import com.bloxbean.cardano.client.backend.api.DefaultScriptSupplier;
+import com.bloxbean.cardano.client.backend.api.DefaultTransactionProcessor;
+import com.bloxbean.cardano.client.backend.api.DefaultUtxoSupplier;
 import com.bloxbean.cardano.client.backend.blockfrost.service.BFBackendService;
 import com.bloxbean.cardano.client.quicktx.QuickTxBuilder;
+import com.bloxbean.cardano.yaci.store.utxo.storage.UtxoStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.cardanofoundation.cip113.service.BuildTimings;
+import org.cardanofoundation.cip113.service.utxo.FilteredUtxoStorage;
+import org.cardanofoundation.cip113.service.utxo.SpendableUtxoSupplier;
+import org.cardanofoundation.cip113.service.utxo.UtxoFilter;
+import org.cardanofoundation.cip113.service.utxo.UtxoQueryService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class YaciConfiguration {
 
+    /**
+     * Backend calls made while building, e.g. protocol params and script evaluation, are timed as a build phase.
+     * Wallet outputs the builder selects on its own go through the pending overlay and skip leased outputs.
+     */
     @Bean
-    public QuickTxBuilder quickTxBuilder(BFBackendService bfBackendService) {
-        return new QuickTxBuilder(bfBackendService);
+    public QuickTxBuilder quickTxBuilder(BFBackendService bfBackendService, UtxoQueryService utxoQueryService) {
+        var backendService = BuildTimings.timedBackend(bfBackendService);
+        return new QuickTxBuilder(new SpendableUtxoSupplier(utxoQueryService, new DefaultUtxoSupplier(backendService.getUtxoService())),
+                new DefaultProtocolParamsSupplier(backendService.getEpochService()),
+                new DefaultScriptSupplier(backendService.getScriptService()),
+                new DefaultTransactionProcessor(backendService.getTransactionService()));
     }
 
+    /**
+     * Wraps the storage of the yaci UTxO store so that only the outputs read by this application are persisted
+     */
+    @Bean
+    @ConditionalOnProperty(name = "utxo-filter.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor filteredUtxoStoragePostProcessor(ObjectProvider<UtxoFilter> utxoFilter,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof UtxoStorage utxoStorage && !(bean instanceof FilteredUtxoStorage)) {
+                    return new FilteredUtxoStorage(utxoStorage, utxoFilter.getObject(), meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
 
 }
@@ -1,17 +1,24 @@
 package org.cardanofoundation.cip113.controller;
 
-import com.bloxbean.cardano.client.transaction.spec.Value;
 import com.easy1staking.cardano.model.AssetType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.config.ChainStateETag;
 import org.cardanofoundation.cip113.entity.BalanceLogEntity;
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.model.BalanceTransaction;
+import org.cardanofoundation.cip113.model.BulkBalanceRequest;
+import org.cardanofoundation.cip113.model.PageResponse;
 import org.cardanofoundation.cip113.model.WalletBalanceResponse;
 import org.cardanofoundation.cip113.service.BalanceService;
+import org.cardanofoundation.cip113.service.BulkBalanceService;
 import org.cardanofoundation.cip113.service.ProtocolParamsService;
 import org.cardanofoundation.cip113.service.RegistryService;
 import org.cardanofoundation.cip113.util.AddressUtil;
 import org.cardanofoundation.cip113.util.BalanceValueHelper;
+import org.cardanofoundation.cip113.util.KeyCursor;
+import org.cardanofoundation.cip113.util.SlotCursor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,6 +27,8 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.cardanofoundation.cip113.service.ChainStateVersions.Scope.*;
+
 @RestController
 @RequestMapping("${apiPrefix}/balances")
 @RequiredArgsConstructor
@@ -29,6 +38,11 @@ public class BalanceController {
     private final BalanceService balanceService;
     private final ProtocolParamsService protocolParamsService;
     private final RegistryService registryService;
+    private final BulkBalanceService bulkBalanceService;
+
+    private static final int MAX_TRANSACTIONS_PAGE_SIZE = 500;
+
+    private static final int MAX_BALANCES_PAGE_SIZE = 500;
 
     /**
      * Get current balance for all assets at an address
@@ -37,6 +51,7 @@ public class BalanceController {
      * @param address the bech32 address
      * @return map of unit to amount
      */
+    @ChainStateETag(value = ADDRESS, key = "address")
     @GetMapping("/current/{address}")
     public ResponseEntity<Map<String, String>> getCurrentBalance(@PathVariable String address) {
         log.debug("GET /current/{} - fetching current balance", address);
@@ -51,6 +66,7 @@ public class BalanceController {
      * @param unit the asset unit ("lovelace" for ADA, or "policyId+assetName" for native assets)
      * @return map with the asset amount
      */
+    @ChainStateETag(value = ADDRESS, key = "address")
     @GetMapping("/current/{address}/{unit}")
     public ResponseEntity<Map<String, String>> getCurrentBalanceForAsset(
             @PathVariable String address,
@@ -71,32 +87,134 @@ public class BalanceController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Get the current balances of many addresses in one call
+     * Addresses can be given directly, or through their stake key hash or payment script hash
+     *
+     * @param request addresses, stake key hashes and payment script hashes to look up
+     * @return map of address to unit map, addresses without history are left out
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> getCurrentBalances(@RequestBody BulkBalanceRequest request) {
+        log.debug("POST /bulk - fetching balances of {} keys", request.size());
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(bulkBalanceService.getLatestBalancesJson(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get the balance of an address as it was at a slot
+     *
+     * @param address the bech32 address
+     * @param slot the slot, the balance after the last transaction at or before it is returned
+     * @return map of unit to amount, with the transaction and slot the balance comes from
+     */
+    @ChainStateETag(value = ADDRESS, key = "address")
+    @GetMapping("/at-slot/{address}")
+    public ResponseEntity<Map<String, Object>> getBalanceAtSlot(
+            @PathVariable String address,
+            @RequestParam long slot) {
+        log.debug("GET /at-slot/{} - fetching balance at slot {}", address, slot);
+
+        return balanceService.getBalanceAtSlot(address, slot)
+                .map(entity -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("address", address);
+                    response.put("slot", slot);
+                    response.put("balance", BalanceValueHelper.toUnitMap(BalanceValueHelper.fromJson(entity.getBalance())));
+                    response.put("txHash", entity.getTxHash());
+                    response.put("txSlot", entity.getSlot());
+                    return ResponseEntity.ok(response);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the balance of a specific asset at an address as it was at a slot
+     *
+     * @param address the bech32 address
+     * @param unit the asset unit ("lovelace" for ADA, or "policyId+assetName" for native assets)
+     * @param slot the slot, the balance after the last transaction at or before it is returned
+     * @return map with the asset amount
+     */
+    @ChainStateETag(value = ADDRESS, key = "address")
+    @GetMapping("/at-slot/{address}/{unit}")
+    public ResponseEntity<Map<String, String>> getBalanceAtSlotForAsset(
+            @PathVariable String address,
+            @PathVariable String unit,
+            @RequestParam long slot) {
+        log.debug("GET /at-slot/{}/{} - fetching balance for asset at slot {}", address, unit, slot);
+
+        return balanceService.getBalanceAtSlot(address, slot)
+                .map(entity -> {
+                    BigInteger amount = balanceService.getAssetAmount(entity.getBalance(), unit);
+                    Map<String, String> response = new HashMap<>();
+                    response.put("address", address);
+                    response.put("unit", unit);
+                    response.put("amount", amount.toString());
+                    response.put("slot", Long.toString(slot));
+                    response.put("txHash", entity.getTxHash());
+                    response.put("txSlot", entity.getSlot().toString());
+                    return ResponseEntity.ok(response);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Get current balances by payment script hash
      *
      * @param scriptHash the payment script hash
-     * @return list of latest balances
+     * @param limit maximum number of entries (default 100, at most 500)
+     * @param cursor optional cursor returned with the previous page
+     * @return page of latest balances ordered by address
      */
+    @ChainStateETag(BALANCES)
     @GetMapping("/current-by-payment/{scriptHash}")
-    public ResponseEntity<List<BalanceLogEntity>> getCurrentBalanceByPaymentScript(
-            @PathVariable String scriptHash) {
-        log.debug("GET /current-by-payment/{} - fetching balances", scriptHash);
-        List<BalanceLogEntity> balances = balanceService.getLatestBalancesByPaymentScript(scriptHash);
-        return ResponseEntity.ok(balances);
+    public ResponseEntity<?> getCurrentBalanceByPaymentScript(
+            @PathVariable String scriptHash,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /current-by-payment/{} - fetching balances, limit={}, cursor={}", scriptHash, limit, cursor);
+        KeyCursor from;
+        try {
+            from = KeyCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_BALANCES_PAGE_SIZE));
+        // One extra entry is the first one of the next page
+        List<BalanceLogEntity> balances = balanceService.getLatestBalancesByPaymentScript(scriptHash, from, pageSize + 1);
+        return ResponseEntity.ok(toAddressPage(balances, pageSize));
     }
 
     /**
      * Get current balances by stake key hash
      *
      * @param stakeHash the stake key hash
-     * @return list of latest balances
+     * @param limit maximum number of entries (default 100, at most 500)
+     * @param cursor optional cursor returned with the previous page
+     * @return page of latest balances ordered by address
      */
+    @ChainStateETag(value = STAKE_KEY, key = "stakeHash")
     @GetMapping("/current-by-stake/{stakeHash}")
-    public ResponseEntity<List<BalanceLogEntity>> getCurrentBalanceByStakeKey(
-            @PathVariable String stakeHash) {
-        log.debug("GET /current-by-stake/{} - fetching balances", stakeHash);
-        List<BalanceLogEntity> balances = balanceService.getLatestBalancesByStakeKey(stakeHash);
-        return ResponseEntity.ok(balances);
+    public ResponseEntity<?> getCurrentBalanceByStakeKey(
+            @PathVariable String stakeHash,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /current-by-stake/{} - fetching balances, limit={}, cursor={}", stakeHash, limit, cursor);
+        KeyCursor from;
+        try {
+            from = KeyCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_BALANCES_PAGE_SIZE));
+        List<BalanceLogEntity> balances = balanceService.getLatestBalancesByStakeKey(stakeHash, from, pageSize + 1);
+        return ResponseEntity.ok(toAddressPage(balances, pageSize));
     }
 
     /**
@@ -107,6 +225,7 @@ public class BalanceController {
      * @param stakeHash the stake key hash
      * @return the latest balance or 404 if not found
      */
+    @ChainStateETag(value = STAKE_KEY, key = "stakeHash")
     @GetMapping("/current-by-payment-and-stake/{scriptHash}/{stakeHash}")
     public ResponseEntity<BalanceLogEntity> getCurrentBalanceByPaymentScriptAndStakeKey(
             @PathVariable String scriptHash,
@@ -129,6 +248,7 @@ public class BalanceController {
      * @param limit maximum number of entries (default 100)
      * @return list of balance entries
      */
+    @ChainStateETag(value = ADDRESS, key = "address")
     @GetMapping("/history/{address}")
     public ResponseEntity<List<BalanceLogEntity>> getBalanceHistory(
             @PathVariable String address,
@@ -142,46 +262,53 @@ public class BalanceController {
      * Get transaction list with balance diffs
      *
      * @param address the bech32 address
-     * @param limit maximum number of entries (default 100)
-     * @return list of transactions with balance differences
+     * @param limit maximum number of entries (default 100, at most 500)
+     * @param cursor optional cursor returned with the previous page
+     * @return page of transactions with signed balance differences
      */
+    @ChainStateETag(value = ADDRESS, key = "address")
     @GetMapping("/transactions/{address}")
-    public ResponseEntity<List<Map<String, Object>>> getTransactionsWithDiffs(
+    public ResponseEntity<?> getTransactionsWithDiffs(
             @PathVariable String address,
-            @RequestParam(defaultValue = "100") int limit) {
-        log.debug("GET /transactions/{} - fetching transactions with diffs, limit={}", address, limit);
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /transactions/{} - fetching transactions with diffs, limit={}, cursor={}", address, limit, cursor);
 
-        List<BalanceLogEntity> history = balanceService.getBalanceHistory(address, limit);
+        SlotCursor after;
+        try {
+            after = SlotCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_TRANSACTIONS_PAGE_SIZE));
+
+        // One extra entry tells whether there is a next page
+        List<BalanceTransaction> history = balanceService.getTransactionsWithDiffs(address, after, pageSize + 1);
+        boolean hasMore = history.size() > pageSize;
+        if (hasMore) {
+            history = history.subList(0, pageSize);
+        }
 
-        // Calculate diffs between consecutive entries
         List<Map<String, Object>> transactions = history.stream()
                 .map(entry -> {
                     Map<String, Object> txData = new HashMap<>();
-                    txData.put("txHash", entry.getTxHash());
-                    txData.put("slot", entry.getSlot());
-                    txData.put("blockHeight", entry.getBlockHeight());
-                    txData.put("balance", BalanceValueHelper.fromJson(entry.getBalance()));
-
-                    // Get previous balance to calculate diff
-                    balanceService.getPreviousBalance(entry).ifPresentOrElse(
-                            prevEntry -> {
-                                Value diff = balanceService.calculateBalanceDiff(entry, prevEntry);
-                                txData.put("diff", BalanceValueHelper.toUnitMap(diff));
-                                txData.put("previousBalance", BalanceValueHelper.fromJson(prevEntry.getBalance()));
-                            },
-                            () -> {
-                                // First transaction, diff is the balance itself
-                                Value balance = BalanceValueHelper.fromJson(entry.getBalance());
-                                txData.put("diff", BalanceValueHelper.toUnitMap(balance));
-                                txData.put("previousBalance", BalanceValueHelper.empty());
-                            }
-                    );
-
+                    txData.put("txHash", entry.txHash());
+                    txData.put("slot", entry.slot());
+                    txData.put("blockHeight", entry.blockHeight());
+                    txData.put("transactionType", entry.transactionType());
+                    txData.put("balance", BalanceValueHelper.fromJson(entry.balance()));
+                    txData.put("diff", entry.diff());
                     return txData;
                 })
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(transactions);
+        String nextCursor = null;
+        if (hasMore) {
+            BalanceTransaction last = history.getLast();
+            nextCursor = new SlotCursor(last.slot(), last.id()).encode();
+        }
+
+        return ResponseEntity.ok(new PageResponse<>(transactions, nextCursor));
     }
 
     /**
@@ -190,6 +317,7 @@ public class BalanceController {
      * @param txHash the transaction hash
      * @return list of balance entries for this transaction
      */
+    @ChainStateETag(BALANCES)
     @GetMapping("/by-transaction/{txHash}")
     public ResponseEntity<List<BalanceLogEntity>> getBalancesByTransaction(@PathVariable String txHash) {
         log.debug("GET /by-transaction/{} - fetching balance changes", txHash);
@@ -204,6 +332,7 @@ public class BalanceController {
      * @param address the bech32 address
      * @return map of programmable token units to amounts
      */
+    @ChainStateETag(value = {ADDRESS, REGISTRY}, key = "address")
     @GetMapping("/programmable-only/{address}")
     public ResponseEntity<Map<String, String>> getProgrammableTokenBalances(@PathVariable String address) {
         log.debug("GET /programmable-only/{} - fetching programmable token balances", address);
@@ -247,6 +376,8 @@ public class BalanceController {
      * @param protocolTxHash optional protocol version tx hash to filter balances
      * @return merged balances from all programmable token addresses, or empty if none found
      */
+    @ChainStateETag(value = {STAKE_KEY, REGISTRY, PROTOCOL_PARAMS}, key = "address",
+            keyResolver = ChainStateETag.KeyResolver.WALLET_CREDENTIALS)
     @GetMapping("/wallet-balance/{address}")
     public ResponseEntity<WalletBalanceResponse> getWalletBalance(
             @PathVariable String address,
@@ -333,4 +464,15 @@ public class BalanceController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    /**
+     * Cut the extra entry read past the page size, it becomes the cursor of the next page
+     */
+    private static PageResponse<BalanceLogEntity> toAddressPage(List<BalanceLogEntity> balances, int pageSize) {
+        if (balances.size() <= pageSize) {
+            return new PageResponse<>(balances, null);
+        }
+        String nextCursor = new KeyCursor(balances.get(pageSize).getAddress()).encode();
+        return new PageResponse<>(balances.subList(0, pageSize), nextCursor);
+    }
 }
@@ -0,0 +1,64 @@
+package org.cardanofoundation.cip113.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.service.stream.BalanceChangeBroadcaster;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("${apiPrefix}/stream")
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceStreamController {
+
+    private final BalanceChangeBroadcaster balanceChangeBroadcaster;
+
+    /**
+     * Stream committed balance changes as server-sent events.
+     * Exactly one of address, stakeKeyHash or unit must be given.
+     * <p>
+     * Events are named {@code balance}; a {@code resync} event means changes were dropped because the
+     * client fell behind, and its state should be reloaded through the REST API.
+     *
+     * @param address      bech32 address to follow
+     * @param stakeKeyHash stake key hash to follow, across all its programmable token addresses
+     * @param unit         unit (policyId+assetName) to follow, across all addresses
+     * @return the event stream
+     */
+    @GetMapping(value = "/balances", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamBalanceChanges(
+            @RequestParam(required = false) String address,
+            @RequestParam(required = false) String stakeKeyHash,
+            @RequestParam(required = false) String unit) {
+        log.debug("GET /stream/balances - address={}, stakeKeyHash={}, unit={}", address, stakeKeyHash, unit);
+
+        long filters = Stream.of(address, stakeKeyHash, unit).filter(value -> value != null && !value.isBlank()).count();
+        if (filters != 1) {
+            return ResponseEntity.badRequest().body("Exactly one of address, stakeKeyHash or unit is required");
+        }
+
+        BalanceChangeBroadcaster.Filter filter;
+        String key;
+        if (address != null && !address.isBlank()) {
+            filter = BalanceChangeBroadcaster.Filter.ADDRESS;
+            key = address;
+        } else if (stakeKeyHash != null && !stakeKeyHash.isBlank()) {
+            filter = BalanceChangeBroadcaster.Filter.STAKE_KEY;
+            key = stakeKeyHash;
+        } else {
+            filter = BalanceChangeBroadcaster.Filter.UNIT;
+            key = unit;
+        }
+
+        return balanceChangeBroadcaster.subscribe(filter, key)
+                .<ResponseEntity<?>>map(events -> ResponseEntity.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .body(events))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many subscribers"));
+    }
+}
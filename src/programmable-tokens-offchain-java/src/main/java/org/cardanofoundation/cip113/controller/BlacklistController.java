@@ -0,0 +1,88 @@
+package org.cardanofoundation.cip113.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.BlacklistUpdateRequest;
+import org.cardanofoundation.cip113.service.blacklist.BlacklistIndexService;
+import org.cardanofoundation.cip113.service.blacklist.BlacklistTransactionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("${apiPrefix}/blacklist")
+@RequiredArgsConstructor
+@Slf4j
+public class BlacklistController {
+
+    private final BlacklistIndexService blacklistIndexService;
+
+    private final BlacklistTransactionService blacklistTransactionService;
+
+    /**
+     * Get all blacklisted credentials of a blacklist
+     */
+    @GetMapping("/{policyId}")
+    public ResponseEntity<List<String>> getBlacklisted(@PathVariable String policyId) {
+        if (!blacklistIndexService.isIndexed(policyId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(blacklistIndexService.getBlacklisted(policyId));
+    }
+
+    /**
+     * Get the node proving that a credential is not blacklisted, to be used as reference input
+     */
+    @GetMapping("/{policyId}/covering-node/{credential}")
+    public ResponseEntity<?> getCoveringNode(@PathVariable String policyId,
+                                             @PathVariable String credential) {
+        try {
+            return blacklistIndexService.findCoveringNode(policyId, credential)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Check many credentials at once
+     *
+     * @return the blacklisted subset of the credentials, 400 if any credential is not a 56 hex characters hash
+     */
+    @PostMapping("/{policyId}/check")
+    public ResponseEntity<?> check(@PathVariable String policyId,
+                                   @RequestBody List<String> credentials) {
+        if (!blacklistIndexService.isIndexed(policyId)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(blacklistIndexService.findBlacklisted(policyId, credentials));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/insert")
+    public ResponseEntity<?> insert(@RequestBody BlacklistUpdateRequest request) {
+        log.info("blacklist insert request: {}", request);
+        var transactionContext = blacklistTransactionService.buildInsertTransaction(request);
+        if (transactionContext.isSuccessful()) {
+            return ResponseEntity.ok(transactionContext.unsignedCborTx());
+        } else {
+            return ResponseEntity.badRequest().body(transactionContext.error());
+        }
+    }
+
+    @PostMapping("/remove")
+    public ResponseEntity<?> remove(@RequestBody BlacklistUpdateRequest request) {
+        log.info("blacklist remove request: {}", request);
+        var transactionContext = blacklistTransactionService.buildRemoveTransaction(request);
+        if (transactionContext.isSuccessful()) {
+            return ResponseEntity.ok(transactionContext.unsignedCborTx());
+        } else {
+            return ResponseEntity.badRequest().body(transactionContext.error());
+        }
+    }
+}
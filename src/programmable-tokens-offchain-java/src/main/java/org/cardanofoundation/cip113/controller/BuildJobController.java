@@ -0,0 +1,109 @@
+package org.cardanofoundation.cip113.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.*;
+import org.cardanofoundation.cip113.service.TokenOperationsService;
+import org.cardanofoundation.cip113.service.job.BuildJob;
+import org.cardanofoundation.cip113.service.job.BuildJobResult;
+import org.cardanofoundation.cip113.service.job.BuildJobService;
+import org.cardanofoundation.cip113.service.job.BuildQueueFullException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous variant of the issue and transfer endpoints.
+ * A POST queues the build and returns a job id; the result is polled with GET or streamed as server-sent events.
+ */
+@RestController
+@RequestMapping("${apiPrefix}/build-jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class BuildJobController {
+
+    private final BuildJobService buildJobService;
+
+    private final TokenOperationsService tokenOperationsService;
+
+    @PostMapping("/register")
+    public ResponseEntity<?> register(@RequestBody RegisterTokenRequest registerTokenRequest,
+                                      @RequestParam(required = false) String protocolTxHash) {
+        log.info("async registerTokenRequest: {}, protocolTxHash: {}", registerTokenRequest, protocolTxHash);
+        return submit(TransactionType.REGISTER, registerTokenRequest.registrarAddress(),
+                () -> BuildJobResult.of(tokenOperationsService.registerToken(registerTokenRequest, protocolTxHash)));
+    }
+
+    @PostMapping("/mint")
+    public ResponseEntity<?> mint(@RequestBody MintTokenRequest mintTokenRequest,
+                                  @RequestParam(required = false) String protocolTxHash) {
+        log.info("async mintTokenRequest: {}, protocolTxHash: {}", mintTokenRequest, protocolTxHash);
+        return submit(TransactionType.MINT, mintTokenRequest.issuerBaseAddress(),
+                () -> BuildJobResult.of(tokenOperationsService.mintToken(mintTokenRequest, protocolTxHash)));
+    }
+
+    @PostMapping("/transfer")
+    public ResponseEntity<?> transfer(@RequestBody TransferTokenRequest transferTokenRequest,
+                                      @RequestParam(required = false) String protocolTxHash) {
+        log.info("async transferTokenRequest: {}, protocolTxHash: {}", transferTokenRequest, protocolTxHash);
+        return submit(TransactionType.TRANSFER, transferTokenRequest.senderAddress(),
+                () -> BuildJobResult.of(tokenOperationsService.transferToken(transferTokenRequest, protocolTxHash)));
+    }
+
+    /**
+     * Poll a build job
+     *
+     * @param jobId the job id returned on submission
+     * @return the current state of the job
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BuildJobResponse> getJob(@PathVariable String jobId) {
+        return buildJobService.findJob(jobId)
+                .map(BuildJob::toResponse)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Stream a build job: the current state is sent right away, followed by the final state once done
+     *
+     * @param jobId the job id returned on submission
+     * @return server-sent events with the job state
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<BuildJobResponse>>> streamJob(@PathVariable String jobId) {
+        var jobOpt = buildJobService.findJob(jobId);
+        if (jobOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        var job = jobOpt.get();
+        var current = job.toResponse();
+        var events = current.status().isDone()
+                ? Flux.just(current)
+                : Flux.concat(Flux.just(current), job.completion());
+
+        return ResponseEntity.ok(events.map(response -> ServerSentEvent.builder(response)
+                .id(response.jobId())
+                .event(response.status().name())
+                .build()));
+    }
+
+    private ResponseEntity<?> submit(TransactionType type, String wallet, Supplier<BuildJobResult> build) {
+        try {
+            var job = buildJobService.submit(type, wallet, build);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toResponse());
+        } catch (BuildQueueFullException e) {
+            log.warn("rejected {} build: {}", type, e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(e.getMessage());
+        }
+    }
+}
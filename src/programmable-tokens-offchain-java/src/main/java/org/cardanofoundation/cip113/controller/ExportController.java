@@ -0,0 +1,100 @@
+package org.cardanofoundation.cip113.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.ExportFormat;
+import org.cardanofoundation.cip113.service.export.BalanceHistoryExportQuery;
+import org.cardanofoundation.cip113.service.export.BalanceHistoryExporter;
+import org.cardanofoundation.cip113.service.export.TokenSnapshotExporter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("${apiPrefix}/exports")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportController {
+
+    private final BalanceHistoryExporter balanceHistoryExporter;
+
+    private final TokenSnapshotExporter tokenSnapshotExporter;
+
+    /**
+     * Stream balance history rows as NDJSON or CSV, ordered by slot ascending
+     *
+     * @param address           optional bech32 address
+     * @param stakeKeyHash      optional stake key hash
+     * @param paymentScriptHash optional payment script hash, one of the three is required
+     * @param unit              optional unit ("lovelace" or policyId+assetName), narrows the rows down
+     * @param fromSlot          first slot, inclusive
+     * @param toSlot            last slot, inclusive
+     * @param format            ndjson (default) or csv
+     * @return the streamed rows
+     */
+    @GetMapping("/balance-history")
+    public ResponseEntity<?> exportBalanceHistory(
+            @RequestParam(required = false) String address,
+            @RequestParam(required = false) String stakeKeyHash,
+            @RequestParam(required = false) String paymentScriptHash,
+            @RequestParam(required = false) String unit,
+            @RequestParam(defaultValue = "0") long fromSlot,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long toSlot,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("GET /exports/balance-history - address={}, stakeKeyHash={}, paymentScriptHash={}, unit={}, slots={}..{}, format={}",
+                address, stakeKeyHash, paymentScriptHash, unit, fromSlot, toSlot, format);
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Unsupported format: " + format);
+        }
+
+        var query = new BalanceHistoryExportQuery(address, stakeKeyHash, paymentScriptHash, unit, fromSlot, toSlot);
+        try {
+            query.validate();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> balanceHistoryExporter.export(query, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"balance-history." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Stream every address holding a unit at a slot, with the amount held, as NDJSON or CSV
+     *
+     * @param unit   policyId+assetName hex
+     * @param slot   the snapshot slot, inclusive
+     * @param format ndjson (default) or csv
+     * @return the streamed holders, in no particular order
+     */
+    @GetMapping("/snapshot/{unit}")
+    public ResponseEntity<?> exportSnapshot(
+            @PathVariable String unit,
+            @RequestParam long slot,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("GET /exports/snapshot/{} - slot={}, format={}", unit, slot, format);
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+            TokenSnapshotExporter.validateUnit(unit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> tokenSnapshotExporter.export(unit, slot, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"snapshot-" + slot + "." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+}
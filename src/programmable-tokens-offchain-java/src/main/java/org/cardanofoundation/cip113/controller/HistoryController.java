@@ -5,12 +5,15 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.config.ChainStateETag;
 import org.cardanofoundation.cip113.entity.BalanceLogEntity;
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.model.PageResponse;
 import org.cardanofoundation.cip113.model.TransactionType;
 import org.cardanofoundation.cip113.service.BalanceService;
 import org.cardanofoundation.cip113.service.ProtocolParamsService;
 import org.cardanofoundation.cip113.util.BalanceValueHelper;
+import org.cardanofoundation.cip113.util.SlotCursor;
 import org.cardanofoundation.conversions.CardanoConverters;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +23,8 @@ import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static org.cardanofoundation.cip113.service.ChainStateVersions.Scope.*;
+
 @RestController
 @RequestMapping("${apiPrefix}/history")
 @RequiredArgsConstructor
@@ -31,22 +36,35 @@ public class HistoryController {
     private final CardanoConverters cardanoConverters;
     private final ObjectMapper objectMapper;
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     /**
      * Get transaction history by stake key hash with optional protocol filtering
-     * Returns all transactions across all addresses with this stake key,
+     * Returns transactions across all addresses with this stake key,
      * sorted by slot DESC with balance diffs from the database
      *
      * @param stakeKeyHash the stake key hash (user hash)
      * @param protocolTxHash optional protocol transaction hash to filter by protocol version
-     * @param limit maximum number of entries (default 10)
-     * @return list of transaction history entries
+     * @param limit maximum number of entries (default 10, at most 100)
+     * @param cursor optional cursor returned with the previous page
+     * @return page of transaction history entries
      */
+    @ChainStateETag(value = {STAKE_KEY, PROTOCOL_PARAMS}, key = "stakeKeyHash")
     @GetMapping("/by-stake/{stakeKeyHash}")
-    public ResponseEntity<List<TransactionHistoryResponse>> getHistoryByStakeKey(
+    public ResponseEntity<?> getHistoryByStakeKey(
             @PathVariable String stakeKeyHash,
             @RequestParam(required = false) String protocolTxHash,
-            @RequestParam(defaultValue = "10") int limit) {
-        log.debug("GET /history/by-stake/{} - protocolTxHash={}, limit={}", stakeKeyHash, protocolTxHash, limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /history/by-stake/{} - protocolTxHash={}, limit={}, cursor={}", stakeKeyHash, protocolTxHash, limit, cursor);
+
+        SlotCursor after;
+        try {
+            after = SlotCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
 
         // Resolve payment script hash from protocol tx hash if provided
         String paymentScriptHash = null;
@@ -57,66 +75,53 @@ public class HistoryController {
                 log.debug("Resolved paymentScriptHash={} from protocolTxHash={}", paymentScriptHash, protocolTxHash);
             } else {
                 log.warn("Protocol not found for txHash={}", protocolTxHash);
-                return ResponseEntity.ok(Collections.emptyList());
+                return ResponseEntity.ok(new PageResponse<>(List.of(), null));
             }
         }
 
-        // Get all latest balances for this stake key (optionally filtered by protocol)
-        List<BalanceLogEntity> latestBalances;
-        if (paymentScriptHash != null) {
-            latestBalances = balanceService.getLatestBalancesByPaymentScriptAndStakeKey(paymentScriptHash, stakeKeyHash);
-        } else {
-            latestBalances = balanceService.getLatestBalancesByStakeKey(stakeKeyHash);
+        // One extra row tells whether there is a next page
+        List<BalanceLogEntity> entries = balanceService.getHistoryByStakeKey(stakeKeyHash, paymentScriptHash, after, pageSize + 1);
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
         }
 
-        // For each address, get their history
-        List<TransactionHistoryResponse> allHistory = new ArrayList<>();
-
-        for (BalanceLogEntity latestBalance : latestBalances) {
-            String address = latestBalance.getAddress();
-
-            // Get full history for this address (we'll limit globally later)
-            List<BalanceLogEntity> addressHistory = balanceService.getBalanceHistory(address, Integer.MAX_VALUE);
-
-            // Process each entry - use stored balance diff and transaction type
-            for (BalanceLogEntity entry : addressHistory) {
-                // Deserialize stored balance diff (or calculate if not present for backward compatibility)
-                Map<String, String> diffMap;
-                if (entry.getBalanceDiff() != null && !entry.getBalanceDiff().isEmpty()) {
-                    diffMap = deserializeBalanceDiff(entry.getBalanceDiff());
-                } else {
-                    // Fallback to calculation for old entries
-                    Optional<BalanceLogEntity> previousOpt = balanceService.getPreviousBalance(entry);
-                    String previousBalanceJson = previousOpt.map(BalanceLogEntity::getBalance).orElse(null);
-                    diffMap = BalanceValueHelper.calculateSignedDiff(entry.getBalance(), previousBalanceJson);
-                }
-
-                // Filter out zero amounts from balance diff
-                diffMap = filterZeroAmounts(diffMap);
-
-                // Convert slot to timestamp
-                var timestamp = cardanoConverters.slot().slotToTime(entry.getSlot()).toInstant(ZoneOffset.UTC).getEpochSecond();
-
-                TransactionHistoryResponse response = TransactionHistoryResponse.builder()
-                        .txHash(entry.getTxHash())
-                        .address(entry.getAddress())
-                        .slot(entry.getSlot())
-                        .timestamp(timestamp)
-                        .transactionType(entry.getTransactionType())
-                        .balanceDiff(diffMap)
-                        .build();
-
-                allHistory.add(response);
+        List<TransactionHistoryResponse> history = new ArrayList<>(entries.size());
+        for (BalanceLogEntity entry : entries) {
+            // Deserialize stored balance diff (or calculate if not present for backward compatibility)
+            Map<String, String> diffMap;
+            if (entry.getBalanceDiff() != null && !entry.getBalanceDiff().isEmpty()) {
+                diffMap = deserializeBalanceDiff(entry.getBalanceDiff());
+            } else {
+                // Fallback to calculation for old entries
+                Optional<BalanceLogEntity> previousOpt = balanceService.getPreviousBalance(entry);
+                String previousBalanceJson = previousOpt.map(BalanceLogEntity::getBalance).orElse(null);
+                diffMap = BalanceValueHelper.calculateSignedDiff(entry.getBalance(), previousBalanceJson);
             }
+
+            // Filter out zero amounts from balance diff
+            diffMap = filterZeroAmounts(diffMap);
+
+            // Convert slot to timestamp
+            var timestamp = cardanoConverters.slot().slotToTime(entry.getSlot()).toInstant(ZoneOffset.UTC).getEpochSecond();
+
+            history.add(TransactionHistoryResponse.builder()
+                    .txHash(entry.getTxHash())
+                    .address(entry.getAddress())
+                    .slot(entry.getSlot())
+                    .timestamp(timestamp)
+                    .transactionType(entry.getTransactionType())
+                    .balanceDiff(diffMap)
+                    .build());
         }
 
-        // Sort all transactions by slot DESC (most recent first) and apply limit
-        List<TransactionHistoryResponse> sortedHistory = allHistory.stream()
-                .sorted(Comparator.comparing(TransactionHistoryResponse::getSlot).reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (hasMore) {
+            BalanceLogEntity last = entries.getLast();
+            nextCursor = new SlotCursor(last.getSlot(), last.getId()).encode();
+        }
 
-        return ResponseEntity.ok(sortedHistory);
+        return ResponseEntity.ok(new PageResponse<>(history, nextCursor));
     }
 
     /**
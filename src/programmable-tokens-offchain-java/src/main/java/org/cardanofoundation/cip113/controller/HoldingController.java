@@ -0,0 +1,93 @@
+package org.cardanofoundation.cip113.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.config.ChainStateETag;
+import org.cardanofoundation.cip113.model.PageResponse;
+import org.cardanofoundation.cip113.model.TokenHolder;
+import org.cardanofoundation.cip113.service.HoldingService;
+import org.cardanofoundation.cip113.util.HolderCursor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.cardanofoundation.cip113.service.ChainStateVersions.Scope.*;
+
+@RestController
+@RequestMapping("${apiPrefix}/holdings")
+@RequiredArgsConstructor
+@Slf4j
+public class HoldingController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final int MAX_TOP_HOLDERS = 1000;
+
+    private final HoldingService holdingService;
+
+    /**
+     * Get holders of a unit, largest first
+     *
+     * @param unit   policyId + assetName hex
+     * @param limit  maximum number of holders (default 100, at most 500)
+     * @param cursor optional cursor returned with the previous page
+     * @return page of holders
+     */
+    @ChainStateETag(BALANCES)
+    @GetMapping("/{unit}/holders")
+    public ResponseEntity<?> getHolders(
+            @PathVariable String unit,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /holdings/{}/holders - limit={}, cursor={}", unit, limit, cursor);
+
+        HolderCursor after;
+        try {
+            after = HolderCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // One extra holder tells whether there is a next page
+        List<TokenHolder> holders = holdingService.getHolders(unit, after, pageSize + 1);
+        String nextCursor = null;
+        if (holders.size() > pageSize) {
+            holders = holders.subList(0, pageSize);
+            TokenHolder last = holders.getLast();
+            nextCursor = new HolderCursor(last.amount(), last.addressId()).encode();
+        }
+        return ResponseEntity.ok(new PageResponse<>(holders, nextCursor));
+    }
+
+    /**
+     * Count the addresses currently holding a unit
+     *
+     * @param unit policyId + assetName hex
+     * @return map with the unit and its holder count
+     */
+    @ChainStateETag(BALANCES)
+    @GetMapping("/{unit}/holders/count")
+    public ResponseEntity<Map<String, Object>> countHolders(@PathVariable String unit) {
+        log.debug("GET /holdings/{}/holders/count", unit);
+        return ResponseEntity.ok(Map.of("unit", unit, "holders", holdingService.countHolders(unit)));
+    }
+
+    /**
+     * Get the largest holders of a unit
+     *
+     * @param unit policyId + assetName hex
+     * @param n    number of holders (default 100, at most 1000)
+     * @return list of holders ordered by amount descending
+     */
+    @ChainStateETag(BALANCES)
+    @GetMapping("/{unit}/holders/top")
+    public ResponseEntity<List<TokenHolder>> getTopHolders(
+            @PathVariable String unit,
+            @RequestParam(defaultValue = "100") int n) {
+        log.debug("GET /holdings/{}/holders/top - n={}", unit, n);
+        return ResponseEntity.ok(holdingService.getHolders(unit, null, Math.max(1, Math.min(n, MAX_TOP_HOLDERS))));
+    }
+}
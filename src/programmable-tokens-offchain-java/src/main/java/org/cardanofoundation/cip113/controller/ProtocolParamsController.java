@@ -2,10 +2,13 @@ package org.cardanofoundation.cip113.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.config.ChainStateETag;
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.model.PageResponse;
 import org.cardanofoundation.cip113.model.ProtocolVersionInfo;
 import org.cardanofoundation.cip113.service.ProtocolBootstrapService;
 import org.cardanofoundation.cip113.service.ProtocolParamsService;
+import org.cardanofoundation.cip113.util.SlotCursor;
 import org.cardanofoundation.conversions.CardanoConverters;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +18,8 @@ import java.time.ZoneOffset;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static org.cardanofoundation.cip113.service.ChainStateVersions.Scope.*;
+
 @RestController
 @RequestMapping("${apiPrefix}/protocol-params")
 @RequiredArgsConstructor
@@ -27,11 +32,14 @@ public class ProtocolParamsController {
 
     private final CardanoConverters cardanoConverters;
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     /**
      * Get the latest protocol params version
      *
      * @return the latest protocol params or 404 if none exist
      */
+    @ChainStateETag(PROTOCOL_PARAMS)
     @GetMapping("/latest")
     public ResponseEntity<ProtocolParamsEntity> getLatest() {
         log.debug("GET /latest - fetching latest protocol params");
@@ -41,15 +49,35 @@ public class ProtocolParamsController {
     }
 
     /**
-     * Get all protocol params versions (ordered by slot ascending)
+     * Get protocol params versions (ordered by slot ascending)
      *
-     * @return list of all protocol params
+     * @param limit maximum number of entries (default 100, at most 500)
+     * @param cursor optional cursor returned with the previous page
+     * @return page of protocol params
      */
+    @ChainStateETag(PROTOCOL_PARAMS)
     @GetMapping("/all")
-    public ResponseEntity<List<ProtocolParamsEntity>> getAll() {
-        log.debug("GET /all - fetching all protocol params");
-        List<ProtocolParamsEntity> allParams = protocolParamsService.getAll();
-        return ResponseEntity.ok(allParams);
+    public ResponseEntity<?> getAll(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /all - fetching protocol params, limit={}, cursor={}", limit, cursor);
+        SlotCursor after;
+        try {
+            after = SlotCursor.decode(cursor, SlotCursor.ORIGIN);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // One extra entry tells whether there is a next page
+        List<ProtocolParamsEntity> params = protocolParamsService.getPage(after, pageSize + 1);
+        String nextCursor = null;
+        if (params.size() > pageSize) {
+            params = params.subList(0, pageSize);
+            ProtocolParamsEntity last = params.getLast();
+            nextCursor = new SlotCursor(last.getSlot(), last.getId()).encode();
+        }
+        return ResponseEntity.ok(new PageResponse<>(params, nextCursor));
     }
 
     /**
@@ -58,6 +86,7 @@ public class ProtocolParamsController {
      * @param txHash the transaction hash
      * @return the protocol params or 404 if not found
      */
+    @ChainStateETag(PROTOCOL_PARAMS)
     @GetMapping("/by-tx/{txHash}")
     public ResponseEntity<ProtocolParamsEntity> getByTxHash(@PathVariable String txHash) {
         log.debug("GET /by-tx/{} - fetching protocol params by tx hash", txHash);
@@ -72,6 +101,7 @@ public class ProtocolParamsController {
      * @param slot the slot number
      * @return the protocol params or 404 if not found
      */
+    @ChainStateETag(PROTOCOL_PARAMS)
     @GetMapping("/by-slot/{slot}")
     public ResponseEntity<ProtocolParamsEntity> getBySlot(@PathVariable Long slot) {
         log.debug("GET /by-slot/{} - fetching protocol params by slot", slot);
@@ -86,6 +116,7 @@ public class ProtocolParamsController {
      * @param slot the slot number
      * @return the protocol params valid at that slot or 404 if none
      */
+    @ChainStateETag(PROTOCOL_PARAMS)
     @GetMapping("/valid-at-slot/{slot}")
     public ResponseEntity<ProtocolParamsEntity> getValidAtSlot(@PathVariable Long slot) {
         log.debug("GET /valid-at-slot/{} - fetching protocol params valid at slot", slot);
@@ -101,6 +132,7 @@ public class ProtocolParamsController {
      *
      * @return list of protocol version info ordered by slot descending (newest first)
      */
+    @ChainStateETag(PROTOCOL_PARAMS)
     @GetMapping("/versions")
     public ResponseEntity<List<ProtocolVersionInfo>> getVersions() {
         log.debug("GET /versions - fetching all protocol versions");
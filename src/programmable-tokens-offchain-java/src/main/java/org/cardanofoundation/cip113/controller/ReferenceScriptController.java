@@ -0,0 +1,43 @@
+package org.cardanofoundation.cip113.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.ReferenceScriptEntity;
+import org.cardanofoundation.cip113.model.DeployReferenceScriptsRequest;
+import org.cardanofoundation.cip113.service.ReferenceScriptDeploymentService;
+import org.cardanofoundation.cip113.service.ReferenceScriptService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("${apiPrefix}/reference-scripts")
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceScriptController {
+
+    private final ReferenceScriptService referenceScriptService;
+
+    private final ReferenceScriptDeploymentService referenceScriptDeploymentService;
+
+    @GetMapping
+    public ResponseEntity<List<ReferenceScriptEntity>> getAll() {
+        return ResponseEntity.ok(referenceScriptService.getAll());
+    }
+
+    @PostMapping("/deploy")
+    public ResponseEntity<?> deploy(@RequestBody DeployReferenceScriptsRequest request,
+                                    @RequestParam(required = false) String protocolTxHash) {
+
+        log.info("deployReferenceScriptsRequest: {}, protocolTxHash: {}", request, protocolTxHash);
+
+        var transactionContext = referenceScriptDeploymentService.buildDeploymentTransaction(request, protocolTxHash);
+
+        if (transactionContext.isSuccessful()) {
+            return ResponseEntity.ok(transactionContext.unsignedCborTx());
+        } else {
+            return ResponseEntity.badRequest().body(transactionContext.error());
+        }
+    }
+}
@@ -2,20 +2,26 @@ package org.cardanofoundation.cip113.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.config.ChainStateETag;
 import org.cardanofoundation.cip113.entity.RegistryNodeEntity;
+import org.cardanofoundation.cip113.model.PageResponse;
 import org.cardanofoundation.cip113.model.ProtocolParams;
 import org.cardanofoundation.cip113.model.RegistryNode;
 import org.cardanofoundation.cip113.model.RegistryNodes;
 import org.cardanofoundation.cip113.service.ProtocolParamsService;
 import org.cardanofoundation.cip113.service.RegistryService;
+import org.cardanofoundation.cip113.util.KeyCursor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.cardanofoundation.cip113.service.ChainStateVersions.Scope.*;
+
 @RestController
 @RequestMapping("${apiPrefix}/registry")
 @RequiredArgsConstructor
@@ -25,32 +31,36 @@ public class RegistryController {
     private final RegistryService registryService;
     private final ProtocolParamsService protocolParamsService;
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     /**
-     * Get all registered tokens (across all protocol params versions)
+     * Get registered tokens (across all protocol params versions unless one is given)
      * Excludes sentinel nodes
      *
-     * @return list of all registered tokens
+     * @param protocolParamsId optional protocol params ID
+     * @param limit maximum number of tokens (default 100, at most 500)
+     * @param cursor optional cursor returned with the previous page
+     * @return page of registered tokens grouped by protocol params, ordered by key
      */
+    @ChainStateETag({REGISTRY, PROTOCOL_PARAMS})
     @GetMapping("/tokens")
-    public ResponseEntity<List<RegistryNodes>> getAllTokens(
-            @RequestParam(required = false) Long protocolParamsId) {
-        log.info("GET /tokens - protocolParamsId={}", protocolParamsId);
-
-        List<RegistryNodeEntity> tokens;
-        if (protocolParamsId != null) {
-            tokens = registryService.getAllTokens(protocolParamsId);
-        } else {
-            tokens = registryService.getAllTokens();
-        }
+    public ResponseEntity<?> getAllTokens(
+            @RequestParam(required = false) Long protocolParamsId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /tokens - protocolParamsId={}, limit={}, cursor={}", protocolParamsId, limit, cursor);
 
-        var registryNodes = tokens.stream()
-                .collect(Collectors.groupingBy(RegistryNodeEntity::getProtocolParams, Collectors.mapping(RegistryNode::from, Collectors.toList())))
-                .entrySet()
-                .stream()
-                .map(protocolParamsEntity -> new RegistryNodes(new ProtocolParams(protocolParamsEntity.getKey().getRegistryNodePolicyId(), protocolParamsEntity.getKey().getProgLogicScriptHash()), protocolParamsEntity.getValue()))
-                .toList();
+        KeyCursor from;
+        try {
+            from = KeyCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
 
-        return ResponseEntity.ok(registryNodes);
+        // One extra node is the first one of the next page
+        List<RegistryNodeEntity> tokens = registryService.getTokens(protocolParamsId, from, pageSize + 1);
+        return ResponseEntity.ok(toPage(tokens, pageSize));
     }
 
     /**
@@ -59,6 +69,7 @@ public class RegistryController {
      * @param policyId the token policy ID
      * @return the token configuration or 404 if not found
      */
+    @ChainStateETag({REGISTRY, PROTOCOL_PARAMS})
     @GetMapping("/token/{policyId}")
     public ResponseEntity<RegistryNode> getTokenByPolicyId(@PathVariable String policyId) {
         log.debug("GET /token/{} - fetching token configuration", policyId);
@@ -74,6 +85,7 @@ public class RegistryController {
      * @param policyId the token policy ID
      * @return map with "registered" boolean
      */
+    @ChainStateETag({REGISTRY, PROTOCOL_PARAMS})
     @GetMapping("/is-registered/{policyId}")
     public ResponseEntity<Map<String, Boolean>> isTokenRegistered(@PathVariable String policyId) {
         log.debug("GET /is-registered/{} - checking if token is registered", policyId);
@@ -88,6 +100,7 @@ public class RegistryController {
      *
      * @return list of protocol params with token counts
      */
+    @ChainStateETag({REGISTRY, PROTOCOL_PARAMS})
     @GetMapping("/protocols")
     public ResponseEntity<List<Map<String, Object>>> getProtocolsWithStats() {
         log.debug("GET /protocols - fetching protocol params with registry stats");
@@ -114,37 +127,61 @@ public class RegistryController {
      * @param protocolParamsId the protocol params ID
      * @return list of tokens sorted by key
      */
+    @ChainStateETag({REGISTRY, PROTOCOL_PARAMS})
     @GetMapping("/tokens/sorted")
     public ResponseEntity<List<RegistryNodes>> getTokensSorted(
             @RequestParam Long protocolParamsId) {
         log.debug("GET /tokens/sorted - protocolParamsId={}", protocolParamsId);
         List<RegistryNodeEntity> tokens = registryService.getTokensSorted(protocolParamsId);
-        var registryNodes = tokens.stream()
-                .collect(Collectors.groupingBy(RegistryNodeEntity::getProtocolParams, Collectors.mapping(RegistryNode::from, Collectors.toList())))
-                .entrySet()
-                .stream()
-                .map(protocolParamsEntity -> new RegistryNodes(new ProtocolParams(protocolParamsEntity.getKey().getRegistryNodePolicyId(), protocolParamsEntity.getKey().getProgLogicScriptHash()), protocolParamsEntity.getValue()))
-                .toList();
-        return ResponseEntity.ok(registryNodes);
+        return ResponseEntity.ok(groupByProtocolParams(tokens));
     }
 
     /**
      * Get all registry nodes including sentinel (for debugging)
      *
      * @param protocolParamsId the protocol params ID
-     * @return list of all nodes including sentinel
+     * @param limit maximum number of nodes (default 100, at most 500)
+     * @param cursor optional cursor returned with the previous page
+     * @return page of nodes including sentinel, ordered by key
      */
+    @ChainStateETag({REGISTRY, PROTOCOL_PARAMS})
     @GetMapping("/nodes/all")
-    public ResponseEntity<List<RegistryNodes>> getAllNodes(
-            @RequestParam Long protocolParamsId) {
-        log.debug("GET /nodes/all - protocolParamsId={}", protocolParamsId);
-        List<RegistryNodeEntity> nodes = registryService.getAllNodes(protocolParamsId);
-        var registryNodes = nodes.stream()
-                .collect(Collectors.groupingBy(RegistryNodeEntity::getProtocolParams, Collectors.mapping(RegistryNode::from, Collectors.toList())))
+    public ResponseEntity<?> getAllNodes(
+            @RequestParam Long protocolParamsId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /nodes/all - protocolParamsId={}, limit={}, cursor={}", protocolParamsId, limit, cursor);
+
+        KeyCursor from;
+        try {
+            from = KeyCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<RegistryNodeEntity> nodes = registryService.getAllNodes(protocolParamsId, from, pageSize + 1);
+        return ResponseEntity.ok(toPage(nodes, pageSize));
+    }
+
+    /**
+     * Group a page of nodes by protocol params. The extra node read past the page size becomes the cursor of the next page.
+     */
+    private static PageResponse<RegistryNodes> toPage(List<RegistryNodeEntity> nodes, int pageSize) {
+        String nextCursor = null;
+        if (nodes.size() > pageSize) {
+            nextCursor = new KeyCursor(nodes.get(pageSize).getKey()).encode();
+            nodes = nodes.subList(0, pageSize);
+        }
+        return new PageResponse<>(groupByProtocolParams(nodes), nextCursor);
+    }
+
+    private static List<RegistryNodes> groupByProtocolParams(List<RegistryNodeEntity> nodes) {
+        return nodes.stream()
+                .collect(Collectors.groupingBy(RegistryNodeEntity::getProtocolParams, LinkedHashMap::new, Collectors.mapping(RegistryNode::from, Collectors.toList())))
                 .entrySet()
                 .stream()
                 .map(protocolParamsEntity -> new RegistryNodes(new ProtocolParams(protocolParamsEntity.getKey().getRegistryNodePolicyId(), protocolParamsEntity.getKey().getProgLogicScriptHash()), protocolParamsEntity.getValue()))
                 .toList();
-        return ResponseEntity.ok(registryNodes);
     }
 }
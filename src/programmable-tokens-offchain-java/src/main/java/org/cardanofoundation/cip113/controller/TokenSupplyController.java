@@ -0,0 +1,105 @@
+package org.cardanofoundation.cip113.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.config.ChainStateETag;
+import org.cardanofoundation.cip113.entity.TokenSupplyEntity;
+import org.cardanofoundation.cip113.model.PageResponse;
+import org.cardanofoundation.cip113.service.TokenSupplyService;
+import org.cardanofoundation.cip113.util.SlotCursor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.cardanofoundation.cip113.service.ChainStateVersions.Scope.*;
+
+@RestController
+@RequestMapping("${apiPrefix}/supply")
+@RequiredArgsConstructor
+@Slf4j
+public class TokenSupplyController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final TokenSupplyService tokenSupplyService;
+
+    /**
+     * Get the current supply of a unit
+     *
+     * @param unit policyId + assetName hex
+     * @return map with the supply and the transaction that last changed it
+     */
+    @ChainStateETag(BALANCES)
+    @GetMapping("/{unit}")
+    public ResponseEntity<Map<String, String>> getCurrentSupply(@PathVariable String unit) {
+        log.debug("GET /supply/{} - fetching current supply", unit);
+        return tokenSupplyService.getCurrentSupply(unit)
+                .map(entity -> ResponseEntity.ok(toResponse(entity)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the supply of a unit as it was at a slot
+     *
+     * @param unit policyId + assetName hex
+     * @param slot the slot, the supply after the last mint or burn at or before it is returned
+     * @return map with the supply and the transaction that last changed it
+     */
+    @ChainStateETag(BALANCES)
+    @GetMapping("/{unit}/at-slot")
+    public ResponseEntity<Map<String, String>> getSupplyAtSlot(
+            @PathVariable String unit,
+            @RequestParam long slot) {
+        log.debug("GET /supply/{}/at-slot - fetching supply at slot {}", unit, slot);
+        return tokenSupplyService.getSupplyAtSlot(unit, slot)
+                .map(entity -> ResponseEntity.ok(toResponse(entity)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the mints and burns of a unit with the supply after each of them, newest first
+     *
+     * @param unit   policyId + assetName hex
+     * @param limit  maximum number of entries (default 100, at most 500)
+     * @param cursor optional cursor returned with the previous page
+     * @return page of supply entries
+     */
+    @ChainStateETag(BALANCES)
+    @GetMapping("/{unit}/history")
+    public ResponseEntity<?> getSupplyHistory(
+            @PathVariable String unit,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("GET /supply/{}/history - limit={}, cursor={}", unit, limit, cursor);
+
+        SlotCursor after;
+        try {
+            after = SlotCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // One extra entry tells whether there is a next page
+        List<TokenSupplyEntity> history = tokenSupplyService.getHistory(unit, after, pageSize + 1);
+        String nextCursor = null;
+        if (history.size() > pageSize) {
+            history = history.subList(0, pageSize);
+            TokenSupplyEntity last = history.getLast();
+            nextCursor = new SlotCursor(last.getSlot(), last.getId()).encode();
+        }
+        return ResponseEntity.ok(new PageResponse<>(history, nextCursor));
+    }
+
+    private static Map<String, String> toResponse(TokenSupplyEntity entity) {
+        Map<String, String> response = new HashMap<>();
+        response.put("unit", entity.getUnit());
+        response.put("supply", entity.getSupply().toString());
+        response.put("txHash", entity.getTxHash());
+        response.put("slot", entity.getSlot().toString());
+        return response;
+    }
+}
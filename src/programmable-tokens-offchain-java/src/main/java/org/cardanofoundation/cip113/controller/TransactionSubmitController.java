@@ -0,0 +1,90 @@
+package org.cardanofoundation.cip113.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.SubmittedTransactionResponse;
+import org.cardanofoundation.cip113.model.SubmittedTransactionStatus;
+import org.cardanofoundation.cip113.service.submit.InFlightTransactionTracker;
+import org.cardanofoundation.cip113.service.submit.TransactionSubmissionException;
+import org.cardanofoundation.cip113.service.submit.TransactionSubmissionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("${apiPrefix}/transactions")
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSubmitController {
+
+    private static final long MAX_WAIT_MS = 120_000L;
+
+    private final TransactionSubmissionService transactionSubmissionService;
+
+    private final InFlightTransactionTracker inFlightTransactionTracker;
+
+    /**
+     * Submit a signed transaction
+     *
+     * @param signedCborTx the signed transaction in CBOR hex format
+     * @return the tracked transaction
+     */
+    @PostMapping("/submit")
+    public ResponseEntity<?> submit(@RequestBody String signedCborTx) {
+        try {
+            var response = transactionSubmissionService.submit(signedCborTx.trim());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (TransactionSubmissionException e) {
+            log.warn("submission failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{txHash}")
+    public ResponseEntity<SubmittedTransactionResponse> getStatus(@PathVariable String txHash) {
+        return inFlightTransactionTracker.find(txHash)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Long-poll until the transaction is indexed
+     *
+     * @param txHash    the transaction hash
+     * @param timeoutMs how long to wait, capped at two minutes
+     * @return 200 once indexed (or expired), 202 with the current state if still in flight after the timeout
+     */
+    @GetMapping("/{txHash}/wait")
+    public DeferredResult<ResponseEntity<SubmittedTransactionResponse>> waitUntilIndexed(
+            @PathVariable String txHash,
+            @RequestParam(defaultValue = "30000") long timeoutMs) {
+
+        var waitMs = Math.min(Math.max(timeoutMs, 0L), MAX_WAIT_MS);
+        var deferredResult = new DeferredResult<ResponseEntity<SubmittedTransactionResponse>>(waitMs + 1_000L);
+
+        var completionOpt = inFlightTransactionTracker.awaitIndexed(txHash);
+        if (completionOpt.isEmpty()) {
+            deferredResult.setResult(ResponseEntity.notFound().build());
+            return deferredResult;
+        }
+
+        // Time out on a copy, the tracker's future is shared with the other waiters
+        completionOpt.get()
+                .copy()
+                .orTimeout(waitMs, TimeUnit.MILLISECONDS)
+                .whenComplete((response, throwable) -> {
+                    if (throwable == null) {
+                        deferredResult.setResult(ResponseEntity.ok(response));
+                    } else {
+                        var current = inFlightTransactionTracker.find(txHash)
+                                .orElse(new SubmittedTransactionResponse(txHash, SubmittedTransactionStatus.SUBMITTED, null, null, null, null, null));
+                        deferredResult.setResult(ResponseEntity.status(HttpStatus.ACCEPTED).body(current));
+                    }
+                });
+
+        return deferredResult;
+    }
+}
@@ -0,0 +1,26 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "asset_unit", uniqueConstraints = {
+    @UniqueConstraint(name = "unique_asset_unit", columnNames = {"unit"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetUnitEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // policyId + assetName hex
+    @Column(nullable = false, length = 120)
+    private String unit;
+}
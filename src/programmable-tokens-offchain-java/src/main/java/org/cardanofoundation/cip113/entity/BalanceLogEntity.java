@@ -12,9 +12,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "balance_log", indexes = {
-    @Index(name = "idx_balance_address", columnList = "address"),
-    @Index(name = "idx_balance_payment_script", columnList = "paymentScriptHash"),
-    @Index(name = "idx_balance_stake_key", columnList = "stakeKeyHash"),
+    @Index(name = "idx_balance_address_slot_id", columnList = "address, slot DESC, id DESC"),
+    @Index(name = "idx_balance_payment_address", columnList = "paymentScriptHash, address"),
+    @Index(name = "idx_balance_stake_address", columnList = "stakeKeyHash, address"),
+    @Index(name = "idx_balance_payment_slot_id", columnList = "paymentScriptHash, slot, id"),
+    @Index(name = "idx_balance_stake_slot_id", columnList = "stakeKeyHash, slot DESC, id DESC"),
     @Index(name = "idx_balance_payment_stake", columnList = "paymentScriptHash, stakeKeyHash"),
     @Index(name = "idx_balance_tx_hash", columnList = "txHash"),
     @Index(name = "idx_balance_slot", columnList = "slot"),
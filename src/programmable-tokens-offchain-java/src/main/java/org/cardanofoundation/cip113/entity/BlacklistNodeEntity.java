@@ -0,0 +1,66 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "blacklist_node", indexes = {
+    @Index(name = "idx_blacklist_node_output", columnList = "txHash, outputIndex")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "unique_blacklist_policy_key", columnNames = {"policyId", "key"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlacklistNodeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Blacklist node NFT policy
+    @Column(nullable = false, length = 56)
+    private String policyId;
+
+    @Column(nullable = false, length = 64)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String next;
+
+    // Output currently holding the node
+    @Column(nullable = false, length = 64)
+    private String txHash;
+
+    @Column(nullable = false)
+    private Integer outputIndex;
+
+    @Column(nullable = false, length = 200)
+    private String ownerAddress;
+
+    @Column(nullable = false)
+    private Long lastSlot;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,25 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "holder_address", uniqueConstraints = {
+    @UniqueConstraint(name = "unique_holder_address", columnNames = {"address"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolderAddressEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String address;
+}
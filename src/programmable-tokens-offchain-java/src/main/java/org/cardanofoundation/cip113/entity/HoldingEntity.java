@@ -0,0 +1,43 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+
+@Entity
+@Table(name = "holding_current", indexes = {
+    @Index(name = "idx_holding_unit_amount", columnList = "unitId, amount DESC, addressId")
+})
+@IdClass(HoldingEntity.HoldingId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldingEntity {
+
+    @Id
+    private Long unitId;
+
+    @Id
+    private Long addressId;
+
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger amount;
+
+    // Slot of the transaction that last changed the amount
+    @Column(nullable = false)
+    private Long lastSlot;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HoldingId implements Serializable {
+        private Long unitId;
+        private Long addressId;
+    }
+}
@@ -0,0 +1,45 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reference_script")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceScriptEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 56)
+    private String scriptHash;
+
+    @Column(nullable = false, length = 64)
+    private String txHash;
+
+    @Column(nullable = false)
+    private Integer outputIndex;
+
+    @Column(nullable = false, length = 200)
+    private String ownerAddress;
+
+    @Column(nullable = false)
+    private Long slot;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @Table(name = "registry_node", indexes = {
     @Index(name = "idx_registry_key", columnList = "key"),
     @Index(name = "idx_registry_next", columnList = "next"),
-    @Index(name = "idx_registry_protocol_params", columnList = "protocolParamsId"),
+    @Index(name = "idx_registry_protocol_params_key", columnList = "protocolParamsId, key"),
     @Index(name = "idx_registry_last_slot", columnList = "lastSlot")
 })
 @Data
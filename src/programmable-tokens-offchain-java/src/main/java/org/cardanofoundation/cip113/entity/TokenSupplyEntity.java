@@ -0,0 +1,50 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+
+@Entity
+@Table(name = "token_supply", indexes = {
+    @Index(name = "idx_token_supply_unit_slot_id", columnList = "unit, slot DESC, id DESC")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "unique_token_supply_entry", columnNames = {"unit", "txHash"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenSupplyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // policyId + assetName hex
+    @Column(nullable = false, length = 120)
+    private String unit;
+
+    @Column(nullable = false, length = 56)
+    private String policyId;
+
+    @Column(nullable = false, length = 64)
+    private String txHash;
+
+    @Column(nullable = false)
+    private Long slot;
+
+    @Column(nullable = false)
+    private Long blockHeight;
+
+    // Signed mint quantity of the transaction, negative for burns
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger quantity;
+
+    // Supply after the transaction
+    @Column(nullable = false, precision = 38, scale = 0)
+    private BigInteger supply;
+}
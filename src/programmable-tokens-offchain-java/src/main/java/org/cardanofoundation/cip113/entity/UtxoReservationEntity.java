@@ -0,0 +1,39 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "utxo_reservation", indexes = {
+    @Index(name = "idx_utxo_reservation_expires_at", columnList = "expiresAt")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "unique_utxo_reservation", columnNames = {"txHash", "outputIndex"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtxoReservationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String txHash;
+
+    @Column(nullable = false)
+    private Integer outputIndex;
+
+    // Id of the build holding the lease
+    @Column(nullable = false, length = 64)
+    private String reservedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
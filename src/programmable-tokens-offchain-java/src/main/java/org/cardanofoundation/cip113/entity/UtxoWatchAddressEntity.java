@@ -0,0 +1,30 @@
+package org.cardanofoundation.cip113.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "utxo_watch_address")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtxoWatchAddressEntity {
+
+    @Id
+    @Column(length = 200)
+    private String address;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
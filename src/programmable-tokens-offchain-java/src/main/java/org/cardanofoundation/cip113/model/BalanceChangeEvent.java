@@ -0,0 +1,26 @@
+package org.cardanofoundation.cip113.model;
+
+import java.util.Map;
+
+/**
+ * Committed balance change of an address, pushed to stream subscribers
+ *
+ * @param address         the bech32 address
+ * @param stakeKeyHash    stake key hash of the address, may be null
+ * @param txHash          the transaction hash
+ * @param slot            slot of the transaction
+ * @param blockHeight     block height of the transaction
+ * @param transactionType MINT, BURN, TRANSFER, REGISTER, or null
+ * @param balance         balance after the transaction, unit to amount
+ * @param diff            signed balance difference per unit
+ */
+public record BalanceChangeEvent(String address,
+                                 String stakeKeyHash,
+                                 String txHash,
+                                 Long slot,
+                                 Long blockHeight,
+                                 TransactionType transactionType,
+                                 Map<String, String> balance,
+                                 Map<String, String> diff) {
+
+}
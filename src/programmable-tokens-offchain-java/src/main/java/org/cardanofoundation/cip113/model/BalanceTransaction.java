@@ -0,0 +1,24 @@
+package org.cardanofoundation.cip113.model;
+
+import java.util.Map;
+
+/**
+ * Transaction of an address with the balance it resulted in
+ *
+ * @param id              balance log id, used for paging
+ * @param txHash          the transaction hash
+ * @param slot            slot of the transaction
+ * @param blockHeight     block height of the transaction
+ * @param transactionType MINT, BURN, TRANSFER, REGISTER, or null
+ * @param balance         balance after the transaction as JSON
+ * @param diff            signed balance difference per unit
+ */
+public record BalanceTransaction(Long id,
+                                 String txHash,
+                                 Long slot,
+                                 Long blockHeight,
+                                 TransactionType transactionType,
+                                 String balance,
+                                 Map<String, String> diff) {
+
+}
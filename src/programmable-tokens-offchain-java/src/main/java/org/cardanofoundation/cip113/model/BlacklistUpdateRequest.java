@@ -0,0 +1,16 @@
+package org.cardanofoundation.cip113.model;
+
+/**
+ * Request to insert a credential into, or remove it from, a blacklist
+ *
+ * @param managerAddress     address of the blacklist manager, its payment key must sign
+ * @param initTxHash         tx hash of the utxo the blacklist policy was parameterized with
+ * @param initOutputIndex    output index of the utxo the blacklist policy was parameterized with
+ * @param credential         hex encoded credential hash to insert or remove
+ */
+public record BlacklistUpdateRequest(String managerAddress,
+                                     String initTxHash,
+                                     int initOutputIndex,
+                                     String credential) {
+
+}
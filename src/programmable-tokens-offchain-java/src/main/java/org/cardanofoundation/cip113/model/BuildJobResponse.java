@@ -0,0 +1,26 @@
+package org.cardanofoundation.cip113.model;
+
+import java.time.Instant;
+
+/**
+ * State of an asynchronous transaction build
+ *
+ * @param jobId          id to poll or stream the job with
+ * @param type           kind of transaction being built
+ * @param status         current status
+ * @param unsignedCborTx the unsigned transaction in CBOR hex format, once succeeded
+ * @param policyId       policy id of the registered token, registrations only
+ * @param error          failure reason, once failed
+ * @param submittedAt    when the job was queued
+ * @param completedAt    when the job finished, null while queued or running
+ */
+public record BuildJobResponse(String jobId,
+                               TransactionType type,
+                               BuildJobStatus status,
+                               String unsignedCborTx,
+                               String policyId,
+                               String error,
+                               Instant submittedAt,
+                               Instant completedAt) {
+
+}
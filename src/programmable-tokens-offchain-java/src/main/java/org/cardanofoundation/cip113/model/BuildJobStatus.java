@@ -0,0 +1,30 @@
+package org.cardanofoundation.cip113.model;
+
+/**
+ * Lifecycle of an asynchronous transaction build
+ */
+public enum BuildJobStatus {
+    /**
+     * Waiting in the build queue
+     */
+    QUEUED,
+
+    /**
+     * Being built
+     */
+    RUNNING,
+
+    /**
+     * Built, the unsigned transaction is available
+     */
+    SUCCEEDED,
+
+    /**
+     * Build failed, see error
+     */
+    FAILED;
+
+    public boolean isDone() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -0,0 +1,24 @@
+package org.cardanofoundation.cip113.model;
+
+import java.util.List;
+
+/**
+ * Selection of addresses whose latest balances are looked up in one go. The lists are combined;
+ * an address matched by several of them is returned once.
+ *
+ * @param addresses           bech32 addresses
+ * @param stakeKeyHashes      stake key hashes, matching all their programmable token addresses
+ * @param paymentScriptHashes payment script hashes, matching all addresses of a protocol version
+ */
+public record BulkBalanceRequest(List<String> addresses,
+                                 List<String> stakeKeyHashes,
+                                 List<String> paymentScriptHashes) {
+
+    public int size() {
+        return sizeOf(addresses) + sizeOf(stakeKeyHashes) + sizeOf(paymentScriptHashes);
+    }
+
+    private static int sizeOf(List<String> values) {
+        return values == null ? 0 : values.size();
+    }
+}
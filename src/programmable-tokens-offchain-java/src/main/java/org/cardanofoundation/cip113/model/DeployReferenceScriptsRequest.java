@@ -0,0 +1,18 @@
+package org.cardanofoundation.cip113.model;
+
+import java.util.List;
+
+/**
+ * Request to deploy validators as reference scripts
+ *
+ * @param payerAddress               wallet paying for the deployment
+ * @param includeDirectorySpend      deploy the directory spend validator of the protocol version
+ * @param substandardName            substandard of the validators below, optional
+ * @param substandardContractNames   substandard validators to deploy, optional
+ */
+public record DeployReferenceScriptsRequest(String payerAddress,
+                                            boolean includeDirectorySpend,
+                                            String substandardName,
+                                            List<String> substandardContractNames) {
+
+}
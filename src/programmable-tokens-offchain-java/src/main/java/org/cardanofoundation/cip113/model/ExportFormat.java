@@ -0,0 +1,36 @@
+package org.cardanofoundation.cip113.model;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Output formats of the streaming exports
+ */
+public enum ExportFormat {
+
+    /**
+     * One JSON object per line
+     */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+    /**
+     * Comma separated values with a header row, JSON columns quoted
+     */
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+
+    private final String fileExtension;
+
+    ExportFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
@@ -0,0 +1,13 @@
+package org.cardanofoundation.cip113.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list
+ *
+ * @param items      entries of this page
+ * @param nextCursor opaque cursor to pass back for the next page, null on the last page
+ */
+public record PageResponse<T>(List<T> items, String nextCursor) {
+
+}
@@ -0,0 +1,24 @@
+package org.cardanofoundation.cip113.model;
+
+import java.time.Instant;
+
+/**
+ * State of a transaction submitted through this service
+ *
+ * @param txHash       the transaction hash
+ * @param status       current status
+ * @param submittedAt  when the submitter accepted the transaction
+ * @param confirmedAt  when the indexer processed the block, null until confirmed
+ * @param slot         slot of the block, null until confirmed
+ * @param blockHeight  height of the block, null until confirmed
+ * @param latencyMs    submit to indexed latency, null until confirmed
+ */
+public record SubmittedTransactionResponse(String txHash,
+                                           SubmittedTransactionStatus status,
+                                           Instant submittedAt,
+                                           Instant confirmedAt,
+                                           Long slot,
+                                           Long blockHeight,
+                                           Long latencyMs) {
+
+}
@@ -0,0 +1,21 @@
+package org.cardanofoundation.cip113.model;
+
+/**
+ * Status of a transaction submitted through this service
+ */
+public enum SubmittedTransactionStatus {
+    /**
+     * Accepted by the submitter, not indexed yet
+     */
+    SUBMITTED,
+
+    /**
+     * Indexed in a block
+     */
+    CONFIRMED,
+
+    /**
+     * Not indexed within the tracking TTL
+     */
+    EXPIRED
+}
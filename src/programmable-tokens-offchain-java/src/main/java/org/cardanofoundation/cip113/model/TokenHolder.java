@@ -0,0 +1,14 @@
+package org.cardanofoundation.cip113.model;
+
+import java.math.BigInteger;
+
+/**
+ * Address holding a unit
+ *
+ * @param address   the bech32 address
+ * @param amount    amount of the unit held
+ * @param addressId internal address id, used for paging
+ */
+public record TokenHolder(String address, BigInteger amount, Long addressId) {
+
+}
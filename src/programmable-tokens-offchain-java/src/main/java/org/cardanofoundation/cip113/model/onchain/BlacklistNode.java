@@ -0,0 +1,29 @@
+package org.cardanofoundation.cip113.model.onchain;
+
+import com.bloxbean.cardano.client.plutus.spec.BytesPlutusData;
+import com.bloxbean.cardano.client.plutus.spec.ConstrPlutusData;
+import com.bloxbean.cardano.client.plutus.spec.PlutusData;
+import com.bloxbean.cardano.client.util.HexUtil;
+import lombok.Builder;
+
+/**
+ * Node of the on-chain blacklist linked list (blacklist_mint.ak).
+ * Keys are hex encoded credential hashes, the origin node has an empty key.
+ */
+@Builder(toBuilder = true)
+public record BlacklistNode(String key, String next) {
+
+    public PlutusData toPlutusData() {
+        return ConstrPlutusData.of(0,
+                BytesPlutusData.of(HexUtil.decodeHexString(key)),
+                BytesPlutusData.of(HexUtil.decodeHexString(next)));
+    }
+
+    /**
+     * Whether this node proves that the credential is not blacklisted (key < credential < next)
+     */
+    public boolean covers(String credential) {
+        return key.compareTo(credential) < 0 && credential.compareTo(next) < 0;
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.cardanofoundation.cip113.model.onchain;
+
+import com.bloxbean.cardano.client.plutus.spec.PlutusData;
+import com.bloxbean.cardano.client.util.HexUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlacklistNodeParser {
+
+    private final ObjectMapper objectMapper;
+
+    public Optional<BlacklistNode> parse(String inlineDatum) {
+        try {
+            var data = PlutusData.deserialize(HexUtil.decodeHexString(inlineDatum));
+            var jsonData = objectMapper.readTree(objectMapper.writeValueAsString(data));
+            log.debug("Parsing blacklist node jsonData: {}", jsonData);
+
+            String rootName;
+            if (jsonData.has("constructor")) {
+                rootName = "fields";
+            } else {
+                rootName = "list";
+            }
+
+            var fields = jsonData.path(rootName);
+            if (fields.size() != 2) {
+                return Optional.empty();
+            }
+
+            return Optional.of(BlacklistNode.builder()
+                    .key(fields.get(0).path("bytes").asText())
+                    .next(fields.get(1).path("bytes").asText())
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to parse blacklist node from inline datum", e);
+            return Optional.empty();
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.AssetUnitEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AssetUnitRepository extends JpaRepository<AssetUnitEntity, Long> {
+
+    Optional<AssetUnitEntity> findByUnit(String unit);
+}
@@ -19,6 +19,15 @@ public interface BalanceLogRepository extends JpaRepository<BalanceLogEntity, Lo
     @Query("SELECT b FROM BalanceLogEntity b WHERE b.address = :address ORDER BY b.slot DESC, b.id DESC")
     List<BalanceLogEntity> findLatestByAddress(@Param("address") String address, Pageable pageable);
 
+    /**
+     * Find the balance entry of an address in effect at a slot: the latest entry at or before it.
+     * Served by a backward seek on idx_balance_address_slot_id, whatever the length of the history.
+     */
+    @Query("SELECT b FROM BalanceLogEntity b WHERE b.address = :address AND b.slot <= :slot ORDER BY b.slot DESC, b.id DESC")
+    List<BalanceLogEntity> findLatestByAddressAtSlot(@Param("address") String address,
+                                                     @Param("slot") Long slot,
+                                                     Pageable pageable);
+
     /**
      * Find balance history for an address
      */
@@ -47,6 +56,56 @@ public interface BalanceLogRepository extends JpaRepository<BalanceLogEntity, Lo
            ") ORDER BY b.slot DESC")
     List<BalanceLogEntity> findLatestByStakeKeyHash(@Param("stakeKeyHash") String stakeKeyHash);
 
+    /**
+     * Find a page of latest balances by payment script hash (one per address), keyset-paginated on the address
+     *
+     * @param paymentScriptHash The payment script hash
+     * @param fromAddress       First address of the page
+     * @param pageable          Page size, the offset must be 0
+     * @return List of latest balance entries ordered by address
+     */
+    @Query("""
+        SELECT b FROM BalanceLogEntity b
+        WHERE b.paymentScriptHash = :paymentScriptHash
+        AND b.address >= :fromAddress
+        AND NOT EXISTS (
+            SELECT 1 FROM BalanceLogEntity b2
+            WHERE b2.address = b.address
+            AND (b2.slot > b.slot OR (b2.slot = b.slot AND b2.id > b.id))
+        )
+        ORDER BY b.address ASC
+        """)
+    List<BalanceLogEntity> findLatestByPaymentScriptHashFrom(
+            @Param("paymentScriptHash") String paymentScriptHash,
+            @Param("fromAddress") String fromAddress,
+            Pageable pageable
+    );
+
+    /**
+     * Find a page of latest balances by stake key hash (one per address), keyset-paginated on the address
+     *
+     * @param stakeKeyHash The stake key hash
+     * @param fromAddress  First address of the page
+     * @param pageable     Page size, the offset must be 0
+     * @return List of latest balance entries ordered by address
+     */
+    @Query("""
+        SELECT b FROM BalanceLogEntity b
+        WHERE b.stakeKeyHash = :stakeKeyHash
+        AND b.address >= :fromAddress
+        AND NOT EXISTS (
+            SELECT 1 FROM BalanceLogEntity b2
+            WHERE b2.address = b.address
+            AND (b2.slot > b.slot OR (b2.slot = b.slot AND b2.id > b.id))
+        )
+        ORDER BY b.address ASC
+        """)
+    List<BalanceLogEntity> findLatestByStakeKeyHashFrom(
+            @Param("stakeKeyHash") String stakeKeyHash,
+            @Param("fromAddress") String fromAddress,
+            Pageable pageable
+    );
+
     /**
      * Find latest balances by payment script hash and stake key hash
      */
@@ -75,21 +134,94 @@ public interface BalanceLogRepository extends JpaRepository<BalanceLogEntity, Lo
     boolean existsByAddressAndTxHash(String address, String txHash);
 
     /**
-     * Find balance history by stake key hash with optional protocol filtering
+     * Find a page of balance history by stake key hash, keyset-paginated on (slot, id).
+     * Served by idx_balance_stake_slot_id.
+     *
      * @param stakeKeyHash The stake key hash to filter by
-     * @param paymentScriptHash Optional payment script hash for protocol version filtering
-     * @param pageable Pagination parameters
-     * @return List of balance entries ordered by slot descending
+     * @param slot         Slot of the last entry of the previous page
+     * @param id           Id of the last entry of the previous page
+     * @param pageable     Page size, the offset must be 0
+     * @return List of balance entries ordered by slot and id descending
+     */
+    @Query("""
+        SELECT bl FROM BalanceLogEntity bl
+        WHERE bl.stakeKeyHash = :stakeKeyHash
+        AND bl.slot <= :slot
+        AND (bl.slot < :slot OR bl.id < :id)
+        ORDER BY bl.slot DESC, bl.id DESC
+        """)
+    List<BalanceLogEntity> findHistoryByStakeKeyHashBefore(
+            @Param("stakeKeyHash") String stakeKeyHash,
+            @Param("slot") long slot,
+            @Param("id") long id,
+            Pageable pageable
+    );
+
+    /**
+     * Find a page of balance history by stake key hash for one protocol version, keyset-paginated on (slot, id)
+     *
+     * @param stakeKeyHash      The stake key hash to filter by
+     * @param paymentScriptHash Payment script hash of the protocol version
+     * @param slot              Slot of the last entry of the previous page
+     * @param id                Id of the last entry of the previous page
+     * @param pageable          Page size, the offset must be 0
+     * @return List of balance entries ordered by slot and id descending
      */
     @Query("""
         SELECT bl FROM BalanceLogEntity bl
         WHERE bl.stakeKeyHash = :stakeKeyHash
-        AND (:paymentScriptHash IS NULL OR bl.paymentScriptHash = :paymentScriptHash)
-        ORDER BY bl.slot DESC
+        AND bl.paymentScriptHash = :paymentScriptHash
+        AND bl.slot <= :slot
+        AND (bl.slot < :slot OR bl.id < :id)
+        ORDER BY bl.slot DESC, bl.id DESC
         """)
-    List<BalanceLogEntity> findHistoryByStakeKeyHashAndPaymentScript(
+    List<BalanceLogEntity> findHistoryByStakeKeyHashAndPaymentScriptBefore(
             @Param("stakeKeyHash") String stakeKeyHash,
             @Param("paymentScriptHash") String paymentScriptHash,
+            @Param("slot") long slot,
+            @Param("id") long id,
             Pageable pageable
     );
+
+    /**
+     * Find a page of transactions of an address, keyset-paginated on (slot, id).
+     * The stored balance diff is returned as is; for legacy rows without one the previous balance is
+     * taken with a LAG window. The page is selected first and the window runs over it, so the caller
+     * must ask for one row more than it returns: the oldest returned row then has its predecessor
+     * in the window as well.
+     *
+     * @param address the bech32 address
+     * @param slot    Slot of the last entry of the previous page
+     * @param id      Id of the last entry of the previous page
+     * @param limit   Number of rows to read
+     * @return rows ordered by slot and id descending
+     */
+    @Query(value = """
+        SELECT p.id AS "id",
+               p.tx_hash AS "txHash",
+               p.slot AS "slot",
+               p.block_height AS "blockHeight",
+               p.transaction_type AS "transactionType",
+               p.balance AS "balance",
+               p.balance_diff AS "balanceDiff",
+               CASE WHEN p.balance_diff IS NULL
+                    THEN LAG(p.balance) OVER (ORDER BY p.slot, p.id)
+               END AS "previousBalance"
+        FROM (
+            SELECT b.id, b.tx_hash, b.slot, b.block_height, b.transaction_type, b.balance, b.balance_diff
+            FROM balance_log b
+            WHERE b.address = :address
+            AND b.slot <= :slot
+            AND (b.slot < :slot OR b.id < :id)
+            ORDER BY b.slot DESC, b.id DESC
+            LIMIT :limit
+        ) p
+        ORDER BY p.slot DESC, p.id DESC
+        """, nativeQuery = true)
+    List<BalanceTransactionRow> findTransactionsByAddressBefore(
+            @Param("address") String address,
+            @Param("slot") long slot,
+            @Param("id") long id,
+            @Param("limit") int limit
+    );
 }
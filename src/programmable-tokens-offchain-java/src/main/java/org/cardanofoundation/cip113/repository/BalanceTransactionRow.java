@@ -0,0 +1,27 @@
+package org.cardanofoundation.cip113.repository;
+
+/**
+ * Balance log entry together with the balance before it, as read by
+ * {@link BalanceLogRepository#findTransactionsByAddressBefore}
+ */
+public interface BalanceTransactionRow {
+
+    Long getId();
+
+    String getTxHash();
+
+    Long getSlot();
+
+    Long getBlockHeight();
+
+    String getTransactionType();
+
+    String getBalance();
+
+    String getBalanceDiff();
+
+    /**
+     * Balance of the preceding entry of the same address, only selected for legacy rows without a stored diff
+     */
+    String getPreviousBalance();
+}
@@ -0,0 +1,23 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.BlacklistNodeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BlacklistNodeRepository extends JpaRepository<BlacklistNodeEntity, Long> {
+
+    Optional<BlacklistNodeEntity> findByPolicyIdAndKey(String policyId, String key);
+
+    List<BlacklistNodeEntity> findAllByPolicyIdIn(List<String> policyIds);
+
+    @Modifying
+    @Query("DELETE FROM BlacklistNodeEntity b WHERE b.txHash = :txHash AND b.outputIndex = :outputIndex")
+    int deleteByTxHashAndOutputIndex(@Param("txHash") String txHash, @Param("outputIndex") int outputIndex);
+}
@@ -0,0 +1,57 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.HoldingEntity;
+import org.cardanofoundation.cip113.model.TokenHolder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigInteger;
+import java.util.List;
+
+@Repository
+public interface HoldingRepository extends JpaRepository<HoldingEntity, HoldingEntity.HoldingId> {
+
+    /**
+     * Count holders of a unit, index-only on idx_holding_unit_amount
+     */
+    long countByUnitId(Long unitId);
+
+    /**
+     * Find holders of a unit by amount descending, keyset-paginated on (amount, addressId).
+     * The holding side is an index-only range scan of idx_holding_unit_amount.
+     *
+     * @param unitId    the unit id
+     * @param amount    amount of the last holder of the previous page
+     * @param addressId address id of the last holder of the previous page
+     * @param pageable  page size, the offset must be 0
+     * @return holders ordered by amount descending
+     */
+    @Query("""
+        SELECT new org.cardanofoundation.cip113.model.TokenHolder(a.address, h.amount, h.addressId)
+        FROM HoldingEntity h
+        JOIN HolderAddressEntity a ON a.id = h.addressId
+        WHERE h.unitId = :unitId
+        AND h.amount <= :amount
+        AND (h.amount < :amount OR h.addressId > :addressId)
+        ORDER BY h.amount DESC, h.addressId ASC
+        """)
+    List<TokenHolder> findHoldersAfter(@Param("unitId") Long unitId,
+                                       @Param("amount") BigInteger amount,
+                                       @Param("addressId") Long addressId,
+                                       Pageable pageable);
+
+    /**
+     * Find the first page of holders of a unit by amount descending
+     */
+    @Query("""
+        SELECT new org.cardanofoundation.cip113.model.TokenHolder(a.address, h.amount, h.addressId)
+        FROM HoldingEntity h
+        JOIN HolderAddressEntity a ON a.id = h.addressId
+        WHERE h.unitId = :unitId
+        ORDER BY h.amount DESC, h.addressId ASC
+        """)
+    List<TokenHolder> findHolders(@Param("unitId") Long unitId, Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.ReferenceScriptEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReferenceScriptRepository extends JpaRepository<ReferenceScriptEntity, Long> {
+
+    Optional<ReferenceScriptEntity> findByScriptHash(String scriptHash);
+
+    @Modifying
+    @Query("DELETE FROM ReferenceScriptEntity r WHERE r.txHash = :txHash AND r.outputIndex = :outputIndex")
+    int deleteByTxHashAndOutputIndex(@Param("txHash") String txHash, @Param("outputIndex") int outputIndex);
+
+    @Modifying
+    @Query("DELETE FROM ReferenceScriptEntity r WHERE r.slot > :slot")
+    int deleteBySlotGreaterThan(@Param("slot") long slot);
+}
@@ -1,6 +1,7 @@
 package org.cardanofoundation.cip113.repository;
 
 import org.cardanofoundation.cip113.entity.RegistryNodeEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -32,4 +33,17 @@ public interface RegistryNodeRepository extends JpaRepository<RegistryNodeEntity
 
     @Query("SELECT r FROM RegistryNodeEntity r WHERE r.key = :key AND r.protocolParams.id = :protocolParamsId")
     Optional<RegistryNodeEntity> findByKeyAndProtocolParamsId(@Param("key") String key, @Param("protocolParamsId") Long protocolParamsId);
+
+    @Query("SELECT r FROM RegistryNodeEntity r JOIN FETCH r.protocolParams WHERE r.key != '' AND r.key >= :fromKey ORDER BY r.key ASC")
+    List<RegistryNodeEntity> findTokensFrom(@Param("fromKey") String fromKey, Pageable pageable);
+
+    @Query("SELECT r FROM RegistryNodeEntity r JOIN FETCH r.protocolParams WHERE r.protocolParams.id = :protocolParamsId AND r.key != '' AND r.key >= :fromKey ORDER BY r.key ASC")
+    List<RegistryNodeEntity> findTokensByProtocolParamsIdFrom(@Param("protocolParamsId") Long protocolParamsId,
+                                                              @Param("fromKey") String fromKey,
+                                                              Pageable pageable);
+
+    @Query("SELECT r FROM RegistryNodeEntity r JOIN FETCH r.protocolParams WHERE r.protocolParams.id = :protocolParamsId AND r.key >= :fromKey ORDER BY r.key ASC")
+    List<RegistryNodeEntity> findAllByProtocolParamsIdFrom(@Param("protocolParamsId") Long protocolParamsId,
+                                                           @Param("fromKey") String fromKey,
+                                                           Pageable pageable);
 }
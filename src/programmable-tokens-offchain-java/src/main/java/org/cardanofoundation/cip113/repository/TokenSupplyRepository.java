@@ -0,0 +1,51 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.TokenSupplyEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TokenSupplyRepository extends JpaRepository<TokenSupplyEntity, Long> {
+
+    /**
+     * Find the latest supply entry of a unit
+     */
+    @Query("SELECT s FROM TokenSupplyEntity s WHERE s.unit = :unit ORDER BY s.slot DESC, s.id DESC")
+    List<TokenSupplyEntity> findLatestByUnit(@Param("unit") String unit, Pageable pageable);
+
+    /**
+     * Find the supply entry of a unit in effect at a slot, a backward seek on idx_token_supply_unit_slot_id
+     */
+    @Query("SELECT s FROM TokenSupplyEntity s WHERE s.unit = :unit AND s.slot <= :slot ORDER BY s.slot DESC, s.id DESC")
+    List<TokenSupplyEntity> findLatestByUnitAtSlot(@Param("unit") String unit,
+                                                   @Param("slot") Long slot,
+                                                   Pageable pageable);
+
+    /**
+     * Find supply history of a unit, keyset-paginated on (slot, id) descending
+     *
+     * @param unit     the unit
+     * @param slot     slot of the last entry of the previous page
+     * @param id       id of the last entry of the previous page
+     * @param pageable page size, the offset must be 0
+     * @return entries ordered by slot and id descending
+     */
+    @Query("""
+        SELECT s FROM TokenSupplyEntity s
+        WHERE s.unit = :unit
+        AND s.slot <= :slot
+        AND (s.slot < :slot OR s.id < :id)
+        ORDER BY s.slot DESC, s.id DESC
+        """)
+    List<TokenSupplyEntity> findHistoryByUnitBefore(@Param("unit") String unit,
+                                                    @Param("slot") Long slot,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+    boolean existsByUnitAndTxHash(String unit, String txHash);
+}
@@ -0,0 +1,50 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.UtxoReservationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UtxoReservationRepository extends JpaRepository<UtxoReservationEntity, Long> {
+
+    /**
+     * Claim an output: inserts the lease, or takes over an existing row if it expired
+     * or is already held by the same reservation
+     *
+     * @return 1 if the lease is held by the reservation, 0 otherwise
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO utxo_reservation (tx_hash, output_index, reserved_by, expires_at)
+        VALUES (:txHash, :outputIndex, :reservedBy, :expiresAt)
+        ON CONFLICT (tx_hash, output_index) DO UPDATE
+        SET reserved_by = EXCLUDED.reserved_by, expires_at = EXCLUDED.expires_at
+        WHERE utxo_reservation.expires_at < :now OR utxo_reservation.reserved_by = EXCLUDED.reserved_by
+        """, nativeQuery = true)
+    int tryReserve(@Param("txHash") String txHash,
+                   @Param("outputIndex") int outputIndex,
+                   @Param("reservedBy") String reservedBy,
+                   @Param("now") LocalDateTime now,
+                   @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query("SELECT r FROM UtxoReservationEntity r WHERE r.txHash IN :txHashes AND r.expiresAt >= :now")
+    List<UtxoReservationEntity> findActiveByTxHashes(@Param("txHashes") Collection<String> txHashes,
+                                                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM UtxoReservationEntity r WHERE r.txHash = :txHash AND r.outputIndex = :outputIndex AND r.reservedBy = :reservedBy")
+    int release(@Param("txHash") String txHash,
+                @Param("outputIndex") int outputIndex,
+                @Param("reservedBy") String reservedBy);
+
+    @Modifying
+    @Query("DELETE FROM UtxoReservationEntity r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
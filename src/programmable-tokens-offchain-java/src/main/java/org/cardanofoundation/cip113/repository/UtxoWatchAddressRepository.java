@@ -0,0 +1,34 @@
+package org.cardanofoundation.cip113.repository;
+
+import org.cardanofoundation.cip113.entity.UtxoWatchAddressEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UtxoWatchAddressRepository extends JpaRepository<UtxoWatchAddressEntity, String> {
+
+    @Query("SELECT w.address FROM UtxoWatchAddressEntity w")
+    List<String> findAllAddresses();
+
+    @Query("SELECT w.address FROM UtxoWatchAddressEntity w WHERE w.address IN :addresses")
+    List<String> findAddressesIn(@Param("addresses") Collection<String> addresses);
+
+    /**
+     * Add an address unless another node already did
+     *
+     * @return 1 if the address was added, 0 if it was watched already
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO utxo_watch_address (address, created_at)
+        VALUES (:address, now())
+        ON CONFLICT (address) DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("address") String address);
+}
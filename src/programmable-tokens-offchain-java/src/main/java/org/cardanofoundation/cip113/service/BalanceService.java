@@ -4,13 +4,17 @@ import com.bloxbean.cardano.client.address.Address;
 import com.bloxbean.cardano.client.transaction.spec.Value;
 import com.bloxbean.cardano.client.util.HexUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+import org.cardanofoundation.cip113.model.BalanceTransaction;
 import org.cardanofoundation.cip113.model.TransactionType;
 import org.cardanofoundation.cip113.repository.BalanceLogRepository;
 import org.cardanofoundation.cip113.util.BalanceValueHelper;
+import org.cardanofoundation.cip113.util.KeyCursor;
+import org.cardanofoundation.cip113.util.SlotCursor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -131,6 +135,21 @@ public class BalanceService {
     }
 
 
+    /**
+     * Parse a stored balance diff
+     *
+     * @param balanceDiffJson JSON string representation
+     * @return map of unit to signed amount string
+     */
+    private Map<String, String> parseBalanceDiff(String balanceDiffJson) {
+        try {
+            return objectMapper.readValue(balanceDiffJson, new TypeReference<Map<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize balance diff: {}", balanceDiffJson, e);
+            return Map.of();
+        }
+    }
+
     /**
      * Get the latest balance for an address
      *
@@ -143,6 +162,19 @@ public class BalanceService {
                 .findFirst();
     }
 
+    /**
+     * Get the balance an address held at a slot, i.e. after the last transaction at or before that slot
+     *
+     * @param address the address
+     * @param slot    the slot
+     * @return the balance entry in effect at the slot, or empty if the address had no history yet
+     */
+    public Optional<BalanceLogEntity> getBalanceAtSlot(String address, long slot) {
+        return repository.findLatestByAddressAtSlot(address, slot, PageRequest.of(0, 1))
+                .stream()
+                .findFirst();
+    }
+
     /**
      * Get the current balance as a Value object
      *
@@ -182,6 +214,51 @@ public class BalanceService {
         return repository.findHistoryByAddress(address, pageable);
     }
 
+    /**
+     * Get one page of balance history across all addresses of a stake key
+     *
+     * @param stakeKeyHash      the stake key hash
+     * @param paymentScriptHash optional payment script hash to restrict to one protocol version
+     * @param after             position of the last entry of the previous page
+     * @param limit             maximum number of entries to return
+     * @return list of balance entries (ordered by slot DESC, id DESC)
+     */
+    public List<BalanceLogEntity> getHistoryByStakeKey(String stakeKeyHash, String paymentScriptHash, SlotCursor after, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        if (paymentScriptHash == null) {
+            return repository.findHistoryByStakeKeyHashBefore(stakeKeyHash, after.slot(), after.id(), pageable);
+        }
+        return repository.findHistoryByStakeKeyHashAndPaymentScriptBefore(stakeKeyHash, paymentScriptHash,
+                after.slot(), after.id(), pageable);
+    }
+
+    /**
+     * Get one page of transactions of an address with their signed balance diffs.
+     * Uses the stored diff and only falls back to subtracting the previous balance for legacy rows.
+     *
+     * @param address the address
+     * @param after   position of the last entry of the previous page
+     * @param limit   maximum number of entries to return
+     * @return list of transactions (ordered by slot DESC, id DESC)
+     */
+    public List<BalanceTransaction> getTransactionsWithDiffs(String address, SlotCursor after, int limit) {
+        // The window needs the predecessor of the oldest row in the page
+        var rows = repository.findTransactionsByAddressBefore(address, after.slot(), after.id(), limit + 1);
+        return rows.stream()
+                .limit(limit)
+                .map(row -> new BalanceTransaction(
+                        row.getId(),
+                        row.getTxHash(),
+                        row.getSlot(),
+                        row.getBlockHeight(),
+                        row.getTransactionType() != null ? TransactionType.valueOf(row.getTransactionType()) : null,
+                        row.getBalance(),
+                        row.getBalanceDiff() != null && !row.getBalanceDiff().isEmpty()
+                                ? parseBalanceDiff(row.getBalanceDiff())
+                                : BalanceValueHelper.calculateSignedDiff(row.getBalance(), row.getPreviousBalance())))
+                .toList();
+    }
+
     /**
      * Get latest balances by payment script hash (one per address)
      *
@@ -202,6 +279,30 @@ public class BalanceService {
         return repository.findLatestByStakeKeyHash(stakeKeyHash);
     }
 
+    /**
+     * Get one page of latest balances by payment script hash (one per address)
+     *
+     * @param paymentScriptHash the payment script hash
+     * @param from              position of the first entry of the page
+     * @param limit             maximum number of entries to return
+     * @return list of latest balance entries (ordered by address)
+     */
+    public List<BalanceLogEntity> getLatestBalancesByPaymentScript(String paymentScriptHash, KeyCursor from, int limit) {
+        return repository.findLatestByPaymentScriptHashFrom(paymentScriptHash, from.from(), PageRequest.of(0, limit));
+    }
+
+    /**
+     * Get one page of latest balances by stake key hash (one per address)
+     *
+     * @param stakeKeyHash the stake key hash
+     * @param from         position of the first entry of the page
+     * @param limit        maximum number of entries to return
+     * @return list of latest balance entries (ordered by address)
+     */
+    public List<BalanceLogEntity> getLatestBalancesByStakeKey(String stakeKeyHash, KeyCursor from, int limit) {
+        return repository.findLatestByStakeKeyHashFrom(stakeKeyHash, from.from(), PageRequest.of(0, limit));
+    }
+
     /**
      * Get latest balances by payment script hash and stake key hash
      *
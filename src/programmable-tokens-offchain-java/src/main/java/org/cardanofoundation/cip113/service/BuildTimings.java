@@ -0,0 +1,197 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.backend.api.BackendService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Time spent in each phase of a transaction build.
+ * <p>
+ * A build started with {@link #record} collects time on its own thread. Handlers move it from phase to
+ * phase with {@link #enter}, and nested calls such as backend requests open a {@link #phase} that pauses
+ * the enclosing one. Time is only ever charged to the innermost phase, so the phases of a build add up to
+ * its total. Phase times are published as {@code tx.build.phase} timers once the build is done. When the
+ * build runs for an HTTP request, they are also left on the request for the {@code Server-Timing} header.
+ * Outside of a recorded build all calls are no-ops.
+ */
+@Service
+@RequiredArgsConstructor
+public class BuildTimings {
+
+    public static final String UTXO_FETCH = "utxo_fetch";
+    public static final String REGISTRY_LOOKUP = "registry_lookup";
+    public static final String SCRIPT_PARAMETERIZATION = "script_parameterization";
+    public static final String TX_COMPOSE = "tx_compose";
+    public static final String EVALUATION_BALANCING = "evaluation_balancing";
+    public static final String BACKEND = "backend";
+    public static final String DEBUG_DUMP = "debug_dump";
+    public static final String RECORD_PENDING = "record_pending";
+    public static final String OTHER = "other";
+
+    /**
+     * Request attribute holding the phase durations in milliseconds of the last build of the request
+     */
+    public static final String REQUEST_ATTRIBUTE = BuildTimings.class.getName() + ".phases";
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private static final Phase NO_PHASE = () -> {
+    };
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Run and time a build
+     *
+     * @param substandard substandard building the transaction
+     * @param operation   register, mint or transfer
+     * @param build       the build
+     * @return the result of the build
+     */
+    public <T> T record(String substandard, String operation, Supplier<T> build) {
+        var previous = CURRENT.get();
+        var recording = new Recording();
+        CURRENT.set(recording);
+        long start = System.nanoTime();
+        try {
+            return build.get();
+        } finally {
+            recording.charge();
+            long total = System.nanoTime() - start;
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+            publish(substandard, operation, recording.nanos, total);
+        }
+    }
+
+    /**
+     * Switch the current build to another phase
+     */
+    public static void enter(String phase) {
+        var recording = CURRENT.get();
+        if (recording != null) {
+            recording.charge();
+            recording.stack.pop();
+            recording.stack.push(phase);
+        }
+    }
+
+    /**
+     * Open a nested phase, the enclosing phase resumes once it is closed
+     */
+    public static Phase phase(String phase) {
+        var recording = CURRENT.get();
+        if (recording == null) {
+            return NO_PHASE;
+        }
+        recording.charge();
+        recording.stack.push(phase);
+        return () -> {
+            recording.charge();
+            recording.stack.pop();
+        };
+    }
+
+    /**
+     * Wrap a backend so that every call of the services it hands out is timed as {@link #BACKEND} phase
+     */
+    public static BackendService timedBackend(BackendService backendService) {
+        return (BackendService) Proxy.newProxyInstance(BackendService.class.getClassLoader(),
+                new Class<?>[]{BackendService.class},
+                (proxy, method, args) -> {
+                    var result = invoke(backendService, method, args);
+                    if (result != null && method.getReturnType().isInterface() && method.getName().startsWith("get")) {
+                        return timedService(result, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private static Object timedService(Object service, Class<?> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invoke(service, method, args);
+            }
+            try (var ignored = phase(BACKEND)) {
+                return invoke(service, method, args);
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void publish(String substandard, String operation, Map<String, Long> phases, long totalNanos) {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        phases.forEach((phase, nanos) -> {
+            Timer.builder("tx.build.phase")
+                    .description("Time a transaction build spent in a phase")
+                    .tag("substandard", substandard)
+                    .tag("operation", operation)
+                    .tag("phase", phase)
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            millis.put(phase, nanos / 1e6);
+        });
+        millis.put("total", totalNanos / 1e6);
+
+        var requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE, millis, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * A phase opened with {@link #phase}
+     */
+    public interface Phase extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Recording {
+
+        private final Map<String, Long> nanos = new LinkedHashMap<>();
+
+        private final Deque<String> stack = new ArrayDeque<>();
+
+        private long since = System.nanoTime();
+
+        private Recording() {
+            stack.push(OTHER);
+        }
+
+        /**
+         * Charge the time since the last change to the innermost phase
+         */
+        private void charge() {
+            long now = System.nanoTime();
+            if (!stack.isEmpty()) {
+                nanos.merge(stack.peek(), now - since, Long::sum);
+            }
+            since = now;
+        }
+    }
+}
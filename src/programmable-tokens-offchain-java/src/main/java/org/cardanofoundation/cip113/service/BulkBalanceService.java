@@ -0,0 +1,116 @@
+package org.cardanofoundation.cip113.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.BulkBalanceRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Latest balances of many addresses at once.
+ * <p>
+ * All addresses, stake key hashes and payment script hashes are bound as three arrays of a single
+ * query. The latest entry per address is kept with a NOT EXISTS probe of idx_balance_address_slot_id,
+ * so older history is skipped by the index instead of being sorted. A payment script hash can match
+ * every holder of a protocol version, so the number of returned addresses is capped; larger sets go
+ * through the paginated /current-by-payment endpoint. Balances are stored as a compact unit map JSON
+ * and are copied into the response as raw values, so nothing is parsed or re-serialized per address.
+ */
+@Service
+@Slf4j
+public class BulkBalanceService {
+
+    private static final String LATEST_BALANCES_SQL = """
+            SELECT b.address, b.balance
+            FROM balance_log b
+            WHERE (b.address = ANY(?)
+                OR b.stake_key_hash = ANY(?)
+                OR b.payment_script_hash = ANY(?))
+            AND NOT EXISTS (
+                SELECT 1 FROM balance_log b2
+                WHERE b2.address = b.address
+                AND (b2.slot > b.slot OR (b2.slot = b.slot AND b2.id > b.id))
+            )
+            ORDER BY b.address
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Value("${balance-bulk.max-keys:1000}")
+    private int maxKeys;
+
+    @Value("${balance-bulk.max-addresses:5000}")
+    private int maxAddresses;
+
+    public BulkBalanceService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Get the latest balance of every matching address
+     *
+     * @param request addresses, stake key hashes and payment script hashes to look up
+     * @return JSON object of address to unit map, e.g. {"addr1...": {"lovelace": "1000000", "unit": "5"}}
+     * @throws IllegalArgumentException if the request is empty, has more keys than allowed or matches more
+     *                                  addresses than allowed
+     */
+    public String getLatestBalancesJson(BulkBalanceRequest request) {
+        int size = request.size();
+        if (size == 0) {
+            throw new IllegalArgumentException("addresses, stakeKeyHashes or paymentScriptHashes is required");
+        }
+        if (size > maxKeys) {
+            throw new IllegalArgumentException("At most " + maxKeys + " keys can be looked up at once, got " + size);
+        }
+
+        var out = new StringWriter();
+        var startedAt = System.nanoTime();
+        var addresses = new int[1];
+        try (var generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(LATEST_BALANCES_SQL);
+                statement.setArray(1, toArray(connection, request.addresses()));
+                statement.setArray(2, toArray(connection, request.stakeKeyHashes()));
+                statement.setArray(3, toArray(connection, request.paymentScriptHashes()));
+                // One more than allowed, to tell a full result from a truncated one
+                statement.setInt(4, maxAddresses + 1);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                if (++addresses[0] > maxAddresses) {
+                    throw new IllegalArgumentException("More than " + maxAddresses
+                            + " addresses match, use /current-by-payment or /current-by-stake to page through them");
+                }
+                try {
+                    generator.writeFieldName(rs.getString(1));
+                    generator.writeRawValue(rs.getString(2));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.debug("Looked up latest balances of {} addresses for {} keys in {}ms", addresses[0], size,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return out.toString();
+    }
+
+    private static java.sql.Array toArray(Connection connection, List<String> values) throws SQLException {
+        return connection.createArrayOf("varchar", values == null ? new Object[0] : values.toArray());
+    }
+}
@@ -0,0 +1,152 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.yaci.store.events.RollbackEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.util.AfterCommit;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Last committed slot that changed each kind of indexed read model, used to derive HTTP ETags.
+ * <p>
+ * Indexers record their changes once the surrounding transaction commits, so a version seen by a
+ * request never runs ahead of the data it reads. Addresses and stake keys are hashed into fixed
+ * buckets to keep memory constant; a collision only costs a client a full response.
+ * A rollback bumps a generation shared by all versions, and the ETags carry a per-process boot id so
+ * that versions of a previous run are never mistaken for current ones.
+ */
+@Service
+@Slf4j
+public class ChainStateVersions {
+
+    public enum Scope {
+        /**
+         * Balance of a single address, keyed by the bech32 address
+         */
+        ADDRESS,
+        /**
+         * Balances of all addresses of a stake key, keyed by the stake key hash
+         */
+        STAKE_KEY,
+        /**
+         * Any balance, holding or supply
+         */
+        BALANCES,
+        /**
+         * Registry nodes
+         */
+        REGISTRY,
+        /**
+         * Protocol params versions
+         */
+        PROTOCOL_PARAMS
+    }
+
+    private static final int BUCKETS = 1 << 16;
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLongArray addressSlots = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLongArray stakeKeySlots = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong balancesSlot = new AtomicLong();
+
+    private final AtomicLong registrySlot = new AtomicLong();
+
+    private final AtomicLong protocolParamsSlot = new AtomicLong();
+
+    /**
+     * Record a balance change of an address
+     *
+     * @param address      the bech32 address
+     * @param stakeKeyHash stake key hash of the address, may be null
+     * @param slot         slot of the transaction
+     */
+    public void recordBalanceChange(String address, String stakeKeyHash, long slot) {
+        AfterCommit.run(() -> {
+            addressSlots.accumulateAndGet(bucket(address), slot, Math::max);
+            if (stakeKeyHash != null) {
+                stakeKeySlots.accumulateAndGet(bucket(stakeKeyHash), slot, Math::max);
+            }
+            balancesSlot.accumulateAndGet(slot, Math::max);
+        });
+    }
+
+    /**
+     * Record a registry node change
+     */
+    public void recordRegistryChange(long slot) {
+        AfterCommit.run(() -> registrySlot.accumulateAndGet(slot, Math::max));
+    }
+
+    /**
+     * Record a new protocol params version
+     */
+    public void recordProtocolParamsChange(long slot) {
+        AfterCommit.run(() -> protocolParamsSlot.accumulateAndGet(slot, Math::max));
+    }
+
+    @EventListener
+    public void processRollback(RollbackEvent rollbackEvent) {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            log.info("Rollback to slot {}, invalidating HTTP cache versions", rollbackEvent.getRollbackTo().getSlot());
+        });
+    }
+
+    /**
+     * Build the ETag of a response depending on the given read models
+     *
+     * @param scopes read models the response is built from
+     * @param key    address or stake key for the keyed scopes, ignored by the others
+     * @return a weak ETag
+     */
+    public String etag(Collection<Scope> scopes, String key) {
+        return etag(scopes, key != null ? List.of(key) : List.of());
+    }
+
+    /**
+     * Build the ETag of a response depending on the given read models, for a response spanning
+     * several addresses or stake keys
+     *
+     * @param scopes read models the response is built from
+     * @param keys   addresses or stake keys for the keyed scopes, ignored by the others
+     * @return a weak ETag
+     */
+    public String etag(Collection<Scope> scopes, Collection<String> keys) {
+        long slot = 0;
+        for (Scope scope : scopes) {
+            slot = Math.max(slot, switch (scope) {
+                case ADDRESS -> maxSlot(addressSlots, keys);
+                case STAKE_KEY -> maxSlot(stakeKeySlots, keys);
+                case BALANCES -> balancesSlot.get();
+                case REGISTRY -> registrySlot.get();
+                case PROTOCOL_PARAMS -> protocolParamsSlot.get();
+            });
+        }
+        return "W/\"" + bootId + "-" + generation.get() + "-" + slot + "\"";
+    }
+
+    private static long maxSlot(AtomicLongArray slots, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return slots.get(bucket(null));
+        }
+        long slot = 0;
+        for (String key : keys) {
+            slot = Math.max(slot, slots.get(bucket(key)));
+        }
+        return slot;
+    }
+
+    private static int bucket(String key) {
+        return key == null ? 0 : Math.floorMod(key.hashCode(), BUCKETS);
+    }
+}
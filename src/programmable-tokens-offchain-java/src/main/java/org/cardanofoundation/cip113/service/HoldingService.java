@@ -0,0 +1,136 @@
+package org.cardanofoundation.cip113.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.AssetUnitEntity;
+import org.cardanofoundation.cip113.entity.HolderAddressEntity;
+import org.cardanofoundation.cip113.entity.HoldingEntity;
+import org.cardanofoundation.cip113.model.TokenHolder;
+import org.cardanofoundation.cip113.repository.AssetUnitRepository;
+import org.cardanofoundation.cip113.repository.HolderAddressRepository;
+import org.cardanofoundation.cip113.repository.HoldingRepository;
+import org.cardanofoundation.cip113.util.HolderCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Normalized current holdings per unit, kept next to the balance log by the balance indexer.
+ * Only the units a transaction changed are rewritten; holdings that drop to zero are deleted,
+ * so the row count of a unit is its holder count.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HoldingService {
+
+    private static final String LOVELACE = "lovelace";
+
+    private final AssetUnitRepository assetUnitRepository;
+
+    private final HolderAddressRepository holderAddressRepository;
+
+    private final HoldingRepository holdingRepository;
+
+    // unit -> id of committed units, for the read side
+    private final Map<String, Long> unitIds = new ConcurrentHashMap<>();
+
+    /**
+     * Write the new amounts of the changed units of an address
+     *
+     * @param address      the address
+     * @param balance      the complete balance after the transaction
+     * @param changedUnits units moved by the transaction
+     * @param slot         slot of the transaction
+     */
+    @Transactional
+    public void apply(String address, Map<String, BigInteger> balance, Collection<String> changedUnits, long slot) {
+        Long addressId = null;
+        for (String unit : changedUnits) {
+            if (LOVELACE.equals(unit)) {
+                continue;
+            }
+            if (addressId == null) {
+                addressId = resolveAddressId(address);
+            }
+            var unitId = resolveUnitId(unit);
+            var amount = balance.getOrDefault(unit, BigInteger.ZERO);
+            var id = new HoldingEntity.HoldingId(unitId, addressId);
+
+            if (amount.signum() <= 0) {
+                if (holdingRepository.existsById(id)) {
+                    holdingRepository.deleteById(id);
+                }
+                continue;
+            }
+
+            var holding = holdingRepository.findById(id)
+                    .orElseGet(() -> HoldingEntity.builder().unitId(id.getUnitId()).addressId(id.getAddressId()).build());
+            holding.setAmount(amount);
+            holding.setLastSlot(slot);
+            holdingRepository.save(holding);
+        }
+    }
+
+    /**
+     * Get one page of holders of a unit, largest first
+     *
+     * @param unit  policyId + assetName hex
+     * @param after position of the last holder of the previous page, null for the first page
+     * @param limit maximum number of holders to return
+     * @return list of holders ordered by amount descending
+     */
+    public List<TokenHolder> getHolders(String unit, HolderCursor after, int limit) {
+        var unitIdOpt = findUnitId(unit);
+        if (unitIdOpt.isEmpty()) {
+            return List.of();
+        }
+        var pageable = PageRequest.of(0, limit);
+        if (after == null) {
+            return holdingRepository.findHolders(unitIdOpt.get(), pageable);
+        }
+        return holdingRepository.findHoldersAfter(unitIdOpt.get(), after.amount(), after.addressId(), pageable);
+    }
+
+    /**
+     * Count the addresses currently holding a unit
+     *
+     * @param unit policyId + assetName hex
+     * @return number of holders
+     */
+    public long countHolders(String unit) {
+        return findUnitId(unit)
+                .map(holdingRepository::countByUnitId)
+                .orElse(0L);
+    }
+
+    private Optional<Long> findUnitId(String unit) {
+        var cached = unitIds.get(unit);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        var unitIdOpt = assetUnitRepository.findByUnit(unit).map(AssetUnitEntity::getId);
+        unitIdOpt.ifPresent(id -> unitIds.put(unit, id));
+        return unitIdOpt;
+    }
+
+    private Long resolveUnitId(String unit) {
+        // Not cached: the row may still be rolled back with the indexer transaction
+        return assetUnitRepository.findByUnit(unit)
+                .map(AssetUnitEntity::getId)
+                .orElseGet(() -> assetUnitRepository.save(AssetUnitEntity.builder().unit(unit).build()).getId());
+    }
+
+    private Long resolveAddressId(String address) {
+        return holderAddressRepository.findByAddress(address)
+                .map(HolderAddressEntity::getId)
+                .orElseGet(() -> holderAddressRepository.save(HolderAddressEntity.builder().address(address).build()).getId());
+    }
+}
@@ -0,0 +1,281 @@
+package org.cardanofoundation.cip113.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.cardanofoundation.conversions.CardanoConverters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stage timings, match counters and sync progress of the chain event indexers.
+ * <p>
+ * The {@code block} listener stands for the pass of the block processor shared by the handlers: the
+ * classification of the outputs, the resolution of the inputs and the commit of the block.
+ * <p>
+ * All meters are registered up front. A listener collects the durations and counts of one event in an
+ * {@link EventStages}, which only reads the nano clock and bumps plain fields in the per-output loops,
+ * and hands them to the meters once the event is done.
+ */
+@Service
+public class IndexerMetrics {
+
+    public enum Listener {
+        BLOCK,
+        BALANCE,
+        REGISTRY,
+        PROTOCOL_PARAMS;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    public enum Stage {
+        /**
+         * Inputs looked up in the UTxO store
+         */
+        INPUT_RESOLUTION,
+        /**
+         * Addresses and assets checked against the indexed scripts and policies
+         */
+        ADDRESS_FILTERING,
+        /**
+         * Values of matched inputs and outputs summed up per address
+         */
+        AGGREGATION,
+        /**
+         * Indexed entities parsed and saved
+         */
+        DATABASE_WRITE,
+        /**
+         * Commit of the transaction of a block
+         */
+        COMMIT
+    }
+
+    private final Clock clock;
+
+    private final CardanoConverters cardanoConverters;
+
+    private final Map<Listener, Map<Stage, Timer>> stageTimers = new EnumMap<>(Listener.class);
+
+    private final Map<Listener, Timer> receiptTimers = new EnumMap<>(Listener.class);
+
+    private final Map<Listener, Counter> matchedOutputs = new EnumMap<>(Listener.class);
+
+    private final Map<Listener, Counter> skippedOutputs = new EnumMap<>(Listener.class);
+
+    private final Map<Listener, AtomicInteger> pendingEvents = new EnumMap<>(Listener.class);
+
+    private final Counter matchedInputs;
+
+    private final Counter skippedInputs;
+
+    private final Counter unresolvedInputs;
+
+    private final AtomicLong indexedSlot = new AtomicLong();
+
+    @Autowired
+    public IndexerMetrics(MeterRegistry meterRegistry, CardanoConverters cardanoConverters) {
+        this(meterRegistry, cardanoConverters, Clock.systemUTC());
+    }
+
+    IndexerMetrics(MeterRegistry meterRegistry, CardanoConverters cardanoConverters, Clock clock) {
+        this.clock = clock;
+        this.cardanoConverters = cardanoConverters;
+
+        for (Listener listener : Listener.values()) {
+            Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+            for (Stage stage : Stage.values()) {
+                timers.put(stage, Timer.builder("indexer.stage.duration")
+                        .description("Time an indexer spent in a stage per block")
+                        .tag("listener", listener.tag())
+                        .tag("stage", stage.name().toLowerCase())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            stageTimers.put(listener, timers);
+            receiptTimers.put(listener, Timer.builder("indexer.event.receipt.lag")
+                    .description("Time from the slot of a block until an indexer received it")
+                    .tag("listener", listener.tag())
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofHours(1))
+                    .register(meterRegistry));
+            matchedOutputs.put(listener, outputCounter(meterRegistry, listener, "matched"));
+            skippedOutputs.put(listener, outputCounter(meterRegistry, listener, "skipped"));
+
+            var pending = new AtomicInteger();
+            pendingEvents.put(listener, pending);
+            Gauge.builder("indexer.events.pending", pending, AtomicInteger::get)
+                    .description("Events received by an indexer and not processed yet")
+                    .tag("listener", listener.tag())
+                    .register(meterRegistry);
+        }
+
+        this.matchedInputs = inputCounter(meterRegistry, "matched");
+        this.skippedInputs = inputCounter(meterRegistry, "skipped");
+        this.unresolvedInputs = inputCounter(meterRegistry, "unresolved");
+
+        Gauge.builder("indexer.slot.indexed", indexedSlot, AtomicLong::get)
+                .description("Highest slot processed by the indexers")
+                .register(meterRegistry);
+        Gauge.builder("indexer.slot.tip", this, IndexerMetrics::tipSlot)
+                .description("Slot of the chain tip according to the wall clock")
+                .register(meterRegistry);
+        Gauge.builder("indexer.slot.lag", this, metrics -> Math.max(0, metrics.tipSlot() - metrics.indexedSlot.get()))
+                .description("Slots between the chain tip and the highest indexed slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start collecting the metrics of an event
+     *
+     * @param listener the indexer
+     * @param slot     slot of the block of the event
+     * @return collector to pass the stages of the event to, must be finished
+     */
+    public EventStages eventReceived(Listener listener, long slot) {
+        pendingEvents.get(listener).incrementAndGet();
+        long slotEpochMillis = cardanoConverters.slot().slotToTime(slot).toInstant(ZoneOffset.UTC).toEpochMilli();
+        receiptTimers.get(listener).record(Math.max(0, clock.millis() - slotEpochMillis), TimeUnit.MILLISECONDS);
+        return new EventStages(listener, slot);
+    }
+
+    /**
+     * Time the commit of the current transaction, if any
+     */
+    public void timeCommit(Listener listener) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        var timer = stageTimers.get(listener).get(Stage.COMMIT);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long beforeCommit;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                beforeCommit = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                timer.record(System.nanoTime() - beforeCommit, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    long tipSlot() {
+        return cardanoConverters.time().toSlot(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+    }
+
+    private static Counter outputCounter(MeterRegistry meterRegistry, Listener listener, String outcome) {
+        return Counter.builder("indexer.outputs")
+                .description("Transaction outputs seen by an indexer, by whether they were indexed")
+                .tag("listener", listener.tag())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter inputCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("indexer.inputs")
+                .description("Transaction inputs seen by the balance indexer, by whether they were indexed")
+                .tag("listener", Listener.BALANCE.tag())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Durations and counts of one event, confined to the thread processing it
+     */
+    public final class EventStages {
+
+        private final Listener listener;
+
+        private final long slot;
+
+        private final long[] nanos = new long[Stage.values().length];
+
+        private int outputs;
+
+        private int matchedOutputCount;
+
+        private int inputs;
+
+        private int matchedInputCount;
+
+        private int unresolvedInputCount;
+
+        private EventStages(Listener listener, long slot) {
+            this.listener = listener;
+            this.slot = slot;
+        }
+
+        /**
+         * Add the time since {@code since} to a stage
+         *
+         * @return the current nano time, to be passed as start of the next stage
+         */
+        public long lap(Stage stage, long since) {
+            long now = System.nanoTime();
+            nanos[stage.ordinal()] += now - since;
+            return now;
+        }
+
+        public void outputs(int count) {
+            outputs += count;
+        }
+
+        public void matchedOutput() {
+            matchedOutputCount++;
+        }
+
+        public void inputs(int count) {
+            inputs += count;
+        }
+
+        public void matchedInput() {
+            matchedInputCount++;
+        }
+
+        public void unresolvedInput() {
+            unresolvedInputCount++;
+        }
+
+        /**
+         * Publish the collected metrics, stages the event did not go through are not recorded
+         */
+        public void finish() {
+            var timers = stageTimers.get(listener);
+            for (Stage stage : Stage.values()) {
+                if (nanos[stage.ordinal()] > 0) {
+                    timers.get(stage).record(nanos[stage.ordinal()], TimeUnit.NANOSECONDS);
+                }
+            }
+            if (outputs > 0) {
+                matchedOutputs.get(listener).increment(matchedOutputCount);
+                skippedOutputs.get(listener).increment(outputs - matchedOutputCount);
+            }
+            if (inputs > 0) {
+                matchedInputs.increment(matchedInputCount);
+                unresolvedInputs.increment(unresolvedInputCount);
+                skippedInputs.increment(inputs - matchedInputCount - unresolvedInputCount);
+            }
+            indexedSlot.accumulateAndGet(slot, Math::max);
+            pendingEvents.get(listener).decrementAndGet();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
 import org.cardanofoundation.cip113.repository.ProtocolParamsRepository;
+import org.cardanofoundation.cip113.util.AfterCommit;
+import org.cardanofoundation.cip113.util.SlotCursor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,7 +36,8 @@ public class ProtocolParamsService {
     }
 
     /**
-     * Save a new protocol params version to both database and in-memory cache
+     * Save a new protocol params version to the database, and to the in-memory cache once the surrounding
+     * transaction commits, so that a rolled back version never shows up in memory
      *
      * @param entity the protocol params entity to save
      * @return the saved entity
@@ -53,8 +56,8 @@ public class ProtocolParamsService {
         // Save to database
         ProtocolParamsEntity saved = repository.save(entity);
 
-        // Add to in-memory cache (sorted by slot)
-        addToMemorySorted(saved);
+        // Add to in-memory cache (sorted by slot) after commit
+        AfterCommit.run(() -> addToMemorySorted(saved));
 
         log.info("Successfully saved protocol params version with id={}", saved.getId());
         return saved;
@@ -64,6 +67,9 @@ public class ProtocolParamsService {
      * Add entity to in-memory cache in sorted order (by slot)
      */
     private void addToMemorySorted(ProtocolParamsEntity entity) {
+        if (existsByTxHash(entity.getTxHash())) {
+            return;
+        }
         int insertIndex = 0;
         for (int i = 0; i < inMemoryCache.size(); i++) {
             if (inMemoryCache.get(i).getSlot() > entity.getSlot()) {
@@ -97,6 +103,30 @@ public class ProtocolParamsService {
         return List.copyOf(inMemoryCache);
     }
 
+    /**
+     * Number of protocol params versions, which are only ever added
+     *
+     * @return the number of versions in memory
+     */
+    public int count() {
+        return inMemoryCache.size();
+    }
+
+    /**
+     * Get one page of protocol params versions from memory (ordered by slot ascending)
+     *
+     * @param after position of the last entry of the previous page, {@link SlotCursor#ORIGIN} for the first page
+     * @param limit maximum number of entries to return
+     * @return list of protocol params
+     */
+    public List<ProtocolParamsEntity> getPage(SlotCursor after, int limit) {
+        return inMemoryCache.stream()
+                .filter(entity -> entity.getSlot() > after.slot()
+                        || (entity.getSlot() == after.slot() && entity.getId() > after.id()))
+                .limit(limit)
+                .toList();
+    }
+
     /**
      * Get protocol params by transaction hash
      *
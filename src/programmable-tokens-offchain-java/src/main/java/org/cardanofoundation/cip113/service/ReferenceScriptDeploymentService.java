@@ -0,0 +1,123 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.plutus.blueprint.PlutusBlueprintUtil;
+import com.bloxbean.cardano.client.plutus.blueprint.model.PlutusVersion;
+import com.bloxbean.cardano.client.plutus.spec.PlutusScript;
+import com.bloxbean.cardano.client.quicktx.QuickTxBuilder;
+import com.bloxbean.cardano.client.quicktx.ScriptTx;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.DeployReferenceScriptsRequest;
+import org.cardanofoundation.cip113.model.TransactionContext;
+import org.cardanofoundation.cip113.service.utxo.UtxoQueryService;
+import org.cardanofoundation.cip113.service.utxo.UtxoReservationService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Builds transactions deploying validators as reference scripts to the configured deployment address.
+ * Once on chain, {@link ReferenceScriptService} indexes the outputs and the builders start referencing them.
+ * The payer inputs are leased through the {@link UtxoReservationService} like those of the other builders.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceScriptDeploymentService {
+
+    private final ProtocolBootstrapService protocolBootstrapService;
+
+    private final ProtocolScriptBuilderService protocolScriptBuilderService;
+
+    private final SubstandardService substandardService;
+
+    private final ReferenceScriptService referenceScriptService;
+
+    private final UtxoQueryService utxoQueryService;
+
+    private final UtxoReservationService utxoReservationService;
+
+    private final QuickTxBuilder quickTxBuilder;
+
+    /**
+     * Build the deployment transaction, validators already deployed are skipped
+     *
+     * @param request        validators to deploy
+     * @param protocolTxHash Optional protocol version tx hash (uses default if null)
+     * @return Transaction context with unsigned CBOR tx
+     */
+    public TransactionContext buildDeploymentTransaction(DeployReferenceScriptsRequest request, String protocolTxHash) {
+
+        var deploymentAddress = referenceScriptService.getDeploymentAddress();
+        if (deploymentAddress == null || deploymentAddress.isBlank()) {
+            return TransactionContext.error("no reference script deployment address configured");
+        }
+
+        var reservationId = UUID.randomUUID().toString();
+        String builtTxHash = null;
+        try {
+
+            var protocolBootstrapParams = protocolTxHash != null && !protocolTxHash.isEmpty()
+                    ? protocolBootstrapService.getProtocolBootstrapParamsByTxHash(protocolTxHash)
+                    .orElseThrow(() -> new IllegalArgumentException("Protocol version not found: " + protocolTxHash))
+                    : protocolBootstrapService.getProtocolBootstrapParams();
+
+            var scripts = new ArrayList<PlutusScript>();
+            if (request.includeDirectorySpend()) {
+                scripts.add(protocolScriptBuilderService.getParameterizedDirectorySpendScript(protocolBootstrapParams));
+            }
+
+            for (String contractName : Optional.ofNullable(request.substandardContractNames()).orElse(List.of())) {
+                var validatorOpt = substandardService.getSubstandardValidator(request.substandardName(), contractName);
+                if (validatorOpt.isEmpty()) {
+                    return TransactionContext.error("unknown substandard validator: " + contractName);
+                }
+                scripts.add(PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(validatorOpt.get().scriptBytes(), PlutusVersion.v3));
+            }
+
+            var tx = new ScriptTx();
+            var deployed = 0;
+            for (PlutusScript script : scripts) {
+                if (referenceScriptService.findReferenceInput(protocolBootstrapParams, script.getPolicyId()).isPresent()) {
+                    log.info("script {} already deployed, skipping", script.getPolicyId());
+                    continue;
+                }
+                // min ada is adjusted by the builder to fit the script
+                tx.payToAddress(deploymentAddress, Amount.ada(1), script);
+                deployed++;
+            }
+
+            if (deployed == 0) {
+                return TransactionContext.error("all requested validators are already deployed");
+            }
+
+            var payerInputs = utxoQueryService.reserveWalletInputs(reservationId, request.payerAddress());
+            if (payerInputs.utxos().isEmpty()) {
+                return TransactionContext.error(payerInputs.error("payer"));
+            }
+            tx.collectFrom(payerInputs.utxos())
+                    .withChangeAddress(request.payerAddress());
+
+            var transaction = quickTxBuilder.compose(tx)
+                    .feePayer(request.payerAddress())
+                    .mergeOutputs(false)
+                    .build();
+
+            log.info("reference script deployment tx: {}", transaction.serializeToHex());
+
+            builtTxHash = utxoQueryService.recordPending(transaction);
+
+            return TransactionContext.ok(transaction.serializeToHex());
+
+        } catch (Exception e) {
+            log.warn("error", e);
+            return TransactionContext.error(e.getMessage());
+        } finally {
+            utxoReservationService.completeBuild(reservationId, builtTxHash);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.yaci.store.events.RollbackEvent;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.ReferenceScriptEntity;
+import org.cardanofoundation.cip113.model.bootstrap.ProtocolBootstrapParams;
+import org.cardanofoundation.cip113.model.bootstrap.TxInput;
+import org.cardanofoundation.cip113.repository.ReferenceScriptRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the reference inputs holding deployed validators, so that transaction builders can reference
+ * scripts instead of attaching them as witnesses.
+ * <p>
+ * The programmable logic base and global scripts come from the protocol bootstrap. Other validators
+ * (directory spend, substandard validators) are indexed when an output carrying them is paid to the
+ * configured deployment address, and dropped when that output is spent.
+ * <p>
+ * On rollback, deployments of the rolled back blocks are removed. A spend that is rolled back is not
+ * restored, the builders then attach the script inline until it is deployed again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceScriptService {
+
+    private final ReferenceScriptRepository referenceScriptRepository;
+
+    @Value("${tx-builder.reference-scripts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tx-builder.reference-scripts.deployment-address:}")
+    private String deploymentAddress;
+
+    // scriptHash -> reference input
+    private final Map<String, TxInput> refInputsByScriptHash = new ConcurrentHashMap<>();
+
+    // "txHash#outputIndex" -> scriptHash, to detect spent reference outputs
+    private final Map<String, String> scriptHashByOutput = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        reload();
+        log.info("Loaded {} deployed reference scripts, enabled: {}", refInputsByScriptHash.size(), enabled);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getDeploymentAddress() {
+        return deploymentAddress;
+    }
+
+    /**
+     * Find the reference input holding a script
+     *
+     * @param protocolBootstrapParams protocol version the transaction is built for
+     * @param scriptHash              the script hash
+     * @return the reference input, or empty if the script is not deployed or reference scripts are disabled
+     */
+    public Optional<TxInput> findReferenceInput(ProtocolBootstrapParams protocolBootstrapParams, String scriptHash) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (protocolBootstrapParams.programmableBaseRefInput() != null
+                && scriptHash.equals(protocolBootstrapParams.programmableLogicBaseParams().scriptHash())) {
+            return Optional.of(protocolBootstrapParams.programmableBaseRefInput());
+        }
+        if (protocolBootstrapParams.programmableGlobalRefInput() != null
+                && scriptHash.equals(protocolBootstrapParams.programmableLogicGlobalPrams().scriptHash())) {
+            return Optional.of(protocolBootstrapParams.programmableGlobalRefInput());
+        }
+        return Optional.ofNullable(refInputsByScriptHash.get(scriptHash));
+    }
+
+    /**
+     * Get all indexed reference scripts (bootstrap scripts excluded)
+     */
+    public List<ReferenceScriptEntity> getAll() {
+        return referenceScriptRepository.findAll();
+    }
+
+    @EventListener
+    @Transactional
+    public void processEvent(AddressUtxoEvent addressUtxoEvent) {
+        if (deploymentAddress == null || deploymentAddress.isBlank()) {
+            return;
+        }
+
+        var slot = addressUtxoEvent.getEventMetadata().getSlot();
+
+        addressUtxoEvent.getTxInputOutputs()
+                .forEach(txInputOutputs -> {
+                    txInputOutputs.getInputs()
+                            .forEach(input -> {
+                                var scriptHash = scriptHashByOutput.remove(outputKey(input.getTxHash(), input.getOutputIndex()));
+                                if (scriptHash != null) {
+                                    refInputsByScriptHash.remove(scriptHash);
+                                    referenceScriptRepository.deleteByTxHashAndOutputIndex(input.getTxHash(), input.getOutputIndex());
+                                    log.info("Reference script spent: scriptHash={}", scriptHash);
+                                }
+                            });
+
+                    txInputOutputs.getOutputs()
+                            .stream()
+                            .filter(output -> output.getReferenceScriptHash() != null && deploymentAddress.equals(output.getOwnerAddr()))
+                            .forEach(output -> {
+                                var entity = referenceScriptRepository.findByScriptHash(output.getReferenceScriptHash())
+                                        .orElseGet(() -> ReferenceScriptEntity.builder()
+                                                .scriptHash(output.getReferenceScriptHash())
+                                                .build());
+                                if (entity.getTxHash() != null) {
+                                    // redeployed, forget the previous output
+                                    scriptHashByOutput.remove(outputKey(entity.getTxHash(), entity.getOutputIndex()));
+                                }
+                                entity.setTxHash(output.getTxHash());
+                                entity.setOutputIndex(output.getOutputIndex());
+                                entity.setOwnerAddress(output.getOwnerAddr());
+                                entity.setSlot(slot);
+                                cache(referenceScriptRepository.save(entity));
+                                log.info("Reference script deployed: scriptHash={}, txHash={}#{}", entity.getScriptHash(),
+                                        entity.getTxHash(), entity.getOutputIndex());
+                            });
+                });
+    }
+
+    @EventListener
+    @Transactional
+    public void processRollback(RollbackEvent rollbackEvent) {
+        rollbackTo(rollbackEvent.getRollbackTo().getSlot());
+    }
+
+    void rollbackTo(long slot) {
+        var deleted = referenceScriptRepository.deleteBySlotGreaterThan(slot);
+        reload();
+        log.info("Rollback to slot {}, removed {} reference scripts", slot, deleted);
+    }
+
+    private void reload() {
+        refInputsByScriptHash.clear();
+        scriptHashByOutput.clear();
+        referenceScriptRepository.findAll().forEach(this::cache);
+    }
+
+    private void cache(ReferenceScriptEntity entity) {
+        refInputsByScriptHash.put(entity.getScriptHash(), new TxInput(entity.getTxHash(), entity.getOutputIndex()));
+        scriptHashByOutput.put(outputKey(entity.getTxHash(), entity.getOutputIndex()), entity.getScriptHash());
+    }
+
+    private static String outputKey(String txHash, int outputIndex) {
+        return txHash + "#" + outputIndex;
+    }
+}
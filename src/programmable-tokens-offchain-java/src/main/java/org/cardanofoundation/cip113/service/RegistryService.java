@@ -6,6 +6,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
 import org.cardanofoundation.cip113.entity.RegistryNodeEntity;
 import org.cardanofoundation.cip113.repository.RegistryNodeRepository;
+import org.cardanofoundation.cip113.util.KeyCursor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -79,6 +81,23 @@ public class RegistryService {
         return repository.findAllExcludingSentinel();
     }
 
+    /**
+     * Get one page of registered tokens, optionally of a single protocol params version
+     * Excludes sentinel nodes
+     *
+     * @param protocolParamsId the protocol params ID, or null for all versions
+     * @param from             position of the first entry of the page
+     * @param limit            maximum number of entries to return
+     * @return list of registry nodes (sorted by key)
+     */
+    public List<RegistryNodeEntity> getTokens(Long protocolParamsId, KeyCursor from, int limit) {
+        var pageable = PageRequest.of(0, limit);
+        if (protocolParamsId == null) {
+            return repository.findTokensFrom(from.from(), pageable);
+        }
+        return repository.findTokensByProtocolParamsIdFrom(protocolParamsId, from.from(), pageable);
+    }
+
     /**
      * Check if a token is registered in any registry
      *
@@ -119,6 +138,18 @@ public class RegistryService {
         return repository.findAllByProtocolParamsId(protocolParamsId);
     }
 
+    /**
+     * Get one page of registry nodes (including sentinel) for a protocol params
+     *
+     * @param protocolParamsId the protocol params ID
+     * @param from             position of the first entry of the page
+     * @param limit            maximum number of entries to return
+     * @return list of registry nodes (sorted by key)
+     */
+    public List<RegistryNodeEntity> getAllNodes(Long protocolParamsId, KeyCursor from, int limit) {
+        return repository.findAllByProtocolParamsIdFrom(protocolParamsId, from.from(), PageRequest.of(0, limit));
+    }
+
     /**
      * Count registered tokens for a protocol params version (excluding sentinel)
      *
@@ -24,6 +24,7 @@ public class TokenOperationsService {
     private final SubstandardHandlerFactory handlerFactory;
     private final ProtocolBootstrapService protocolBootstrapService;
     private final RegistryService registryService;
+    private final BuildTimings buildTimings;
 
     /**
      * Register a new programmable token
@@ -43,7 +44,8 @@ public class TokenOperationsService {
         var handler = handlerFactory.getHandler(request.substandardName());
 
         // Build registration transaction
-        var txContext = handler.buildRegistrationTransaction(request, protocolParams);
+        var txContext = buildTimings.record(handler.getSubstandardId(), "register",
+                () -> handler.buildRegistrationTransaction(request, protocolParams));
 
         log.info("Registration transaction built successfully for substandard: {}",
                 request.substandardName());
@@ -72,8 +74,8 @@ public class TokenOperationsService {
         var handler = handlerFactory.getHandler(substandardId);
 
         // Build mint transaction
-        var txContext = handler.buildMintTransaction(request,
-                protocolParams);
+        var txContext = buildTimings.record(handler.getSubstandardId(), "mint",
+                () -> handler.buildMintTransaction(request, protocolParams));
 
         log.info("Mint transaction built successfully for substandard: {}", substandardId);
 
@@ -102,8 +104,8 @@ public class TokenOperationsService {
         var handler = handlerFactory.getHandler(substandardId);
 
         // Build transfer transaction
-        var txContext = handler.buildTransferTransaction(request,
-                protocolParams);
+        var txContext = buildTimings.record(handler.getSubstandardId(), "transfer",
+                () -> handler.buildTransferTransaction(request, protocolParams));
 
         log.info("Transfer transaction built successfully for substandard: {}", substandardId);
 
@@ -0,0 +1,104 @@
+package org.cardanofoundation.cip113.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.TokenSupplyEntity;
+import org.cardanofoundation.cip113.repository.TokenSupplyRepository;
+import org.cardanofoundation.cip113.util.SlotCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Supply of programmable tokens, maintained incrementally from the mint field of indexed transactions.
+ * Every mint or burn appends a row with the running supply, so the current supply and the supply at
+ * a slot are single-row lookups.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TokenSupplyService {
+
+    private final TokenSupplyRepository repository;
+
+    /**
+     * Record the units minted and burned by a transaction
+     *
+     * @param txHash      the transaction hash
+     * @param slot        slot of the transaction
+     * @param blockHeight block height of the transaction
+     * @param minted      unit (policyId + assetName hex) to signed mint quantity, negative for burns
+     */
+    @Transactional
+    public void apply(String txHash, long slot, long blockHeight, Map<String, BigInteger> minted) {
+        minted.forEach((unit, quantity) -> {
+            if (quantity.signum() == 0) {
+                return;
+            }
+            // Idempotent on replay of the same block
+            if (repository.existsByUnitAndTxHash(unit, txHash)) {
+                log.debug("Supply entry already exists, skipping: unit={}, tx={}", unit, txHash);
+                return;
+            }
+
+            var previousSupply = getCurrentSupply(unit)
+                    .map(TokenSupplyEntity::getSupply)
+                    .orElse(BigInteger.ZERO);
+            var supply = previousSupply.add(quantity);
+
+            repository.save(TokenSupplyEntity.builder()
+                    .unit(unit)
+                    .policyId(unit.substring(0, 56))
+                    .txHash(txHash)
+                    .slot(slot)
+                    .blockHeight(blockHeight)
+                    .quantity(quantity)
+                    .supply(supply)
+                    .build());
+
+            log.info("Recorded supply change: unit={}, tx={}, quantity={}, supply={}", unit, txHash, quantity, supply);
+        });
+    }
+
+    /**
+     * Get the latest supply entry of a unit
+     *
+     * @param unit policyId + assetName hex
+     * @return the latest entry, or empty if the unit was never minted
+     */
+    public Optional<TokenSupplyEntity> getCurrentSupply(String unit) {
+        return repository.findLatestByUnit(unit, PageRequest.of(0, 1))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Get the supply entry of a unit in effect at a slot
+     *
+     * @param unit policyId + assetName hex
+     * @param slot the slot
+     * @return the latest entry at or before the slot, or empty if the unit was not minted yet
+     */
+    public Optional<TokenSupplyEntity> getSupplyAtSlot(String unit, long slot) {
+        return repository.findLatestByUnitAtSlot(unit, slot, PageRequest.of(0, 1))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Get one page of supply history of a unit
+     *
+     * @param unit  policyId + assetName hex
+     * @param after position of the last entry of the previous page, {@link SlotCursor#START} for the first page
+     * @param limit maximum number of entries to return
+     * @return list of supply entries (ordered by slot DESC, id DESC)
+     */
+    public List<TokenSupplyEntity> getHistory(String unit, SlotCursor after, int limit) {
+        return repository.findHistoryByUnitBefore(unit, after.slot(), after.id(), PageRequest.of(0, limit));
+    }
+}
@@ -0,0 +1,229 @@
+package org.cardanofoundation.cip113.service.blacklist;
+
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
+import com.easy1staking.cardano.model.AssetType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.BlacklistNodeEntity;
+import org.cardanofoundation.cip113.model.onchain.BlacklistNode;
+import org.cardanofoundation.cip113.model.onchain.BlacklistNodeParser;
+import org.cardanofoundation.cip113.repository.BlacklistNodeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted in-memory index of the blacklist linked lists, one per blacklist node policy.
+ * <p>
+ * Nodes are persisted to the blacklist_node table (mirroring the registry) and loaded into a
+ * {@link ConcurrentSkipListMap} per policy on startup. {@link AddressUtxoEvent}s keep both current:
+ * spent node outputs are removed and new node outputs inserted. The covering node of a credential,
+ * used as non-membership proof, is then a floor lookup.
+ * <p>
+ * Credentials are looked up as lowercase hex, anything else would land on a wrong covering node.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlacklistIndexService {
+
+    private static final Pattern CREDENTIAL_PATTERN = Pattern.compile("[0-9a-fA-F]{56}");
+
+    private final BlacklistNodeRepository blacklistNodeRepository;
+
+    private final BlacklistNodeParser blacklistNodeParser;
+
+    @Value("${blacklist.policy-ids:}")
+    private List<String> policyIds;
+
+    // policyId -> key -> node
+    private final Map<String, ConcurrentSkipListMap<String, BlacklistNodeEntity>> nodesByPolicy = new ConcurrentHashMap<>();
+
+    // "txHash#outputIndex" -> node held by that output
+    private final Map<String, BlacklistNodeEntity> nodesByOutput = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        policyIds = policyIds.stream().filter(policyId -> !policyId.isBlank()).toList();
+        policyIds.forEach(policyId -> nodesByPolicy.put(policyId, new ConcurrentSkipListMap<>()));
+        if (!policyIds.isEmpty()) {
+            blacklistNodeRepository.findAllByPolicyIdIn(policyIds).forEach(this::cache);
+        }
+        log.info("Indexing {} blacklist policies, {} nodes loaded", policyIds.size(), nodesByOutput.size());
+    }
+
+    public boolean isIndexed(String policyId) {
+        return nodesByPolicy.containsKey(policyId);
+    }
+
+    /**
+     * Find the node proving that a credential is not blacklisted (key < credential < next)
+     *
+     * @param policyId   blacklist node policy
+     * @param credential hex encoded credential hash
+     * @return the covering node, or empty if the credential is blacklisted or the list is unknown
+     * @throws IllegalArgumentException if the credential is not a 28 bytes hash
+     */
+    public Optional<BlacklistNodeEntity> findCoveringNode(String policyId, String credential) {
+        var key = normalizeCredential(credential);
+        var nodes = nodesByPolicy.get(policyId);
+        if (nodes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(nodes.floorEntry(key))
+                .map(Map.Entry::getValue)
+                .filter(node -> toNode(node).covers(key));
+    }
+
+    /**
+     * Find the node holding a blacklisted credential
+     *
+     * @throws IllegalArgumentException if the credential is not a 28 bytes hash
+     */
+    public Optional<BlacklistNodeEntity> findNode(String policyId, String credential) {
+        var key = normalizeCredential(credential);
+        return Optional.ofNullable(nodesByPolicy.get(policyId)).map(nodes -> nodes.get(key));
+    }
+
+    /**
+     * Find the node pointing to a blacklisted credential, required to remove it from the list
+     *
+     * @throws IllegalArgumentException if the credential is not a 28 bytes hash
+     */
+    public Optional<BlacklistNodeEntity> findPreviousNode(String policyId, String credential) {
+        var key = normalizeCredential(credential);
+        return Optional.ofNullable(nodesByPolicy.get(policyId))
+                .map(nodes -> nodes.lowerEntry(key))
+                .map(Map.Entry::getValue)
+                .filter(node -> node.getNext().equals(key));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the credential is not a 28 bytes hash
+     */
+    public boolean isBlacklisted(String policyId, String credential) {
+        var key = normalizeCredential(credential);
+        var nodes = nodesByPolicy.get(policyId);
+        return nodes != null && nodes.containsKey(key);
+    }
+
+    /**
+     * Check many credentials at once
+     *
+     * @param policyId    blacklist node policy
+     * @param credentials hex encoded credential hashes
+     * @return the blacklisted subset of the credentials, lowercase
+     * @throws IllegalArgumentException if any credential is not a 28 bytes hash
+     */
+    public Set<String> findBlacklisted(String policyId, Collection<String> credentials) {
+        var keys = credentials.stream().map(BlacklistIndexService::normalizeCredential).toList();
+        var nodes = nodesByPolicy.get(policyId);
+        if (nodes == null || nodes.isEmpty()) {
+            return Set.of();
+        }
+        var blacklisted = new LinkedHashSet<String>();
+        keys.stream()
+                .filter(nodes::containsKey)
+                .forEach(blacklisted::add);
+        return blacklisted;
+    }
+
+    /**
+     * Get all blacklisted credentials of a list, in order
+     */
+    public List<String> getBlacklisted(String policyId) {
+        return Optional.ofNullable(nodesByPolicy.get(policyId))
+                .map(nodes -> nodes.keySet().stream().filter(key -> !key.isEmpty()).toList())
+                .orElse(List.of());
+    }
+
+    @EventListener
+    @Transactional
+    public void processEvent(AddressUtxoEvent addressUtxoEvent) {
+        if (nodesByPolicy.isEmpty()) {
+            return;
+        }
+
+        var slot = addressUtxoEvent.getEventMetadata().getSlot();
+
+        addressUtxoEvent.getTxInputOutputs()
+                .forEach(txInputOutputs -> {
+                    txInputOutputs.getInputs()
+                            .forEach(input -> {
+                                var node = nodesByOutput.remove(outputKey(input.getTxHash(), input.getOutputIndex()));
+                                if (node != null) {
+                                    nodesByPolicy.get(node.getPolicyId()).remove(node.getKey(), node);
+                                    blacklistNodeRepository.deleteByTxHashAndOutputIndex(input.getTxHash(), input.getOutputIndex());
+                                    log.debug("Blacklist node spent: policyId={}, key={}", node.getPolicyId(), node.getKey());
+                                }
+                            });
+
+                    txInputOutputs.getOutputs()
+                            .stream()
+                            .filter(output -> output.getInlineDatum() != null)
+                            .forEach(output -> output.getAmounts()
+                                    .stream()
+                                    .filter(amt -> amt.getQuantity().equals(BigInteger.ONE)
+                                            && !"lovelace".equals(amt.getUnit())
+                                            && nodesByPolicy.containsKey(AssetType.fromUnit(amt.getUnit()).policyId()))
+                                    .findAny()
+                                    .ifPresent(amt -> {
+                                        var policyId = AssetType.fromUnit(amt.getUnit()).policyId();
+                                        blacklistNodeParser.parse(output.getInlineDatum())
+                                                .ifPresentOrElse(node -> {
+                                                            var entity = blacklistNodeRepository.findByPolicyIdAndKey(policyId, node.key())
+                                                                    .orElseGet(() -> BlacklistNodeEntity.builder()
+                                                                            .policyId(policyId)
+                                                                            .key(node.key())
+                                                                            .build());
+                                                            entity.setNext(node.next());
+                                                            entity.setTxHash(output.getTxHash());
+                                                            entity.setOutputIndex(output.getOutputIndex());
+                                                            entity.setOwnerAddress(output.getOwnerAddr());
+                                                            entity.setLastSlot(slot);
+                                                            cache(blacklistNodeRepository.save(entity));
+                                                            log.info("Blacklist node: policyId={}, key={}, next={}", policyId, node.key(), node.next());
+                                                        },
+                                                        () -> log.error("Failed to parse blacklist node from txHash={}", output.getTxHash()));
+                                    }));
+                });
+    }
+
+    private void cache(BlacklistNodeEntity entity) {
+        var previous = nodesByPolicy.get(entity.getPolicyId()).put(entity.getKey(), entity);
+        if (previous != null) {
+            nodesByOutput.remove(outputKey(previous.getTxHash(), previous.getOutputIndex()));
+        }
+        nodesByOutput.put(outputKey(entity.getTxHash(), entity.getOutputIndex()), entity);
+    }
+
+    /**
+     * Check that a credential is a hex encoded 28 bytes hash and lowercase it, the form node keys are indexed in
+     *
+     * @param credential hex encoded credential hash
+     * @return the lowercase credential
+     * @throws IllegalArgumentException if the credential is not a 28 bytes hash
+     */
+    public static String normalizeCredential(String credential) {
+        if (credential == null || !CREDENTIAL_PATTERN.matcher(credential).matches()) {
+            throw new IllegalArgumentException("Invalid credential, expected 56 hex characters: " + credential);
+        }
+        return credential.toLowerCase(Locale.ROOT);
+    }
+
+    static BlacklistNode toNode(BlacklistNodeEntity entity) {
+        return new BlacklistNode(entity.getKey(), entity.getNext());
+    }
+
+    private static String outputKey(String txHash, int outputIndex) {
+        return txHash + "#" + outputIndex;
+    }
+}
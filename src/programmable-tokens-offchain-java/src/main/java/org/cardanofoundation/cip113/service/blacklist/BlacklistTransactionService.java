@@ -0,0 +1,288 @@
+package org.cardanofoundation.cip113.service.blacklist;
+
+import com.bloxbean.cardano.aiken.AikenScriptUtil;
+import com.bloxbean.cardano.client.address.Address;
+import com.bloxbean.cardano.client.api.exception.ApiException;
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.api.util.ValueUtil;
+import com.bloxbean.cardano.client.backend.blockfrost.service.BFBackendService;
+import com.bloxbean.cardano.client.plutus.blueprint.PlutusBlueprintUtil;
+import com.bloxbean.cardano.client.plutus.blueprint.model.PlutusVersion;
+import com.bloxbean.cardano.client.plutus.spec.*;
+import com.bloxbean.cardano.client.quicktx.QuickTxBuilder;
+import com.bloxbean.cardano.client.quicktx.ScriptTx;
+import com.bloxbean.cardano.client.transaction.spec.Asset;
+import com.bloxbean.cardano.client.transaction.spec.MultiAsset;
+import com.bloxbean.cardano.client.transaction.spec.Transaction;
+import com.bloxbean.cardano.client.transaction.spec.TransactionInput;
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import com.bloxbean.cardano.client.util.HexUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.BlacklistNodeEntity;
+import org.cardanofoundation.cip113.model.BlacklistUpdateRequest;
+import org.cardanofoundation.cip113.model.TransactionContext;
+import org.cardanofoundation.cip113.model.onchain.BlacklistNode;
+import org.cardanofoundation.cip113.service.ProtocolBootstrapService;
+import org.cardanofoundation.cip113.service.ReferenceScriptService;
+import org.cardanofoundation.cip113.service.utxo.UtxoQueryService;
+import org.cardanofoundation.cip113.service.utxo.UtxoReservationService;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds blacklist insert and remove transactions from the {@link BlacklistIndexService}.
+ * <p>
+ * The node spending validator is not part of this project's blueprint, it must be deployed as a
+ * reference script (see {@link ReferenceScriptService}) under the payment credential of the node address.
+ * Its script is fetched from Blockfrost once, for the builder to evaluate the spend.
+ * Nodes are resolved through the {@link UtxoQueryService}, so a node moved by a pending update is followed.
+ * Node and manager inputs are leased through the {@link UtxoReservationService}, so concurrent updates of a
+ * list never spend the same outputs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlacklistTransactionService {
+
+    private static final String BLACKLIST_MINT_CONTRACT = "blacklist_mint.blacklist_mint.mint";
+
+    private final BlacklistIndexService blacklistIndexService;
+
+    private final ProtocolBootstrapService protocolBootstrapService;
+
+    private final ReferenceScriptService referenceScriptService;
+
+    private final UtxoQueryService utxoQueryService;
+
+    private final UtxoReservationService utxoReservationService;
+
+    private final QuickTxBuilder quickTxBuilder;
+
+    private final BFBackendService bfBackendService;
+
+    // script hash -> node spending validator
+    private final Map<String, PlutusScript> nodeSpendScripts = new ConcurrentHashMap<>();
+
+    /**
+     * Insert a credential: the covering node is split into (key -> credential) and (credential -> next)
+     *
+     * @param request the blacklist and credential
+     * @return Transaction context with unsigned CBOR tx
+     */
+    public TransactionContext buildInsertTransaction(BlacklistUpdateRequest request) {
+        var reservationId = UUID.randomUUID().toString();
+        String builtTxHash = null;
+        try {
+            var credential = BlacklistIndexService.normalizeCredential(request.credential());
+            var managerAddress = new Address(request.managerAddress());
+            var managerPkh = managerAddress.getPaymentCredentialHash()
+                    .orElseThrow(() -> new IllegalArgumentException("manager address has no payment credential"));
+            var blacklistMint = getBlacklistMintScript(request, managerPkh);
+            var policyId = blacklistMint.getPolicyId();
+
+            if (!blacklistIndexService.isIndexed(policyId)) {
+                return TransactionContext.error("blacklist policy is not indexed: " + policyId);
+            }
+
+            var coveringNodeOpt = blacklistIndexService.findCoveringNode(policyId, credential);
+            if (coveringNodeOpt.isEmpty()) {
+                return TransactionContext.error("credential is already blacklisted");
+            }
+            var coveringNode = coveringNodeOpt.get();
+            var coveringUtxo = findNodeUtxo(coveringNode);
+            if (coveringUtxo.isEmpty()) {
+                return TransactionContext.error("could not resolve covering node utxo");
+            }
+            if (!utxoReservationService.reserveAll(reservationId, List.of(coveringUtxo.get()))) {
+                return TransactionContext.error("covering node is spent by another transaction");
+            }
+            var managerInputs = utxoQueryService.reserveWalletInputs(reservationId, request.managerAddress());
+            if (managerInputs.utxos().isEmpty()) {
+                return TransactionContext.error(managerInputs.error("manager"));
+            }
+            var managerUtxos = managerInputs.utxos();
+
+            var newNodeNft = Asset.builder()
+                    .name("0x" + credential)
+                    .value(BigInteger.ONE)
+                    .build();
+
+            var updatedCoveringNode = new BlacklistNode(coveringNode.getKey(), credential);
+            var insertedNode = new BlacklistNode(credential, coveringNode.getNext());
+
+            var insertedNodeValue = Value.builder()
+                    .coin(Amount.ada(1).getQuantity())
+                    .multiAssets(List.of(MultiAsset.builder()
+                            .policyId(policyId)
+                            .assets(List.of(newNodeNft))
+                            .build()))
+                    .build();
+
+            // BlacklistInsert { key }
+            var insertRedeemer = ConstrPlutusData.of(1, BytesPlutusData.of(HexUtil.decodeHexString(credential)));
+
+            var tx = new ScriptTx()
+                    .collectFrom(managerUtxos)
+                    .collectFrom(coveringUtxo.get(), ConstrPlutusData.of(0))
+                    .mintAsset(blacklistMint, newNodeNft, insertRedeemer)
+                    .payToContract(coveringNode.getOwnerAddress(), coveringUtxo.get().getAmount(), updatedCoveringNode.toPlutusData())
+                    .payToContract(coveringNode.getOwnerAddress(), ValueUtil.toAmountList(insertedNodeValue), insertedNode.toPlutusData());
+
+            var transaction = build(tx, coveringNode, request.managerAddress(), managerPkh, managerInputs.collateral());
+            if (transaction.isEmpty()) {
+                return TransactionContext.error("blacklist node spending validator is not deployed as reference script");
+            }
+            builtTxHash = utxoQueryService.recordPending(transaction.get());
+            return TransactionContext.ok(transaction.get().serializeToHex());
+
+        } catch (Exception e) {
+            log.warn("error", e);
+            return TransactionContext.error(e.getMessage());
+        } finally {
+            utxoReservationService.completeBuild(reservationId, builtTxHash);
+        }
+    }
+
+    /**
+     * Remove a credential: the node and its predecessor are merged back into one node
+     *
+     * @param request the blacklist and credential
+     * @return Transaction context with unsigned CBOR tx
+     */
+    public TransactionContext buildRemoveTransaction(BlacklistUpdateRequest request) {
+        var reservationId = UUID.randomUUID().toString();
+        String builtTxHash = null;
+        try {
+            var credential = BlacklistIndexService.normalizeCredential(request.credential());
+            var managerAddress = new Address(request.managerAddress());
+            var managerPkh = managerAddress.getPaymentCredentialHash()
+                    .orElseThrow(() -> new IllegalArgumentException("manager address has no payment credential"));
+            var blacklistMint = getBlacklistMintScript(request, managerPkh);
+            var policyId = blacklistMint.getPolicyId();
+
+            var nodeOpt = blacklistIndexService.findNode(policyId, credential);
+            var previousNodeOpt = blacklistIndexService.findPreviousNode(policyId, credential);
+            if (nodeOpt.isEmpty() || previousNodeOpt.isEmpty()) {
+                return TransactionContext.error("credential is not blacklisted");
+            }
+
+            var nodeUtxo = findNodeUtxo(nodeOpt.get());
+            var previousNodeUtxo = findNodeUtxo(previousNodeOpt.get());
+            if (nodeUtxo.isEmpty() || previousNodeUtxo.isEmpty()) {
+                return TransactionContext.error("could not resolve blacklist node utxos");
+            }
+            if (!utxoReservationService.reserveAll(reservationId, List.of(previousNodeUtxo.get(), nodeUtxo.get()))) {
+                return TransactionContext.error("blacklist nodes are spent by another transaction");
+            }
+            var managerInputs = utxoQueryService.reserveWalletInputs(reservationId, request.managerAddress());
+            if (managerInputs.utxos().isEmpty()) {
+                return TransactionContext.error(managerInputs.error("manager"));
+            }
+            var managerUtxos = managerInputs.utxos();
+
+            var mergedNode = new BlacklistNode(previousNodeOpt.get().getKey(), nodeOpt.get().getNext());
+
+            var burnedNft = Asset.builder()
+                    .name("0x" + credential)
+                    .value(BigInteger.ONE.negate())
+                    .build();
+
+            // BlacklistRemove { key }
+            var removeRedeemer = ConstrPlutusData.of(2, BytesPlutusData.of(HexUtil.decodeHexString(credential)));
+
+            var tx = new ScriptTx()
+                    .collectFrom(managerUtxos)
+                    .collectFrom(List.of(previousNodeUtxo.get(), nodeUtxo.get()), ConstrPlutusData.of(0))
+                    .mintAsset(blacklistMint, burnedNft, removeRedeemer)
+                    .payToContract(previousNodeOpt.get().getOwnerAddress(), previousNodeUtxo.get().getAmount(), mergedNode.toPlutusData());
+
+            var transaction = build(tx, previousNodeOpt.get(), request.managerAddress(), managerPkh, managerInputs.collateral());
+            if (transaction.isEmpty()) {
+                return TransactionContext.error("blacklist node spending validator is not deployed as reference script");
+            }
+            builtTxHash = utxoQueryService.recordPending(transaction.get());
+            return TransactionContext.ok(transaction.get().serializeToHex());
+
+        } catch (Exception e) {
+            log.warn("error", e);
+            return TransactionContext.error(e.getMessage());
+        } finally {
+            utxoReservationService.completeBuild(reservationId, builtTxHash);
+        }
+    }
+
+    /**
+     * @return the built transaction, or empty if the node spending validator is not deployed
+     */
+    private Optional<Transaction> build(ScriptTx tx, BlacklistNodeEntity node, String managerAddress, byte[] managerPkh,
+                                        TransactionInput[] collateral) throws Exception {
+        var nodeAddress = new Address(node.getOwnerAddress());
+        var nodeScriptHash = HexUtil.encodeHexString(nodeAddress.getPaymentCredentialHash().orElseThrow());
+        var spendRefInput = referenceScriptService.findReferenceInput(protocolBootstrapService.getProtocolBootstrapParams(), nodeScriptHash);
+        if (spendRefInput.isEmpty()) {
+            log.warn("blacklist node spending validator is not deployed as reference script: {}", nodeScriptHash);
+            return Optional.empty();
+        }
+
+        tx.readFrom(spendRefInput.get().txHash(), spendRefInput.get().outputIndex())
+                .withChangeAddress(managerAddress);
+
+        var transaction = quickTxBuilder.compose(tx)
+                .withReferenceScripts(getNodeSpendScript(nodeScriptHash))
+                .withRequiredSigners(managerPkh)
+                .feePayer(managerAddress)
+                .withCollateralInputs(collateral)
+                .mergeOutputs(false)
+                .build();
+
+        log.info("blacklist tx: {}", transaction.serializeToHex());
+
+        return Optional.of(transaction);
+    }
+
+    /**
+     * The node output, or the output a pending transaction moved the node to
+     */
+    private Optional<Utxo> findNodeUtxo(BlacklistNodeEntity node) {
+        return utxoQueryService.findUnspentNft(node.getTxHash(), node.getOutputIndex(), node.getOwnerAddress(),
+                node.getPolicyId() + node.getKey());
+    }
+
+    /**
+     * The node spending validator is not in the blueprint, its script is resolved from the backend once
+     */
+    private PlutusScript getNodeSpendScript(String scriptHash) throws ApiException {
+        var script = nodeSpendScripts.get(scriptHash);
+        if (script == null) {
+            var result = bfBackendService.getScriptService().getPlutusScript(scriptHash);
+            if (!result.isSuccessful()) {
+                throw new ApiException("could not resolve blacklist node spending validator " + scriptHash + ": " + result.getResponse());
+            }
+            script = result.getValue();
+            nodeSpendScripts.put(scriptHash, script);
+        }
+        return script;
+    }
+
+    private PlutusScript getBlacklistMintScript(BlacklistUpdateRequest request, byte[] managerPkh) {
+        var contract = protocolBootstrapService.getProtocolContract(BLACKLIST_MINT_CONTRACT)
+                .orElseThrow(() -> new IllegalStateException("Blacklist mint contract not found"));
+
+        var parameters = ListPlutusData.of(
+                ConstrPlutusData.of(0,
+                        BytesPlutusData.of(HexUtil.decodeHexString(request.initTxHash())),
+                        BigIntPlutusData.of(request.initOutputIndex())),
+                BytesPlutusData.of(managerPkh)
+        );
+
+        return PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(AikenScriptUtil.applyParamToScript(parameters, contract), PlutusVersion.v3);
+    }
+}
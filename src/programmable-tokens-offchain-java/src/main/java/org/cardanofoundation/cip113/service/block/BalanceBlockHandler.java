@@ -0,0 +1,255 @@
+package org.cardanofoundation.cip113.service.block;
+
+import com.bloxbean.cardano.client.transaction.spec.MultiAsset;
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.BalanceChangeEvent;
+import org.cardanofoundation.cip113.model.TransactionType;
+import org.cardanofoundation.cip113.service.BalanceService;
+import org.cardanofoundation.cip113.service.ChainStateVersions;
+import org.cardanofoundation.cip113.service.HoldingService;
+import org.cardanofoundation.cip113.service.IndexerMetrics;
+import org.cardanofoundation.cip113.service.TokenSupplyService;
+import org.cardanofoundation.cip113.service.stream.BalanceChangeBroadcaster;
+import org.cardanofoundation.cip113.util.AddressUtil;
+import org.cardanofoundation.cip113.util.BalanceValueHelper;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Indexes the balances of programmable logic base addresses, last of the {@link BlockProcessor} handlers.
+ * The matched inputs and outputs of every transaction come resolved and valued from the {@link ClassifiedBlock}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BalanceBlockHandler {
+
+    private final BalanceService balanceService;
+    private final HoldingService holdingService;
+    private final TokenSupplyService tokenSupplyService;
+    private final ChainStateVersions chainStateVersions;
+    private final BalanceChangeBroadcaster balanceChangeBroadcaster;
+    private final IndexerMetrics indexerMetrics;
+
+    public void handle(ClassifiedBlock block) {
+        var stages = indexerMetrics.eventReceived(IndexerMetrics.Listener.BALANCE, block.slot());
+        try {
+            stages.outputs(block.outputs());
+            stages.inputs(block.inputs());
+            for (int i = 0; i < block.unresolvedInputs(); i++) {
+                stages.unresolvedInput();
+            }
+            block.transactions().forEach(blockTransaction ->
+                    indexTransaction(blockTransaction, block.slot(), block.blockHeight(), stages));
+        } finally {
+            stages.finish();
+        }
+    }
+
+    private void indexTransaction(ClassifiedBlock.BlockTransaction blockTransaction, long slot, long blockHeight,
+                                  IndexerMetrics.EventStages stages) {
+        var transaction = blockTransaction.transaction();
+        String txHash = transaction.getTxHash();
+
+        // Track balance changes per address using Value objects, in the order the addresses appear
+        // Key: address, Value: net balance change
+        long start = System.nanoTime();
+        Map<String, BalanceAggregator> balanceChanges = new LinkedHashMap<>();
+
+        // Inputs (subtractions)
+        blockTransaction.inputs().forEach(input -> {
+            stages.matchedInput();
+            log.debug("address: {}, input value: {}", input.address(), input.value());
+            balanceChanges.computeIfAbsent(input.address(), k -> new BalanceAggregator(input.address(), input.components()))
+                    .subtractInput(input.value());
+        });
+
+        // Outputs (additions)
+        blockTransaction.outputs().forEach(output -> {
+            stages.matchedOutput();
+            log.debug("address: {}, output value: {}", output.address(), output.value());
+            balanceChanges.computeIfAbsent(output.address(), k -> new BalanceAggregator(output.address(), output.components()))
+                    .addOutput(output.value());
+        });
+
+        if (balanceChanges.isEmpty()) {
+            return;
+        }
+        long writeStart = stages.lap(IndexerMetrics.Stage.AGGREGATION, start);
+
+        // Save balance changes to database
+        balanceChanges.forEach((address, aggregator) -> {
+
+            var netChange = aggregator.getNetChange();
+            // Get previous balance
+            Value previousBalance = balanceService.getCurrentBalanceAsValue(address);
+
+            // Calculate new balance: previous + outputs - inputs
+            Value newBalance = previousBalance.add(netChange);
+
+            // Calculate signed balance difference
+            Map<String, String> balanceDiff = calculateSignedDiff(netChange);
+
+            TransactionType transactionType = detectTransactionType(netChange, transaction);
+
+            // Convert new balance to map for service method
+            Map<String, BigInteger> balanceMap = BalanceValueHelper.toMap(newBalance);
+
+            // Save using new service method with transaction type and diff
+            balanceService.append(
+                    address,
+                    txHash,
+                    slot,
+                    blockHeight,
+                    balanceMap,
+                    transactionType,
+                    balanceDiff
+            );
+
+            // Keep the normalized holdings of the moved units in step
+            holdingService.apply(address, balanceMap, balanceDiff.keySet(), slot);
+            chainStateVersions.recordBalanceChange(address, aggregator.getComponents().getStakeKeyHash(), slot);
+            balanceChangeBroadcaster.publish(new BalanceChangeEvent(address,
+                    aggregator.getComponents().getStakeKeyHash(),
+                    txHash,
+                    slot,
+                    blockHeight,
+                    transactionType,
+                    BalanceValueHelper.toUnitMap(newBalance),
+                    balanceDiff));
+
+            log.info("Recorded balance change: address={}, tx={}, type={}, new_balance={}",
+                    address, txHash, transactionType, BalanceValueHelper.toJson(newBalance));
+        });
+
+        // Feed the supply tracker with the mints and burns of the programmable tokens moved
+        Set<String> movedPolicies = balanceChanges.values()
+                .stream()
+                .flatMap(aggregator -> aggregator.getNetChange().getMultiAssets().stream())
+                .map(MultiAsset::getPolicyId)
+                .collect(Collectors.toSet());
+        Map<String, BigInteger> minted = mintedUnits(movedPolicies, transaction);
+        if (!minted.isEmpty()) {
+            tokenSupplyService.apply(txHash, slot, blockHeight, minted);
+        }
+        stages.lap(IndexerMetrics.Stage.DATABASE_WRITE, writeStart);
+    }
+
+    /**
+     * Calculate signed balance difference from net change
+     * Converts Value to map with signed string amounts ("+1000", "-50")
+     *
+     * @param netChange the net balance change (outputs - inputs)
+     * @return map of unit to signed amount string
+     */
+    private Map<String, String> calculateSignedDiff(Value netChange) {
+        Map<String, String> signedDiff = new LinkedHashMap<>();
+
+        // Convert Value to unit map
+        Map<String, String> unitMap = BalanceValueHelper.toUnitMap(netChange);
+
+        // Add sign prefix to each amount
+        unitMap.forEach((unit, amountStr) -> {
+            BigInteger amount = new BigInteger(amountStr);
+            String signedAmount;
+
+            if (amount.compareTo(BigInteger.ZERO) > 0) {
+                signedAmount = "+" + amountStr;
+            } else if (amount.compareTo(BigInteger.ZERO) < 0) {
+                signedAmount = amountStr; // Already has minus sign
+            } else {
+                signedAmount = "0"; // No change
+            }
+
+            signedDiff.put(unit, signedAmount);
+        });
+
+        return signedDiff;
+    }
+
+    /**
+     * Detect the transaction type of an address balance change from the mint field of the transaction
+     * <p>
+     * Only mint field entries of policies whose balance changed are considered. Without any, the change is a
+     * TRANSFER. Otherwise the sign of the first matching entry decides: positive is a MINT, negative a BURN.
+     *
+     * @param netChange   the net change (outputs - inputs)
+     * @param transaction the transaction data
+     * @return MINT, BURN or TRANSFER
+     */
+    private TransactionType detectTransactionType(Value netChange, Transaction transaction) {
+
+        var netChangePolicies = netChange.getMultiAssets().stream().map(MultiAsset::getPolicyId).collect(Collectors.toSet());
+
+        var mintDetails = mintedUnits(netChangePolicies, transaction);
+
+        if (mintDetails.isEmpty()) {
+            return TransactionType.TRANSFER;
+        } else {
+            var mintAmount = mintDetails.values().iterator().next();
+            if (mintAmount.compareTo(BigInteger.ZERO) > 0) {
+                return TransactionType.MINT;
+            } else {
+                return TransactionType.BURN;
+            }
+        }
+    }
+
+    /**
+     * Collect the mint field entries of the given policies
+     *
+     * @param policyIds   policies of interest
+     * @param transaction the transaction data
+     * @return unit (policyId + assetName hex) to signed quantity, negative for burns, in mint field order
+     */
+    private Map<String, BigInteger> mintedUnits(Set<String> policyIds, Transaction transaction) {
+        Map<String, BigInteger> minted = new LinkedHashMap<>();
+        if (policyIds.isEmpty() || transaction.getBody().getMint() == null) {
+            return minted;
+        }
+        transaction.getBody()
+                .getMint()
+                .stream()
+                .filter(amount -> policyIds.contains(amount.getPolicyId()))
+                // Mint units may carry a "." between policy id and asset name
+                .forEach(amount -> minted.merge(amount.getUnit().replace(".", ""), amount.getQuantity(), BigInteger::add));
+        return minted;
+    }
+
+    /**
+     * Helper class to aggregate balance changes per address
+     */
+    static class BalanceAggregator {
+        private final String address;
+        private final AddressUtil.AddressComponents components;
+        private Value netChange;
+
+        BalanceAggregator(String address, AddressUtil.AddressComponents components) {
+            this.address = address;
+            this.components = components;
+            this.netChange = BalanceValueHelper.empty();
+        }
+
+        void addOutput(Value value) {
+            netChange = netChange.add(value);
+        }
+
+        void subtractInput(Value value) {
+            netChange = netChange.subtract(value);
+        }
+
+        Value getNetChange() {
+            return netChange;
+        }
+
+        AddressUtil.AddressComponents getComponents() {
+            return components;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.cardanofoundation.cip113.service.block;
+
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.repository.UtxoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.config.AppConfig;
+import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.service.IndexerMetrics;
+import org.cardanofoundation.cip113.service.ProtocolParamsService;
+import org.cardanofoundation.cip113.service.submit.InFlightTransactionTracker;
+import org.cardanofoundation.cip113.service.utxo.PendingTransactionOverlay;
+import org.cardanofoundation.cip113.service.utxo.UtxoReservationService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Indexes the chain block by block.
+ * <p>
+ * The outputs and inputs of a block are classified in one pass ({@link ClassifiedBlock}), against the
+ * protocol params indexed so far, then the handlers run in a fixed order:
+ * <ol>
+ *     <li>{@link ProtocolParamsBlockHandler}, a new version is applied to the rest of its block; it is only
+ *     cached by the {@link ProtocolParamsService} once the block commits, so the block is classified again
+ *     with the saved versions added</li>
+ *     <li>{@link RegistryBlockHandler}</li>
+ *     <li>{@link BalanceBlockHandler}</li>
+ * </ol>
+ * Everything derived from a block is written in one transaction, so readers see a block completely or not at all.
+ * Submitted transactions of the block are confirmed to the {@link InFlightTransactionTracker}, and dropped from
+ * the {@link PendingTransactionOverlay} and the {@link UtxoReservationService} leases, once it commits.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BlockProcessor {
+
+    private final ProtocolParamsService protocolParamsService;
+    private final AppConfig.ProtocolParamsConfig protocolParamsConfig;
+    private final UtxoRepository utxoRepository;
+    private final ProtocolParamsBlockHandler protocolParamsBlockHandler;
+    private final RegistryBlockHandler registryBlockHandler;
+    private final BalanceBlockHandler balanceBlockHandler;
+    private final InFlightTransactionTracker inFlightTransactionTracker;
+    private final PendingTransactionOverlay pendingTransactionOverlay;
+    private final UtxoReservationService utxoReservationService;
+    private final IndexerMetrics indexerMetrics;
+
+    @EventListener
+    @Transactional
+    public void processEvent(TransactionEvent transactionEvent) {
+        log.debug("Processing block {} with {} transactions", transactionEvent.getMetadata().getBlock(),
+                transactionEvent.getTransactions().size());
+
+        var stages = indexerMetrics.eventReceived(IndexerMetrics.Listener.BLOCK, transactionEvent.getMetadata().getSlot());
+        indexerMetrics.timeCommit(IndexerMetrics.Listener.BLOCK);
+        try {
+            var block = classify(transactionEvent, List.of(), stages);
+            var saved = protocolParamsBlockHandler.handle(block);
+            if (!saved.isEmpty()) {
+                // Registry nodes and balances of the new version may follow in the same block
+                block = classify(transactionEvent, saved, stages);
+            }
+            registryBlockHandler.handle(block);
+            balanceBlockHandler.handle(block);
+            inFlightTransactionTracker.blockIndexed(transactionEvent);
+            pendingTransactionOverlay.blockIndexed(transactionEvent);
+            utxoReservationService.blockIndexed(transactionEvent);
+        } finally {
+            stages.finish();
+        }
+    }
+
+    private ClassifiedBlock classify(TransactionEvent transactionEvent, List<ProtocolParamsEntity> uncommitted,
+                                     IndexerMetrics.EventStages stages) {
+        var protocolParams = new ArrayList<>(protocolParamsService.getAll());
+        uncommitted.stream()
+                .filter(entity -> !protocolParamsService.existsByTxHash(entity.getTxHash()))
+                .forEach(protocolParams::add);
+        var scripts = ClassifiedBlock.Scripts.of(protocolParams, protocolParamsConfig.getTransactionIds());
+
+        long start = System.nanoTime();
+        long[] resolutionNanos = new long[1];
+        var block = ClassifiedBlock.classify(transactionEvent, scripts, utxoIds -> {
+            long resolutionStart = System.nanoTime();
+            var stored = utxoRepository.findAllById(utxoIds);
+            resolutionNanos[0] = stages.lap(IndexerMetrics.Stage.INPUT_RESOLUTION, resolutionStart) - resolutionStart;
+            return stored;
+        });
+        // The classification without the input lookup
+        stages.lap(IndexerMetrics.Stage.ADDRESS_FILTERING, start + resolutionNanos[0]);
+        return block;
+    }
+}
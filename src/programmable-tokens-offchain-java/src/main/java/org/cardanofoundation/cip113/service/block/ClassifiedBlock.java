@@ -0,0 +1,217 @@
+package org.cardanofoundation.cip113.service.block;
+
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import com.bloxbean.cardano.yaci.core.model.TransactionInput;
+import com.bloxbean.cardano.yaci.core.model.TransactionOutput;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import com.bloxbean.cardano.yaci.store.common.domain.Amt;
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.AddressUtxoEntity;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.UtxoId;
+import com.easy1staking.cardano.model.AssetType;
+import com.easy1staking.cardano.util.AmountUtil;
+import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.util.AddressUtil;
+import org.cardanofoundation.cip113.util.BalanceValueHelper;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The outputs and inputs of a block that concern the indexers, found in a single pass over the block.
+ * <p>
+ * Every output is checked once against the protocol params transactions, the registry node policies and the
+ * programmable logic base scripts. Inputs spending outputs of the same block are resolved from the block,
+ * all others with one lookup in the UTxO store.
+ *
+ * @param slot                  slot of the block
+ * @param blockHeight           height of the block
+ * @param outputs               number of outputs of the block
+ * @param inputs                number of inputs of the block
+ * @param unresolvedInputs      inputs whose output is neither in the block nor in the UTxO store
+ * @param protocolParamsOutputs candidate protocol params outputs, in block order
+ * @param registryOutputs       outputs holding a registry node NFT, in block order
+ * @param transactions          programmable logic base inputs and outputs of every transaction, in block order
+ */
+public record ClassifiedBlock(long slot,
+                              long blockHeight,
+                              int outputs,
+                              int inputs,
+                              int unresolvedInputs,
+                              List<ProtocolParamsOutput> protocolParamsOutputs,
+                              List<RegistryOutput> registryOutputs,
+                              List<BlockTransaction> transactions) {
+
+    private static final String PROTOCOL_PARAMS_ASSET_NAME = "ProtocolParams";
+
+    /**
+     * What the outputs of a block are checked against, derived from the protocol params indexed so far
+     *
+     * @param protocolParamsTxHashes         transactions that may carry protocol params
+     * @param protocolParamsByRegistryPolicy registry node NFT policy to its protocol params version
+     * @param progLogicScriptHashes          programmable logic base script hashes
+     */
+    public record Scripts(Set<String> protocolParamsTxHashes,
+                          Map<String, ProtocolParamsEntity> protocolParamsByRegistryPolicy,
+                          Set<String> progLogicScriptHashes) {
+
+        public static Scripts of(List<ProtocolParamsEntity> allProtocolParams, Collection<String> protocolParamsTxHashes) {
+            Map<String, ProtocolParamsEntity> protocolParamsByRegistryPolicy = new HashMap<>();
+            // Keep the first version if several share a registry policy
+            allProtocolParams.forEach(protocolParams -> protocolParamsByRegistryPolicy.putIfAbsent(
+                    AssetType.fromUnit(protocolParams.getRegistryNodePolicyId()).policyId(), protocolParams));
+            var progLogicScriptHashes = allProtocolParams.stream()
+                    .map(ProtocolParamsEntity::getProgLogicScriptHash)
+                    .collect(Collectors.toSet());
+            return new Scripts(Set.copyOf(protocolParamsTxHashes), protocolParamsByRegistryPolicy, progLogicScriptHashes);
+        }
+    }
+
+    public record ProtocolParamsOutput(String txHash, String inlineDatum) {
+    }
+
+    public record RegistryOutput(String txHash, String inlineDatum, ProtocolParamsEntity protocolParams) {
+    }
+
+    /**
+     * Value spent from or paid to a programmable logic base address
+     */
+    public record ProgrammableValue(String address, AddressUtil.AddressComponents components, Value value) {
+    }
+
+    public record BlockTransaction(Transaction transaction, List<ProgrammableValue> inputs,
+                                   List<ProgrammableValue> outputs) {
+    }
+
+    /**
+     * Classify the outputs and inputs of a block
+     *
+     * @param transactionEvent the block
+     * @param scripts          what to look for
+     * @param storedOutputs    loads outputs from the UTxO store, called at most once
+     */
+    public static ClassifiedBlock classify(TransactionEvent transactionEvent, Scripts scripts,
+                                           Function<List<UtxoId>, List<AddressUtxoEntity>> storedOutputs) {
+        var transactions = transactionEvent.getTransactions();
+        int outputs = 0;
+        int inputs = 0;
+        List<ProtocolParamsOutput> protocolParamsOutputs = new ArrayList<>();
+        List<RegistryOutput> registryOutputs = new ArrayList<>();
+        List<List<ProgrammableValue>> programmableOutputs = new ArrayList<>();
+
+        // "txHash#outputIndex" of every output of the block, programmable ones mapped to their value
+        Set<String> blockOutputKeys = new HashSet<>();
+        Map<String, ProgrammableValue> blockProgrammableOutputs = new HashMap<>();
+
+        for (Transaction transaction : transactions) {
+            var txHash = transaction.getTxHash();
+            List<ProgrammableValue> transactionOutputs = new ArrayList<>();
+            var transactionOutputList = transaction.getBody().getOutputs();
+            for (int index = 0; index < transactionOutputList.size(); index++) {
+                var output = transactionOutputList.get(index);
+                var key = utxoKey(txHash, index);
+                blockOutputKeys.add(key);
+                outputs++;
+
+                if (output.getInlineDatum() != null) {
+                    if (scripts.protocolParamsTxHashes().contains(txHash) && output.getAmounts()
+                            .stream().anyMatch(amount -> PROTOCOL_PARAMS_ASSET_NAME.equals(amount.getAssetName()))) {
+                        protocolParamsOutputs.add(new ProtocolParamsOutput(txHash, output.getInlineDatum()));
+                    }
+                    registryNft(output, scripts).ifPresent(protocolParams ->
+                            registryOutputs.add(new RegistryOutput(txHash, output.getInlineDatum(), protocolParams)));
+                }
+
+                var components = programmableComponents(output.getAddress(), scripts);
+                if (components != null) {
+                    var value = new ProgrammableValue(output.getAddress(), components, outputValue(output));
+                    transactionOutputs.add(value);
+                    blockProgrammableOutputs.put(key, value);
+                }
+            }
+            programmableOutputs.add(transactionOutputs);
+        }
+
+        // Inputs spending outputs of earlier blocks are looked up together
+        List<UtxoId> storedInputIds = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            for (TransactionInput input : transaction.getBody().getInputs()) {
+                inputs++;
+                if (!blockOutputKeys.contains(utxoKey(input.getTransactionId(), input.getIndex()))) {
+                    storedInputIds.add(new UtxoId(input.getTransactionId(), input.getIndex()));
+                }
+            }
+        }
+        Map<String, AddressUtxoEntity> stored = new HashMap<>();
+        if (!storedInputIds.isEmpty() && !scripts.progLogicScriptHashes().isEmpty()) {
+            storedOutputs.apply(storedInputIds)
+                    .forEach(utxo -> stored.put(utxoKey(utxo.getTxHash(), utxo.getOutputIndex()), utxo));
+        }
+
+        int unresolvedInputs = 0;
+        List<BlockTransaction> blockTransactions = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            var transaction = transactions.get(i);
+            List<ProgrammableValue> transactionInputs = new ArrayList<>();
+            for (TransactionInput input : transaction.getBody().getInputs()) {
+                var key = utxoKey(input.getTransactionId(), input.getIndex());
+                if (blockOutputKeys.contains(key)) {
+                    var value = blockProgrammableOutputs.get(key);
+                    if (value != null) {
+                        transactionInputs.add(value);
+                    }
+                    continue;
+                }
+                var utxo = stored.get(key);
+                if (utxo == null) {
+                    unresolvedInputs++;
+                    continue;
+                }
+                var components = programmableComponents(utxo.getOwnerAddr(), scripts);
+                if (components != null) {
+                    transactionInputs.add(new ProgrammableValue(utxo.getOwnerAddr(), components, storedValue(utxo.getAmounts())));
+                }
+            }
+            blockTransactions.add(new BlockTransaction(transaction, transactionInputs, programmableOutputs.get(i)));
+        }
+
+        return new ClassifiedBlock(transactionEvent.getMetadata().getSlot(), transactionEvent.getMetadata().getBlock(),
+                outputs, inputs, scripts.progLogicScriptHashes().isEmpty() ? 0 : unresolvedInputs,
+                protocolParamsOutputs, registryOutputs, blockTransactions);
+    }
+
+    private static Optional<ProtocolParamsEntity> registryNft(TransactionOutput output, Scripts scripts) {
+        return output.getAmounts()
+                .stream()
+                .filter(amount -> BigInteger.ONE.equals(amount.getQuantity()))
+                .map(amount -> scripts.protocolParamsByRegistryPolicy().get(amount.getPolicyId()))
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    private static AddressUtil.AddressComponents programmableComponents(String address, Scripts scripts) {
+        if (scripts.progLogicScriptHashes().isEmpty()) {
+            return null;
+        }
+        var components = AddressUtil.decompose(address);
+        return components != null && scripts.progLogicScriptHashes().contains(components.getPaymentScriptHash()) ? components : null;
+    }
+
+    private static Value outputValue(TransactionOutput output) {
+        return output.getAmounts()
+                .stream()
+                .map(AmountUtil::toValue)
+                .reduce(Value::add)
+                .orElse(BalanceValueHelper.empty());
+    }
+
+    private static Value storedValue(List<Amt> amounts) {
+        return amounts.stream().map(AmountUtil::toValue).reduce(BalanceValueHelper.empty(), Value::add);
+    }
+
+    private static String utxoKey(String txHash, int outputIndex) {
+        return txHash + "#" + outputIndex;
+    }
+}
@@ -0,0 +1,81 @@
+package org.cardanofoundation.cip113.service.block;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.model.onchain.ProtocolParamsParser;
+import org.cardanofoundation.cip113.service.ChainStateVersions;
+import org.cardanofoundation.cip113.service.IndexerMetrics;
+import org.cardanofoundation.cip113.service.ProtocolParamsService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Indexes the protocol params versions of a block, first of the {@link BlockProcessor} handlers
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProtocolParamsBlockHandler {
+
+    private final ProtocolParamsService protocolParamsService;
+    private final ProtocolParamsParser protocolParamsParser;
+    private final ChainStateVersions chainStateVersions;
+    private final IndexerMetrics indexerMetrics;
+
+    /**
+     * Save the protocol params carried by the block
+     *
+     * @param block the classified block
+     * @return the protocol params versions saved, only cached by {@link ProtocolParamsService} once the block commits
+     */
+    public List<ProtocolParamsEntity> handle(ClassifiedBlock block) {
+        var stages = indexerMetrics.eventReceived(IndexerMetrics.Listener.PROTOCOL_PARAMS, block.slot());
+        try {
+            stages.outputs(block.outputs());
+            return indexProtocolParams(block, stages);
+        } finally {
+            stages.finish();
+        }
+    }
+
+    private List<ProtocolParamsEntity> indexProtocolParams(ClassifiedBlock block, IndexerMetrics.EventStages stages) {
+        var slot = block.slot();
+        List<ProtocolParamsEntity> saved = new ArrayList<>();
+        long writeStart = System.nanoTime();
+        for (var output : block.protocolParamsOutputs()) {
+            stages.matchedOutput();
+
+            var txHash = output.txHash();
+
+            log.info("Found protocol params transaction: txHash={}, slot={}", txHash, slot);
+
+            // Parse inline datum
+            var protocolParamsOpt = protocolParamsParser.parse(output.inlineDatum());
+            if (protocolParamsOpt.isEmpty()) {
+                log.error("Failed to parse protocol params from txHash={}", txHash);
+                continue;
+            }
+            var protocolParams = protocolParamsOpt.get();
+
+            // Create entity and save
+            ProtocolParamsEntity entity = ProtocolParamsEntity.builder()
+                    .registryNodePolicyId(protocolParams.registryNodePolicyId())
+                    .progLogicScriptHash(protocolParams.programmableLogicBaseScriptHash())
+                    .txHash(txHash)
+                    .slot(slot)
+                    .blockHeight(block.blockHeight())
+                    .build();
+
+            saved.add(protocolParamsService.save(entity));
+            chainStateVersions.recordProtocolParamsChange(slot);
+            log.info("Successfully saved protocol params from txHash={}", txHash);
+        }
+        if (!block.protocolParamsOutputs().isEmpty()) {
+            stages.lap(IndexerMetrics.Stage.DATABASE_WRITE, writeStart);
+        }
+        return saved;
+    }
+}
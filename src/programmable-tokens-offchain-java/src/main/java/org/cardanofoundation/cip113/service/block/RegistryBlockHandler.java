@@ -0,0 +1,80 @@
+package org.cardanofoundation.cip113.service.block;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.entity.RegistryNodeEntity;
+import org.cardanofoundation.cip113.model.onchain.RegistryNodeParser;
+import org.cardanofoundation.cip113.service.ChainStateVersions;
+import org.cardanofoundation.cip113.service.IndexerMetrics;
+import org.cardanofoundation.cip113.service.RegistryService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Indexes the registry nodes of a block, after the protocol params and before the balances
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RegistryBlockHandler {
+
+    private final RegistryService registryService;
+    private final RegistryNodeParser registryNodeParser;
+    private final ChainStateVersions chainStateVersions;
+    private final IndexerMetrics indexerMetrics;
+
+    public void handle(ClassifiedBlock block) {
+        var stages = indexerMetrics.eventReceived(IndexerMetrics.Listener.REGISTRY, block.slot());
+        try {
+            stages.outputs(block.outputs());
+            block.registryOutputs().forEach(output -> {
+                stages.matchedOutput();
+                long start = System.nanoTime();
+                indexRegistryNode(output, block.slot(), block.blockHeight());
+                stages.lap(IndexerMetrics.Stage.DATABASE_WRITE, start);
+            });
+        } finally {
+            stages.finish();
+        }
+    }
+
+    private void indexRegistryNode(ClassifiedBlock.RegistryOutput output, long slot, long blockHeight) {
+        String txHash = output.txHash();
+        var protocolParams = output.protocolParams();
+
+        log.info("Found registry node UTxO: txHash={}, slot={}, protocolParamsId={}",
+                txHash, slot, protocolParams.getId());
+
+        // Parse inline datum to RegistryNode
+        registryNodeParser.parse(output.inlineDatum())
+                .ifPresentOrElse(registryNode -> {
+
+                            log.info("registryNode: {}", registryNode);
+
+                            // Skip sentinel/head node (key = "")
+                            if (registryNode.key().isEmpty()) {
+                                log.info("Skipping sentinel node (key is empty)");
+                                return;
+                            }
+
+                            // Create entity
+                            RegistryNodeEntity entity = RegistryNodeEntity.builder()
+                                    .key(registryNode.key())
+                                    .next(registryNode.next())
+                                    .transferLogicScript(registryNode.transferLogicScript())
+                                    .thirdPartyTransferLogicScript(registryNode.thirdPartyTransferLogicScript())
+                                    .globalStatePolicyId(registryNode.globalStatePolicyId())
+                                    .protocolParams(protocolParams)
+                                    .lastTxHash(txHash)
+                                    .lastSlot(slot)
+                                    .lastBlockHeight(blockHeight)
+                                    .build();
+
+                            // Upsert to database
+                            registryService.upsert(entity);
+                            chainStateVersions.recordRegistryChange(slot);
+                            log.info("Successfully upserted registry node: key={}, next={}, tx={}", registryNode.key(), registryNode.next(), txHash);
+                        },
+                        () -> log.error("Failed to parse registry node from txHash={}", txHash)
+                );
+    }
+}
@@ -0,0 +1,47 @@
+package org.cardanofoundation.cip113.service.export;
+
+import java.util.regex.Pattern;
+
+/**
+ * Selection of balance log rows to export. At least one of address, stake key hash or payment script hash
+ * must be set, they are served by an index; unit only narrows them down. The ones that are set are combined.
+ *
+ * @param address           bech32 address
+ * @param stakeKeyHash      stake key hash
+ * @param paymentScriptHash payment script hash (programmable logic base of a protocol version)
+ * @param unit              "lovelace" or policyId+assetName hex, rows holding or changing the unit
+ * @param fromSlot          first slot, inclusive
+ * @param toSlot            last slot, inclusive
+ */
+public record BalanceHistoryExportQuery(String address,
+                                        String stakeKeyHash,
+                                        String paymentScriptHash,
+                                        String unit,
+                                        long fromSlot,
+                                        long toSlot) {
+
+    private static final Pattern UNIT_PATTERN = Pattern.compile("lovelace|[0-9a-f]{56,120}");
+
+    /**
+     * Check the query before anything is streamed
+     *
+     * @throws IllegalArgumentException if the query has no indexed selector or the unit is malformed
+     */
+    public void validate() {
+        if (!hasSelector()) {
+            throw new IllegalArgumentException("address, stakeKeyHash or paymentScriptHash is required");
+        }
+        if (isSet(unit) && !UNIT_PATTERN.matcher(unit).matches()) {
+            throw new IllegalArgumentException("Invalid unit: " + unit);
+        }
+    }
+
+    public boolean hasSelector() {
+        // A unit alone would scan the whole balance log
+        return isSet(address) || isSet(stakeKeyHash) || isSet(paymentScriptHash);
+    }
+
+    static boolean isSet(String value) {
+        return value != null && !value.isBlank();
+    }
+}
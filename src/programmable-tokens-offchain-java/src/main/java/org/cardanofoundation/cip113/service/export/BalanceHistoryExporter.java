@@ -0,0 +1,227 @@
+package org.cardanofoundation.cip113.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.ExportFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams balance log rows straight from a forward-only JDBC cursor to an output stream.
+ * <p>
+ * The query runs in a read-only transaction so the PostgreSQL driver fetches {@code fetch-size} rows
+ * at a time instead of materializing the result. Balances and diffs are already stored as JSON and are
+ * written as raw values without parsing, so memory stays constant whatever the slot range.
+ */
+@Service
+@Slf4j
+public class BalanceHistoryExporter {
+
+    private static final String CSV_HEADER = "id,address,tx_hash,slot,block_height,transaction_type,balance,balance_diff\n";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Value("${balance-export.fetch-size:2000}")
+    private int fetchSize;
+
+    public BalanceHistoryExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Write every matching row, ordered by slot and id ascending
+     *
+     * @param query  the rows to export
+     * @param format output format
+     * @param out    destination, not closed
+     * @return number of rows written
+     * @throws IllegalArgumentException if the query has no indexed selector or the unit is malformed
+     */
+    public long export(BalanceHistoryExportQuery query, ExportFormat format, OutputStream out) {
+        query.validate();
+
+        var sql = new StringBuilder("""
+                SELECT id, address, tx_hash, slot, block_height, transaction_type, balance, balance_diff
+                FROM balance_log
+                WHERE slot BETWEEN ? AND ?
+                """);
+        List<Object> params = new ArrayList<>();
+        params.add(query.fromSlot());
+        params.add(query.toSlot());
+        if (BalanceHistoryExportQuery.isSet(query.address())) {
+            sql.append("AND address = ?\n");
+            params.add(query.address());
+        }
+        if (BalanceHistoryExportQuery.isSet(query.stakeKeyHash())) {
+            sql.append("AND stake_key_hash = ?\n");
+            params.add(query.stakeKeyHash());
+        }
+        if (BalanceHistoryExportQuery.isSet(query.paymentScriptHash())) {
+            sql.append("AND payment_script_hash = ?\n");
+            params.add(query.paymentScriptHash());
+        }
+        if (BalanceHistoryExportQuery.isSet(query.unit())) {
+            // Rows holding the unit, or whose diff moved it (e.g. the last unit leaving the address)
+            sql.append("AND (balance LIKE ? OR balance_diff LIKE ?)\n");
+            var unitKey = "%\"" + query.unit() + "\"%";
+            params.add(unitKey);
+            params.add(unitKey);
+        }
+        sql.append("ORDER BY slot ASC, id ASC");
+
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        var rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        var startedAt = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rowWriter::write));
+
+        try {
+            rowWriter.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Exported {} balance log rows as {} in {}ms", rowWriter.count, format,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return rowWriter.count;
+    }
+
+    private abstract static class RowWriter {
+
+        protected final Writer writer;
+
+        private long count;
+
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        void write(ResultSet rs) throws SQLException {
+            try {
+                writeRow(rs);
+                count++;
+            } catch (IOException e) {
+                // Client went away, abort the query
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) {
+            super(writer);
+            try {
+                this.generator = jsonFactory.createGenerator(writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong(1));
+            generator.writeStringField("address", rs.getString(2));
+            generator.writeStringField("txHash", rs.getString(3));
+            generator.writeNumberField("slot", rs.getLong(4));
+            generator.writeNumberField("blockHeight", rs.getLong(5));
+            generator.writeStringField("transactionType", rs.getString(6));
+            generator.writeFieldName("balance");
+            generator.writeRawValue(rs.getString(7));
+            generator.writeFieldName("balanceDiff");
+            var balanceDiff = rs.getString(8);
+            if (balanceDiff != null) {
+                generator.writeRawValue(balanceDiff);
+            } else {
+                generator.writeNull();
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.flush();
+            super.finish();
+        }
+    }
+
+    private static class CsvRowWriter extends RowWriter {
+
+        CsvRowWriter(Writer writer) {
+            super(writer);
+            try {
+                writer.write(CSV_HEADER);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong(1)));
+            writer.write(',');
+            writer.write(rs.getString(2));
+            writer.write(',');
+            writer.write(rs.getString(3));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong(4)));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong(5)));
+            writer.write(',');
+            var transactionType = rs.getString(6);
+            writer.write(transactionType != null ? transactionType : "");
+            writer.write(',');
+            writeQuoted(rs.getString(7));
+            writer.write(',');
+            writeQuoted(rs.getString(8));
+            writer.write('\n');
+        }
+
+        private void writeQuoted(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
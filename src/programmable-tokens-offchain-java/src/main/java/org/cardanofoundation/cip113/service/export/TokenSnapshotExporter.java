@@ -0,0 +1,340 @@
+package org.cardanofoundation.cip113.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.ExportFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
+
+/**
+ * Streams the holders of a unit as of a slot, e.g. for snapshot airdrops.
+ * <p>
+ * Addresses are split into disjoint key ranges, taken from the planner statistics of
+ * {@code balance_log.address}, that are scanned concurrently on virtual threads, each with its own
+ * forward-only cursor over its slice of idx_balance_address_slot_id. Every partition picks the balance
+ * entry in effect at the slot for each of its addresses and hands the non-zero holdings to the calling
+ * thread through a bounded queue, which writes them out. A slow client therefore slows the partition
+ * queries down instead of buffering rows. Rows are written in no particular order.
+ * <p>
+ * The response is already committed when a partition fails, so the output then ends with an error line
+ * ({@code {"error":...}} in NDJSON, {@code #error,...} in CSV) instead of being silently truncated.
+ */
+@Service
+@Slf4j
+public class TokenSnapshotExporter {
+
+    private static final Pattern UNIT_PATTERN = Pattern.compile("[0-9a-f]{56,120}");
+
+    private static final String CSV_HEADER = "address,stake_key_hash,amount,tx_hash,tx_slot\n";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    // Latest entry per address at or before the slot (idx_balance_address_slot_id order), holding the unit.
+    // %s is replaced by the address range of the partition
+    private static final String PARTITION_SQL = """
+            SELECT address, stake_key_hash, tx_hash, slot, balance::jsonb ->> ? AS amount
+            FROM (
+                SELECT DISTINCT ON (address) address, stake_key_hash, tx_hash, slot, balance
+                FROM balance_log
+                WHERE slot <= ?
+                %s
+                ORDER BY address, slot DESC, id DESC
+            ) latest
+            WHERE balance::jsonb ->> ? IS NOT NULL
+            """;
+
+    // Equi-depth histogram of the addresses, maintained by ANALYZE
+    private static final String ADDRESS_BOUNDS_SQL = """
+            SELECT bound
+            FROM pg_stats, unnest(histogram_bounds::text::text[]) WITH ORDINALITY AS bounds(bound, position)
+            WHERE schemaname = current_schema() AND tablename = 'balance_log' AND attname = 'address'
+            ORDER BY position
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Value("${balance-export.fetch-size:2000}")
+    private int fetchSize;
+
+    @Value("${balance-export.snapshot-partitions:4}")
+    private int partitions;
+
+    public TokenSnapshotExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Check the unit before anything is streamed
+     *
+     * @throws IllegalArgumentException if the unit is not a policyId+assetName hex string
+     */
+    public static void validateUnit(String unit) {
+        if (unit == null || !UNIT_PATTERN.matcher(unit).matches()) {
+            throw new IllegalArgumentException("Invalid unit: " + unit);
+        }
+    }
+
+    /**
+     * Write every address holding the unit at the slot, with the amount it held.
+     * The slot should not be ahead of the indexer, or the snapshot may miss later blocks.
+     *
+     * @param unit   policyId+assetName hex
+     * @param slot   the snapshot slot, inclusive
+     * @param format output format
+     * @param out    destination, not closed
+     * @return number of holders written
+     */
+    public long export(String unit, long slot, ExportFormat format, OutputStream out) {
+        validateUnit(unit);
+
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        var queue = new ArrayBlockingQueue<Object>(QUEUE_CAPACITY);
+        var startedAt = System.nanoTime();
+
+        var ranges = addressRanges();
+        long count = 0;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> scans = new ArrayList<>(ranges.size());
+            for (AddressRange range : ranges) {
+                scans.add(executor.submit(() -> scanPartition(unit, slot, range, queue)));
+            }
+
+            try {
+                var rowWriter = format == ExportFormat.CSV ? new CsvHolderWriter(writer) : new NdjsonHolderWriter(writer);
+                int remaining = ranges.size();
+                while (remaining > 0) {
+                    var item = queue.take();
+                    if (item instanceof PartitionDone done) {
+                        if (done.failure() != null) {
+                            // Headers are sent, tell the client the output is incomplete
+                            rowWriter.error("snapshot incomplete, partition failed after " + count + " holders");
+                            throw new IllegalStateException("Snapshot partition failed", done.failure());
+                        }
+                        remaining--;
+                    } else {
+                        rowWriter.write((SnapshotHolder) item);
+                        count++;
+                    }
+                }
+                rowWriter.finish();
+            } catch (IOException e) {
+                // Client went away
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Snapshot export interrupted", e);
+            } finally {
+                // No-op when every partition is done, otherwise unblocks producers stuck on a full queue
+                scans.forEach(scan -> scan.cancel(true));
+            }
+        }
+
+        log.info("Exported {} holders of {} at slot {} as {} in {}ms", count, unit, slot, format,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return count;
+    }
+
+    /**
+     * Split the address space into at most {@code snapshot-partitions} ranges holding about the same number
+     * of addresses. Without statistics (table never analyzed) the whole table is one range.
+     */
+    List<AddressRange> addressRanges() {
+        List<String> bounds;
+        try {
+            bounds = jdbcTemplate.queryForList(ADDRESS_BOUNDS_SQL, String.class);
+        } catch (DataAccessException e) {
+            log.debug("No address statistics, snapshot runs as a single partition: {}", e.getMessage());
+            bounds = List.of();
+        }
+        return addressRanges(bounds, partitions);
+    }
+
+    static List<AddressRange> addressRanges(List<String> bounds, int partitions) {
+        var splits = new TreeSet<String>();
+        if (bounds.size() > 2) {
+            for (int i = 1; i < partitions; i++) {
+                splits.add(bounds.get(i * (bounds.size() - 1) / partitions));
+            }
+        }
+        var ranges = new ArrayList<AddressRange>(splits.size() + 1);
+        String from = null;
+        for (String split : splits) {
+            ranges.add(new AddressRange(from, split));
+            from = split;
+        }
+        ranges.add(new AddressRange(from, null));
+        return ranges;
+    }
+
+    private void scanPartition(String unit, long slot, AddressRange range, BlockingQueue<Object> queue) {
+        Throwable failure = null;
+        var rangeCondition = new StringBuilder();
+        if (range.from() != null) {
+            rangeCondition.append("AND address >= ? ");
+        }
+        if (range.to() != null) {
+            rangeCondition.append("AND address < ?");
+        }
+        var sql = PARTITION_SQL.formatted(rangeCondition);
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                int parameter = 1;
+                statement.setString(parameter++, unit);
+                statement.setLong(parameter++, slot);
+                if (range.from() != null) {
+                    statement.setString(parameter++, range.from());
+                }
+                if (range.to() != null) {
+                    statement.setString(parameter++, range.to());
+                }
+                statement.setString(parameter, unit);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                var amount = rs.getString(5);
+                if (amount.equals("0")) {
+                    return;
+                }
+                var holder = new SnapshotHolder(rs.getString(1), rs.getString(2), amount, rs.getString(3), rs.getLong(4));
+                try {
+                    queue.put(holder);
+                } catch (InterruptedException e) {
+                    // Export aborted, stop reading the cursor
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Snapshot export aborted");
+                }
+            }));
+        } catch (CancellationException e) {
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Snapshot partition {} failed", range, e);
+            failure = e;
+        }
+        try {
+            queue.put(new PartitionDone(failure));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Addresses from (inclusive) to (exclusive), null for an open end
+     */
+    record AddressRange(String from, String to) {
+    }
+
+    private record SnapshotHolder(String address, String stakeKeyHash, String amount, String txHash, long txSlot) {
+    }
+
+    private record PartitionDone(Throwable failure) {
+    }
+
+    private interface HolderWriter {
+
+        void write(SnapshotHolder holder) throws IOException;
+
+        /**
+         * End the output with an error line and flush it
+         */
+        void error(String message) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private class NdjsonHolderWriter implements HolderWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonHolderWriter(Writer writer) throws IOException {
+            this.generator = jsonFactory.createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(SnapshotHolder holder) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("address", holder.address());
+            generator.writeStringField("stakeKeyHash", holder.stakeKeyHash());
+            generator.writeStringField("amount", holder.amount());
+            generator.writeStringField("txHash", holder.txHash());
+            generator.writeNumberField("txSlot", holder.txSlot());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void error(String message) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("error", message);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvHolderWriter implements HolderWriter {
+
+        private final Writer writer;
+
+        CsvHolderWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(SnapshotHolder holder) throws IOException {
+            writer.write(holder.address());
+            writer.write(',');
+            writer.write(holder.stakeKeyHash() != null ? holder.stakeKeyHash() : "");
+            writer.write(',');
+            writer.write(holder.amount());
+            writer.write(',');
+            writer.write(holder.txHash());
+            writer.write(',');
+            writer.write(Long.toString(holder.txSlot()));
+            writer.write('\n');
+        }
+
+        @Override
+        public void error(String message) throws IOException {
+            writer.write("#error,");
+            writer.write(message);
+            writer.write('\n');
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.cardanofoundation.cip113.service.job;
+
+import lombok.Getter;
+import org.cardanofoundation.cip113.model.BuildJobResponse;
+import org.cardanofoundation.cip113.model.BuildJobStatus;
+import org.cardanofoundation.cip113.model.TransactionType;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * A queued transaction build and its outcome
+ */
+public class BuildJob {
+
+    @Getter
+    private final String jobId;
+
+    @Getter
+    private final TransactionType type;
+
+    @Getter
+    private final String wallet;
+
+    @Getter
+    private final Instant submittedAt;
+
+    private final Supplier<BuildJobResult> build;
+
+    private final Sinks.One<BuildJobResponse> completion = Sinks.one();
+
+    private volatile BuildJobStatus status = BuildJobStatus.QUEUED;
+
+    private volatile BuildJobResult result;
+
+    private volatile Instant completedAt;
+
+    BuildJob(String jobId, TransactionType type, String wallet, Instant submittedAt, Supplier<BuildJobResult> build) {
+        this.jobId = jobId;
+        this.type = type;
+        this.wallet = wallet;
+        this.submittedAt = submittedAt;
+        this.build = build;
+    }
+
+    public BuildJobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Emits the final state of the job once it is done
+     */
+    public Mono<BuildJobResponse> completion() {
+        return completion.asMono();
+    }
+
+    public BuildJobResponse toResponse() {
+        var currentResult = result;
+        return new BuildJobResponse(jobId,
+                type,
+                status,
+                currentResult != null ? currentResult.unsignedCborTx() : null,
+                currentResult != null ? currentResult.policyId() : null,
+                currentResult != null ? currentResult.error() : null,
+                submittedAt,
+                completedAt);
+    }
+
+    Supplier<BuildJobResult> build() {
+        return build;
+    }
+
+    Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    void markRunning() {
+        status = BuildJobStatus.RUNNING;
+    }
+
+    void complete(BuildJobResult buildJobResult, Instant now) {
+        result = buildJobResult;
+        completedAt = now;
+        status = buildJobResult.isSuccessful() ? BuildJobStatus.SUCCEEDED : BuildJobStatus.FAILED;
+        completion.tryEmitValue(toResponse());
+    }
+}
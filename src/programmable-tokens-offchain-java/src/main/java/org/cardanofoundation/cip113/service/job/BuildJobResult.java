@@ -0,0 +1,25 @@
+package org.cardanofoundation.cip113.service.job;
+
+import org.cardanofoundation.cip113.model.RegisterTransactionContext;
+import org.cardanofoundation.cip113.model.TransactionContext;
+
+/**
+ * Outcome of a transaction build, common to all build types
+ */
+public record BuildJobResult(String unsignedCborTx,
+                             String policyId,
+                             boolean isSuccessful,
+                             String error) {
+
+    public static BuildJobResult of(TransactionContext transactionContext) {
+        return new BuildJobResult(transactionContext.unsignedCborTx(), null, transactionContext.isSuccessful(), transactionContext.error());
+    }
+
+    public static BuildJobResult of(RegisterTransactionContext transactionContext) {
+        return new BuildJobResult(transactionContext.unsignedCborTx(), transactionContext.policyId(), transactionContext.isSuccessful(), transactionContext.error());
+    }
+
+    public static BuildJobResult error(String error) {
+        return new BuildJobResult(null, null, false, error);
+    }
+}
@@ -0,0 +1,216 @@
+package org.cardanofoundation.cip113.service.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs transaction builds off the request threads.
+ * <p>
+ * Jobs are queued per wallet and dispatched round-robin across wallets, so a single hot wallet
+ * cannot starve the others. At most {@code max-concurrent} builds run at a time on virtual threads,
+ * and submissions are rejected once {@code max-queued} jobs are waiting.
+ * Finished jobs are kept for {@code retention-seconds} so clients can collect the result.
+ */
+@Service
+@Slf4j
+public class BuildJobService {
+
+    private final ExecutorService executor;
+
+    private final int maxConcurrent;
+
+    private final int maxQueued;
+
+    private final Duration retention;
+
+    private final Clock clock;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, BuildJob> jobsById = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // wallet -> waiting jobs, iteration order is the round-robin order of wallets
+    private final LinkedHashMap<String, Deque<BuildJob>> queuesByWallet = new LinkedHashMap<>();
+
+    private int queued;
+
+    private int running;
+
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public BuildJobService(@Value("${tx-builder.jobs.max-concurrent:16}") int maxConcurrent,
+                           @Value("${tx-builder.jobs.max-queued:1000}") int maxQueued,
+                           @Value("${tx-builder.jobs.retention-seconds:600}") long retentionSeconds,
+                           MeterRegistry meterRegistry) {
+        this(Executors.newVirtualThreadPerTaskExecutor(), maxConcurrent, maxQueued, Duration.ofSeconds(retentionSeconds),
+                Clock.systemUTC(), meterRegistry);
+    }
+
+    BuildJobService(ExecutorService executor, int maxConcurrent, int maxQueued, Duration retention, Clock clock,
+                    MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.retention = retention;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("tx.build.queue.depth", this, BuildJobService::getQueued)
+                .description("Transaction builds waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("tx.build.running", this, BuildJobService::getRunning)
+                .description("Transaction builds in progress")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("tx.build.rejected")
+                .description("Transaction builds rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a transaction build
+     *
+     * @param type   kind of transaction
+     * @param wallet wallet paying for the transaction, used for fair scheduling
+     * @param build  the build itself
+     * @return the queued job
+     * @throws BuildQueueFullException if the queue reached its limit
+     */
+    public BuildJob submit(TransactionType type, String wallet, Supplier<BuildJobResult> build) {
+        var job = new BuildJob(UUID.randomUUID().toString(), type, wallet, clock.instant(), build);
+
+        lock.lock();
+        try {
+            if (queued >= maxQueued) {
+                rejectedCounter.increment();
+                throw new BuildQueueFullException(maxQueued);
+            }
+            jobsById.put(job.getJobId(), job);
+            queuesByWallet.computeIfAbsent(wallet, key -> new ArrayDeque<>()).addLast(job);
+            queued++;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+
+        log.debug("Queued build job: jobId={}, type={}, wallet={}", job.getJobId(), type, wallet);
+        return job;
+    }
+
+    public Optional<BuildJob> findJob(String jobId) {
+        return Optional.ofNullable(jobsById.get(jobId));
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tx-builder.jobs.eviction-interval-ms:60000}")
+    public void evictCompleted() {
+        var threshold = clock.instant().minus(retention);
+        jobsById.values().removeIf(job -> job.getStatus().isDone() && job.getCompletedAt().isBefore(threshold));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start waiting jobs while workers are free, taking one job per wallet in turn.
+     * Must be called with the lock held.
+     */
+    private void dispatch() {
+        while (running < maxConcurrent && queued > 0) {
+            var iterator = queuesByWallet.entrySet().iterator();
+            var entry = iterator.next();
+            iterator.remove();
+
+            var job = entry.getValue().pollFirst();
+            if (!entry.getValue().isEmpty()) {
+                // move the wallet to the back of the round
+                queuesByWallet.put(entry.getKey(), entry.getValue());
+            }
+
+            queued--;
+            running++;
+            executor.execute(() -> run(job));
+        }
+    }
+
+    private void run(BuildJob job) {
+        var startedAt = clock.instant();
+        Timer.builder("tx.build.queue.wait")
+                .description("Time a transaction build waited in the queue")
+                .tag("type", job.getType().name())
+                .register(meterRegistry)
+                .record(Duration.between(job.getSubmittedAt(), startedAt));
+
+        job.markRunning();
+        BuildJobResult result;
+        try {
+            result = job.build().get();
+        } catch (Exception e) {
+            log.warn("Build job failed: jobId={}", job.getJobId(), e);
+            result = BuildJobResult.error(e.getMessage());
+        } finally {
+            lock.lock();
+            try {
+                running--;
+                dispatch();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        var completedAt = clock.instant();
+        Timer.builder("tx.build.duration")
+                .description("Time spent building a transaction")
+                .tag("type", job.getType().name())
+                .tag("outcome", result.isSuccessful() ? "success" : "failure")
+                .register(meterRegistry)
+                .record(Duration.between(startedAt, completedAt));
+
+        job.complete(result, completedAt);
+        log.debug("Build job done: jobId={}, status={}", job.getJobId(), job.getStatus());
+    }
+}
@@ -0,0 +1,11 @@
+package org.cardanofoundation.cip113.service.job;
+
+/**
+ * Thrown when the build queue reached its limit, clients should retry later
+ */
+public class BuildQueueFullException extends RuntimeException {
+
+    public BuildQueueFullException(int maxQueued) {
+        super(String.format("Build queue is full (%d jobs), retry later", maxQueued));
+    }
+}
@@ -0,0 +1,250 @@
+package org.cardanofoundation.cip113.service.replay;
+
+import com.bloxbean.cardano.client.util.HexUtil;
+import com.bloxbean.cardano.yaci.core.model.Amount;
+import com.bloxbean.cardano.yaci.core.model.TransactionBody;
+import com.bloxbean.cardano.yaci.core.model.TransactionInput;
+import com.bloxbean.cardano.yaci.core.model.TransactionOutput;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import com.bloxbean.cardano.yaci.store.common.domain.Amt;
+import com.bloxbean.cardano.yaci.store.events.EventMetadata;
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxo;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
+import com.bloxbean.cardano.yaci.store.utxo.domain.TxInputOutput;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Conversion between yaci events and {@link ChainEventRecord}s, and the recording file format:
+ * gzip compressed JSON lines, one record per line. Every writer appends a new gzip member, so a
+ * recording can be continued across restarts and is still read as one stream.
+ */
+public final class ChainEventCodec {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String INPUT_SEPARATOR = "#";
+
+    private ChainEventCodec() {
+    }
+
+    public static ChainEventRecord fromTransactionEvent(TransactionEvent event) {
+        var metadata = event.getMetadata();
+        var txs = event.getTransactions()
+                .stream()
+                .map(transaction -> new ChainEventRecord.Tx(
+                        transaction.getTxHash(),
+                        transaction.getBody().getInputs()
+                                .stream()
+                                .map(input -> input.getTransactionId() + INPUT_SEPARATOR + input.getIndex())
+                                .toList(),
+                        transaction.getBody().getOutputs()
+                                .stream()
+                                .map(output -> new ChainEventRecord.Output(output.getAddress(),
+                                        fromAmounts(output.getAmounts()), output.getInlineDatum(), output.getDatumHash()))
+                                .toList(),
+                        transaction.getBody().getMint() == null || transaction.getBody().getMint().isEmpty()
+                                ? null : fromAmounts(transaction.getBody().getMint())))
+                .toList();
+        return new ChainEventRecord(
+                new ChainEventRecord.BlockTransactions(metadata.getSlot(), metadata.getBlock(), metadata.getBlockHash(), txs),
+                null);
+    }
+
+    public static ChainEventRecord fromAddressUtxoEvent(AddressUtxoEvent event) {
+        var metadata = event.getEventMetadata();
+        var txs = event.getTxInputOutputs()
+                .stream()
+                .map(txInputOutput -> new ChainEventRecord.TxUtxos(
+                        txInputOutput.getTxHash(),
+                        txInputOutput.getInputs()
+                                .stream()
+                                .map(input -> input.getTxHash() + INPUT_SEPARATOR + input.getOutputIndex())
+                                .toList(),
+                        txInputOutput.getOutputs()
+                                .stream()
+                                .map(output -> new ChainEventRecord.Utxo(output.getOutputIndex(), output.getOwnerAddr(),
+                                        output.getAmounts()
+                                                .stream()
+                                                .map(amt -> new ChainEventRecord.Asset(amt.getUnit(), amt.getPolicyId(),
+                                                        amt.getAssetName(), null, amt.getQuantity()))
+                                                .toList(),
+                                        output.getInlineDatum(), output.getDataHash(), output.getReferenceScriptHash()))
+                                .toList()))
+                .toList();
+        return new ChainEventRecord(null,
+                new ChainEventRecord.BlockUtxos(metadata.getSlot(), metadata.getBlock(), metadata.getBlockHash(), txs));
+    }
+
+    public static TransactionEvent toTransactionEvent(ChainEventRecord.BlockTransactions block) {
+        var transactions = block.txs()
+                .stream()
+                .map(tx -> Transaction.builder()
+                        .blockNumber(block.block())
+                        .slot(block.slot())
+                        .txHash(tx.hash())
+                        .body(TransactionBody.builder()
+                                .txHash(tx.hash())
+                                .inputs(new LinkedHashSet<>(tx.in()
+                                        .stream()
+                                        .map(input -> {
+                                            var parts = input.split(INPUT_SEPARATOR);
+                                            return new TransactionInput(parts[0], Integer.parseInt(parts[1]));
+                                        })
+                                        .toList()))
+                                .outputs(tx.out()
+                                        .stream()
+                                        .map(output -> TransactionOutput.builder()
+                                                .address(output.addr())
+                                                .amounts(toAmounts(output.amt()))
+                                                .inlineDatum(output.datum())
+                                                .datumHash(output.datumHash())
+                                                .build())
+                                        .toList())
+                                .mint(tx.mint() == null ? List.of() : toAmounts(tx.mint()))
+                                .build())
+                        .build())
+                .toList();
+        return TransactionEvent.builder()
+                .metadata(metadata(block.slot(), block.block(), block.blockHash()))
+                .transactions(transactions)
+                .build();
+    }
+
+    public static AddressUtxoEvent toAddressUtxoEvent(ChainEventRecord.BlockUtxos block) {
+        var txInputOutputs = block.txs()
+                .stream()
+                .map(tx -> new TxInputOutput(tx.hash(),
+                        tx.in()
+                                .stream()
+                                .map(input -> {
+                                    var parts = input.split(INPUT_SEPARATOR);
+                                    return AddressUtxo.builder()
+                                            .txHash(parts[0])
+                                            .outputIndex(Integer.parseInt(parts[1]))
+                                            .build();
+                                })
+                                .toList(),
+                        tx.out()
+                                .stream()
+                                .map(output -> AddressUtxo.builder()
+                                        .txHash(tx.hash())
+                                        .outputIndex(output.idx())
+                                        .slot(block.slot())
+                                        .blockNumber(block.block())
+                                        .blockHash(block.blockHash())
+                                        .ownerAddr(output.addr())
+                                        .amounts(toAmts(output.amt()))
+                                        .inlineDatum(output.datum())
+                                        .dataHash(output.datumHash())
+                                        .referenceScriptHash(output.refScript())
+                                        .build())
+                                .toList()))
+                .toList();
+        return new AddressUtxoEvent(metadata(block.slot(), block.block(), block.blockHash()), txInputOutputs);
+    }
+
+    static List<Amt> toAmts(List<ChainEventRecord.Asset> assets) {
+        return assets.stream()
+                .map(asset -> Amt.builder()
+                        .unit(asset.unit())
+                        .policyId(asset.policy())
+                        .assetName(asset.name())
+                        .quantity(asset.qty())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Open a recording for appending
+     */
+    public static Writer openWriter(Path file) throws IOException {
+        var out = new GZIPOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), true);
+        return new Writer(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Read all records of a recording in order
+     *
+     * @return number of records read
+     */
+    public static long read(Path file, Consumer<ChainEventRecord> consumer) throws IOException {
+        long records = 0;
+        try (var reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    consumer.accept(OBJECT_MAPPER.readValue(line, ChainEventRecord.class));
+                    records++;
+                }
+            }
+        }
+        return records;
+    }
+
+    private static List<ChainEventRecord.Asset> fromAmounts(List<Amount> amounts) {
+        return amounts.stream()
+                .map(amount -> new ChainEventRecord.Asset(amount.getUnit(), amount.getPolicyId(), amount.getAssetName(),
+                        amount.getAssetNameBytes() == null ? null : HexUtil.encodeHexString(amount.getAssetNameBytes()),
+                        amount.getQuantity()))
+                .toList();
+    }
+
+    private static List<Amount> toAmounts(List<ChainEventRecord.Asset> assets) {
+        return assets.stream()
+                .map(asset -> Amount.builder()
+                        .unit(asset.unit())
+                        .policyId(asset.policy())
+                        .assetName(asset.name())
+                        .assetNameBytes(asset.nameHex() == null ? null : HexUtil.decodeHexString(asset.nameHex()))
+                        .quantity(asset.qty())
+                        .build())
+                .toList();
+    }
+
+    private static EventMetadata metadata(long slot, long block, String blockHash) {
+        return EventMetadata.builder()
+                .slot(slot)
+                .block(block)
+                .blockHash(blockHash)
+                .build();
+    }
+
+    /**
+     * Appends records to a recording, one JSON line each
+     */
+    public static class Writer implements Closeable {
+
+        private final BufferedWriter out;
+
+        private Writer(BufferedWriter out) {
+            this.out = out;
+        }
+
+        public void write(ChainEventRecord record) throws IOException {
+            out.write(OBJECT_MAPPER.writeValueAsString(record));
+            out.newLine();
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
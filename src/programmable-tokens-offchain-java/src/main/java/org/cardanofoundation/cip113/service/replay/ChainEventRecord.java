@@ -0,0 +1,46 @@
+package org.cardanofoundation.cip113.service.replay;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * One line of a chain event recording, holding either the transactions or the address UTxOs of a block.
+ * <p>
+ * Only the fields read by the indexers are kept, under short names, so that recordings stay small.
+ * Inputs are written as {@code txHash#outputIndex}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChainEventRecord(BlockTransactions tx, BlockUtxos utxo) {
+
+    public record BlockTransactions(long slot, long block, String blockHash, List<Tx> txs) {
+    }
+
+    public record Tx(String hash, List<String> in, List<Output> out, List<Asset> mint) {
+    }
+
+    public record Output(String addr, List<Asset> amt, String datum, String datumHash) {
+    }
+
+    public record BlockUtxos(long slot, long block, String blockHash, List<TxUtxos> txs) {
+    }
+
+    public record TxUtxos(String hash, List<String> in, List<Utxo> out) {
+    }
+
+    public record Utxo(int idx, String addr, List<Asset> amt, String datum, String datumHash, String refScript) {
+    }
+
+    /**
+     * Quantity of a unit, {@code nameHex} is only set for amounts of transaction bodies
+     */
+    public record Asset(String unit, String policy, String name, String nameHex, BigInteger qty) {
+    }
+
+    @JsonIgnore
+    public long block() {
+        return tx != null ? tx.block() : utxo.block();
+    }
+}
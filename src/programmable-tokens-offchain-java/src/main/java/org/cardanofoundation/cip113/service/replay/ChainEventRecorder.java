@@ -0,0 +1,64 @@
+package org.cardanofoundation.cip113.service.replay;
+
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Appends the transaction and address UTxO events of the synced blocks to a recording that
+ * {@link ChainEventReplayer} can feed back into the indexers without a node.
+ * Enabled by setting {@code chain-replay.record-file}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "chain-replay", name = "record-file")
+@Slf4j
+public class ChainEventRecorder {
+
+    // Records written between flushes, the tail of a recording is lost if the process is killed
+    private static final int FLUSH_INTERVAL = 100;
+
+    private final ChainEventCodec.Writer writer;
+
+    private int unflushed;
+
+    public ChainEventRecorder(@Value("${chain-replay.record-file}") Path file) throws IOException {
+        this.writer = ChainEventCodec.openWriter(file);
+        log.info("Recording chain events to {}", file);
+    }
+
+    @EventListener
+    public void processEvent(TransactionEvent transactionEvent) {
+        write(ChainEventCodec.fromTransactionEvent(transactionEvent));
+    }
+
+    @EventListener
+    public void processEvent(AddressUtxoEvent addressUtxoEvent) {
+        write(ChainEventCodec.fromAddressUtxoEvent(addressUtxoEvent));
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private synchronized void write(ChainEventRecord record) {
+        try {
+            writer.write(record);
+            if (++unflushed >= FLUSH_INTERVAL) {
+                writer.flush();
+                unflushed = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record chain event of block " + record.block(), e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.cardanofoundation.cip113.service.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Replays {@code chain-replay.replay-file} at startup, writes the report to
+ * {@code chain-replay.report-file} when set and stops the application.
+ */
+@Component
+@ConditionalOnProperty(prefix = "chain-replay", name = "replay-file")
+@RequiredArgsConstructor
+@Slf4j
+public class ChainEventReplayRunner implements ApplicationRunner {
+
+    private final ChainEventReplayer chainEventReplayer;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationContext applicationContext;
+
+    @Value("${chain-replay.replay-file}")
+    private Path replayFile;
+
+    @Value("${chain-replay.report-file:}")
+    private String reportFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        var report = chainEventReplayer.replay(replayFile);
+        if (!reportFile.isEmpty()) {
+            Files.writeString(Path.of(reportFile), objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+            log.info("Replay report written to {}", reportFile);
+        }
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+}
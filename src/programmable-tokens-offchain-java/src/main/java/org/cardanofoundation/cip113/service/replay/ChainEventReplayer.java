@@ -0,0 +1,205 @@
+package org.cardanofoundation.cip113.service.replay;
+
+import com.bloxbean.cardano.yaci.store.common.domain.Amt;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.AddressUtxoEntity;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.repository.UtxoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.service.block.BlockProcessor;
+import org.cardanofoundation.cip113.service.utxo.UtxoFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Feeds a chain event recording into the indexers against the configured database and measures them.
+ * <p>
+ * Records are grouped by block. For every block the outputs are first stored as yaci UTxOs, as the
+ * UTxO store does during sync, so that the balance indexer resolves the inputs of later transactions,
+ * and like the store only those the {@link UtxoFilter} accepts when it is enabled.
+ * Then the {@link BlockProcessor} indexes the block; the timings of its handlers are in the indexer metrics.
+ * The live yaci sync should be disabled while replaying ({@code store.sync-auto-start=false}).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ChainEventReplayer {
+
+    static final String STAGE_UTXO = "utxo";
+    static final String STAGE_BLOCK = "block";
+
+    private static final List<String> TABLES = List.of("address_utxo", "protocol_params", "registry_node",
+            "balance_log", "holding_current", "token_supply");
+
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    private final BlockProcessor blockProcessor;
+    private final UtxoRepository utxoRepository;
+    private final UtxoFilter utxoFilter;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReplayReport replay(Path file) throws IOException {
+        log.info("Replaying chain events from {}", file);
+        Map<String, Long> rowsBefore = countRows();
+
+        var run = new Run();
+        long start = System.nanoTime();
+        ChainEventCodec.read(file, run::accept);
+        run.finishBlock();
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<String, Long> rowsWritten = new LinkedHashMap<>();
+        countRows().forEach((table, rows) -> rowsWritten.put(table, rows - rowsBefore.getOrDefault(table, 0L)));
+
+        Map<String, ReplayReport.StageLatency> stages = new LinkedHashMap<>();
+        run.latencies.forEach((stage, latencies) -> stages.put(stage, latencies.summary()));
+
+        double elapsedSeconds = elapsedNanos / 1e9;
+        var report = new ReplayReport(run.blocks, run.transactions, elapsedNanos / 1_000_000,
+                elapsedSeconds > 0 ? run.blocks / elapsedSeconds : 0, stages, rowsWritten);
+        log.info("Replay finished: {}", report);
+        return report;
+    }
+
+    private Map<String, Long> countRows() {
+        Map<String, Long> rows = new LinkedHashMap<>();
+        TABLES.forEach(table -> rows.put(table, jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class)));
+        return rows;
+    }
+
+    /**
+     * State of one replay, records of a block are collected until the next block starts
+     */
+    private class Run {
+
+        private final Map<String, Latencies> latencies = new LinkedHashMap<>();
+
+        private ChainEventRecord.BlockTransactions pendingTransactions;
+
+        private ChainEventRecord.BlockUtxos pendingUtxos;
+
+        private long blocks;
+
+        private long transactions;
+
+        Run() {
+            List.of(STAGE_UTXO, STAGE_BLOCK)
+                    .forEach(stage -> latencies.put(stage, new Latencies()));
+        }
+
+        void accept(ChainEventRecord record) {
+            if ((pendingTransactions != null || pendingUtxos != null) && record.block() != pendingBlock()) {
+                finishBlock();
+            }
+            if (record.tx() != null) {
+                pendingTransactions = record.tx();
+            } else {
+                pendingUtxos = record.utxo();
+            }
+        }
+
+        void finishBlock() {
+            if (pendingUtxos != null) {
+                time(STAGE_UTXO, () -> utxoRepository.saveAll(persisted(toEntities(pendingUtxos))));
+            }
+            if (pendingTransactions != null) {
+                var transactionEvent = ChainEventCodec.toTransactionEvent(pendingTransactions);
+                time(STAGE_BLOCK, () -> blockProcessor.processEvent(transactionEvent));
+                transactions += pendingTransactions.txs().size();
+            }
+            if (pendingTransactions != null || pendingUtxos != null) {
+                if (++blocks % PROGRESS_INTERVAL == 0) {
+                    log.info("Replayed {} blocks, at block {}", blocks, pendingBlock());
+                }
+            }
+            pendingTransactions = null;
+            pendingUtxos = null;
+        }
+
+        private long pendingBlock() {
+            return pendingTransactions != null ? pendingTransactions.block() : pendingUtxos.block();
+        }
+
+        private void time(String stage, Runnable runnable) {
+            long start = System.nanoTime();
+            runnable.run();
+            latencies.get(stage).add(System.nanoTime() - start);
+        }
+    }
+
+    private List<AddressUtxoEntity> persisted(List<AddressUtxoEntity> entities) {
+        // Like the store, every output of a block holding a protocol transaction is kept
+        if (!utxoFilter.isEnabled()
+                || entities.stream().anyMatch(entity -> utxoFilter.isProtocolTransaction(entity.getTxHash()))) {
+            return entities;
+        }
+        utxoFilter.refreshWatchList(entities.stream().map(AddressUtxoEntity::getOwnerAddr).toList());
+        return entities.stream()
+                .filter(entity -> utxoFilter.accepts(entity.getTxHash(), entity.getOwnerAddr(),
+                        entity.getAmounts().stream().map(Amt::getUnit).toList()))
+                .toList();
+    }
+
+    private static List<AddressUtxoEntity> toEntities(ChainEventRecord.BlockUtxos block) {
+        return block.txs()
+                .stream()
+                .flatMap(tx -> tx.out()
+                        .stream()
+                        .map(output -> AddressUtxoEntity.builder()
+                                .txHash(tx.hash())
+                                .outputIndex(output.idx())
+                                .slot(block.slot())
+                                .blockNumber(block.block())
+                                .blockHash(block.blockHash())
+                                .ownerAddr(output.addr())
+                                .lovelaceAmount(output.amt()
+                                        .stream()
+                                        .filter(asset -> "lovelace".equals(asset.unit()))
+                                        .map(ChainEventRecord.Asset::qty)
+                                        .findFirst()
+                                        .orElse(BigInteger.ZERO))
+                                .amounts(ChainEventCodec.toAmts(output.amt()))
+                                .inlineDatum(output.datum())
+                                .dataHash(output.datumHash())
+                                .referenceScriptHash(output.refScript())
+                                .build()))
+                .toList();
+    }
+
+    /**
+     * Durations of one stage, kept in full so that exact percentiles can be reported
+     */
+    static class Latencies {
+
+        private long[] nanos = new long[1024];
+
+        private int size;
+
+        void add(long duration) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = duration;
+        }
+
+        ReplayReport.StageLatency summary() {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new ReplayReport.StageLatency(percentile(sorted, 0.50), percentile(sorted, 0.90),
+                    percentile(sorted, 0.99), size == 0 ? 0 : sorted[size - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            // Nearest rank
+            int rank = (int) Math.ceil(percentile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1e6;
+        }
+    }
+}
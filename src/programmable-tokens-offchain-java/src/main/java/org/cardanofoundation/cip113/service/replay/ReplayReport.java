@@ -0,0 +1,27 @@
+package org.cardanofoundation.cip113.service.replay;
+
+import java.util.Map;
+
+/**
+ * Outcome of a chain event replay
+ *
+ * @param blocks          blocks replayed
+ * @param transactions    transactions replayed
+ * @param elapsedMillis   wall clock time of the replay
+ * @param blocksPerSecond replay throughput
+ * @param stages          latency of each indexing stage per block, in replay order
+ * @param rowsWritten     rows added to each indexed table
+ */
+public record ReplayReport(long blocks,
+                           long transactions,
+                           long elapsedMillis,
+                           double blocksPerSecond,
+                           Map<String, StageLatency> stages,
+                           Map<String, Long> rowsWritten) {
+
+    /**
+     * Latency percentiles of a stage in milliseconds
+     */
+    public record StageLatency(double p50, double p90, double p99, double max) {
+    }
+}
@@ -0,0 +1,168 @@
+package org.cardanofoundation.cip113.service.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.BalanceChangeEvent;
+import org.cardanofoundation.cip113.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed balance changes out to server-sent event subscribers.
+ * <p>
+ * Subscribers are indexed by the address, stake key or unit they follow, so publishing a change
+ * costs a few map lookups whatever the number of subscribers, and never reads the database.
+ * Every subscriber has its own bounded buffer drained by the servlet async executor. When a slow
+ * client lets it fill up, further changes are dropped for that client only and a {@code resync}
+ * event is sent as soon as there is room again, telling it to reload its state through the REST API.
+ */
+@Service
+@Slf4j
+public class BalanceChangeBroadcaster {
+
+    public enum Filter {
+        ADDRESS,
+        STAKE_KEY,
+        UNIT
+    }
+
+    static final String CHANGE_EVENT = "balance";
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final int bufferSize;
+
+    private final int maxSubscribers;
+
+    private final Flux<ServerSentEvent<BalanceChangeEvent>> heartbeats;
+
+    private final Map<Filter, Map<String, Set<Subscriber>>> subscribers = Map.of(
+            Filter.ADDRESS, new ConcurrentHashMap<>(),
+            Filter.STAKE_KEY, new ConcurrentHashMap<>(),
+            Filter.UNIT, new ConcurrentHashMap<>());
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Autowired
+    public BalanceChangeBroadcaster(@Value("${balance-stream.buffer-size:256}") int bufferSize,
+                                    @Value("${balance-stream.max-subscribers:10000}") int maxSubscribers,
+                                    @Value("${balance-stream.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        // One timer shared by all subscribers, keeps idle connections open through proxies
+        this.heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .map(tick -> ServerSentEvent.<BalanceChangeEvent>builder().comment("heartbeat").build())
+                .share();
+    }
+
+    /**
+     * Subscribe to the balance changes of an address, a stake key or a unit
+     *
+     * @param filter what the key identifies
+     * @param key    bech32 address, stake key hash or unit
+     * @return the event stream, or empty if the node already serves the maximum number of subscribers
+     */
+    public Optional<Flux<ServerSentEvent<BalanceChangeEvent>>> subscribe(Filter filter, String key) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            log.warn("Rejecting balance stream subscriber, {} already connected", maxSubscribers);
+            return Optional.empty();
+        }
+
+        var subscriber = new Subscriber(Sinks.many()
+                .unicast()
+                .onBackpressureBuffer(Queues.<ServerSentEvent<BalanceChangeEvent>>get(bufferSize).get()));
+        subscribers.get(filter).computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        log.debug("Balance stream subscriber added: filter={}, key={}, subscribers={}", filter, key, subscriberCount.get());
+
+        var events = subscriber.sink.asFlux()
+                .doFinally(signal -> unsubscribe(filter, key, subscriber));
+        // Prefetch of 1 so the merge does not add its own buffer in front of the bounded one
+        return Optional.of(Flux.merge(1, events, heartbeats));
+    }
+
+    /**
+     * Push a balance change to its subscribers once the indexer transaction commits
+     *
+     * @param event the committed change
+     */
+    public void publish(BalanceChangeEvent event) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            var sse = ServerSentEvent.<BalanceChangeEvent>builder()
+                    .id(event.slot() + ":" + event.txHash())
+                    .event(CHANGE_EVENT)
+                    .data(event)
+                    .build();
+            deliver(subscribers.get(Filter.ADDRESS).get(event.address()), sse);
+            if (event.stakeKeyHash() != null) {
+                deliver(subscribers.get(Filter.STAKE_KEY).get(event.stakeKeyHash()), sse);
+            }
+            var unitSubscribers = subscribers.get(Filter.UNIT);
+            if (!unitSubscribers.isEmpty()) {
+                event.diff().keySet().forEach(unit -> deliver(unitSubscribers.get(unit), sse));
+            }
+        });
+    }
+
+    /**
+     * Number of connected subscribers
+     */
+    public int size() {
+        return subscriberCount.get();
+    }
+
+    private void deliver(Set<Subscriber> targets, ServerSentEvent<BalanceChangeEvent> sse) {
+        if (targets == null) {
+            return;
+        }
+        targets.forEach(subscriber -> subscriber.offer(sse));
+    }
+
+    private void unsubscribe(Filter filter, String key, Subscriber subscriber) {
+        subscribers.get(filter).computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriberCount.decrementAndGet();
+        log.debug("Balance stream subscriber removed: filter={}, key={}", filter, key);
+    }
+
+    private static class Subscriber {
+
+        private final Sinks.Many<ServerSentEvent<BalanceChangeEvent>> sink;
+
+        // Changes were dropped since the last successful delivery
+        private boolean overflowed;
+
+        Subscriber(Sinks.Many<ServerSentEvent<BalanceChangeEvent>> sink) {
+            this.sink = sink;
+        }
+
+        synchronized void offer(ServerSentEvent<BalanceChangeEvent> sse) {
+            if (overflowed) {
+                var resync = ServerSentEvent.<BalanceChangeEvent>builder().event(RESYNC_EVENT).build();
+                if (sink.tryEmitNext(resync) != Sinks.EmitResult.OK) {
+                    return;
+                }
+                overflowed = false;
+            }
+            if (sink.tryEmitNext(sse) == Sinks.EmitResult.FAIL_OVERFLOW) {
+                overflowed = true;
+            }
+        }
+    }
+}
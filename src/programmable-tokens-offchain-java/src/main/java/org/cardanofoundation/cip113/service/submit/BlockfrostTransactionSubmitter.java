@@ -0,0 +1,33 @@
+package org.cardanofoundation.cip113.service.submit;
+
+import com.bloxbean.cardano.client.api.exception.ApiException;
+import com.bloxbean.cardano.client.backend.blockfrost.service.BFBackendService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Submits through the Blockfrost backend already used for building
+ */
+@Service
+@ConditionalOnProperty(name = "tx-submit.submitter", havingValue = "blockfrost", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class BlockfrostTransactionSubmitter implements TransactionSubmitter {
+
+    private final BFBackendService bfBackendService;
+
+    @Override
+    public String submit(byte[] signedCborTx) {
+        try {
+            var result = bfBackendService.getTransactionService().submitTransaction(signedCborTx);
+            if (!result.isSuccessful()) {
+                throw new TransactionSubmissionException(result.getResponse());
+            }
+            return result.getValue();
+        } catch (ApiException e) {
+            throw new TransactionSubmissionException("blockfrost submission failed", e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.cardanofoundation.cip113.service.submit;
+
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.SubmittedTransactionResponse;
+import org.cardanofoundation.cip113.model.SubmittedTransactionStatus;
+import org.cardanofoundation.cip113.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory tracking of transactions submitted through this service until the indexer sees them.
+ * <p>
+ * Confirmation is marked off by the {@link org.cardanofoundation.cip113.service.block.BlockProcessor} once
+ * the transaction of the block commits, so a confirmed transaction is also queryable.
+ * Confirmed and expired entries are kept for {@code retention-seconds} so late pollers get an answer.
+ */
+@Service
+@Slf4j
+public class InFlightTransactionTracker {
+
+    private final Duration ttl;
+
+    private final Duration retention;
+
+    private final Clock clock;
+
+    private final Timer confirmationTimer;
+
+    private final Map<String, TrackedTransaction> trackedByTxHash = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InFlightTransactionTracker(@Value("${tx-submit.tracking.ttl-seconds:1800}") long ttlSeconds,
+                                      @Value("${tx-submit.tracking.retention-seconds:600}") long retentionSeconds,
+                                      MeterRegistry meterRegistry) {
+        this(Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(retentionSeconds), Clock.systemUTC(), meterRegistry);
+    }
+
+    InFlightTransactionTracker(Duration ttl, Duration retention, Clock clock, MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.retention = retention;
+        this.clock = clock;
+        this.confirmationTimer = Timer.builder("tx.submit.confirmation.latency")
+                .description("Time from submission until the transaction is indexed")
+                .register(meterRegistry);
+        meterRegistry.gauge("tx.submit.in-flight", trackedByTxHash,
+                tracked -> tracked.values().stream().filter(transaction -> transaction.status() == SubmittedTransactionStatus.SUBMITTED).count());
+    }
+
+    /**
+     * Start tracking a submitted transaction
+     */
+    public SubmittedTransactionResponse track(String txHash) {
+        var tracked = trackedByTxHash.computeIfAbsent(txHash, hash -> new TrackedTransaction(hash, clock.instant()));
+        return tracked.toResponse();
+    }
+
+    public Optional<SubmittedTransactionResponse> find(String txHash) {
+        return Optional.ofNullable(trackedByTxHash.get(txHash)).map(TrackedTransaction::toResponse);
+    }
+
+    /**
+     * Completes once the transaction is confirmed or expired. The future is shared by all waiters,
+     * callers must not complete it, e.g. time out on a {@link CompletableFuture#copy()} instead.
+     *
+     * @param txHash the transaction hash
+     * @return the final state, or empty if the transaction is not tracked
+     */
+    public Optional<CompletableFuture<SubmittedTransactionResponse>> awaitIndexed(String txHash) {
+        return Optional.ofNullable(trackedByTxHash.get(txHash)).map(TrackedTransaction::completion);
+    }
+
+    /**
+     * Confirm the tracked transactions of an indexed block once the indexer transaction commits
+     *
+     * @param transactionEvent the indexed block
+     */
+    public void blockIndexed(TransactionEvent transactionEvent) {
+        if (trackedByTxHash.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            var now = clock.instant();
+            var slot = transactionEvent.getMetadata().getSlot();
+            var blockHeight = transactionEvent.getMetadata().getBlock();
+
+            transactionEvent.getTransactions()
+                    .forEach(transaction -> {
+                        var tracked = trackedByTxHash.get(transaction.getTxHash());
+                        if (tracked != null && tracked.confirm(now, slot, blockHeight)) {
+                            var latency = Duration.between(tracked.submittedAt(), now);
+                            confirmationTimer.record(latency);
+                            log.info("Submitted transaction indexed: txHash={}, slot={}, latency={}ms", tracked.txHash(), slot, latency.toMillis());
+                        }
+                    });
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${tx-submit.tracking.eviction-interval-ms:10000}")
+    public void evict() {
+        var now = clock.instant();
+        trackedByTxHash.values().removeIf(tracked -> {
+            if (tracked.status() == SubmittedTransactionStatus.SUBMITTED) {
+                if (tracked.submittedAt().plus(ttl).isBefore(now)) {
+                    tracked.expire(now);
+                    log.info("Submitted transaction never indexed: txHash={}", tracked.txHash());
+                }
+                return false;
+            }
+            return tracked.completedAt().plus(retention).isBefore(now);
+        });
+    }
+
+    private static final class TrackedTransaction {
+
+        private final String txHash;
+
+        private final Instant submittedAt;
+
+        private final CompletableFuture<SubmittedTransactionResponse> completion = new CompletableFuture<>();
+
+        private volatile SubmittedTransactionStatus status = SubmittedTransactionStatus.SUBMITTED;
+
+        private volatile Instant completedAt;
+
+        private volatile Long slot;
+
+        private volatile Long blockHeight;
+
+        private TrackedTransaction(String txHash, Instant submittedAt) {
+            this.txHash = txHash;
+            this.submittedAt = submittedAt;
+        }
+
+        String txHash() {
+            return txHash;
+        }
+
+        Instant submittedAt() {
+            return submittedAt;
+        }
+
+        Instant completedAt() {
+            return completedAt;
+        }
+
+        SubmittedTransactionStatus status() {
+            return status;
+        }
+
+        CompletableFuture<SubmittedTransactionResponse> completion() {
+            return completion;
+        }
+
+        synchronized boolean confirm(Instant now, Long slot, Long blockHeight) {
+            if (status != SubmittedTransactionStatus.SUBMITTED) {
+                return false;
+            }
+            this.slot = slot;
+            this.blockHeight = blockHeight;
+            this.completedAt = now;
+            this.status = SubmittedTransactionStatus.CONFIRMED;
+            completion.complete(toResponse());
+            return true;
+        }
+
+        synchronized void expire(Instant now) {
+            if (status != SubmittedTransactionStatus.SUBMITTED) {
+                return;
+            }
+            this.completedAt = now;
+            this.status = SubmittedTransactionStatus.EXPIRED;
+            completion.complete(toResponse());
+        }
+
+        SubmittedTransactionResponse toResponse() {
+            var currentStatus = status;
+            Long latencyMs = currentStatus == SubmittedTransactionStatus.CONFIRMED
+                    ? Duration.between(submittedAt, completedAt).toMillis()
+                    : null;
+            return new SubmittedTransactionResponse(txHash, currentStatus, submittedAt,
+                    currentStatus == SubmittedTransactionStatus.CONFIRMED ? completedAt : null,
+                    slot, blockHeight, latencyMs);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.cardanofoundation.cip113.service.submit;
+
+import com.bloxbean.cardano.client.api.exception.ApiException;
+import com.bloxbean.cardano.client.backend.api.TransactionService;
+import com.bloxbean.cardano.client.backend.ogmios.http.OgmiosBackendService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Submits straight to a local node through Ogmios
+ */
+@Service
+@ConditionalOnProperty(name = "tx-submit.submitter", havingValue = "ogmios")
+@Slf4j
+public class OgmiosTransactionSubmitter implements TransactionSubmitter {
+
+    private final TransactionService transactionService;
+
+    public OgmiosTransactionSubmitter(@Value("${tx-submit.ogmios.url}") String ogmiosUrl) {
+        log.info("INIT - Using Ogmios url: {}", ogmiosUrl);
+        this.transactionService = new OgmiosBackendService(ogmiosUrl).getTransactionService();
+    }
+
+    @Override
+    public String submit(byte[] signedCborTx) {
+        try {
+            var result = transactionService.submitTransaction(signedCborTx);
+            if (!result.isSuccessful()) {
+                throw new TransactionSubmissionException(result.getResponse());
+            }
+            return result.getValue();
+        } catch (ApiException e) {
+            throw new TransactionSubmissionException("ogmios submission failed", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.cardanofoundation.cip113.service.submit;
+
+public class TransactionSubmissionException extends RuntimeException {
+
+    public TransactionSubmissionException(String message) {
+        super(message);
+    }
+
+    public TransactionSubmissionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,55 @@
+package org.cardanofoundation.cip113.service.submit;
+
+import com.bloxbean.cardano.client.transaction.spec.Transaction;
+import com.bloxbean.cardano.client.util.HexUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.model.SubmittedTransactionResponse;
+import org.cardanofoundation.cip113.service.utxo.UtxoQueryService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Submits signed transactions and tracks them until indexed.
+ * Submitted transactions are also recorded in the pending UTxO overlay, so dependent transactions
+ * can be built right away even if they were built elsewhere.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSubmissionService {
+
+    private final TransactionSubmitter transactionSubmitter;
+
+    private final InFlightTransactionTracker inFlightTransactionTracker;
+
+    private final UtxoQueryService utxoQueryService;
+
+    /**
+     * Submit a signed transaction
+     *
+     * @param signedCborTx the signed transaction in CBOR hex format
+     * @return the tracked transaction
+     * @throws TransactionSubmissionException if the transaction was rejected
+     */
+    public SubmittedTransactionResponse submit(String signedCborTx) {
+        byte[] cborBytes;
+        try {
+            cborBytes = HexUtil.decodeHexString(signedCborTx);
+        } catch (Exception e) {
+            throw new TransactionSubmissionException("invalid transaction hex", e);
+        }
+
+        Transaction transaction;
+        try {
+            transaction = Transaction.deserialize(cborBytes);
+        } catch (Exception e) {
+            throw new TransactionSubmissionException("invalid transaction cbor", e);
+        }
+
+        var txHash = transactionSubmitter.submit(cborBytes);
+        log.info("Submitted transaction: txHash={}", txHash);
+
+        utxoQueryService.recordPending(transaction);
+        return inFlightTransactionTracker.track(txHash);
+    }
+}
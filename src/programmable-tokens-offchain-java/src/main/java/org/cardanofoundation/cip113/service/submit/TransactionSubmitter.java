@@ -0,0 +1,17 @@
+package org.cardanofoundation.cip113.service.submit;
+
+/**
+ * Forwards signed transactions to the network
+ */
+public interface TransactionSubmitter {
+
+    /**
+     * Submit a signed transaction
+     *
+     * @param signedCborTx the signed transaction in CBOR format
+     * @return the transaction hash
+     * @throws TransactionSubmissionException if the node or backend rejected the transaction
+     */
+    String submit(byte[] signedCborTx);
+
+}
@@ -6,6 +6,7 @@ import com.bloxbean.cardano.client.address.Credential;
 import com.bloxbean.cardano.client.api.model.Amount;
 import com.bloxbean.cardano.client.api.model.Utxo;
 import com.bloxbean.cardano.client.api.util.ValueUtil;
+import com.bloxbean.cardano.client.exception.CborSerializationException;
 import com.bloxbean.cardano.client.plutus.blueprint.PlutusBlueprintUtil;
 import com.bloxbean.cardano.client.plutus.blueprint.model.PlutusVersion;
 import com.bloxbean.cardano.client.plutus.spec.*;
@@ -19,8 +20,6 @@ import com.bloxbean.cardano.client.util.HexUtil;
 import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.UtxoId;
 import com.bloxbean.cardano.yaci.store.utxo.storage.impl.repository.UtxoRepository;
 import com.easy1staking.cardano.model.AssetType;
-import com.easy1staking.cardano.util.UtxoUtil;
-import com.easy1staking.util.Pair;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -30,17 +29,20 @@ import org.cardanofoundation.cip113.model.*;
 import org.cardanofoundation.cip113.model.bootstrap.ProtocolBootstrapParams;
 import org.cardanofoundation.cip113.model.onchain.RegistryNode;
 import org.cardanofoundation.cip113.model.onchain.RegistryNodeParser;
+import org.cardanofoundation.cip113.service.BuildTimings;
 import org.cardanofoundation.cip113.service.ProtocolScriptBuilderService;
+import org.cardanofoundation.cip113.service.ReferenceScriptService;
 import org.cardanofoundation.cip113.service.SubstandardService;
-import org.springframework.data.domain.Pageable;
+import org.cardanofoundation.cip113.service.utxo.UtxoQueryService;
+import org.cardanofoundation.cip113.service.utxo.UtxoReservationService;
 import org.springframework.stereotype.Service;
 
 import java.math.BigInteger;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.UUID;
 
 /**
  * Handler for the "dummy" programmable token substandard.
@@ -57,12 +59,18 @@ public class DummySubstandardHandler implements SubstandardHandler {
 
     private final UtxoRepository utxoRepository;
 
+    private final UtxoQueryService utxoQueryService;
+
+    private final UtxoReservationService utxoReservationService;
+
     private final RegistryNodeParser registryNodeParser;
 
     private final SubstandardService substandardService;
 
     private final ProtocolScriptBuilderService protocolScriptBuilderService;
 
+    private final ReferenceScriptService referenceScriptService;
+
     private final QuickTxBuilder quickTxBuilder;
 
     @Override
@@ -74,12 +82,17 @@ public class DummySubstandardHandler implements SubstandardHandler {
     public RegisterTransactionContext buildRegistrationTransaction(RegisterTokenRequest registerTokenRequest,
                                                                    ProtocolBootstrapParams protocolBootstrapParams) {
 
+        var reservationId = UUID.randomUUID().toString();
+        String builtTxHash = null;
+
         try {
 
+            BuildTimings.enter(BuildTimings.SCRIPT_PARAMETERIZATION);
             var directorySpendContract = protocolScriptBuilderService.getParameterizedDirectorySpendScript(protocolBootstrapParams);
 
             var bootstrapTxHash = protocolBootstrapParams.txHash();
 
+            BuildTimings.enter(BuildTimings.UTXO_FETCH);
             var protocolParamsUtxoOpt = utxoRepository.findById(UtxoId.builder()
                     .txHash(bootstrapTxHash)
                     .outputIndex(0)
@@ -94,8 +107,10 @@ public class DummySubstandardHandler implements SubstandardHandler {
             var directorySpendContractAddress = AddressProvider.getEntAddress(directorySpendContract, network.getCardanoNetwork());
             log.info("directorySpendContractAddress: {}", directorySpendContractAddress.getAddress());
 
+            BuildTimings.enter(BuildTimings.SCRIPT_PARAMETERIZATION);
             var directoryMintContract = protocolScriptBuilderService.getParameterizedDirectoryMintScript(protocolBootstrapParams);
 
+            BuildTimings.enter(BuildTimings.UTXO_FETCH);
             var issuanceUtxoOpt = utxoRepository.findById(UtxoId.builder().txHash(bootstrapTxHash).outputIndex(2).build());
             if (issuanceUtxoOpt.isEmpty()) {
                 return RegisterTransactionContext.error("could not resolve issuance params");
@@ -103,12 +118,13 @@ public class DummySubstandardHandler implements SubstandardHandler {
             var issuanceUtxo = issuanceUtxoOpt.get();
             log.info("issuanceUtxo: {}", issuanceUtxo);
 
-            var rigistrarUtxosOpt = utxoRepository.findUnspentByOwnerAddr(registerTokenRequest.registrarAddress(), Pageable.unpaged());
-            if (rigistrarUtxosOpt.isEmpty()) {
-                return RegisterTransactionContext.error("issuer wallet is empty");
+            var registrarInputs = utxoQueryService.reserveWalletInputs(reservationId, registerTokenRequest.registrarAddress());
+            if (registrarInputs.utxos().isEmpty()) {
+                return RegisterTransactionContext.error(registrarInputs.error("issuer"));
             }
-            var registrarUtxos = rigistrarUtxosOpt.get().stream().map(UtxoUtil::toUtxo).toList();
+            var registrarUtxos = registrarInputs.utxos();
 
+            BuildTimings.enter(BuildTimings.SCRIPT_PARAMETERIZATION);
             var substandardIssuanceContractOpt = substandardService.getSubstandardValidator(registerTokenRequest.substandardName(), registerTokenRequest.substandardIssueContractName());
             var substandardTransferContractOpt = substandardService.getSubstandardValidator(registerTokenRequest.substandardName(), registerTokenRequest.substandardTransferContractName());
 
@@ -134,10 +150,10 @@ public class DummySubstandardHandler implements SubstandardHandler {
             final var progTokenPolicyId = issuanceContract.getPolicyId();
             log.info("issuanceContract: {}", progTokenPolicyId);
 
-            var registryEntries = utxoRepository.findUnspentByOwnerPaymentCredential(directorySpendContract.getPolicyId(), Pageable.unpaged());
+            BuildTimings.enter(BuildTimings.REGISTRY_LOOKUP);
+            var registryEntries = utxoQueryService.findUnspentByOwnerPaymentCredential(directorySpendContract.getPolicyId());
 
             var registryEntryOpt = registryEntries.stream()
-                    .flatMap(Collection::stream)
                     .filter(addressUtxoEntity -> registryNodeParser.parse(addressUtxoEntity.getInlineDatum())
                             .map(registryNode -> registryNode.key().equals(progTokenPolicyId))
                             .orElse(false)
@@ -147,7 +163,6 @@ public class DummySubstandardHandler implements SubstandardHandler {
             if (registryEntryOpt.isEmpty()) {
 
                 var nodeToReplaceOpt = registryEntries.stream()
-                        .flatMap(Collection::stream)
                         .filter(addressUtxoEntity -> {
                             var registryDatumOpt = registryNodeParser.parse(addressUtxoEntity.getInlineDatum());
 
@@ -170,8 +185,12 @@ public class DummySubstandardHandler implements SubstandardHandler {
                     return RegisterTransactionContext.error("could not find node to replace");
                 }
 
-                var directoryUtxo = UtxoUtil.toUtxo(nodeToReplaceOpt.get());
+                var directoryUtxo = nodeToReplaceOpt.get();
                 log.info("directoryUtxo: {}", directoryUtxo);
+
+                if (!utxoReservationService.reserveAll(reservationId, List.of(directoryUtxo))) {
+                    return RegisterTransactionContext.error("registry node is being updated by another transaction");
+                }
                 var existingRegistryNodeDatumOpt = registryNodeParser.parse(directoryUtxo.getInlineDatum());
 
                 if (existingRegistryNodeDatumOpt.isEmpty()) {
@@ -179,6 +198,7 @@ public class DummySubstandardHandler implements SubstandardHandler {
                 }
 
                 var existingRegistryNodeDatum = existingRegistryNodeDatumOpt.get();
+                BuildTimings.enter(BuildTimings.OTHER);
 
                 // Directory MINT - NFT, address, datum and value
                 var directoryMintRedeemer = ConstrPlutusData.of(1,
@@ -279,15 +299,20 @@ public class DummySubstandardHandler implements SubstandardHandler {
                                 TransactionInput.builder()
                                         .transactionId(issuanceUtxo.getTxHash())
                                         .index(issuanceUtxo.getOutputIndex())
-                                        .build())
-                        .attachSpendingValidator(directorySpendContract)
-                        .attachRewardValidator(substandardIssueContract)
-                        .withChangeAddress(registerTokenRequest.registrarAddress());
+                                        .build());
+
+                var referencedScripts = new ArrayList<PlutusScript>();
+                spendingValidator(tx, directorySpendContract, protocolBootstrapParams, referencedScripts);
+                rewardValidator(tx, substandardIssueContract, protocolBootstrapParams, referencedScripts);
+                tx.withChangeAddress(registerTokenRequest.registrarAddress());
 
+                BuildTimings.enter(BuildTimings.TX_COMPOSE);
                 var transaction = quickTxBuilder.compose(tx)
+                        .withReferenceScripts(referencedScripts.toArray(PlutusScript[]::new))
 //                    .withSigner(SignerProviders.signerFrom(adminAccount))
 //                    .withTxEvaluator(new AikenTransactionEvaluator(bfBackendService))
                         .feePayer(registerTokenRequest.registrarAddress())
+                        .withCollateralInputs(registrarInputs.collateral())
                         .mergeOutputs(false) //<-- this is important! or directory tokens will go to same address
                         .preBalanceTx((txBuilderContext, transaction1) -> {
                             var outputs = transaction1.getBody().getOutputs();
@@ -296,14 +321,15 @@ public class DummySubstandardHandler implements SubstandardHandler {
                                 var first = outputs.removeFirst();
                                 outputs.addLast(first);
                             }
-                            try {
+                            try (var ignored = BuildTimings.phase(BuildTimings.DEBUG_DUMP)) {
                                 log.info("pre tx: {}", objectMapper.writeValueAsString(transaction1));
                             } catch (JsonProcessingException e) {
                                 throw new RuntimeException(e);
                             }
+                            BuildTimings.enter(BuildTimings.EVALUATION_BALANCING);
                         })
                         .postBalanceTx((txBuilderContext, transaction1) -> {
-                            try {
+                            try (var ignored = BuildTimings.phase(BuildTimings.DEBUG_DUMP)) {
                                 log.info("post tx: {}", objectMapper.writeValueAsString(transaction1));
                             } catch (JsonProcessingException e) {
                                 throw new RuntimeException(e);
@@ -311,9 +337,13 @@ public class DummySubstandardHandler implements SubstandardHandler {
                         })
                         .build();
 
+                BuildTimings.enter(BuildTimings.DEBUG_DUMP);
                 log.info("tx: {}", transaction.serializeToHex());
                 log.info("tx: {}", objectMapper.writeValueAsString(transaction));
 
+                BuildTimings.enter(BuildTimings.RECORD_PENDING);
+                builtTxHash = utxoQueryService.recordPending(transaction);
+                BuildTimings.enter(BuildTimings.OTHER);
 
                 return RegisterTransactionContext.ok(transaction.serializeToHex(), progTokenPolicyId);
             } else {
@@ -324,6 +354,8 @@ public class DummySubstandardHandler implements SubstandardHandler {
 
         } catch (Exception e) {
             return RegisterTransactionContext.error(e.getMessage());
+        } finally {
+            utxoReservationService.completeBuild(reservationId, builtTxHash);
         }
 
     }
@@ -332,15 +364,19 @@ public class DummySubstandardHandler implements SubstandardHandler {
     public TransactionContext buildMintTransaction(MintTokenRequest mintTokenRequest,
                                                    ProtocolBootstrapParams protocolBootstrapParams) {
 
+        var reservationId = UUID.randomUUID().toString();
+        String builtTxHash = null;
 
         try {
 
-            var issuerUtxosOpt = utxoRepository.findUnspentByOwnerAddr(mintTokenRequest.issuerBaseAddress(), Pageable.unpaged());
-            if (issuerUtxosOpt.isEmpty()) {
-                return TransactionContext.error("issuer wallet is empty");
+            BuildTimings.enter(BuildTimings.UTXO_FETCH);
+            var issuerInputs = utxoQueryService.reserveWalletInputs(reservationId, mintTokenRequest.issuerBaseAddress());
+            if (issuerInputs.utxos().isEmpty()) {
+                return TransactionContext.error(issuerInputs.error("issuer"));
             }
-            var issuerUtxos = issuerUtxosOpt.get().stream().map(UtxoUtil::toUtxo).toList();
+            var issuerUtxos = issuerInputs.utxos();
 
+            BuildTimings.enter(BuildTimings.SCRIPT_PARAMETERIZATION);
             var substandardIssuanceContractOpt = substandardService.getSubstandardValidator(mintTokenRequest.substandardName(), mintTokenRequest.substandardIssueContractName());
 
             var substandardIssueContract = PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(substandardIssuanceContractOpt.get().scriptBytes(), PlutusVersion.v3);
@@ -351,6 +387,7 @@ public class DummySubstandardHandler implements SubstandardHandler {
 
             var issuanceContract = protocolScriptBuilderService.getParameterizedIssuanceMintScript(protocolBootstrapParams, substandardIssueContract);
             log.info("issuanceContract: {}", issuanceContract.getPolicyId());
+            BuildTimings.enter(BuildTimings.OTHER);
 
             var issuanceRedeemer = ConstrPlutusData.of(0, ConstrPlutusData.of(1, BytesPlutusData.of(substandardIssueContract.getScriptHash())));
 
@@ -384,12 +421,17 @@ public class DummySubstandardHandler implements SubstandardHandler {
                     .withdraw(substandardIssueAddress.getAddress(), BigInteger.ZERO, BigIntPlutusData.of(100))
                     // Redeemer is DirectoryInit (constr(0))
                     .mintAsset(issuanceContract, programmableToken, issuanceRedeemer)
-                    .payToContract(targetAddress.getAddress(), ValueUtil.toAmountList(progammableTokenValue), ConstrPlutusData.of(0))
-                    .attachRewardValidator(substandardIssueContract)
-                    .withChangeAddress(mintTokenRequest.issuerBaseAddress());
+                    .payToContract(targetAddress.getAddress(), ValueUtil.toAmountList(progammableTokenValue), ConstrPlutusData.of(0));
 
+            var referencedScripts = new ArrayList<PlutusScript>();
+            rewardValidator(tx, substandardIssueContract, protocolBootstrapParams, referencedScripts);
+            tx.withChangeAddress(mintTokenRequest.issuerBaseAddress());
+
+            BuildTimings.enter(BuildTimings.TX_COMPOSE);
             var transaction = quickTxBuilder.compose(tx)
+                    .withReferenceScripts(referencedScripts.toArray(PlutusScript[]::new))
                     .feePayer(mintTokenRequest.issuerBaseAddress())
+                    .withCollateralInputs(issuerInputs.collateral())
                     .mergeOutputs(false) //<-- this is important! or directory tokens will go to same address
                     .preBalanceTx((txBuilderContext, transaction1) -> {
                         var outputs = transaction1.getBody().getOutputs();
@@ -398,14 +440,15 @@ public class DummySubstandardHandler implements SubstandardHandler {
                             var first = outputs.removeFirst();
                             outputs.addLast(first);
                         }
-                        try {
+                        try (var ignored = BuildTimings.phase(BuildTimings.DEBUG_DUMP)) {
                             log.info("pre tx: {}", objectMapper.writeValueAsString(transaction1));
                         } catch (JsonProcessingException e) {
                             throw new RuntimeException(e);
                         }
+                        BuildTimings.enter(BuildTimings.EVALUATION_BALANCING);
                     })
                     .postBalanceTx((txBuilderContext, transaction1) -> {
-                        try {
+                        try (var ignored = BuildTimings.phase(BuildTimings.DEBUG_DUMP)) {
                             log.info("post tx: {}", objectMapper.writeValueAsString(transaction1));
                         } catch (JsonProcessingException e) {
                             throw new RuntimeException(e);
@@ -413,14 +456,21 @@ public class DummySubstandardHandler implements SubstandardHandler {
                     })
                     .build();
 
+            BuildTimings.enter(BuildTimings.DEBUG_DUMP);
             log.info("tx: {}", transaction.serializeToHex());
             log.info("tx: {}", objectMapper.writeValueAsString(transaction));
 
+            BuildTimings.enter(BuildTimings.RECORD_PENDING);
+            builtTxHash = utxoQueryService.recordPending(transaction);
+            BuildTimings.enter(BuildTimings.OTHER);
+
             return TransactionContext.ok(transaction.serializeToHex());
 
         } catch (Exception e) {
             log.warn("error", e);
             return TransactionContext.error(e.getMessage());
+        } finally {
+            utxoReservationService.completeBuild(reservationId, builtTxHash);
         }
 
     }
@@ -429,6 +479,9 @@ public class DummySubstandardHandler implements SubstandardHandler {
     public TransactionContext buildTransferTransaction(TransferTokenRequest transferTokenRequest,
                                                        ProtocolBootstrapParams protocolBootstrapParams) {
 
+        var reservationId = UUID.randomUUID().toString();
+        String builtTxHash = null;
+
         try {
 
             var bootstrapTxHash = protocolBootstrapParams.txHash();
@@ -437,19 +490,19 @@ public class DummySubstandardHandler implements SubstandardHandler {
             log.info("policy id: {}, asset name: {}", progToken.policyId(), progToken.unsafeHumanAssetName());
 
             // Directory SPEND parameterization
+            BuildTimings.enter(BuildTimings.SCRIPT_PARAMETERIZATION);
             var directorySpendContract = protocolScriptBuilderService.getParameterizedDirectorySpendScript(protocolBootstrapParams);
             log.info("directorySpendContract: {}", HexUtil.encodeHexString(directorySpendContract.getScriptHash()));
 
-            var registryEntries = utxoRepository.findUnspentByOwnerPaymentCredential(directorySpendContract.getPolicyId(), Pageable.unpaged());
+            BuildTimings.enter(BuildTimings.REGISTRY_LOOKUP);
+            var registryEntries = utxoQueryService.findUnspentByOwnerPaymentCredential(directorySpendContract.getPolicyId());
 
             var progTokenRegistryOpt = registryEntries.stream()
-                    .flatMap(Collection::stream)
                     .filter(addressUtxoEntity -> {
                         var registryDatumOpt = registryNodeParser.parse(addressUtxoEntity.getInlineDatum());
                         return registryDatumOpt.map(registryDatum -> registryDatum.key().equals(progToken.policyId())).orElse(false);
                     })
-                    .findAny()
-                    .map(UtxoUtil::toUtxo);
+                    .findAny();
 
             if (progTokenRegistryOpt.isEmpty()) {
                 return TransactionContext.error("could not find registry entry for token");
@@ -457,6 +510,7 @@ public class DummySubstandardHandler implements SubstandardHandler {
 
             var progTokenRegistry = progTokenRegistryOpt.get();
 
+            BuildTimings.enter(BuildTimings.UTXO_FETCH);
             var protocolParamsUtxoOpt = utxoRepository.findById(UtxoId.builder()
                     .txHash(bootstrapTxHash)
                     .outputIndex(0)
@@ -479,11 +533,7 @@ public class DummySubstandardHandler implements SubstandardHandler {
                     recipientAddress.getDelegationCredential().get(),
                     network.getCardanoNetwork());
 
-            var senderProgTokenAddressesOpt = utxoRepository.findUnspentByOwnerAddr(senderProgrammableTokenAddress.getAddress(), Pageable.unpaged());
-            var senderProgTokensUtxos = senderProgTokenAddressesOpt.stream()
-                    .flatMap(Collection::stream)
-                    .map(UtxoUtil::toUtxo)
-                    .toList();
+            var senderProgTokensUtxos = utxoQueryService.findUnspentByOwnerAddr(senderProgrammableTokenAddress.getAddress());
 
             var senderProgTokensValue = senderProgTokensUtxos.stream()
                     .map(Utxo::toValue)
@@ -497,13 +547,8 @@ public class DummySubstandardHandler implements SubstandardHandler {
                 return TransactionContext.error("Not enough funds");
             }
 
-            var senderUtxos = utxoRepository.findUnspentByOwnerAddr(transferTokenRequest.senderAddress(), Pageable.unpaged())
-                    .stream()
-                    .flatMap(Collection::stream)
-                    .map(UtxoUtil::toUtxo)
-                    .toList();
-
             // Programmable Logic Global parameterization
+            BuildTimings.enter(BuildTimings.SCRIPT_PARAMETERIZATION);
             var programmableLogicGlobal = protocolScriptBuilderService.getParameterizedProgrammableLogicGlobalScript(protocolBootstrapParams);
             var programmableLogicGlobalAddress = AddressProvider.getRewardAddress(programmableLogicGlobal, network.getCardanoNetwork());
             log.info("programmableLogicGlobalAddress policy: {}", programmableLogicGlobalAddress.getAddress());
@@ -512,10 +557,10 @@ public class DummySubstandardHandler implements SubstandardHandler {
 //            // Programmable Logic Base parameterization
             var programmableLogicBase = protocolScriptBuilderService.getParameterizedProgrammableLogicBaseScript(protocolBootstrapParams);
             log.info("programmableLogicBase policy: {}", programmableLogicBase.getPolicyId());
+            BuildTimings.enter(BuildTimings.OTHER);
 
             // Programmable Token Mint
             var valueToSend = Value.from(progToken.policyId(), "0x" + progToken.assetName(), new BigInteger(transferTokenRequest.quantity()));
-            var returningValue = senderProgTokensValue.subtract(valueToSend);
 
             var tokenAsset2 = Asset.builder()
                     .name("0x" + progToken.assetName())
@@ -539,6 +584,7 @@ public class DummySubstandardHandler implements SubstandardHandler {
             );
 
             // FIXME:
+            BuildTimings.enter(BuildTimings.SCRIPT_PARAMETERIZATION);
             var substandardTransferContractOpt = substandardService.getSubstandardValidator("dummy", "transfer.transfer.withdraw");
             if (substandardTransferContractOpt.isEmpty()) {
                 log.warn("could not resolve transfer contract");
@@ -548,24 +594,25 @@ public class DummySubstandardHandler implements SubstandardHandler {
             var substandardTransferAddress = AddressProvider.getRewardAddress(substandardTransferContract, network.getCardanoNetwork());
             log.info("substandardTransferAddress: {}", substandardTransferAddress.getAddress());
 
-            var inputUtxos = senderProgTokensUtxos.stream()
-                    .reduce(new Pair<List<Utxo>, Value>(List.of(), Value.builder().build()),
-                            (listValuePair, utxo) -> {
-                                if (listValuePair.second().subtract(valueToSend).isPositive()) {
-                                    return listValuePair;
-                                } else {
-                                    if (utxo.toValue().amountOf(progToken.policyId(), "0x" + progToken.assetName()).compareTo(BigInteger.ZERO) > 0) {
-                                        var newUtxos = Stream.concat(Stream.of(utxo), listValuePair.first().stream());
-                                        return new Pair<>(newUtxos.toList(), listValuePair.second().add(utxo.toValue()));
-                                    } else {
-                                        return listValuePair;
-                                    }
-                                }
-                            }, (listValuePair, listValuePair2) -> {
-                                var newUtxos = Stream.concat(listValuePair.first().stream(), listValuePair.first().stream());
-                                return new Pair<>(newUtxos.toList(), listValuePair.second().add(listValuePair2.second()));
-                            })
-                    .first();
+            BuildTimings.enter(BuildTimings.UTXO_FETCH);
+            // Token inputs leased meanwhile by another build are skipped
+            var inputUtxos = utxoReservationService.reserveAsset(reservationId, senderProgTokensUtxos,
+                    progToken.policyId() + progToken.assetName(), new BigInteger(transferTokenRequest.quantity()));
+            if (inputUtxos.isEmpty()) {
+                return TransactionContext.error("programmable token inputs are reserved by other transactions");
+            }
+            var returningValue = inputUtxos.stream()
+                    .map(Utxo::toValue)
+                    .reduce(Value::add)
+                    .orElseThrow()
+                    .subtract(valueToSend);
+
+            var senderInputs = utxoQueryService.reserveWalletInputs(reservationId, transferTokenRequest.senderAddress());
+            if (senderInputs.utxos().isEmpty()) {
+                return TransactionContext.error(senderInputs.error("sender"));
+            }
+            var senderUtxos = senderInputs.utxos();
+            BuildTimings.enter(BuildTimings.OTHER);
 
             var tx = new ScriptTx()
                     .collectFrom(senderUtxos);
@@ -585,16 +632,22 @@ public class DummySubstandardHandler implements SubstandardHandler {
                             .build(), TransactionInput.builder()
                             .transactionId(progTokenRegistry.getTxHash())
                             .index(progTokenRegistry.getOutputIndex())
-                            .build())
-                    .attachRewardValidator(programmableLogicGlobal) // global
-                    .attachRewardValidator(substandardTransferContract)
-                    .attachSpendingValidator(programmableLogicBase) // base
-                    .withChangeAddress(senderAddress.getAddress());
+                            .build());
+
+            var referencedScripts = new ArrayList<PlutusScript>();
+            rewardValidator(tx, programmableLogicGlobal, protocolBootstrapParams, referencedScripts); // global
+            rewardValidator(tx, substandardTransferContract, protocolBootstrapParams, referencedScripts);
+            spendingValidator(tx, programmableLogicBase, protocolBootstrapParams, referencedScripts); // base
+            tx.withChangeAddress(senderAddress.getAddress());
 
+            BuildTimings.enter(BuildTimings.TX_COMPOSE);
             var transaction = quickTxBuilder.compose(tx)
+                    .withReferenceScripts(referencedScripts.toArray(PlutusScript[]::new))
                     .withRequiredSigners(senderAddress.getDelegationCredentialHash().get())
                     .feePayer(senderAddress.getAddress())
+                    .withCollateralInputs(senderInputs.collateral())
                     .mergeOutputs(false)
+                    .preBalanceTx((txBuilderContext, transaction1) -> BuildTimings.enter(BuildTimings.EVALUATION_BALANCING))
                     .postBalanceTx((txBuilderContext, transaction1) -> {
                         var fees = transaction1.getBody().getFee();
                         var newFees = fees.add(BigInteger.valueOf(200_000L));
@@ -616,17 +669,52 @@ public class DummySubstandardHandler implements SubstandardHandler {
                     .build();
 
 
+            BuildTimings.enter(BuildTimings.DEBUG_DUMP);
             log.info("tx: {}", transaction.serializeToHex());
             log.info("tx: {}", objectMapper.writeValueAsString(transaction));
 
+            BuildTimings.enter(BuildTimings.RECORD_PENDING);
+            builtTxHash = utxoQueryService.recordPending(transaction);
+            BuildTimings.enter(BuildTimings.OTHER);
+
             return TransactionContext.ok(transaction.serializeToHex());
 
         } catch (Exception e) {
             return TransactionContext.error(e.getMessage());
+        } finally {
+            utxoReservationService.completeBuild(reservationId, builtTxHash);
         }
 
     }
 
+    /**
+     * Reference the deployed spending validator if there is one, attach it as a witness otherwise
+     */
+    private void spendingValidator(ScriptTx tx, PlutusScript script, ProtocolBootstrapParams protocolBootstrapParams,
+                                   List<PlutusScript> referencedScripts) throws CborSerializationException {
+        var refInputOpt = referenceScriptService.findReferenceInput(protocolBootstrapParams, script.getPolicyId());
+        if (refInputOpt.isPresent()) {
+            tx.readFrom(refInputOpt.get().txHash(), refInputOpt.get().outputIndex());
+            referencedScripts.add(script);
+        } else {
+            tx.attachSpendingValidator(script);
+        }
+    }
+
+    /**
+     * Reference the deployed withdraw validator if there is one, attach it as a witness otherwise
+     */
+    private void rewardValidator(ScriptTx tx, PlutusScript script, ProtocolBootstrapParams protocolBootstrapParams,
+                                 List<PlutusScript> referencedScripts) throws CborSerializationException {
+        var refInputOpt = referenceScriptService.findReferenceInput(protocolBootstrapParams, script.getPolicyId());
+        if (refInputOpt.isPresent()) {
+            tx.readFrom(refInputOpt.get().txHash(), refInputOpt.get().outputIndex());
+            referencedScripts.add(script);
+        } else {
+            tx.attachRewardValidator(script);
+        }
+    }
+
     @Override
     public Set<String> getRequiredValidators() {
         // Dummy substandard has 2 validators: issue and transfer
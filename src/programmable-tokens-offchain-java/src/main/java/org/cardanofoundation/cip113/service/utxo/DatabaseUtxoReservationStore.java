@@ -0,0 +1,73 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.repository.UtxoReservationRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link SharedUtxoReservationStore} backed by the utxo_reservation table.
+ * Every claim is a single upsert that only takes over a row if its lease expired, so concurrent
+ * builder nodes are serialized by the primary key of the table.
+ * <p>
+ * Enabled with {@code tx-builder.reservation.shared=true}.
+ */
+@Service
+@ConditionalOnProperty(name = "tx-builder.reservation.shared", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseUtxoReservationStore implements SharedUtxoReservationStore {
+
+    private final UtxoReservationRepository repository;
+
+    @Override
+    @Transactional
+    public boolean tryReserve(String reservationId, String txHash, int outputIndex, Instant now, Instant expiresAt) {
+        var updated = repository.tryReserve(txHash, outputIndex, reservationId, toDateTime(now), toDateTime(expiresAt));
+        return updated > 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findReserved(Collection<String> keys, Instant now) {
+        var txHashes = keys.stream()
+                .map(key -> key.substring(0, key.lastIndexOf('#')))
+                .collect(Collectors.toSet());
+        return repository.findActiveByTxHashes(txHashes, toDateTime(now))
+                .stream()
+                .map(reservation -> reservation.getTxHash() + "#" + reservation.getOutputIndex())
+                .filter(keys::contains)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    @Transactional
+    public void release(String reservationId, Collection<String> keys) {
+        keys.forEach(key -> {
+            var separator = key.lastIndexOf('#');
+            repository.release(key.substring(0, separator), Integer.parseInt(key.substring(separator + 1)), reservationId);
+        });
+    }
+
+    @Override
+    @Transactional
+    public void evictExpired(Instant now) {
+        var deleted = repository.deleteExpired(toDateTime(now));
+        if (deleted > 0) {
+            log.debug("Evicted {} expired utxo reservations", deleted);
+        }
+    }
+
+    private static LocalDateTime toDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
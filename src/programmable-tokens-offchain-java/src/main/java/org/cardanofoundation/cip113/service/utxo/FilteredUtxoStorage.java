@@ -0,0 +1,122 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.yaci.store.common.domain.Amt;
+import com.bloxbean.cardano.yaci.store.common.domain.UtxoKey;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxo;
+import com.bloxbean.cardano.yaci.store.utxo.domain.TxInput;
+import com.bloxbean.cardano.yaci.store.utxo.storage.UtxoStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link UtxoStorage} of the yaci UTxO store persisting only the outputs accepted by the {@link UtxoFilter},
+ * and only the spends of outputs it persisted, instead of the whole chain UTxO set.
+ * <p>
+ * Inputs spending outputs that were not persisted stay unresolved in the {@code AddressUtxoEvent}s, the
+ * listeners only look for outputs the filter keeps. All outputs of a block holding a protocol transaction
+ * are kept, as the outputs of a new protocol version can share the block of its protocol params. Wallets another
+ * node started watching are looked up once per batch. Persisted and skipped outputs and spends are counted
+ * in {@code utxo.store.outputs} and {@code utxo.store.inputs}.
+ */
+public class FilteredUtxoStorage implements UtxoStorage {
+
+    private final UtxoStorage delegate;
+
+    private final UtxoFilter utxoFilter;
+
+    private final Counter persistedOutputs;
+
+    private final Counter skippedOutputs;
+
+    private final Counter persistedInputs;
+
+    private final Counter skippedInputs;
+
+    public FilteredUtxoStorage(UtxoStorage delegate, UtxoFilter utxoFilter, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.utxoFilter = utxoFilter;
+        this.persistedOutputs = counter(meterRegistry, "utxo.store.outputs", "persisted");
+        this.skippedOutputs = counter(meterRegistry, "utxo.store.outputs", "skipped");
+        this.persistedInputs = counter(meterRegistry, "utxo.store.inputs", "persisted");
+        this.skippedInputs = counter(meterRegistry, "utxo.store.inputs", "skipped");
+    }
+
+    @Override
+    public void saveUnspent(List<AddressUtxo> addressUtxoList) {
+        // A new protocol version is only followed once its protocol params are indexed, after this block
+        Set<String> protocolBlocks = addressUtxoList.stream()
+                .filter(addressUtxo -> addressUtxo.getBlockHash() != null && utxoFilter.isProtocolTransaction(addressUtxo.getTxHash()))
+                .map(AddressUtxo::getBlockHash)
+                .collect(Collectors.toSet());
+        utxoFilter.refreshWatchList(addressUtxoList.stream().map(AddressUtxo::getOwnerAddr).toList());
+        var accepted = addressUtxoList.stream()
+                .filter(addressUtxo -> protocolBlocks.contains(addressUtxo.getBlockHash())
+                        || utxoFilter.accepts(addressUtxo.getTxHash(), addressUtxo.getOwnerAddr(),
+                        addressUtxo.getAmounts().stream().map(Amt::getUnit).toList()))
+                .toList();
+        persistedOutputs.increment(accepted.size());
+        skippedOutputs.increment(addressUtxoList.size() - accepted.size());
+        if (!accepted.isEmpty()) {
+            delegate.saveUnspent(accepted);
+        }
+    }
+
+    @Override
+    public void saveSpent(List<TxInput> txInputs) {
+        if (txInputs.isEmpty()) {
+            return;
+        }
+        // One lookup for the inputs of the whole batch, the outputs of the same batch are saved already
+        Set<String> persisted = delegate.findAllByIds(txInputs.stream()
+                        .map(txInput -> new UtxoKey(txInput.getTxHash(), txInput.getOutputIndex()))
+                        .toList())
+                .stream()
+                .map(addressUtxo -> PendingTransactionOverlay.utxoKey(addressUtxo.getTxHash(), addressUtxo.getOutputIndex()))
+                .collect(Collectors.toSet());
+        var spent = txInputs.stream()
+                .filter(txInput -> persisted.contains(PendingTransactionOverlay.utxoKey(txInput.getTxHash(), txInput.getOutputIndex())))
+                .toList();
+        persistedInputs.increment(spent.size());
+        skippedInputs.increment(txInputs.size() - spent.size());
+        if (!spent.isEmpty()) {
+            delegate.saveSpent(spent);
+        }
+    }
+
+    @Override
+    public Optional<AddressUtxo> findById(String txHash, int outputIndex) {
+        return delegate.findById(txHash, outputIndex);
+    }
+
+    @Override
+    public List<AddressUtxo> findAllByIds(List<UtxoKey> utxoKeys) {
+        return delegate.findAllByIds(utxoKeys);
+    }
+
+    @Override
+    public int deleteUnspentBySlotGreaterThan(Long slot) {
+        return delegate.deleteUnspentBySlotGreaterThan(slot);
+    }
+
+    @Override
+    public int deleteSpentBySlotGreaterThan(Long slot) {
+        return delegate.deleteSpentBySlotGreaterThan(slot);
+    }
+
+    @Override
+    public int deleteBySpentAndBlockLessThan(Long block) {
+        return delegate.deleteBySpentAndBlockLessThan(block);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder(name)
+                .description("Chain outputs and spends offered to the UTxO store, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
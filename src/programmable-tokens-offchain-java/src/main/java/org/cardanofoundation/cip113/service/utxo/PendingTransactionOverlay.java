@@ -0,0 +1,220 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.api.util.ValueUtil;
+import com.bloxbean.cardano.client.transaction.spec.Transaction;
+import com.bloxbean.cardano.client.transaction.spec.TransactionOutput;
+import com.bloxbean.cardano.client.transaction.util.TransactionUtil;
+import com.bloxbean.cardano.client.util.HexUtil;
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.util.AddressUtil;
+import org.cardanofoundation.cip113.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory overlay of transactions built by this service that the indexer has not confirmed yet.
+ * <p>
+ * Every transaction handed out by a substandard handler is recorded here together with the inputs
+ * it consumes and the outputs it produces. UTxO queries used for building apply the overlay on top of
+ * the indexed UTxO set, so a wallet can chain dependent transactions within the same block.
+ * Entries are dropped once the block holding the transaction is indexed and committed, see
+ * {@link #blockIndexed}, or after the TTL.
+ */
+@Service
+@Slf4j
+public class PendingTransactionOverlay {
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    // txHash -> pending transaction
+    private final Map<String, PendingTransaction> pendingByTxHash = new ConcurrentHashMap<>();
+
+    // "txHash#outputIndex" of every input consumed by a pending transaction -> pending txHash
+    private final Map<String, String> spentInputs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PendingTransactionOverlay(@Value("${tx-builder.pending.ttl-seconds:300}") long ttlSeconds) {
+        this(Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    PendingTransactionOverlay(Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Record a freshly built (unsigned) transaction. The transaction body is final at this point,
+     * so its hash is the same one the signed transaction will have on chain.
+     *
+     * @param transaction the built transaction
+     * @return the transaction hash
+     */
+    public String record(Transaction transaction) {
+        var txHash = TransactionUtil.getTxHash(transaction);
+
+        var inputs = transaction.getBody()
+                .getInputs()
+                .stream()
+                .map(input -> utxoKey(input.getTransactionId(), input.getIndex()))
+                .toList();
+
+        var txOutputs = transaction.getBody().getOutputs();
+        var outputs = new ArrayList<Utxo>(txOutputs.size());
+        for (int i = 0; i < txOutputs.size(); i++) {
+            outputs.add(toUtxo(txHash, i, txOutputs.get(i)));
+        }
+
+        var pendingTransaction = new PendingTransaction(txHash, inputs, outputs, clock.instant().plus(ttl));
+        pendingByTxHash.put(txHash, pendingTransaction);
+        inputs.forEach(input -> spentInputs.put(input, txHash));
+
+        log.debug("Recorded pending transaction: txHash={}, inputs={}, outputs={}", txHash, inputs.size(), outputs.size());
+        return txHash;
+    }
+
+    /**
+     * Apply the overlay to the indexed unspent outputs of an address: inputs consumed by pending
+     * transactions are removed and outputs of pending transactions paying to the address are added.
+     *
+     * @param address       the bech32 address
+     * @param confirmedUtxos the unspent outputs known to the indexer
+     * @return the unspent outputs as seen after all pending transactions
+     */
+    public List<Utxo> applyForAddress(String address, List<Utxo> confirmedUtxos) {
+        return apply(confirmedUtxos, utxo -> address.equals(utxo.getAddress()));
+    }
+
+    /**
+     * Apply the overlay to the indexed unspent outputs locked by a payment credential
+     *
+     * @param paymentCredential the payment key or script hash
+     * @param confirmedUtxos    the unspent outputs known to the indexer
+     * @return the unspent outputs as seen after all pending transactions
+     */
+    public List<Utxo> applyForPaymentCredential(String paymentCredential, List<Utxo> confirmedUtxos) {
+        return apply(confirmedUtxos, utxo -> {
+            var components = AddressUtil.decompose(utxo.getAddress());
+            return components != null && paymentCredential.equals(components.getPaymentScriptHash());
+        });
+    }
+
+    /**
+     * Check whether an output is consumed by a pending transaction
+     */
+    public boolean isSpent(String txHash, int outputIndex) {
+        return spentInputs.containsKey(utxoKey(txHash, outputIndex));
+    }
+
+    /**
+     * Number of transactions currently tracked
+     */
+    public int size() {
+        return pendingByTxHash.size();
+    }
+
+    /**
+     * Drop pending transactions that made it into an indexed block once the indexer transaction commits.
+     * Until then the store may still list their inputs as unspent, so they stay hidden.
+     *
+     * @param transactionEvent the indexed block
+     */
+    public void blockIndexed(TransactionEvent transactionEvent) {
+        if (pendingByTxHash.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> transactionEvent.getTransactions()
+                .forEach(transaction -> {
+                    var pendingTransaction = pendingByTxHash.get(transaction.getTxHash());
+                    if (pendingTransaction != null) {
+                        remove(pendingTransaction);
+                        log.info("Pending transaction confirmed: txHash={}, slot={}", pendingTransaction.txHash(),
+                                transactionEvent.getMetadata().getSlot());
+                    }
+                }));
+    }
+
+    /**
+     * Drop pending transactions that were never submitted or never made it on chain
+     */
+    @Scheduled(fixedDelayString = "${tx-builder.pending.eviction-interval-ms:10000}")
+    public void evictExpired() {
+        var now = clock.instant();
+        pendingByTxHash.values()
+                .stream()
+                .filter(pendingTransaction -> pendingTransaction.expiresAt().isBefore(now))
+                .toList()
+                .forEach(pendingTransaction -> {
+                    remove(pendingTransaction);
+                    log.info("Pending transaction expired: txHash={}", pendingTransaction.txHash());
+                });
+    }
+
+    private List<Utxo> apply(List<Utxo> confirmedUtxos, Predicate<Utxo> belongsTo) {
+        if (pendingByTxHash.isEmpty()) {
+            return confirmedUtxos;
+        }
+
+        var result = new ArrayList<Utxo>(confirmedUtxos.size());
+        Set<String> seen = confirmedUtxos.stream()
+                .map(utxo -> utxoKey(utxo.getTxHash(), utxo.getOutputIndex()))
+                .collect(Collectors.toSet());
+
+        confirmedUtxos.stream()
+                .filter(utxo -> !isSpent(utxo.getTxHash(), utxo.getOutputIndex()))
+                .forEach(result::add);
+
+        pendingByTxHash.values()
+                .stream()
+                .flatMap(pendingTransaction -> pendingTransaction.outputs().stream())
+                .filter(belongsTo)
+                .filter(utxo -> !seen.contains(utxoKey(utxo.getTxHash(), utxo.getOutputIndex())))
+                .filter(utxo -> !isSpent(utxo.getTxHash(), utxo.getOutputIndex()))
+                .forEach(result::add);
+
+        return result;
+    }
+
+    private void remove(PendingTransaction pendingTransaction) {
+        pendingByTxHash.remove(pendingTransaction.txHash());
+        pendingTransaction.inputs().forEach(input -> spentInputs.remove(input, pendingTransaction.txHash()));
+    }
+
+    private static Utxo toUtxo(String txHash, int outputIndex, TransactionOutput output) {
+        return Utxo.builder()
+                .txHash(txHash)
+                .outputIndex(outputIndex)
+                .address(output.getAddress())
+                .amount(ValueUtil.toAmountList(output.getValue()))
+                .dataHash(output.getDatumHash() != null ? HexUtil.encodeHexString(output.getDatumHash()) : null)
+                .inlineDatum(output.getInlineDatum() != null ? output.getInlineDatum().serializeToHex() : null)
+                .build();
+    }
+
+    static String utxoKey(String txHash, int outputIndex) {
+        return Objects.requireNonNull(txHash) + "#" + outputIndex;
+    }
+
+    private record PendingTransaction(String txHash,
+                                      List<String> inputs,
+                                      List<Utxo> outputs,
+                                      Instant expiresAt) {
+    }
+}
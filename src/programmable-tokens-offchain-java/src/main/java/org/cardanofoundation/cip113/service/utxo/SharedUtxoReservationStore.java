@@ -0,0 +1,47 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Reservation store shared by all builder nodes.
+ * Used by {@link UtxoReservationService} in addition to its in-process leases.
+ */
+public interface SharedUtxoReservationStore {
+
+    /**
+     * Claim an output for a reservation. Succeeds if the output is free, its lease expired,
+     * or it is already held by the same reservation.
+     *
+     * @param reservationId id of the build holding the lease
+     * @param txHash        output transaction hash
+     * @param outputIndex   output index
+     * @param now           current time
+     * @param expiresAt     lease expiry
+     * @return true if the lease is held by the reservation
+     */
+    boolean tryReserve(String reservationId, String txHash, int outputIndex, Instant now, Instant expiresAt);
+
+    /**
+     * Find the outputs currently leased by any reservation
+     *
+     * @param keys utxo keys formatted as txHash#outputIndex
+     * @param now  current time
+     * @return the subset of the keys with a lease that did not expire
+     */
+    Set<String> findReserved(Collection<String> keys, Instant now);
+
+    /**
+     * Release leases held by a reservation
+     *
+     * @param reservationId id of the build holding the leases
+     * @param keys          utxo keys formatted as txHash#outputIndex
+     */
+    void release(String reservationId, Collection<String> keys);
+
+    /**
+     * Remove expired leases
+     */
+    void evictExpired(Instant now);
+}
@@ -0,0 +1,46 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.client.api.UtxoSupplier;
+import com.bloxbean.cardano.client.api.common.OrderEnum;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link UtxoSupplier} of the transaction builder, serving address lookups from the {@link UtxoQueryService}.
+ * <p>
+ * Inputs the builder adds on its own, e.g. to cover the fee, are then taken from the pending overlay and
+ * never from outputs leased by another in-flight build. Outputs referenced by hash, e.g. reference inputs,
+ * are still resolved from the backend.
+ */
+@RequiredArgsConstructor
+public class SpendableUtxoSupplier implements UtxoSupplier {
+
+    private final UtxoQueryService utxoQueryService;
+
+    private final UtxoSupplier backendUtxoSupplier;
+
+    @Override
+    public List<Utxo> getPage(String address, Integer nrOfItems, Integer page, OrderEnum order) {
+        var utxos = utxoQueryService.findUnspentByOwnerAddr(address);
+        var pageSize = nrOfItems != null ? nrOfItems : DEFAULT_NR_OF_ITEMS_TO_FETCH;
+        var from = (long) (page != null ? page : 0) * pageSize;
+        if (from >= utxos.size()) {
+            return List.of();
+        }
+        return utxos.subList((int) from, (int) Math.min(from + pageSize, utxos.size()));
+    }
+
+    @Override
+    public List<Utxo> getAll(String address) {
+        return utxoQueryService.findUnspentByOwnerAddr(address);
+    }
+
+    @Override
+    public Optional<Utxo> getTxOutput(String txHash, int outputIndex) {
+        return backendUtxoSupplier.getTxOutput(txHash, outputIndex);
+    }
+
+}
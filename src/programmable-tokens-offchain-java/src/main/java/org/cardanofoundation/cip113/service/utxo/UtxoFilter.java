@@ -0,0 +1,172 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.easy1staking.cardano.model.AssetType;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.config.AppConfig;
+import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.model.bootstrap.ProtocolBootstrapParams;
+import org.cardanofoundation.cip113.service.ProtocolBootstrapService;
+import org.cardanofoundation.cip113.service.ProtocolParamsService;
+import org.cardanofoundation.cip113.util.AddressUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which chain outputs are persisted to the UTxO store, see {@link FilteredUtxoStorage}.
+ * <p>
+ * The indexers and transaction builders only read outputs of
+ * <ul>
+ *     <li>the protocol params and bootstrap transactions (protocol params, issuance params)</li>
+ *     <li>programmable logic base addresses (balances, token transfers)</li>
+ *     <li>registry and blacklist nodes, recognized by their node NFT</li>
+ *     <li>the reference script deployment address</li>
+ *     <li>wallets of the {@link UtxoWatchList}</li>
+ * </ul>
+ * The script hashes and policies come from the protocol bootstraps and the protocol params indexed so far.
+ * The protocol params of a new version are indexed after the UTxO store saved their block, so
+ * {@link FilteredUtxoStorage} keeps every output of a block holding a protocol transaction, see
+ * {@link #isProtocolTransaction}. The snapshot is only rebuilt when a protocol params version is added.
+ * <p>
+ * Enabled with {@code utxo-filter.enabled}, the default.
+ */
+@Service
+@Slf4j
+public class UtxoFilter {
+
+    private final ProtocolParamsService protocolParamsService;
+
+    private final ProtocolBootstrapService protocolBootstrapService;
+
+    private final AppConfig.ProtocolParamsConfig protocolParamsConfig;
+
+    private final UtxoWatchList utxoWatchList;
+
+    private final boolean enabled;
+
+    private final Set<String> blacklistPolicyIds;
+
+    private final String deploymentAddress;
+
+    private volatile Snapshot snapshot;
+
+    public UtxoFilter(ProtocolParamsService protocolParamsService,
+                      ProtocolBootstrapService protocolBootstrapService,
+                      AppConfig.ProtocolParamsConfig protocolParamsConfig,
+                      UtxoWatchList utxoWatchList,
+                      @Value("${utxo-filter.enabled:true}") boolean enabled,
+                      @Value("${blacklist.policy-ids:}") List<String> blacklistPolicyIds,
+                      @Value("${tx-builder.reference-scripts.deployment-address:}") String deploymentAddress) {
+        this.protocolParamsService = protocolParamsService;
+        this.protocolBootstrapService = protocolBootstrapService;
+        this.protocolParamsConfig = protocolParamsConfig;
+        this.utxoWatchList = utxoWatchList;
+        this.enabled = enabled;
+        this.blacklistPolicyIds = blacklistPolicyIds.stream().filter(policyId -> !policyId.isBlank()).collect(Collectors.toSet());
+        this.deploymentAddress = deploymentAddress;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether an output is read by the indexers or the transaction builders
+     *
+     * @param txHash       transaction producing the output
+     * @param ownerAddress bech32 address of the output
+     * @param units        units held by the output
+     */
+    public boolean accepts(String txHash, String ownerAddress, Collection<String> units) {
+        return utxoWatchList.contains(ownerAddress) || snapshot().accepts(txHash, ownerAddress, units);
+    }
+
+    /**
+     * Pick up the wallets other nodes started watching, once for a batch of outputs before they are offered
+     * to {@link #accepts}
+     *
+     * @param ownerAddresses owner addresses of the outputs
+     */
+    public void refreshWatchList(Collection<String> ownerAddresses) {
+        utxoWatchList.refreshMissing(ownerAddresses);
+    }
+
+    /**
+     * Whether a transaction bootstraps a protocol version or publishes its protocol params
+     *
+     * @param txHash the transaction hash
+     */
+    public boolean isProtocolTransaction(String txHash) {
+        return snapshot().txHashes().contains(txHash);
+    }
+
+    private Snapshot snapshot() {
+        var current = snapshot;
+        // Versions are only ever added, so their count tells whether the snapshot is current
+        if (current == null || current.versions() != protocolParamsService.count()) {
+            current = Snapshot.of(protocolParamsService.getAll(), protocolBootstrapService.getAllBootstraps().values(),
+                    protocolParamsConfig.getTransactionIds(), blacklistPolicyIds, deploymentAddress);
+            snapshot = current;
+            log.info("UTxO filter follows {} programmable logic scripts and {} node policies",
+                    current.paymentCredentials().size(), current.policyIds().size());
+        }
+        return current;
+    }
+
+    /**
+     * What is persisted for one set of protocol params versions
+     *
+     * @param versions           number of protocol params versions the snapshot was built from
+     * @param txHashes           transactions all outputs of which are kept
+     * @param paymentCredentials payment script hashes of kept addresses
+     * @param policyIds          node NFT policies of kept outputs
+     * @param addresses          kept addresses
+     */
+    record Snapshot(int versions, Set<String> txHashes, Set<String> paymentCredentials,
+                    Set<String> policyIds, Set<String> addresses) {
+
+        static Snapshot of(List<ProtocolParamsEntity> protocolParams, Collection<ProtocolBootstrapParams> bootstraps,
+                           Collection<String> protocolParamsTxHashes, Set<String> blacklistPolicyIds,
+                           String deploymentAddress) {
+            var txHashes = new HashSet<>(protocolParamsTxHashes);
+            var paymentCredentials = new HashSet<String>();
+            var policyIds = new HashSet<>(blacklistPolicyIds);
+
+            // Bootstraps are known before their protocol params are indexed
+            bootstraps.forEach(bootstrap -> {
+                txHashes.add(bootstrap.txHash());
+                paymentCredentials.add(bootstrap.programmableLogicBaseParams().scriptHash());
+                // Registry nodes are minted by the directory mint script
+                if (bootstrap.directoryMintParams() != null) {
+                    policyIds.add(bootstrap.directoryMintParams().scriptHash());
+                }
+            });
+            protocolParams.forEach(params -> {
+                txHashes.add(params.getTxHash());
+                paymentCredentials.add(params.getProgLogicScriptHash());
+                policyIds.add(AssetType.fromUnit(params.getRegistryNodePolicyId()).policyId());
+            });
+
+            var addresses = deploymentAddress == null || deploymentAddress.isBlank() ? Set.<String>of() : Set.of(deploymentAddress);
+            return new Snapshot(protocolParams.size(), Set.copyOf(txHashes), Set.copyOf(paymentCredentials),
+                    Set.copyOf(policyIds), addresses);
+        }
+
+        boolean accepts(String txHash, String ownerAddress, Collection<String> units) {
+            if (txHashes.contains(txHash) || addresses.contains(ownerAddress)) {
+                return true;
+            }
+            // Policy id is the first 56 hex characters of a unit
+            if (units.stream().anyMatch(unit -> unit.length() >= 56 && policyIds.contains(unit.substring(0, 56)))) {
+                return true;
+            }
+            var components = AddressUtil.decompose(ownerAddress);
+            return components != null && paymentCredentials.contains(components.getPaymentScriptHash());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.transaction.spec.Transaction;
+import com.bloxbean.cardano.client.transaction.spec.TransactionInput;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.UtxoId;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.repository.UtxoRepository;
+import com.easy1staking.cardano.util.UtxoUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * UTxO queries used by the transaction builders.
+ * Reads the indexed UTxO set (wallet addresses through the {@link WalletUtxoCache}) and applies the
+ * {@link PendingTransactionOverlay} on top of it, so that outputs of transactions built but not yet
+ * confirmed can be spent right away.
+ * Outputs leased by another in-flight build ({@link UtxoReservationService}) are left out.
+ * With the {@link UtxoFilter} enabled, a wallet is added to the {@link UtxoWatchList} on its first lookup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UtxoQueryService {
+
+    private final UtxoRepository utxoRepository;
+
+    private final PendingTransactionOverlay pendingTransactionOverlay;
+
+    private final UtxoReservationService utxoReservationService;
+
+    private final WalletUtxoCache walletUtxoCache;
+
+    private final UtxoFilter utxoFilter;
+
+    private final UtxoWatchList utxoWatchList;
+
+    /**
+     * Get the spendable outputs of an address
+     *
+     * @param address the bech32 address
+     * @return list of unleased unspent outputs, including outputs of pending transactions
+     */
+    public List<Utxo> findUnspentByOwnerAddr(String address) {
+        var confirmedUtxos = walletUtxoCache.getUnspent(address, this::loadUnspentByOwnerAddr);
+        return utxoReservationService.withoutReserved(pendingTransactionOverlay.applyForAddress(address, confirmedUtxos));
+    }
+
+    /**
+     * Lease every spendable output of a wallet to a build, to pay for its fees, collateral and min-ADA
+     *
+     * @param reservationId id of the build holding the leases
+     * @param address       the bech32 wallet address
+     * @return the leased outputs, and whether the wallet is only short of outputs because other builds hold them
+     */
+    public WalletInputs reserveWalletInputs(String reservationId, String address) {
+        var unspent = pendingTransactionOverlay.applyForAddress(address,
+                walletUtxoCache.getUnspent(address, this::loadUnspentByOwnerAddr));
+        var leased = utxoReservationService.reserveFeeInputs(reservationId, utxoReservationService.withoutReserved(unspent));
+        return new WalletInputs(leased, leased.isEmpty() && !unspent.isEmpty());
+    }
+
+    /**
+     * Get the spendable outputs locked by a payment credential
+     *
+     * @param paymentCredential the payment key or script hash
+     * @return list of unleased unspent outputs, including outputs of pending transactions
+     */
+    public List<Utxo> findUnspentByOwnerPaymentCredential(String paymentCredential) {
+        var confirmedUtxos = utxoRepository.findUnspentByOwnerPaymentCredential(paymentCredential, Pageable.unpaged())
+                .stream()
+                .flatMap(Collection::stream)
+                .map(UtxoUtil::toUtxo)
+                .toList();
+        return utxoReservationService.withoutReserved(pendingTransactionOverlay.applyForPaymentCredential(paymentCredential, confirmedUtxos));
+    }
+
+    /**
+     * Get the current output holding an NFT, as seen after all pending transactions: the indexed output,
+     * or the output of a pending transaction that moved the NFT to the same address
+     *
+     * @param txHash      transaction of the indexed output
+     * @param outputIndex index of the indexed output
+     * @param address     the bech32 address holding the NFT
+     * @param unit        policy id followed by the hex asset name of the NFT
+     * @return the output, or empty if it is not indexed or a pending transaction moved the NFT elsewhere
+     */
+    public Optional<Utxo> findUnspentNft(String txHash, int outputIndex, String address, String unit) {
+        var confirmedUtxos = utxoRepository.findById(UtxoId.builder()
+                        .txHash(txHash)
+                        .outputIndex(outputIndex)
+                        .build())
+                .map(UtxoUtil::toUtxo)
+                .stream()
+                .toList();
+        return pendingTransactionOverlay.applyForAddress(address, confirmedUtxos)
+                .stream()
+                .filter(utxo -> utxo.getAmount().stream().anyMatch(amount -> unit.equals(amount.getUnit())))
+                .findFirst();
+    }
+
+    /**
+     * Record a transaction that was built and handed out to a client
+     *
+     * @param transaction the built transaction
+     * @return the transaction hash
+     */
+    public String recordPending(Transaction transaction) {
+        return pendingTransactionOverlay.record(transaction);
+    }
+
+    /**
+     * Outputs of a wallet leased to a build
+     *
+     * @param utxos           the leased outputs, empty if none could be leased
+     * @param reservedByOthers whether the wallet holds outputs, all of them leased by other builds
+     */
+    public record WalletInputs(List<Utxo> utxos, boolean reservedByOthers) {
+
+        /**
+         * @param wallet name of the wallet in the message, e.g. "issuer"
+         * @return why no output could be leased
+         */
+        public String error(String wallet) {
+            return reservedByOthers
+                    ? wallet + " wallet funds are reserved by other transactions"
+                    : wallet + " wallet has insufficient funds";
+        }
+
+        /**
+         * Collateral of the build, taken from its own leased outputs rather than picked by the builder
+         * from the backend, preferring the largest ADA only output
+         *
+         * @return the collateral input, or empty if no output was leased
+         */
+        public TransactionInput[] collateral() {
+            return utxos.stream()
+                    .sorted(Comparator.comparing((Utxo utxo) -> utxo.getAmount().size() == 1).reversed()
+                            .thenComparing(Comparator.comparing((Utxo utxo) -> utxo.toValue().getCoin()).reversed()))
+                    .limit(1)
+                    .map(utxo -> new TransactionInput(utxo.getTxHash(), utxo.getOutputIndex()))
+                    .toArray(TransactionInput[]::new);
+        }
+    }
+
+    private List<Utxo> loadUnspentByOwnerAddr(String address) {
+        if (utxoFilter.isEnabled() && !utxoWatchList.contains(address)) {
+            // The outputs of the wallet were not persisted so far
+            return utxoWatchList.watch(address);
+        }
+        return utxoRepository.findUnspentByOwnerAddr(address, Pageable.unpaged())
+                .stream()
+                .flatMap(Collection::stream)
+                .map(UtxoUtil::toUtxo)
+                .toList();
+    }
+}
@@ -0,0 +1,362 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.util.AfterCommit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Leases transaction inputs to a single in-flight build, so that concurrent builds for the same
+ * wallet never select the same UTxOs.
+ * <p>
+ * Leases live in lock-striped in-process maps and expire after a TTL. When a
+ * {@link SharedUtxoReservationStore} is configured, every local lease is also claimed in the shared
+ * store, so builder nodes behind a load balancer see each other's leases.
+ * <p>
+ * The leases of a successful build are kept until the block holding its transaction is indexed and
+ * committed, see {@link #blockIndexed}, or the TTL runs out, covering the time the client needs to sign and submit it. Failed builds release
+ * their leases right away.
+ */
+@Service
+@Slf4j
+public class UtxoReservationService {
+
+    private final Stripe[] stripes;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    private final SharedUtxoReservationStore sharedStore;
+
+    // reservationId -> utxo keys held by that reservation
+    private final Map<String, Set<String>> keysByReservation = new ConcurrentHashMap<>();
+
+    // txHash of a built transaction -> reservationId holding its inputs
+    private final Map<String, String> reservationByTxHash = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UtxoReservationService(@Value("${tx-builder.reservation.ttl-seconds:300}") long ttlSeconds,
+                                  @Value("${tx-builder.reservation.stripes:64}") int stripeCount,
+                                  ObjectProvider<SharedUtxoReservationStore> sharedStore) {
+        this(Duration.ofSeconds(ttlSeconds), stripeCount, Clock.systemUTC(), sharedStore.getIfAvailable());
+    }
+
+    UtxoReservationService(Duration ttl, int stripeCount, Clock clock, SharedUtxoReservationStore sharedStore) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.sharedStore = sharedStore;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Reserve all the given outputs or none of them
+     *
+     * @param reservationId id of the build holding the lease
+     * @param utxos         outputs that must be spent by the build
+     * @return true if every output was reserved
+     */
+    public boolean reserveAll(String reservationId, List<Utxo> utxos) {
+        var reserved = new ArrayList<Utxo>(utxos.size());
+        for (Utxo utxo : utxos) {
+            if (!tryReserve(reservationId, utxo)) {
+                log.debug("Could not reserve {}#{}, releasing {} leases", utxo.getTxHash(), utxo.getOutputIndex(), reserved.size());
+                reserved.forEach(reservedUtxo -> releaseOne(reservationId, key(reservedUtxo)));
+                return false;
+            }
+            reserved.add(utxo);
+        }
+        return true;
+    }
+
+    /**
+     * Reserve outputs from the candidates, largest lovelace first, until the requested amount is covered.
+     * Outputs already leased by another build are skipped.
+     *
+     * @param reservationId id of the build holding the lease
+     * @param candidates    spendable outputs of the wallet
+     * @param lovelace      amount of lovelace the build needs from the wallet
+     * @return the reserved outputs, or an empty list if the amount could not be covered
+     */
+    public List<Utxo> reserveLovelace(String reservationId, List<Utxo> candidates, BigInteger lovelace) {
+        return reserveAmount(reservationId, candidates, "lovelace", lovelace);
+    }
+
+    /**
+     * Reserve outputs holding an asset from the candidates, largest quantity first, until the requested
+     * quantity is covered. Outputs already leased by another build are skipped.
+     *
+     * @param reservationId id of the build holding the lease
+     * @param candidates    spendable outputs
+     * @param unit          policy id followed by the hex asset name
+     * @param quantity      quantity the build spends
+     * @return the reserved outputs, or an empty list if the quantity could not be covered
+     */
+    public List<Utxo> reserveAsset(String reservationId, List<Utxo> candidates, String unit, BigInteger quantity) {
+        return reserveAmount(reservationId, candidates.stream()
+                .filter(utxo -> amountOf(utxo, unit).signum() > 0)
+                .toList(), unit, quantity);
+    }
+
+    /**
+     * Reserve every candidate not leased by another build, to pay for the fees, collateral and min-ADA of
+     * a build. The builder balances the transaction from them and returns the rest as change, whatever the
+     * transaction costs.
+     *
+     * @param reservationId id of the build holding the lease
+     * @param candidates    spendable outputs of the wallet
+     * @return the reserved outputs, or an empty list if all of them are leased by other builds
+     */
+    public List<Utxo> reserveFeeInputs(String reservationId, List<Utxo> candidates) {
+        return candidates.stream()
+                .filter(utxo -> tryReserve(reservationId, utxo))
+                .toList();
+    }
+
+    private List<Utxo> reserveAmount(String reservationId, List<Utxo> candidates, String unit, BigInteger required) {
+        var sorted = candidates.stream()
+                .sorted(Comparator.comparing((Utxo utxo) -> amountOf(utxo, unit)).reversed())
+                .toList();
+
+        var selected = new ArrayList<Utxo>();
+        var total = BigInteger.ZERO;
+        for (Utxo utxo : sorted) {
+            if (total.compareTo(required) >= 0) {
+                break;
+            }
+            if (tryReserve(reservationId, utxo)) {
+                selected.add(utxo);
+                total = total.add(amountOf(utxo, unit));
+            }
+        }
+
+        if (total.compareTo(required) < 0) {
+            log.debug("Not enough unreserved {}: required={}, available={}", unit, required, total);
+            selected.forEach(utxo -> releaseOne(reservationId, key(utxo)));
+            return List.of();
+        }
+
+        return selected;
+    }
+
+    /**
+     * Check whether an output is leased by an in-flight build, of this node or of any other one
+     */
+    public boolean isReserved(String txHash, int outputIndex) {
+        var key = key(txHash, outputIndex);
+        if (isReservedLocally(key, clock.instant())) {
+            return true;
+        }
+        return sharedStore != null && !sharedStore.findReserved(List.of(key), clock.instant()).isEmpty();
+    }
+
+    /**
+     * Leave out the outputs leased by in-flight builds, of this node or of any other one.
+     * The shared store is asked once for all outputs not leased locally.
+     *
+     * @param utxos candidate outputs
+     * @return the outputs free to be reserved
+     */
+    public List<Utxo> withoutReserved(List<Utxo> utxos) {
+        var now = clock.instant();
+        var unreserved = utxos.stream()
+                .filter(utxo -> !isReservedLocally(key(utxo), now))
+                .toList();
+        if (sharedStore == null || unreserved.isEmpty()) {
+            return unreserved;
+        }
+        var reservedElsewhere = sharedStore.findReserved(unreserved.stream().map(UtxoReservationService::key).toList(), now);
+        if (reservedElsewhere.isEmpty()) {
+            return unreserved;
+        }
+        return unreserved.stream()
+                .filter(utxo -> !reservedElsewhere.contains(key(utxo)))
+                .toList();
+    }
+
+    /**
+     * End a build: the leases of a built transaction are kept until it is confirmed on chain or the
+     * TTL runs out, those of a failed build are released right away
+     *
+     * @param reservationId id of the build holding the leases
+     * @param txHash        hash of the built transaction, null if the build failed
+     */
+    public void completeBuild(String reservationId, String txHash) {
+        if (txHash == null) {
+            release(reservationId);
+        } else if (keysByReservation.containsKey(reservationId)) {
+            reservationByTxHash.put(txHash, reservationId);
+        }
+    }
+
+    /**
+     * Release the leases of built transactions of an indexed block once the indexer transaction commits,
+     * the store lists their inputs as spent from then on
+     *
+     * @param transactionEvent the indexed block
+     */
+    public void blockIndexed(TransactionEvent transactionEvent) {
+        if (reservationByTxHash.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> transactionEvent.getTransactions()
+                .forEach(transaction -> {
+                    var reservationId = reservationByTxHash.remove(transaction.getTxHash());
+                    if (reservationId != null) {
+                        release(reservationId);
+                    }
+                }));
+    }
+
+    /**
+     * Release every lease held by a build, e.g. because the build failed
+     *
+     * @param reservationId id of the build holding the leases
+     */
+    public void release(String reservationId) {
+        var keys = keysByReservation.remove(reservationId);
+        if (keys == null) {
+            return;
+        }
+        keys.forEach(key -> releaseLocal(reservationId, key));
+        if (sharedStore != null) {
+            sharedStore.release(reservationId, keys);
+        }
+        log.debug("Released {} leases of reservation {}", keys.size(), reservationId);
+    }
+
+    @Scheduled(fixedDelayString = "${tx-builder.reservation.eviction-interval-ms:10000}")
+    public void evictExpired() {
+        var now = clock.instant();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.leases.values().removeIf(lease -> {
+                    if (lease.expiresAt().isAfter(now)) {
+                        return false;
+                    }
+                    var keys = keysByReservation.get(lease.reservationId());
+                    if (keys != null) {
+                        keys.remove(lease.key());
+                        if (keys.isEmpty()) {
+                            keysByReservation.remove(lease.reservationId(), keys);
+                        }
+                    }
+                    return true;
+                });
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        reservationByTxHash.values().removeIf(reservationId -> !keysByReservation.containsKey(reservationId));
+        if (sharedStore != null) {
+            sharedStore.evictExpired(now);
+        }
+    }
+
+    private boolean tryReserve(String reservationId, Utxo utxo) {
+        var key = key(utxo);
+        var now = clock.instant();
+        var expiresAt = now.plus(ttl);
+
+        var stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            var lease = stripe.leases.get(key);
+            if (lease != null && lease.expiresAt().isAfter(now) && !lease.reservationId().equals(reservationId)) {
+                return false;
+            }
+            stripe.leases.put(key, new Lease(key, reservationId, expiresAt));
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        if (sharedStore != null && !sharedStore.tryReserve(reservationId, utxo.getTxHash(), utxo.getOutputIndex(), now, expiresAt)) {
+            releaseLocal(reservationId, key);
+            return false;
+        }
+
+        keysByReservation.computeIfAbsent(reservationId, k -> ConcurrentHashMap.newKeySet()).add(key);
+        return true;
+    }
+
+    private void releaseOne(String reservationId, String key) {
+        releaseLocal(reservationId, key);
+        var keys = keysByReservation.get(reservationId);
+        if (keys != null) {
+            keys.remove(key);
+        }
+        if (sharedStore != null) {
+            sharedStore.release(reservationId, Set.of(key));
+        }
+    }
+
+    private void releaseLocal(String reservationId, String key) {
+        var stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            var lease = stripe.leases.get(key);
+            if (lease != null && lease.reservationId().equals(reservationId)) {
+                stripe.leases.remove(key);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private boolean isReservedLocally(String key, Instant now) {
+        var stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            var lease = stripe.leases.get(key);
+            return lease != null && lease.expiresAt().isAfter(now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private static BigInteger amountOf(Utxo utxo, String unit) {
+        return utxo.getAmount()
+                .stream()
+                .filter(amount -> unit.equals(amount.getUnit()))
+                .map(Amount::getQuantity)
+                .reduce(BigInteger.ZERO, BigInteger::add);
+    }
+
+    private static String key(Utxo utxo) {
+        return key(utxo.getTxHash(), utxo.getOutputIndex());
+    }
+
+    static String key(String txHash, int outputIndex) {
+        return txHash + "#" + outputIndex;
+    }
+
+    private record Lease(String key, String reservationId, Instant expiresAt) {
+    }
+
+    private static class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Lease> leases = new HashMap<>();
+    }
+}
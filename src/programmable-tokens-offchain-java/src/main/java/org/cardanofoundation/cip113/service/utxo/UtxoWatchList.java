@@ -0,0 +1,236 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.client.api.exception.ApiException;
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.backend.blockfrost.service.BFBackendService;
+import com.bloxbean.cardano.client.backend.model.TransactionContent;
+import com.bloxbean.cardano.yaci.store.core.domain.Cursor;
+import com.bloxbean.cardano.yaci.store.core.service.CursorService;
+import com.bloxbean.cardano.yaci.store.common.domain.Amt;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.AddressUtxoEntity;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.repository.UtxoRepository;
+import com.easy1staking.cardano.model.AssetType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.cip113.repository.UtxoWatchAddressRepository;
+import org.cardanofoundation.cip113.util.AddressUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wallet addresses whose outputs the {@link FilteredUtxoStorage} persists.
+ * <p>
+ * Addresses are configured in {@code utxo-filter.watch-addresses} or added when a wallet first requests a
+ * transaction build. Outputs the wallet received before that were not persisted, so they are loaded
+ * from Blockfrost once and stored as if synced. Only outputs created up to the slot of the UTxO store
+ * cursor are stored, later ones are synced as usual; and Blockfrost must be at least as far as the
+ * cursor, otherwise an output it reports unspent may have been spent in a block the store passed
+ * without persisting the spend. Added addresses are kept in the utxo_watch_address table
+ * and reloaded periodically, so that all nodes sharing the database keep them. The address is stored
+ * before the cursor is read, and the node syncing blocks looks up the owners of a block it does not watch
+ * yet in the table ({@link #refreshMissing}), so an output synced after the loaded slot is never dropped.
+ */
+@Service
+@Slf4j
+public class UtxoWatchList {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final UtxoWatchAddressRepository watchAddressRepository;
+
+    private final UtxoRepository utxoRepository;
+
+    private final BFBackendService bfBackendService;
+
+    private final CursorService cursorService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<String> configuredAddresses;
+
+    private final Set<String> addresses = ConcurrentHashMap.newKeySet();
+
+    public UtxoWatchList(UtxoWatchAddressRepository watchAddressRepository,
+                         UtxoRepository utxoRepository,
+                         BFBackendService bfBackendService,
+                         CursorService cursorService,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${utxo-filter.watch-addresses:}") List<String> configuredAddresses) {
+        this.watchAddressRepository = watchAddressRepository;
+        this.utxoRepository = utxoRepository;
+        this.bfBackendService = bfBackendService;
+        this.cursorService = cursorService;
+        this.transactionTemplate = transactionTemplate;
+        this.configuredAddresses = configuredAddresses.stream().filter(address -> !address.isBlank()).toList();
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+        log.info("Watching the utxos of {} wallet addresses ({} configured)", addresses.size(), configuredAddresses.size());
+    }
+
+    public boolean contains(String address) {
+        return addresses.contains(address);
+    }
+
+    public int size() {
+        return addresses.size();
+    }
+
+    /**
+     * Start persisting the outputs of an address and store the outputs it holds already
+     *
+     * @param address the bech32 address
+     * @return the unspent outputs of the address
+     */
+    public List<Utxo> watch(String address) {
+        // Watched before loading, on every node, so that outputs synced meanwhile are persisted as well
+        addresses.add(address);
+        boolean inserted = Boolean.TRUE.equals(transactionTemplate.execute(status -> watchAddressRepository.insertIfAbsent(address) == 1));
+        try {
+            long syncedSlot = cursorService.getCursor()
+                    .map(Cursor::getSlot)
+                    .orElseThrow(() -> new IllegalStateException("No block synced yet"));
+            long blockfrostSlot = blockfrostSlot();
+            if (blockfrostSlot < syncedSlot) {
+                throw new IllegalStateException("Blockfrost at slot " + blockfrostSlot + " is behind the synced slot " + syncedSlot);
+            }
+
+            var utxos = new ArrayList<Utxo>();
+            var entities = new ArrayList<AddressUtxoEntity>();
+            var transactions = new HashMap<String, TransactionContent>();
+            for (Utxo utxo : fetchUnspent(address)) {
+                var transaction = transactions.get(utxo.getTxHash());
+                if (transaction == null) {
+                    transaction = fetchTransaction(utxo.getTxHash());
+                    transactions.put(utxo.getTxHash(), transaction);
+                }
+                if (transaction.getSlot() <= syncedSlot) {
+                    utxos.add(utxo);
+                    entities.add(toEntity(utxo, transaction));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> utxoRepository.saveAll(entities));
+            log.info("Watching wallet {}, {} unspent outputs up to slot {} loaded", address, utxos.size(), syncedSlot);
+            return utxos;
+        } catch (ApiException | RuntimeException e) {
+            addresses.remove(address);
+            if (inserted) {
+                transactionTemplate.executeWithoutResult(status -> watchAddressRepository.deleteById(address));
+            }
+            throw new IllegalStateException("Could not load the utxos of " + address, e);
+        }
+    }
+
+    /**
+     * Pick up the addresses other nodes started watching since the last refresh, before a block is filtered
+     *
+     * @param ownerAddresses owner addresses of the outputs of the block
+     */
+    public void refreshMissing(Collection<String> ownerAddresses) {
+        var missing = ownerAddresses.stream()
+                .filter(address -> address != null && !addresses.contains(address))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            addresses.addAll(watchAddressRepository.findAddressesIn(missing));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${utxo-filter.watch-list-refresh-ms:30000}")
+    public void refresh() {
+        addresses.addAll(configuredAddresses);
+        addresses.addAll(watchAddressRepository.findAllAddresses());
+    }
+
+    private long blockfrostSlot() throws ApiException {
+        var result = bfBackendService.getBlockService().getLatestBlock();
+        if (!result.isSuccessful()) {
+            throw new ApiException(result.getResponse());
+        }
+        return result.getValue().getSlot();
+    }
+
+    private TransactionContent fetchTransaction(String txHash) throws ApiException {
+        var result = bfBackendService.getTransactionService().getTransaction(txHash);
+        if (!result.isSuccessful()) {
+            throw new ApiException(result.getResponse());
+        }
+        return result.getValue();
+    }
+
+    private List<Utxo> fetchUnspent(String address) throws ApiException {
+        var utxos = new ArrayList<Utxo>();
+        for (int page = 1; ; page++) {
+            var result = bfBackendService.getUtxoService().getUtxos(address, PAGE_SIZE, page);
+            if (!result.isSuccessful()) {
+                // Blockfrost answers 404 for addresses without any transaction
+                if (result.code() == 404) {
+                    return utxos;
+                }
+                throw new ApiException(result.getResponse());
+            }
+            utxos.addAll(result.getValue());
+            if (result.getValue().size() < PAGE_SIZE) {
+                return utxos;
+            }
+        }
+    }
+
+    /**
+     * A loaded output carries the slot of its transaction, so that a rollback past it drops it like a synced one
+     */
+    private static AddressUtxoEntity toEntity(Utxo utxo, TransactionContent transaction) {
+        var components = AddressUtil.decompose(utxo.getAddress());
+        return AddressUtxoEntity.builder()
+                .txHash(utxo.getTxHash())
+                .outputIndex(utxo.getOutputIndex())
+                .slot(transaction.getSlot())
+                .blockHash(transaction.getBlock())
+                .ownerAddr(utxo.getAddress())
+                .ownerPaymentCredential(components != null ? components.getPaymentScriptHash() : null)
+                .lovelaceAmount(utxo.getAmount()
+                        .stream()
+                        .filter(amount -> "lovelace".equals(amount.getUnit()))
+                        .map(Amount::getQuantity)
+                        .findFirst()
+                        .orElse(BigInteger.ZERO))
+                .amounts(utxo.getAmount()
+                        .stream()
+                        .map(UtxoWatchList::toAmt)
+                        .toList())
+                .dataHash(utxo.getDataHash())
+                .inlineDatum(utxo.getInlineDatum())
+                .referenceScriptHash(utxo.getReferenceScriptHash())
+                .build();
+    }
+
+    private static Amt toAmt(Amount amount) {
+        if ("lovelace".equals(amount.getUnit())) {
+            return Amt.builder()
+                    .unit(amount.getUnit())
+                    .assetName(amount.getUnit())
+                    .quantity(amount.getQuantity())
+                    .build();
+        }
+        var assetType = AssetType.fromUnit(amount.getUnit());
+        return Amt.builder()
+                .unit(amount.getUnit())
+                .policyId(assetType.policyId())
+                .assetName(assetType.unsafeHumanAssetName())
+                .quantity(amount.getQuantity())
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.yaci.store.events.RollbackEvent;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxo;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of the unspent outputs of wallets that recently requested a transaction build.
+ * <p>
+ * An address is loaded from the database on first use and is then kept current from
+ * {@link AddressUtxoEvent}s: produced outputs are added and spent inputs removed, so repeated builds for
+ * an active wallet are served from memory. The least recently used addresses are dropped once
+ * {@code max-addresses} is reached, and everything is dropped on rollback.
+ */
+@Service
+@Slf4j
+public class WalletUtxoCache {
+
+    private final int maxAddresses;
+
+    private final LinkedHashMap<String, Map<String, Utxo>> utxosByAddress;
+
+    // "txHash#outputIndex" of every cached output -> owner address, to resolve spent inputs
+    private final Map<String, String> addressByUtxoKey = new HashMap<>();
+
+    // Bumped by every applied event, a load racing with an event is not cached
+    private final AtomicLong version = new AtomicLong();
+
+    public WalletUtxoCache(@Value("${tx-builder.utxo-cache.max-addresses:10000}") int maxAddresses) {
+        this.maxAddresses = maxAddresses;
+        this.utxosByAddress = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Utxo>> eldest) {
+                if (size() <= WalletUtxoCache.this.maxAddresses) {
+                    return false;
+                }
+                eldest.getValue().keySet().forEach(addressByUtxoKey::remove);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get the unspent outputs of an address, loading them on a cache miss
+     *
+     * @param address the bech32 address
+     * @param loader  reads the unspent outputs of the address from the database
+     * @return the unspent outputs known to the indexer
+     */
+    public List<Utxo> getUnspent(String address, Function<String, List<Utxo>> loader) {
+        synchronized (utxosByAddress) {
+            var cached = utxosByAddress.get(address);
+            if (cached != null) {
+                return new ArrayList<>(cached.values());
+            }
+        }
+
+        var versionBeforeLoad = version.get();
+        var loaded = loader.apply(address);
+
+        synchronized (utxosByAddress) {
+            if (version.get() == versionBeforeLoad) {
+                var entry = new LinkedHashMap<String, Utxo>();
+                loaded.forEach(utxo -> {
+                    var key = PendingTransactionOverlay.utxoKey(utxo.getTxHash(), utxo.getOutputIndex());
+                    entry.put(key, utxo);
+                    addressByUtxoKey.put(key, address);
+                });
+                utxosByAddress.put(address, entry);
+            } else {
+                log.debug("Chain moved while loading utxos of {}, not caching", address);
+            }
+        }
+        return loaded;
+    }
+
+    public int size() {
+        synchronized (utxosByAddress) {
+            return utxosByAddress.size();
+        }
+    }
+
+    @EventListener
+    public void processEvent(AddressUtxoEvent addressUtxoEvent) {
+        synchronized (utxosByAddress) {
+            version.incrementAndGet();
+            if (utxosByAddress.isEmpty()) {
+                return;
+            }
+
+            addressUtxoEvent.getTxInputOutputs()
+                    .forEach(txInputOutputs -> {
+                        txInputOutputs.getInputs()
+                                .forEach(input -> {
+                                    var key = PendingTransactionOverlay.utxoKey(input.getTxHash(), input.getOutputIndex());
+                                    var owner = addressByUtxoKey.remove(key);
+                                    if (owner != null) {
+                                        var utxos = utxosByAddress.get(owner);
+                                        if (utxos != null) {
+                                            utxos.remove(key);
+                                        }
+                                    }
+                                });
+
+                        txInputOutputs.getOutputs()
+                                .forEach(output -> {
+                                    var utxos = utxosByAddress.get(output.getOwnerAddr());
+                                    if (utxos != null) {
+                                        var key = PendingTransactionOverlay.utxoKey(output.getTxHash(), output.getOutputIndex());
+                                        utxos.put(key, toUtxo(output));
+                                        addressByUtxoKey.put(key, output.getOwnerAddr());
+                                    }
+                                });
+                    });
+        }
+    }
+
+    @EventListener
+    public void processRollback(RollbackEvent rollbackEvent) {
+        synchronized (utxosByAddress) {
+            version.incrementAndGet();
+            log.info("Rollback to slot {}, clearing {} cached wallets", rollbackEvent.getRollbackTo().getSlot(), utxosByAddress.size());
+            utxosByAddress.clear();
+            addressByUtxoKey.clear();
+        }
+    }
+
+    private static Utxo toUtxo(AddressUtxo addressUtxo) {
+        var amounts = addressUtxo.getAmounts()
+                .stream()
+                .map(amt -> Amount.builder()
+                        .unit(amt.getUnit())
+                        .quantity(amt.getQuantity())
+                        .build())
+                .toList();
+
+        return Utxo.builder()
+                .txHash(addressUtxo.getTxHash())
+                .outputIndex(addressUtxo.getOutputIndex())
+                .address(addressUtxo.getOwnerAddr())
+                .amount(new ArrayList<>(amounts))
+                .dataHash(addressUtxo.getDataHash())
+                .inlineDatum(addressUtxo.getInlineDatum())
+                .referenceScriptHash(addressUtxo.getReferenceScriptHash())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package org.cardanofoundation.cip113.util;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a holder list ordered by (amount DESC, addressId ASC),
+ * handed to clients as an opaque base64url token.
+ *
+ * @param amount    amount of the last holder returned
+ * @param addressId address id of the last holder returned
+ */
+public record HolderCursor(BigInteger amount, long addressId) {
+
+    public String encode() {
+        var raw = amount + ":" + addressId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor received from a client
+     *
+     * @param cursor the opaque cursor, null or blank for the first page
+     * @return the position, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static HolderCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = raw.indexOf(':');
+            return new HolderCursor(new BigInteger(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
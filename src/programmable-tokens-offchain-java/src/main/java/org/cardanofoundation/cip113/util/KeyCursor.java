@@ -0,0 +1,40 @@
+package org.cardanofoundation.cip113.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a list ordered by a unique string key ascending (addresses, registry keys).
+ * Points at the first entry of the next page, and is handed to clients as an opaque base64url token.
+ *
+ * @param from key of the first entry to return
+ */
+public record KeyCursor(String from) {
+
+    /**
+     * Position of the first entry, the empty string sorts before every key
+     */
+    public static final KeyCursor START = new KeyCursor("");
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(from.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor received from a client
+     *
+     * @param cursor the opaque cursor, null or blank for the first page
+     * @return the position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static KeyCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            return new KeyCursor(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.cardanofoundation.cip113.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a log ordered by (slot DESC, id DESC), or (slot ASC, id ASC) starting from {@link #ORIGIN}.
+ * Handed to clients as an opaque base64url token so the encoding can change without breaking them.
+ *
+ * @param slot slot of the last entry returned
+ * @param id   id of the last entry returned
+ */
+public record SlotCursor(long slot, long id) {
+
+    /**
+     * Position before the first entry
+     */
+    public static final SlotCursor START = new SlotCursor(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    /**
+     * Position before the first entry of a list ordered by (slot ASC, id ASC)
+     */
+    public static final SlotCursor ORIGIN = new SlotCursor(-1L, -1L);
+
+    public String encode() {
+        var raw = slot + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor received from a client
+     *
+     * @param cursor the opaque cursor, null or blank for the first page
+     * @return the position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static SlotCursor decode(String cursor) {
+        return decode(cursor, START);
+    }
+
+    /**
+     * Decode a cursor received from a client
+     *
+     * @param cursor the opaque cursor, null or blank for the first page
+     * @param start  position to use for the first page
+     * @return the position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static SlotCursor decode(String cursor, SlotCursor start) {
+        if (cursor == null || cursor.isBlank()) {
+            return start;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = raw.indexOf(':');
+            return new SlotCursor(Long.parseLong(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,2 @@
+-- Slot range scans of one payment script (exports) in (slot, id) order
+CREATE INDEX idx_balance_payment_slot_id ON balance_log(payment_script_hash, slot, id);
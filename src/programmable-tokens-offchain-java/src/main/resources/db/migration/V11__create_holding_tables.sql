@@ -0,0 +1,54 @@
+-- Dictionary of asset units ("policyId+assetName" hex), referenced by id from holding_current
+CREATE TABLE asset_unit (
+    id BIGSERIAL PRIMARY KEY,
+    unit VARCHAR(120) NOT NULL,
+    CONSTRAINT unique_asset_unit UNIQUE(unit)
+);
+
+-- Dictionary of programmable token addresses
+CREATE TABLE holder_address (
+    id BIGSERIAL PRIMARY KEY,
+    address VARCHAR(200) NOT NULL,
+    CONSTRAINT unique_holder_address UNIQUE(address)
+);
+
+-- Current amount of every unit held by every address, zero holdings are deleted
+CREATE TABLE holding_current (
+    unit_id BIGINT NOT NULL REFERENCES asset_unit(id),
+    address_id BIGINT NOT NULL REFERENCES holder_address(id),
+    amount NUMERIC(38, 0) NOT NULL,
+    last_slot BIGINT NOT NULL,
+    PRIMARY KEY (unit_id, address_id)
+);
+
+-- Holders of a unit by amount: holder pages, counts and top-N are index-only scans
+CREATE INDEX idx_holding_unit_amount ON holding_current(unit_id, amount DESC, address_id);
+
+-- Backfill from the latest balance of every address
+INSERT INTO asset_unit (unit)
+SELECT DISTINCT b.unit
+FROM (
+    SELECT DISTINCT ON (address) address, balance
+    FROM balance_log
+    ORDER BY address, slot DESC, id DESC
+) latest
+CROSS JOIN LATERAL jsonb_object_keys(latest.balance::jsonb) AS b(unit)
+WHERE b.unit <> 'lovelace';
+
+INSERT INTO holder_address (address)
+SELECT DISTINCT address FROM balance_log;
+
+INSERT INTO holding_current (unit_id, address_id, amount, last_slot)
+SELECT u.id, a.id, b.amount::NUMERIC(38, 0), latest.slot
+FROM (
+    SELECT DISTINCT ON (address) address, balance, slot
+    FROM balance_log
+    ORDER BY address, slot DESC, id DESC
+) latest
+CROSS JOIN LATERAL jsonb_each_text(latest.balance::jsonb) AS b(unit, amount)
+JOIN asset_unit u ON u.unit = b.unit
+JOIN holder_address a ON a.address = latest.address
+WHERE b.unit <> 'lovelace'
+AND b.amount::NUMERIC(38, 0) > 0;
+
+COMMENT ON TABLE holding_current IS 'Current per-unit holdings of programmable token addresses, maintained by the balance indexer';
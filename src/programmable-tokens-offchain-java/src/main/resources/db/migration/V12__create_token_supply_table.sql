@@ -0,0 +1,39 @@
+-- Supply history of programmable tokens: one row per unit minted or burned by a transaction,
+-- carrying the running supply after it
+CREATE TABLE token_supply (
+    id BIGSERIAL PRIMARY KEY,
+    unit VARCHAR(120) NOT NULL,
+    policy_id VARCHAR(56) NOT NULL,
+    tx_hash VARCHAR(64) NOT NULL,
+    slot BIGINT NOT NULL,
+    block_height BIGINT NOT NULL,
+    -- Signed mint quantity, negative for burns
+    quantity NUMERIC(38, 0) NOT NULL,
+    supply NUMERIC(38, 0) NOT NULL,
+    CONSTRAINT unique_token_supply_entry UNIQUE(unit, tx_hash)
+);
+
+-- Current supply and supply at a slot are a single backward seek
+CREATE INDEX idx_token_supply_unit_slot_id ON token_supply(unit, slot DESC, id DESC);
+
+-- Backfill from the balance log. Programmable tokens never leave programmable addresses, so the net
+-- change of a unit across all addresses of a transaction is what the transaction minted or burned.
+-- Only units of policies in the registry count: other tokens on programmable addresses can come and go.
+-- Legacy rows without a stored diff are not covered.
+INSERT INTO token_supply (unit, policy_id, tx_hash, slot, block_height, quantity, supply)
+SELECT unit, LEFT(unit, 56), tx_hash, slot, block_height, quantity,
+       SUM(quantity) OVER (PARTITION BY unit ORDER BY slot, tx_hash ROWS UNBOUNDED PRECEDING)
+FROM (
+    SELECT d.unit, b.tx_hash, MIN(b.slot) AS slot, MIN(b.block_height) AS block_height,
+           SUM(d.amount::NUMERIC(38, 0)) AS quantity
+    FROM balance_log b
+    CROSS JOIN LATERAL jsonb_each_text(b.balance_diff::jsonb) AS d(unit, amount)
+    WHERE b.balance_diff IS NOT NULL
+    AND d.unit <> 'lovelace'
+    AND EXISTS (SELECT 1 FROM registry_node r WHERE r.key = LEFT(d.unit, 56))
+    GROUP BY d.unit, b.tx_hash
+) moved
+WHERE quantity <> 0
+ORDER BY unit, slot, tx_hash;
+
+COMMENT ON TABLE token_supply IS 'Per-transaction supply history of programmable tokens, maintained by the balance indexer';
@@ -0,0 +1,10 @@
+-- Create utxo_watch_address table listing the wallets whose outputs the filtered UTxO store persists
+CREATE TABLE utxo_watch_address (
+    address VARCHAR(200) PRIMARY KEY,
+
+    -- Timestamps
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Add comments to table
+COMMENT ON TABLE utxo_watch_address IS 'Wallet addresses that requested a transaction build, their outputs are kept in address_utxo';
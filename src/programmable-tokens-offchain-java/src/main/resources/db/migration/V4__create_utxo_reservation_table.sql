@@ -0,0 +1,23 @@
+-- Create utxo_reservation table to share input leases between transaction builder nodes
+CREATE TABLE utxo_reservation (
+    id BIGSERIAL PRIMARY KEY,
+
+    -- Reserved output
+    tx_hash VARCHAR(64) NOT NULL,
+    output_index INTEGER NOT NULL,
+
+    -- Lease holder and expiry
+    reserved_by VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+
+    -- Unique constraint: one lease per output
+    CONSTRAINT unique_utxo_reservation UNIQUE(tx_hash, output_index)
+);
+
+-- Create indexes for efficient eviction
+CREATE INDEX idx_utxo_reservation_expires_at ON utxo_reservation(expires_at);
+
+-- Add comments to table
+COMMENT ON TABLE utxo_reservation IS 'Leases on transaction inputs held by in-flight transaction builds';
+COMMENT ON COLUMN utxo_reservation.reserved_by IS 'Id of the build holding the lease';
+COMMENT ON COLUMN utxo_reservation.expires_at IS 'Lease expiry (UTC), expired leases can be taken over';
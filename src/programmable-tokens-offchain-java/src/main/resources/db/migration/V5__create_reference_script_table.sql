@@ -0,0 +1,24 @@
+-- Create reference_script table to track deployed reference scripts
+CREATE TABLE reference_script (
+    id BIGSERIAL PRIMARY KEY,
+
+    -- Hash of the script carried by the output
+    script_hash VARCHAR(56) NOT NULL UNIQUE,
+
+    -- Output carrying the reference script
+    tx_hash VARCHAR(64) NOT NULL,
+    output_index INTEGER NOT NULL,
+    owner_address VARCHAR(200) NOT NULL,
+    slot BIGINT NOT NULL,
+
+    -- Timestamps
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Create indexes for removing spent reference outputs
+CREATE INDEX idx_reference_script_output ON reference_script(tx_hash, output_index);
+
+-- Add comments to table
+COMMENT ON TABLE reference_script IS 'Unspent outputs carrying reference scripts used by the transaction builders';
+COMMENT ON COLUMN reference_script.script_hash IS 'Script hash of the reference script';
+COMMENT ON COLUMN reference_script.owner_address IS 'Deployment address holding the reference output';
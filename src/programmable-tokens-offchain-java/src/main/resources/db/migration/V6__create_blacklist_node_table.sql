@@ -0,0 +1,32 @@
+-- Create blacklist_node table to store the blacklist linked lists
+CREATE TABLE blacklist_node (
+    id BIGSERIAL PRIMARY KEY,
+
+    -- Blacklist node NFT policy (one linked list per policy)
+    policy_id VARCHAR(56) NOT NULL,
+
+    -- Credential hash (lexicographic ordering key) and next pointer
+    key VARCHAR(64) NOT NULL,
+    next VARCHAR(64) NOT NULL,
+
+    -- Output currently holding the node
+    tx_hash VARCHAR(64) NOT NULL,
+    output_index INTEGER NOT NULL,
+    owner_address VARCHAR(200) NOT NULL,
+    last_slot BIGINT NOT NULL,
+
+    -- Timestamps
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+
+    -- Unique constraint: one node per key per list
+    CONSTRAINT unique_blacklist_policy_key UNIQUE(policy_id, key)
+);
+
+-- Create indexes for removing spent nodes
+CREATE INDEX idx_blacklist_node_output ON blacklist_node(tx_hash, output_index);
+
+-- Add comments to table
+COMMENT ON TABLE blacklist_node IS 'Stores blacklist nodes (sorted linked list of sanctioned credentials)';
+COMMENT ON COLUMN blacklist_node.key IS 'Blacklisted credential hash (empty string for origin node)';
+COMMENT ON COLUMN blacklist_node.next IS 'Pointer to next node in lexicographic order';
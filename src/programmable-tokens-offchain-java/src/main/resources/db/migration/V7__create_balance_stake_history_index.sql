@@ -0,0 +1,5 @@
+-- Serves stake key history pages as a single index range scan in (slot DESC, id DESC) order
+CREATE INDEX idx_balance_stake_slot_id ON balance_log(stake_key_hash, slot DESC, id DESC);
+
+-- Covered by the index above
+DROP INDEX IF EXISTS idx_balance_stake_key;
@@ -0,0 +1,5 @@
+-- Serves per-address transaction pages as a single index range scan in (slot DESC, id DESC) order
+CREATE INDEX idx_balance_address_slot_id ON balance_log(address, slot DESC, id DESC);
+
+-- Covered by the index above
+DROP INDEX IF EXISTS idx_balance_address;
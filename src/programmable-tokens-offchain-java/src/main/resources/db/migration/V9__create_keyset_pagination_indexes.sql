@@ -0,0 +1,10 @@
+-- Latest balance pages ordered by address
+CREATE INDEX idx_balance_payment_address ON balance_log(payment_script_hash, address);
+CREATE INDEX idx_balance_stake_address ON balance_log(stake_key_hash, address);
+
+-- Registry pages of one protocol version ordered by key
+CREATE INDEX idx_registry_protocol_params_key ON registry_node(protocol_params_id, key);
+
+-- Covered by the indexes above
+DROP INDEX IF EXISTS idx_balance_payment_script;
+DROP INDEX IF EXISTS idx_registry_protocol_params;
@@ -0,0 +1,168 @@
+package org.cardanofoundation.cip113.perf;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.entity.RegistryNodeEntity;
+import org.cardanofoundation.cip113.repository.BalanceLogRepository;
+import org.cardanofoundation.cip113.repository.ProtocolParamsRepository;
+import org.cardanofoundation.cip113.repository.RegistryNodeRepository;
+import org.cardanofoundation.cip113.repository.TokenSupplyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Generates a small dataset into H2 through CSVREAD. The generation ends with DDL, which H2 commits,
+ * so the dataset is generated once into a database of its own and the tests run without transaction.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.datasource.name=synthetic-dataset"
+})
+class SyntheticDatasetTest {
+
+    private static final SyntheticDataset.Size SIZE = new SyntheticDataset.Size(300, 6_000L, 30, 3, 5, 1.0);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RegistryNodeRepository registryNodeRepository;
+
+    @Autowired
+    private BalanceLogRepository balanceLogRepository;
+
+    @Autowired
+    private TokenSupplyRepository tokenSupplyRepository;
+
+    @Autowired
+    private ProtocolParamsRepository protocolParamsRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM protocol_params", Long.class) == 0) {
+            try (Connection connection = dataSource.getConnection()) {
+                new SyntheticDataset(SIZE, 42L).generate(connection);
+            }
+        }
+    }
+
+    @Test
+    void testRegistryOfEachVersionIsALinkedList() {
+        // Given
+        long tokens = 0;
+
+        for (long protocolParamsId = 1; protocolParamsId <= SIZE.protocolVersions(); protocolParamsId++) {
+            // When
+            List<RegistryNodeEntity> nodes = registryNodeRepository.findAllByProtocolParamsId(protocolParamsId);
+
+            // Then - every node points at the next key, the last one at the tail marker
+            assertFalse(nodes.isEmpty());
+            assertEquals(protocolParamsId == 1, nodes.getFirst().getKey().isEmpty());
+            for (int i = 0; i + 1 < nodes.size(); i++) {
+                assertEquals(nodes.get(i + 1).getKey(), nodes.get(i).getNext());
+            }
+            assertEquals("ff".repeat(30), nodes.getLast().getNext());
+            tokens += registryNodeRepository.countByProtocolParamsIdExcludingSentinel(protocolParamsId);
+        }
+        assertEquals(SIZE.tokens().longValue(), tokens);
+    }
+
+    @Test
+    void testHoldingsAreTheLatestBalances() throws Exception {
+        // Given
+        Map<String, Map<String, BigInteger>> holdings = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT a.address, u.unit, h.amount
+                FROM holding_current h
+                JOIN holder_address a ON a.id = h.address_id
+                JOIN asset_unit u ON u.id = h.unit_id""", resultSet -> {
+            holdings.computeIfAbsent(resultSet.getString("address"), k -> new HashMap<>())
+                    .put(resultSet.getString("unit"), resultSet.getBigDecimal("amount").toBigInteger());
+        });
+        List<String> addresses = jdbcTemplate.queryForList("SELECT address FROM holder_address", String.class);
+
+        // When / Then
+        assertEquals(SIZE.addresses(), addresses.size());
+        for (String address : addresses) {
+            var latest = balanceLogRepository.findLatestByAddress(address, PageRequest.of(0, 1)).getFirst();
+            Map<String, String> balance = objectMapper.readValue(latest.getBalance(), new TypeReference<>() {
+            });
+            balance.remove("lovelace");
+
+            Map<String, BigInteger> expected = new HashMap<>();
+            balance.forEach((unit, amount) -> expected.put(unit, new BigInteger(amount)));
+            assertEquals(expected, holdings.getOrDefault(address, Map.of()), address);
+        }
+    }
+
+    @Test
+    void testSupplyIsTheSumOfHoldings() {
+        // Given
+        List<Map<String, Object>> sums = jdbcTemplate.queryForList("""
+                SELECT u.unit, SUM(h.amount) AS total
+                FROM holding_current h
+                JOIN asset_unit u ON u.id = h.unit_id
+                GROUP BY u.unit""");
+
+        // When / Then
+        assertFalse(sums.isEmpty());
+        for (Map<String, Object> sum : sums) {
+            var supply = tokenSupplyRepository.findLatestByUnit((String) sum.get("unit"), PageRequest.of(0, 1)).getFirst();
+            assertEquals(0, new BigInteger(sum.get("total").toString()).compareTo(supply.getSupply()));
+        }
+    }
+
+    @Test
+    void testAddressActivityIsSkewed() {
+        // When
+        List<Long> entries = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM balance_log GROUP BY address ORDER BY COUNT(*) DESC", Long.class);
+        long total = entries.stream().mapToLong(Long::longValue).sum();
+
+        // Then - about the requested number of entries, the busiest address far above the median
+        assertEquals(SIZE.addresses(), entries.size());
+        assertTrue(total >= SIZE.balanceEntries() * 0.9 && total <= SIZE.balanceEntries() * 1.1, "entries: " + total);
+        assertTrue(entries.getFirst() > 10 * entries.get(entries.size() / 2));
+    }
+
+    @Test
+    void testIdentitiesContinueAfterTheDataset() {
+        // When
+        var saved = protocolParamsRepository.save(ProtocolParamsEntity.builder()
+                .registryNodePolicyId("a".repeat(56))
+                .progLogicScriptHash("b".repeat(56))
+                .txHash("c".repeat(64))
+                .slot(1L)
+                .blockHeight(1L)
+                .build());
+
+        // Then
+        assertEquals(SIZE.protocolVersions() + 1L, saved.getId());
+        protocolParamsRepository.delete(saved);
+    }
+}
@@ -0,0 +1,240 @@
+package org.cardanofoundation.cip113.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cardanofoundation.cip113.perf.SyntheticDataset;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that the repository queries use the indexes they were written for, on a PostgreSQL database
+ * with data at scale. Runs when {@code QUERY_PLAN_DB_URL} points at such a database; an empty one is
+ * first filled with the synthetic dataset of {@code perf-tools/datasets/ci.json}.
+ * <p>
+ * The SQL Hibernate sends is captured and explained as a generic plan, the plan a reused prepared
+ * statement runs with, so the assertions hold whatever the parameter values.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "QUERY_PLAN_DB_URL", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${QUERY_PLAN_DB_URL}",
+        "spring.datasource.username=${QUERY_PLAN_DB_USERNAME:cardano}",
+        "spring.datasource.password=${QUERY_PLAN_DB_PASSWORD:password}",
+        "spring.flyway.url=${QUERY_PLAN_DB_URL}",
+        "spring.flyway.user=${QUERY_PLAN_DB_USERNAME:cardano}",
+        "spring.flyway.password=${QUERY_PLAN_DB_PASSWORD:password}",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.cardanofoundation.cip113.repository.QueryPlanTest$SqlCapture"
+})
+class QueryPlanTest {
+
+    private static final SyntheticDataset.Size CI_DATASET = new SyntheticDataset.Size(100_000, 2_000_000L, 5_000, 3, 20, 1.0);
+
+    private static final String ADDRESS = "addr1xyz";
+
+    private static final String HASH = "ab".repeat(28);
+
+    private static final String TX_HASH = "cd".repeat(32);
+
+    private static final String UNIT = HASH + "746f6b656e";
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BalanceLogRepository balanceLogRepository;
+
+    @Autowired
+    private TokenSupplyRepository tokenSupplyRepository;
+
+    @Autowired
+    private HoldingRepository holdingRepository;
+
+    @Autowired
+    private RegistryNodeRepository registryNodeRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Records the SQL of the session factory
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private record Plan(Set<String> indexes, Set<String> seqScans, String json) {
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            new SyntheticDataset(CI_DATASET, 1L).seedIfEmpty(connection);
+        }
+    }
+
+    @Test
+    void testAddressLookupsSeekTheAddressIndex() {
+        var page = PageRequest.of(0, 1);
+        assertPlan(plan(() -> balanceLogRepository.findLatestByAddress(ADDRESS, page)),
+                "balance_log", "idx_balance_address_slot_id");
+        assertPlan(plan(() -> balanceLogRepository.findLatestByAddressAtSlot(ADDRESS, 1L, page)),
+                "balance_log", "idx_balance_address_slot_id");
+        assertPlan(plan(() -> balanceLogRepository.findHistoryByAddress(ADDRESS, PageRequest.of(0, 100))),
+                "balance_log", "idx_balance_address_slot_id");
+        assertPlan(plan(() -> balanceLogRepository.findTransactionsByAddressBefore(ADDRESS, Long.MAX_VALUE, Long.MAX_VALUE, 101)),
+                "balance_log", "idx_balance_address_slot_id");
+    }
+
+    @Test
+    void testStakeKeyHistoryUsesTheStakeIndex() {
+        var page = PageRequest.of(0, 10);
+        assertPlan(plan(() -> balanceLogRepository.findHistoryByStakeKeyHashBefore(HASH, Long.MAX_VALUE, Long.MAX_VALUE, page)),
+                "balance_log", "idx_balance_stake_slot_id");
+        assertPlan(plan(() -> balanceLogRepository.findHistoryByStakeKeyHashAndPaymentScriptBefore(HASH, HASH,
+                        Long.MAX_VALUE, Long.MAX_VALUE, page)),
+                "balance_log", "idx_balance_stake_slot_id");
+    }
+
+    @Test
+    void testLatestBalancePagesWalkTheCredentialAddressIndexes() {
+        var page = PageRequest.of(0, 100);
+        assertPlan(plan(() -> balanceLogRepository.findLatestByStakeKeyHashFrom(HASH, "", page)),
+                "balance_log", "idx_balance_stake_address");
+        assertPlan(plan(() -> balanceLogRepository.findLatestByPaymentScriptHashFrom(HASH, "", page)),
+                "balance_log", "idx_balance_payment_address");
+    }
+
+    @Test
+    void testTransactionLookupsUseTheTxHashIndexes() {
+        assertPlan(plan(() -> balanceLogRepository.findByTxHash(TX_HASH)),
+                "balance_log", "idx_balance_tx_hash");
+        assertPlan(plan(() -> balanceLogRepository.existsByAddressAndTxHash(ADDRESS, TX_HASH)),
+                "balance_log", "unique_balance_entry", "idx_balance_tx_hash");
+    }
+
+    @Test
+    void testSupplyLookupsSeekTheUnitIndex() {
+        var page = PageRequest.of(0, 1);
+        assertPlan(plan(() -> tokenSupplyRepository.findLatestByUnit(UNIT, page)),
+                "token_supply", "idx_token_supply_unit_slot_id");
+        assertPlan(plan(() -> tokenSupplyRepository.findLatestByUnitAtSlot(UNIT, 1L, page)),
+                "token_supply", "idx_token_supply_unit_slot_id");
+        assertPlan(plan(() -> tokenSupplyRepository.findHistoryByUnitBefore(UNIT, Long.MAX_VALUE, Long.MAX_VALUE, page)),
+                "token_supply", "idx_token_supply_unit_slot_id");
+    }
+
+    @Test
+    void testHolderPagesScanTheAmountIndex() {
+        var page = PageRequest.of(0, 100);
+        assertPlan(plan(() -> holdingRepository.findHolders(1L, page)),
+                "holding_current", "idx_holding_unit_amount");
+        assertPlan(plan(() -> holdingRepository.findHoldersAfter(1L, BigInteger.TEN, 1L, page)),
+                "holding_current", "idx_holding_unit_amount");
+    }
+
+    @Test
+    void testRegistryLookupsUseTheKeyIndexes() {
+        var page = PageRequest.of(0, 100);
+        assertPlan(plan(() -> registryNodeRepository.findTokensByProtocolParamsIdFrom(1L, "", page)),
+                "registry_node", "idx_registry_protocol_params_key");
+        assertPlan(plan(() -> registryNodeRepository.findAllByProtocolParamsIdFrom(1L, "", page)),
+                "registry_node", "idx_registry_protocol_params_key");
+        assertPlan(plan(() -> registryNodeRepository.findByKeyAndProtocolParamsId(HASH, 1L)),
+                "registry_node", "registry_node_key_key", "idx_registry_key", "idx_registry_protocol_params_key");
+    }
+
+    /**
+     * Run a repository method and explain the first statement it sent
+     */
+    private Plan plan(Runnable query) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        assertFalse(SqlCapture.STATEMENTS.isEmpty(), "No SQL captured");
+
+        // Generic plans are built without the parameter values, NULL does for all of them
+        var parameters = new AtomicInteger();
+        String sql = PARAMETER.matcher(SqlCapture.STATEMENTS.getFirst())
+                .replaceAll(match -> "\\$" + parameters.incrementAndGet());
+        String arguments = parameters.get() == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters.get(), "NULL")) + ")";
+
+        String json = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE plan_check AS " + sql);
+                try (ResultSet resultSet = statement.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE plan_check" + arguments)) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                } finally {
+                    statement.execute("DEALLOCATE plan_check");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+
+        var indexes = new HashSet<String>();
+        var seqScans = new HashSet<String>();
+        try {
+            collect(objectMapper.readTree(json).get(0).get("Plan"), indexes, seqScans);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        return new Plan(indexes, seqScans, sql + "\n" + json);
+    }
+
+    private static void collect(JsonNode node, Set<String> indexes, Set<String> seqScans) {
+        if (node.has("Index Name")) {
+            indexes.add(node.get("Index Name").asText());
+        }
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> collect(child, indexes, seqScans));
+    }
+
+    private static void assertPlan(Plan plan, String table, String... expectedIndexes) {
+        assertTrue(List.of(expectedIndexes).stream().anyMatch(plan.indexes()::contains),
+                () -> "Expected one of " + List.of(expectedIndexes) + " in\n" + plan.json());
+        assertFalse(plan.seqScans().contains(table), () -> "Sequential scan of " + table + " in\n" + plan.json());
+    }
+}
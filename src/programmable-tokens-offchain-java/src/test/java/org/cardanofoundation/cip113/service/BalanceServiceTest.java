@@ -3,9 +3,13 @@ package org.cardanofoundation.cip113.service;
 import com.bloxbean.cardano.client.transaction.spec.Asset;
 import com.bloxbean.cardano.client.transaction.spec.MultiAsset;
 import com.bloxbean.cardano.client.transaction.spec.Value;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+import org.cardanofoundation.cip113.model.BalanceTransaction;
 import org.cardanofoundation.cip113.repository.BalanceLogRepository;
 import org.cardanofoundation.cip113.util.BalanceValueHelper;
+import org.cardanofoundation.cip113.util.KeyCursor;
+import org.cardanofoundation.cip113.util.SlotCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,7 +37,7 @@ class BalanceServiceTest {
     @BeforeEach
     void setUp() {
         repository.deleteAll();
-        service = new BalanceService(repository);
+        service = new BalanceService(repository, new ObjectMapper());
     }
 
     @Test
@@ -95,6 +99,26 @@ class BalanceServiceTest {
         assertEquals(300L, latest.getSlot());
     }
 
+    @Test
+    void testGetBalanceAtSlot() {
+        // Given - create balance history
+        String address = "addr1test123";
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), "tx1", 100L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(2000), "tx2", 200L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(3000), "tx3", 300L));
+
+        // When
+        var beforeHistory = service.getBalanceAtSlot(address, 99L);
+        BalanceLogEntity atTx = service.getBalanceAtSlot(address, 200L).orElseThrow();
+        BalanceLogEntity betweenTxs = service.getBalanceAtSlot(address, 299L).orElseThrow();
+
+        // Then - the entry at or before the slot is returned
+        assertTrue(beforeHistory.isEmpty());
+        assertEquals("tx2", atTx.getTxHash());
+        assertEquals("tx2", betweenTxs.getTxHash());
+        assertEquals(BigInteger.valueOf(2000), BalanceValueHelper.fromJson(betweenTxs.getBalance()).getCoin());
+    }
+
     @Test
     void testGetCurrentBalanceAsValue() {
         // Given
@@ -286,6 +310,102 @@ class BalanceServiceTest {
         assertTrue(balances.stream().allMatch(b -> b.getStakeKeyHash().equals(stakeKey)));
     }
 
+    @Test
+    void testGetHistoryByStakeKeyPagesAcrossAddresses() {
+        // Given - two addresses of the same stake key, two entries in the same slot
+        String stakeKey = "stakeKeyHash123";
+        service.append(createBalanceEntryWithPayment("addr1", "script1", stakeKey, createAdaOnlyBalance(1000), "tx1", 100L));
+        service.append(createBalanceEntryWithPayment("addr2", "script1", stakeKey, createAdaOnlyBalance(2000), "tx2", 200L));
+        service.append(createBalanceEntryWithPayment("addr1", "script1", stakeKey, createAdaOnlyBalance(3000), "tx3", 200L));
+        service.append(createBalanceEntryWithPayment("addr3", "script1", "otherStake", createAdaOnlyBalance(4000), "tx4", 300L));
+
+        // When
+        List<BalanceLogEntity> firstPage = service.getHistoryByStakeKey(stakeKey, null, SlotCursor.START, 2);
+        BalanceLogEntity last = firstPage.getLast();
+        List<BalanceLogEntity> secondPage = service.getHistoryByStakeKey(stakeKey, null, new SlotCursor(last.getSlot(), last.getId()), 2);
+
+        // Then - newest first, ties broken by id, no entry repeated
+        assertEquals(List.of("tx3", "tx2"), firstPage.stream().map(BalanceLogEntity::getTxHash).toList());
+        assertEquals(List.of("tx1"), secondPage.stream().map(BalanceLogEntity::getTxHash).toList());
+    }
+
+    @Test
+    void testGetHistoryByStakeKeyFiltersByPaymentScript() {
+        // Given
+        String stakeKey = "stakeKeyHash123";
+        service.append(createBalanceEntryWithPayment("addr1", "script1", stakeKey, createAdaOnlyBalance(1000), "tx1", 100L));
+        service.append(createBalanceEntryWithPayment("addr2", "script2", stakeKey, createAdaOnlyBalance(2000), "tx2", 200L));
+
+        // When
+        List<BalanceLogEntity> history = service.getHistoryByStakeKey(stakeKey, "script1", SlotCursor.START, 10);
+
+        // Then
+        assertEquals(1, history.size());
+        assertEquals("tx1", history.getFirst().getTxHash());
+    }
+
+    @Test
+    void testGetTransactionsWithDiffsUsesStoredDiffAndFallsBackForLegacyRows() {
+        // Given - a legacy entry without diff followed by one with a stored diff
+        String address = "addr1test123";
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), "tx1", 100L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(3000), "tx2", 200L));
+        BalanceLogEntity withDiff = createBalanceEntry(address, createAdaOnlyBalance(2500), "tx3", 300L);
+        withDiff.setBalanceDiff("{\"lovelace\":\"-500\"}");
+        service.append(withDiff);
+
+        // When - page of two, the predecessor of tx2 is outside the page
+        List<BalanceTransaction> page = service.getTransactionsWithDiffs(address, SlotCursor.START, 2);
+
+        // Then
+        assertEquals(List.of("tx3", "tx2"), page.stream().map(BalanceTransaction::txHash).toList());
+        assertEquals(Map.of("lovelace", "-500"), page.get(0).diff());
+        assertEquals(Map.of("lovelace", "2000"), page.get(1).diff());
+    }
+
+    @Test
+    void testGetTransactionsWithDiffsFirstEntryDiffIsBalance() {
+        // Given
+        String address = "addr1test123";
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(1000), "tx1", 100L));
+        service.append(createBalanceEntry(address, createAdaOnlyBalance(3000), "tx2", 200L));
+
+        // When - second page
+        List<BalanceTransaction> firstPage = service.getTransactionsWithDiffs(address, SlotCursor.START, 1);
+        BalanceTransaction last = firstPage.getLast();
+        List<BalanceTransaction> secondPage = service.getTransactionsWithDiffs(address, new SlotCursor(last.slot(), last.id()), 1);
+
+        // Then
+        assertEquals("tx1", secondPage.getFirst().txHash());
+        assertEquals(Map.of("lovelace", "1000"), secondPage.getFirst().diff());
+    }
+
+    @Test
+    void testSlotCursorRoundTrip() {
+        var cursor = new SlotCursor(123456L, 42L);
+        assertEquals(cursor, SlotCursor.decode(cursor.encode()));
+        assertEquals(SlotCursor.START, SlotCursor.decode(null));
+        assertThrows(IllegalArgumentException.class, () -> SlotCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void testGetLatestBalancesByPaymentScriptPagesByAddress() {
+        // Given - addr1 has two entries, only the latest one is listed
+        String paymentScript = "testScriptHash123";
+        service.append(createBalanceEntryWithPayment("addr1", paymentScript, null, createAdaOnlyBalance(1000), "tx1", 100L));
+        service.append(createBalanceEntryWithPayment("addr1", paymentScript, null, createAdaOnlyBalance(1500), "tx2", 150L));
+        service.append(createBalanceEntryWithPayment("addr2", paymentScript, null, createAdaOnlyBalance(2000), "tx3", 200L));
+        service.append(createBalanceEntryWithPayment("addr3", paymentScript, null, createAdaOnlyBalance(3000), "tx4", 300L));
+
+        // When
+        List<BalanceLogEntity> firstPage = service.getLatestBalancesByPaymentScript(paymentScript, KeyCursor.START, 2);
+        List<BalanceLogEntity> secondPage = service.getLatestBalancesByPaymentScript(paymentScript, new KeyCursor("addr3"), 2);
+
+        // Then
+        assertEquals(List.of("tx2", "tx3"), firstPage.stream().map(BalanceLogEntity::getTxHash).toList());
+        assertEquals(List.of("tx4"), secondPage.stream().map(BalanceLogEntity::getTxHash).toList());
+    }
+
     @Test
     void testGetAssetAmount() {
         // Given
@@ -0,0 +1,92 @@
+package org.cardanofoundation.cip113.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildTimingsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BuildTimings buildTimings;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buildTimings = new BuildTimings(meterRegistry);
+    }
+
+    @Test
+    void testNestedPhasePausesTheEnclosingPhase() {
+        // When
+        var result = buildTimings.record("dummy", "transfer", () -> {
+            BuildTimings.enter(BuildTimings.UTXO_FETCH);
+            sleep(20);
+            BuildTimings.enter(BuildTimings.TX_COMPOSE);
+            try (var ignored = BuildTimings.phase(BuildTimings.BACKEND)) {
+                sleep(30);
+            }
+            return "tx";
+        });
+
+        // Then
+        assertEquals("tx", result);
+        assertTrue(phase(BuildTimings.UTXO_FETCH).totalTime(TimeUnit.MILLISECONDS) >= 20);
+        assertTrue(phase(BuildTimings.BACKEND).totalTime(TimeUnit.MILLISECONDS) >= 30);
+        // The backend call is not charged to the compose phase around it
+        assertTrue(phase(BuildTimings.TX_COMPOSE).totalTime(TimeUnit.MILLISECONDS) < 30);
+    }
+
+    @Test
+    void testPhasesAreLeftOnTheRequest() {
+        // Given
+        var request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            // When
+            buildTimings.record("dummy", "mint", () -> {
+                BuildTimings.enter(BuildTimings.SCRIPT_PARAMETERIZATION);
+                return null;
+            });
+
+            // Then
+            var phases = (Map<?, ?>) request.getAttribute(BuildTimings.REQUEST_ATTRIBUTE);
+            assertTrue(phases.containsKey(BuildTimings.SCRIPT_PARAMETERIZATION));
+            assertTrue(phases.containsKey("total"));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void testCallsOutsideOfABuildAreIgnored() {
+        BuildTimings.enter(BuildTimings.UTXO_FETCH);
+        BuildTimings.phase(BuildTimings.BACKEND).close();
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    private Timer phase(String phase) {
+        return meterRegistry.get("tx.build.phase")
+                .tag("substandard", "dummy")
+                .tag("operation", "transfer")
+                .tag("phase", phase)
+                .timer();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
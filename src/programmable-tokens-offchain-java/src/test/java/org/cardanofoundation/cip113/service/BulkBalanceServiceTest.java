@@ -0,0 +1,112 @@
+package org.cardanofoundation.cip113.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+import org.cardanofoundation.cip113.model.BulkBalanceRequest;
+import org.cardanofoundation.cip113.model.TransactionType;
+import org.cardanofoundation.cip113.repository.BalanceLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class BulkBalanceServiceTest {
+
+    @Autowired
+    private BalanceLogRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BulkBalanceService service;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        repository.save(entry("addr1", "paymentScript123", "stakeKey1", "tx1", 100L, "{\"lovelace\":\"1000\"}"));
+        repository.save(entry("addr1", "paymentScript123", "stakeKey1", "tx2", 200L, "{\"lovelace\":\"2000\"}"));
+        repository.save(entry("addr2", "paymentScript123", "stakeKey2", "tx3", 150L, "{\"lovelace\":\"3000\"}"));
+        repository.save(entry("addr3", "paymentScript999", "stakeKey3", "tx4", 150L, "{\"lovelace\":\"4000\"}"));
+        repository.flush();
+
+        service = new BulkBalanceService(jdbcTemplate);
+        ReflectionTestUtils.setField(service, "maxKeys", 3);
+        ReflectionTestUtils.setField(service, "maxAddresses", 2);
+    }
+
+    @Test
+    void testLatestBalancesOfAddressesAndStakeKeys() throws Exception {
+        // Given
+        var request = new BulkBalanceRequest(List.of("addr1", "unknown"), List.of("stakeKey2"), null);
+
+        // When
+        Map<String, Map<String, String>> balances = objectMapper.readValue(service.getLatestBalancesJson(request),
+                new TypeReference<>() {
+                });
+
+        // Then - one latest entry per address
+        assertEquals(Map.of(
+                "addr1", Map.of("lovelace", "2000"),
+                "addr2", Map.of("lovelace", "3000")), balances);
+    }
+
+    @Test
+    void testLookupByPaymentScript() throws Exception {
+        // When
+        Map<String, Map<String, String>> balances = objectMapper.readValue(
+                service.getLatestBalancesJson(new BulkBalanceRequest(null, null, List.of("paymentScript123"))),
+                new TypeReference<>() {
+                });
+
+        // Then
+        assertEquals(2, balances.size());
+        assertEquals("2000", balances.get("addr1").get("lovelace"));
+    }
+
+    @Test
+    void testEmptyOrOversizedRequestIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.getLatestBalancesJson(new BulkBalanceRequest(null, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getLatestBalancesJson(new BulkBalanceRequest(List.of("a", "b", "c", "d"), null, null)));
+    }
+
+    @Test
+    void testTooManyMatchingAddressesAreRejected() {
+        // Given - both payment scripts together match three addresses
+        var request = new BulkBalanceRequest(null, null, List.of("paymentScript123", "paymentScript999"));
+
+        // When / Then
+        var e = assertThrows(IllegalArgumentException.class, () -> service.getLatestBalancesJson(request));
+        assertTrue(e.getMessage().contains("/current-by-payment"));
+    }
+
+    private static BalanceLogEntity entry(String address, String paymentScriptHash, String stakeKeyHash,
+                                          String txHash, long slot, String balance) {
+        return BalanceLogEntity.builder()
+                .address(address)
+                .paymentScriptHash(paymentScriptHash)
+                .stakeKeyHash(stakeKeyHash)
+                .txHash(txHash)
+                .slot(slot)
+                .blockHeight(slot)
+                .balance(balance)
+                .transactionType(TransactionType.TRANSFER)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package org.cardanofoundation.cip113.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.cardanofoundation.cip113.service.ChainStateVersions.Scope.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChainStateVersionsTest {
+
+    private ChainStateVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        versions = new ChainStateVersions();
+    }
+
+    @Test
+    void testBalanceChangeOnlyInvalidatesItsAddressAndStakeKey() {
+        // Given
+        var changedAddress = versions.etag(List.of(ADDRESS), "addr1changed");
+        var otherAddress = versions.etag(List.of(ADDRESS), "addr1other");
+        var stakeKey = versions.etag(List.of(STAKE_KEY), "stake1");
+        var registry = versions.etag(List.of(REGISTRY), null);
+
+        // When
+        versions.recordBalanceChange("addr1changed", "stake1", 100L);
+
+        // Then
+        assertNotEquals(changedAddress, versions.etag(List.of(ADDRESS), "addr1changed"));
+        assertEquals(otherAddress, versions.etag(List.of(ADDRESS), "addr1other"));
+        assertNotEquals(stakeKey, versions.etag(List.of(STAKE_KEY), "stake1"));
+        assertEquals(registry, versions.etag(List.of(REGISTRY), null));
+    }
+
+    @Test
+    void testCombinedScopesFollowEachScope() {
+        // Given
+        var before = versions.etag(List.of(REGISTRY, PROTOCOL_PARAMS), null);
+
+        // When
+        versions.recordProtocolParamsChange(50L);
+        var afterProtocolParams = versions.etag(List.of(REGISTRY, PROTOCOL_PARAMS), null);
+        versions.recordRegistryChange(60L);
+
+        // Then
+        assertNotEquals(before, afterProtocolParams);
+        assertNotEquals(afterProtocolParams, versions.etag(List.of(REGISTRY, PROTOCOL_PARAMS), null));
+    }
+
+    @Test
+    void testWalletEtagCombinesTheStakeKeysOfItsCredentials() {
+        // Given
+        var wallet = List.of("paymentHash", "stakeHash");
+        var before = versions.etag(List.of(STAKE_KEY), wallet);
+
+        // When - a programmable address carrying the payment credential as its stake credential
+        versions.recordBalanceChange("addr1programmable", "paymentHash", 100L);
+        var afterPayment = versions.etag(List.of(STAKE_KEY), wallet);
+        versions.recordBalanceChange("addr1unrelated", "otherStakeHash", 200L);
+
+        // Then
+        assertNotEquals(before, afterPayment);
+        assertEquals(afterPayment, versions.etag(List.of(STAKE_KEY), wallet));
+    }
+
+    @Test
+    void testEtagIsStableWithoutChanges() {
+        versions.recordBalanceChange("addr1", "stake1", 100L);
+        assertEquals(versions.etag(List.of(BALANCES), null), versions.etag(List.of(BALANCES), null));
+        assertTrue(versions.etag(List.of(BALANCES), null).startsWith("W/\""));
+    }
+}
@@ -0,0 +1,92 @@
+package org.cardanofoundation.cip113.service;
+
+import org.cardanofoundation.cip113.model.TokenHolder;
+import org.cardanofoundation.cip113.repository.AssetUnitRepository;
+import org.cardanofoundation.cip113.repository.HolderAddressRepository;
+import org.cardanofoundation.cip113.repository.HoldingRepository;
+import org.cardanofoundation.cip113.util.HolderCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class HoldingServiceTest {
+
+    private static final String UNIT = "a1".repeat(28) + "746f6b656e";
+
+    @Autowired
+    private AssetUnitRepository assetUnitRepository;
+
+    @Autowired
+    private HolderAddressRepository holderAddressRepository;
+
+    @Autowired
+    private HoldingRepository holdingRepository;
+
+    private HoldingService holdingService;
+
+    @BeforeEach
+    void setUp() {
+        holdingRepository.deleteAll();
+        holderAddressRepository.deleteAll();
+        assetUnitRepository.deleteAll();
+        holdingService = new HoldingService(assetUnitRepository, holderAddressRepository, holdingRepository);
+    }
+
+    @Test
+    void testHoldersAreOrderedByAmountAndPaged() {
+        // Given
+        holdingService.apply("addr1", Map.of(UNIT, BigInteger.valueOf(10)), List.of(UNIT), 100L);
+        holdingService.apply("addr2", Map.of(UNIT, BigInteger.valueOf(30)), List.of(UNIT), 100L);
+        holdingService.apply("addr3", Map.of(UNIT, BigInteger.valueOf(20)), List.of(UNIT), 100L);
+
+        // When
+        List<TokenHolder> firstPage = holdingService.getHolders(UNIT, null, 2);
+        TokenHolder last = firstPage.getLast();
+        List<TokenHolder> secondPage = holdingService.getHolders(UNIT, new HolderCursor(last.amount(), last.addressId()), 2);
+
+        // Then
+        assertEquals(List.of("addr2", "addr3"), firstPage.stream().map(TokenHolder::address).toList());
+        assertEquals(List.of("addr1"), secondPage.stream().map(TokenHolder::address).toList());
+        assertEquals(3, holdingService.countHolders(UNIT));
+    }
+
+    @Test
+    void testHoldingDroppingToZeroIsRemoved() {
+        // Given
+        holdingService.apply("addr1", Map.of(UNIT, BigInteger.valueOf(10)), List.of(UNIT), 100L);
+
+        // When - the whole amount leaves the address
+        holdingService.apply("addr1", Map.of("lovelace", BigInteger.valueOf(1_000_000)), List.of("lovelace", UNIT), 200L);
+
+        // Then
+        assertEquals(0, holdingService.countHolders(UNIT));
+        assertTrue(holdingService.getHolders(UNIT, null, 10).isEmpty());
+    }
+
+    @Test
+    void testAmountIsUpdatedAndLovelaceIgnored() {
+        // Given
+        holdingService.apply("addr1", Map.of(UNIT, BigInteger.valueOf(10), "lovelace", BigInteger.ONE), List.of(UNIT, "lovelace"), 100L);
+
+        // When
+        holdingService.apply("addr1", Map.of(UNIT, BigInteger.valueOf(15)), List.of(UNIT), 200L);
+
+        // Then
+        assertEquals(BigInteger.valueOf(15), holdingService.getHolders(UNIT, null, 10).getFirst().amount());
+        assertEquals(1, assetUnitRepository.count());
+        assertEquals(0, holdingService.countHolders("lovelace"));
+    }
+}
@@ -0,0 +1,82 @@
+package org.cardanofoundation.cip113.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.cardanofoundation.conversions.CardanoConverters;
+import org.cardanofoundation.conversions.ClasspathConversionsFactory;
+import org.cardanofoundation.conversions.domain.NetworkType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexerMetricsTest {
+
+    private static final long SLOT = 80_000_000L;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private IndexerMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        CardanoConverters converters = ClasspathConversionsFactory.createConverters(NetworkType.PREVIEW);
+        // Preview has one second slots, the clock is 20 slots past the indexed block
+        var now = converters.slot().slotToTime(SLOT).toInstant(ZoneOffset.UTC).plusSeconds(20);
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new IndexerMetrics(meterRegistry, converters, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testStagesAndCountsArePublishedWhenTheEventIsDone() {
+        // Given
+        var stages = metrics.eventReceived(IndexerMetrics.Listener.BALANCE, SLOT);
+        stages.inputs(3);
+        stages.matchedInput();
+        stages.unresolvedInput();
+        stages.outputs(4);
+        stages.matchedOutput();
+        stages.lap(IndexerMetrics.Stage.DATABASE_WRITE, System.nanoTime() - 1_000);
+        assertEquals(1.0, gauge("indexer.events.pending", "balance"));
+
+        // When
+        stages.finish();
+
+        // Then
+        assertEquals(1.0, counter("indexer.inputs", "matched"));
+        assertEquals(1.0, counter("indexer.inputs", "skipped"));
+        assertEquals(1.0, counter("indexer.inputs", "unresolved"));
+        assertEquals(3.0, meterRegistry.get("indexer.outputs").tag("listener", "balance").tag("outcome", "skipped").counter().count());
+        assertEquals(1, stageTimer("database_write").count());
+        assertEquals(0, stageTimer("input_resolution").count());
+        assertEquals(20.0, meterRegistry.get("indexer.event.receipt.lag").tag("listener", "balance").timer().totalTime(TimeUnit.SECONDS));
+        assertEquals(0.0, gauge("indexer.events.pending", "balance"));
+    }
+
+    @Test
+    void testIndexedSlotFollowsTheTip() {
+        // When
+        metrics.eventReceived(IndexerMetrics.Listener.REGISTRY, SLOT).finish();
+
+        // Then
+        assertEquals(SLOT, meterRegistry.get("indexer.slot.indexed").gauge().value());
+        assertEquals(SLOT + 20, meterRegistry.get("indexer.slot.tip").gauge().value());
+        assertEquals(20.0, meterRegistry.get("indexer.slot.lag").gauge().value());
+    }
+
+    private double counter(String name, String outcome) {
+        return meterRegistry.get(name).tag("listener", "balance").tag("outcome", outcome).counter().count();
+    }
+
+    private double gauge(String name, String listener) {
+        return meterRegistry.get(name).tag("listener", listener).gauge().value();
+    }
+
+    private Timer stageTimer(String stage) {
+        return meterRegistry.get("indexer.stage.duration").tag("listener", "balance").tag("stage", stage).timer();
+    }
+}
@@ -7,6 +7,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,11 +19,16 @@ import static org.junit.jupiter.api.Assertions.*;
         "spring.jpa.hibernate.ddl-auto=create-drop",
         "spring.flyway.enabled=false"
 })
+// Saves commit on their own, as the cache follows commits
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
 class ProtocolParamsServiceTest {
 
     @Autowired
     private ProtocolParamsRepository repository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private ProtocolParamsService service;
 
     @BeforeEach
@@ -121,6 +130,23 @@ class ProtocolParamsServiceTest {
         assertEquals(1, service.getAll().size());
     }
 
+    @Test
+    void testRolledBackVersionIsNotCached() {
+        // Given
+        service.init();
+
+        // When - the block transaction saving the version fails later on
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.save(createEntity("txHash1", 100L, 1000L));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertFalse(service.existsByTxHash("txHash1"));
+        assertEquals(0, service.count());
+        assertEquals(0, repository.count());
+    }
+
     @Test
     void testGetAllOrderedBySlot() {
         // Given
@@ -0,0 +1,124 @@
+package org.cardanofoundation.cip113.service;
+
+import com.bloxbean.cardano.yaci.store.events.EventMetadata;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxo;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
+import com.bloxbean.cardano.yaci.store.utxo.domain.TxInputOutput;
+import org.cardanofoundation.cip113.model.bootstrap.ProtocolBootstrapParams;
+import org.cardanofoundation.cip113.model.bootstrap.TxInput;
+import org.cardanofoundation.cip113.repository.ReferenceScriptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class ReferenceScriptServiceTest {
+
+    private static final String DEPLOYMENT_ADDRESS = "addr_test1_deployment";
+
+    private static final String SCRIPT_HASH = "5c".repeat(28);
+
+    private static final ProtocolBootstrapParams BOOTSTRAP_PARAMS = new ProtocolBootstrapParams(null, null, null, null,
+            null, null, null, null, "b".repeat(64));
+
+    @Autowired
+    private ReferenceScriptRepository referenceScriptRepository;
+
+    private ReferenceScriptService referenceScriptService;
+
+    @BeforeEach
+    void setUp() {
+        referenceScriptRepository.deleteAll();
+        referenceScriptService = new ReferenceScriptService(referenceScriptRepository);
+        ReflectionTestUtils.setField(referenceScriptService, "enabled", true);
+        ReflectionTestUtils.setField(referenceScriptService, "deploymentAddress", DEPLOYMENT_ADDRESS);
+        referenceScriptService.init();
+    }
+
+    @Test
+    void testDeployedScriptIsIndexed() {
+        // When
+        referenceScriptService.processEvent(event(100L, List.of(), List.of(
+                output("d1".repeat(32), 0, DEPLOYMENT_ADDRESS, SCRIPT_HASH),
+                output("d1".repeat(32), 1, "addr_test1_other", "6d".repeat(28)))));
+
+        // Then - only the output at the deployment address counts
+        assertEquals(Optional.of(new TxInput("d1".repeat(32), 0)),
+                referenceScriptService.findReferenceInput(BOOTSTRAP_PARAMS, SCRIPT_HASH));
+        assertEquals(1, referenceScriptRepository.count());
+    }
+
+    @Test
+    void testSpentScriptIsDropped() {
+        // Given
+        referenceScriptService.processEvent(event(100L, List.of(), List.of(output("d1".repeat(32), 0, DEPLOYMENT_ADDRESS, SCRIPT_HASH))));
+
+        // When
+        referenceScriptService.processEvent(event(200L, List.of(input("d1".repeat(32), 0)), List.of()));
+
+        // Then
+        assertTrue(referenceScriptService.findReferenceInput(BOOTSTRAP_PARAMS, SCRIPT_HASH).isEmpty());
+        assertEquals(0, referenceScriptRepository.count());
+    }
+
+    @Test
+    void testRedeployedScriptPointsToTheNewOutput() {
+        // Given
+        referenceScriptService.processEvent(event(100L, List.of(), List.of(output("d1".repeat(32), 0, DEPLOYMENT_ADDRESS, SCRIPT_HASH))));
+
+        // When
+        referenceScriptService.processEvent(event(200L, List.of(), List.of(output("d2".repeat(32), 0, DEPLOYMENT_ADDRESS, SCRIPT_HASH))));
+
+        // Then
+        assertEquals(Optional.of(new TxInput("d2".repeat(32), 0)),
+                referenceScriptService.findReferenceInput(BOOTSTRAP_PARAMS, SCRIPT_HASH));
+        assertEquals(1, referenceScriptRepository.count());
+    }
+
+    @Test
+    void testRollbackRemovesLaterDeployments() {
+        // Given
+        var otherScriptHash = "6d".repeat(28);
+        referenceScriptService.processEvent(event(100L, List.of(), List.of(output("d1".repeat(32), 0, DEPLOYMENT_ADDRESS, SCRIPT_HASH))));
+        referenceScriptService.processEvent(event(200L, List.of(), List.of(output("d2".repeat(32), 0, DEPLOYMENT_ADDRESS, otherScriptHash))));
+
+        // When
+        referenceScriptService.rollbackTo(150L);
+
+        // Then
+        assertTrue(referenceScriptService.findReferenceInput(BOOTSTRAP_PARAMS, otherScriptHash).isEmpty());
+        assertEquals(Optional.of(new TxInput("d1".repeat(32), 0)),
+                referenceScriptService.findReferenceInput(BOOTSTRAP_PARAMS, SCRIPT_HASH));
+        assertEquals(1, referenceScriptRepository.count());
+    }
+
+    private static AddressUtxoEvent event(long slot, List<AddressUtxo> inputs, List<AddressUtxo> outputs) {
+        return new AddressUtxoEvent(EventMetadata.builder().slot(slot).block(slot / 10).build(),
+                List.of(new TxInputOutput("e".repeat(64), inputs, outputs)));
+    }
+
+    private static AddressUtxo input(String txHash, int outputIndex) {
+        return AddressUtxo.builder().txHash(txHash).outputIndex(outputIndex).build();
+    }
+
+    private static AddressUtxo output(String txHash, int outputIndex, String ownerAddr, String referenceScriptHash) {
+        return AddressUtxo.builder()
+                .txHash(txHash)
+                .outputIndex(outputIndex)
+                .ownerAddr(ownerAddr)
+                .referenceScriptHash(referenceScriptHash)
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
 import org.cardanofoundation.cip113.entity.RegistryNodeEntity;
 import org.cardanofoundation.cip113.repository.ProtocolParamsRepository;
 import org.cardanofoundation.cip113.repository.RegistryNodeRepository;
+import org.cardanofoundation.cip113.util.KeyCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -213,6 +214,36 @@ class RegistryServiceTest {
         assertEquals(2, allTokens.size());
     }
 
+    @Test
+    void testGetAllNodesPagesByKeyIncludingSentinel() {
+        // Given - sentinel plus three tokens
+        registryService.upsert(createNode("", "aaa"));
+        registryService.upsert(createNode("aaa", "bbb"));
+        registryService.upsert(createNode("bbb", "ccc"));
+        registryService.upsert(createNode("ccc", "ffff"));
+
+        // When - first page reads one extra node, which starts the second page
+        List<RegistryNodeEntity> firstPage = registryService.getAllNodes(protocolParams.getId(), KeyCursor.START, 3);
+        List<RegistryNodeEntity> secondPage = registryService.getAllNodes(protocolParams.getId(), new KeyCursor(firstPage.getLast().getKey()), 3);
+
+        // Then
+        assertEquals(List.of("", "aaa", "bbb"), firstPage.stream().map(RegistryNodeEntity::getKey).toList());
+        assertEquals(List.of("bbb", "ccc"), secondPage.stream().map(RegistryNodeEntity::getKey).toList());
+    }
+
+    @Test
+    void testGetTokensExcludesSentinel() {
+        // Given
+        registryService.upsert(createNode("", "aaa"));
+        registryService.upsert(createNode("aaa", "ffff"));
+
+        // When
+        List<RegistryNodeEntity> tokens = registryService.getTokens(null, KeyCursor.START, 10);
+
+        // Then
+        assertEquals(List.of("aaa"), tokens.stream().map(RegistryNodeEntity::getKey).toList());
+    }
+
     private RegistryNodeEntity createNode(String key, String next) {
         return createNodeForProtocolParams(key, next, protocolParams);
     }
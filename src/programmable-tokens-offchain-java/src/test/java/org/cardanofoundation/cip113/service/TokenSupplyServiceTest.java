@@ -0,0 +1,95 @@
+package org.cardanofoundation.cip113.service;
+
+import org.cardanofoundation.cip113.entity.TokenSupplyEntity;
+import org.cardanofoundation.cip113.repository.TokenSupplyRepository;
+import org.cardanofoundation.cip113.util.SlotCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class TokenSupplyServiceTest {
+
+    private static final String UNIT = "a1".repeat(28) + "746f6b656e";
+
+    @Autowired
+    private TokenSupplyRepository repository;
+
+    private TokenSupplyService service;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        service = new TokenSupplyService(repository);
+    }
+
+    @Test
+    void testMintsAndBurnsKeepRunningSupply() {
+        // Given
+        service.apply("tx1", 100L, 10L, Map.of(UNIT, BigInteger.valueOf(1000)));
+        service.apply("tx2", 200L, 20L, Map.of(UNIT, BigInteger.valueOf(-300)));
+        service.apply("tx3", 300L, 30L, Map.of(UNIT, BigInteger.valueOf(50)));
+
+        // When
+        TokenSupplyEntity current = service.getCurrentSupply(UNIT).orElseThrow();
+
+        // Then
+        assertEquals(BigInteger.valueOf(750), current.getSupply());
+        assertEquals("tx3", current.getTxHash());
+        assertEquals("a1".repeat(28), current.getPolicyId());
+    }
+
+    @Test
+    void testGetSupplyAtSlot() {
+        // Given
+        service.apply("tx1", 100L, 10L, Map.of(UNIT, BigInteger.valueOf(1000)));
+        service.apply("tx2", 200L, 20L, Map.of(UNIT, BigInteger.valueOf(-300)));
+
+        // When / Then
+        assertTrue(service.getSupplyAtSlot(UNIT, 99L).isEmpty());
+        assertEquals(BigInteger.valueOf(1000), service.getSupplyAtSlot(UNIT, 199L).orElseThrow().getSupply());
+        assertEquals(BigInteger.valueOf(700), service.getSupplyAtSlot(UNIT, 200L).orElseThrow().getSupply());
+    }
+
+    @Test
+    void testReplayedTransactionIsIgnored() {
+        // Given
+        service.apply("tx1", 100L, 10L, Map.of(UNIT, BigInteger.valueOf(1000)));
+
+        // When
+        service.apply("tx1", 100L, 10L, Map.of(UNIT, BigInteger.valueOf(1000)));
+
+        // Then
+        assertEquals(1, repository.count());
+        assertEquals(BigInteger.valueOf(1000), service.getCurrentSupply(UNIT).orElseThrow().getSupply());
+    }
+
+    @Test
+    void testHistoryPagesNewestFirst() {
+        // Given
+        service.apply("tx1", 100L, 10L, Map.of(UNIT, BigInteger.valueOf(1000)));
+        service.apply("tx2", 200L, 20L, Map.of(UNIT, BigInteger.valueOf(-300)));
+        service.apply("tx3", 300L, 30L, Map.of(UNIT, BigInteger.valueOf(50)));
+
+        // When
+        List<TokenSupplyEntity> firstPage = service.getHistory(UNIT, SlotCursor.START, 2);
+        TokenSupplyEntity last = firstPage.getLast();
+        List<TokenSupplyEntity> secondPage = service.getHistory(UNIT, new SlotCursor(last.getSlot(), last.getId()), 2);
+
+        // Then
+        assertEquals(List.of("tx3", "tx2"), firstPage.stream().map(TokenSupplyEntity::getTxHash).toList());
+        assertEquals(List.of("tx1"), secondPage.stream().map(TokenSupplyEntity::getTxHash).toList());
+    }
+}
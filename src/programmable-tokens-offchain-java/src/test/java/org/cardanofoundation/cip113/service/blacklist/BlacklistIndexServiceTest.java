@@ -0,0 +1,132 @@
+package org.cardanofoundation.cip113.service.blacklist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cardanofoundation.cip113.entity.BlacklistNodeEntity;
+import org.cardanofoundation.cip113.model.onchain.BlacklistNodeParser;
+import org.cardanofoundation.cip113.repository.BlacklistNodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class BlacklistIndexServiceTest {
+
+    private static final String POLICY_ID = "a1".repeat(28);
+
+    private static final String END = "ff".repeat(30);
+
+    private static final String KEY_1 = "11".repeat(28);
+
+    private static final String KEY_2 = "55".repeat(28);
+
+    @Autowired
+    private BlacklistNodeRepository blacklistNodeRepository;
+
+    private BlacklistIndexService blacklistIndexService;
+
+    @BeforeEach
+    void setUp() {
+        blacklistNodeRepository.deleteAll();
+
+        // origin -> KEY_1 -> KEY_2 -> end
+        blacklistNodeRepository.saveAll(List.of(
+                node("", KEY_1, 0),
+                node(KEY_1, KEY_2, 1),
+                node(KEY_2, END, 2)));
+
+        blacklistIndexService = new BlacklistIndexService(blacklistNodeRepository, new BlacklistNodeParser(new ObjectMapper()));
+        ReflectionTestUtils.setField(blacklistIndexService, "policyIds", List.of(POLICY_ID));
+        blacklistIndexService.init();
+    }
+
+    @Test
+    void testCoveringNodeOfNonBlacklistedCredential() {
+        // Given
+        var credential = "33".repeat(28);
+
+        // When
+        var coveringNode = blacklistIndexService.findCoveringNode(POLICY_ID, credential);
+
+        // Then
+        assertTrue(coveringNode.isPresent());
+        assertEquals(KEY_1, coveringNode.get().getKey());
+        assertEquals(KEY_2, coveringNode.get().getNext());
+    }
+
+    @Test
+    void testCoveringNodeBeforeFirstKeyIsOrigin() {
+        var coveringNode = blacklistIndexService.findCoveringNode(POLICY_ID, "00".repeat(28));
+
+        assertTrue(coveringNode.isPresent());
+        assertEquals("", coveringNode.get().getKey());
+    }
+
+    @Test
+    void testNoCoveringNodeForBlacklistedCredential() {
+        assertTrue(blacklistIndexService.findCoveringNode(POLICY_ID, KEY_2).isEmpty());
+        assertTrue(blacklistIndexService.isBlacklisted(POLICY_ID, KEY_2));
+    }
+
+    @Test
+    void testBulkCheck() {
+        // When
+        var blacklisted = blacklistIndexService.findBlacklisted(POLICY_ID, List.of(KEY_1, "33".repeat(28), KEY_2));
+
+        // Then
+        assertEquals(Set.of(KEY_1, KEY_2), blacklisted);
+    }
+
+    @Test
+    void testUppercaseCredentialIsNormalized() {
+        assertTrue(blacklistIndexService.isBlacklisted(POLICY_ID, KEY_2.toUpperCase()));
+        assertEquals(Set.of(KEY_1), blacklistIndexService.findBlacklisted(POLICY_ID, List.of(KEY_1.toUpperCase())));
+        assertEquals(KEY_1, blacklistIndexService.findCoveringNode(POLICY_ID, "3A".repeat(28)).orElseThrow().getKey());
+    }
+
+    @Test
+    void testMalformedCredentialIsRejected() {
+        // The origin key, a short hash and non hex characters
+        assertThrows(IllegalArgumentException.class, () -> blacklistIndexService.findBlacklisted(POLICY_ID, List.of(KEY_1, "")));
+        assertThrows(IllegalArgumentException.class, () -> blacklistIndexService.findCoveringNode(POLICY_ID, "33".repeat(27)));
+        assertThrows(IllegalArgumentException.class, () -> blacklistIndexService.isBlacklisted(POLICY_ID, "zz".repeat(28)));
+    }
+
+    @Test
+    void testPreviousNodeForRemoval() {
+        var previousNode = blacklistIndexService.findPreviousNode(POLICY_ID, KEY_2);
+
+        assertTrue(previousNode.isPresent());
+        assertEquals(KEY_1, previousNode.get().getKey());
+        assertTrue(blacklistIndexService.findPreviousNode(POLICY_ID, "33".repeat(28)).isEmpty());
+    }
+
+    @Test
+    void testUnknownPolicy() {
+        assertFalse(blacklistIndexService.isIndexed("b2".repeat(28)));
+        assertTrue(blacklistIndexService.findCoveringNode("b2".repeat(28), KEY_1).isEmpty());
+    }
+
+    private static BlacklistNodeEntity node(String key, String next, int outputIndex) {
+        return BlacklistNodeEntity.builder()
+                .policyId(POLICY_ID)
+                .key(key)
+                .next(next)
+                .txHash("d".repeat(64))
+                .outputIndex(outputIndex)
+                .ownerAddress("addr_test1wz")
+                .lastSlot(1000L)
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package org.cardanofoundation.cip113.service.block;
+
+import com.bloxbean.cardano.client.address.AddressProvider;
+import com.bloxbean.cardano.client.address.Credential;
+import com.bloxbean.cardano.client.common.model.Networks;
+import com.bloxbean.cardano.yaci.core.model.Amount;
+import com.bloxbean.cardano.yaci.core.model.TransactionBody;
+import com.bloxbean.cardano.yaci.core.model.TransactionInput;
+import com.bloxbean.cardano.yaci.core.model.TransactionOutput;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import com.bloxbean.cardano.yaci.store.common.domain.Amt;
+import com.bloxbean.cardano.yaci.store.events.EventMetadata;
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.AddressUtxoEntity;
+import com.bloxbean.cardano.yaci.store.utxo.storage.impl.model.UtxoId;
+import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassifiedBlockTest {
+
+    private static final String PROG_LOGIC_SCRIPT_HASH = "61a2cbe362f27305434a46a9e7f2e5c1bfb65be1ff1300c2b980fa24";
+
+    private static final String REGISTRY_POLICY_ID = "dcd843423d12fbcb7fb48d840a467606613b83370edbbbd06149f0b2";
+
+    private static final String KEY_HASH = "53fdd464ebef4d4dab8e89d49230801f70cd5d835db4f0fe754816d9";
+
+    private static final String PROTOCOL_PARAMS_TX_HASH = "a".repeat(64);
+
+    private static final String PROGRAMMABLE_ADDRESS = AddressProvider.getBaseAddress(Credential.fromScript(PROG_LOGIC_SCRIPT_HASH),
+            Credential.fromKey(KEY_HASH), Networks.preview()).toBech32();
+
+    private static final String WALLET_ADDRESS = AddressProvider.getBaseAddress(Credential.fromKey(KEY_HASH),
+            Credential.fromKey(KEY_HASH), Networks.preview()).toBech32();
+
+    private static final ProtocolParamsEntity PROTOCOL_PARAMS = ProtocolParamsEntity.builder()
+            .id(1L)
+            .registryNodePolicyId(REGISTRY_POLICY_ID)
+            .progLogicScriptHash(PROG_LOGIC_SCRIPT_HASH)
+            .txHash(PROTOCOL_PARAMS_TX_HASH)
+            .slot(1L)
+            .blockHeight(1L)
+            .build();
+
+    private static final ClassifiedBlock.Scripts SCRIPTS = ClassifiedBlock.Scripts.of(List.of(PROTOCOL_PARAMS),
+            List.of(PROTOCOL_PARAMS_TX_HASH));
+
+    @Test
+    void testInputsOfTheSameBlockAreResolvedFromTheBlock() {
+        // Given - the second transaction spends the programmable output of the first one
+        var first = transaction("b".repeat(64), List.of(input("e".repeat(64), 0)),
+                List.of(output(PROGRAMMABLE_ADDRESS, 5_000_000L)));
+        var second = transaction("c".repeat(64), List.of(input("b".repeat(64), 0)),
+                List.of(output(WALLET_ADDRESS, 4_800_000L)));
+        List<UtxoId> lookedUp = new ArrayList<>();
+
+        // When
+        var block = ClassifiedBlock.classify(event(first, second), SCRIPTS, ids -> {
+            lookedUp.addAll(ids);
+            return List.of();
+        });
+
+        // Then - one lookup, for the input of an earlier block only
+        assertEquals(List.of(new UtxoId("e".repeat(64), 0)), lookedUp);
+        assertEquals(1, block.unresolvedInputs());
+        assertEquals(2, block.inputs());
+        assertEquals(2, block.outputs());
+
+        var spend = block.transactions().get(1);
+        assertEquals(1, spend.inputs().size());
+        assertEquals(PROGRAMMABLE_ADDRESS, spend.inputs().getFirst().address());
+        assertEquals(BigInteger.valueOf(5_000_000L), spend.inputs().getFirst().value().getCoin());
+        assertTrue(spend.outputs().isEmpty());
+    }
+
+    @Test
+    void testStoredInputsAreValuedAndFiltered() {
+        // Given
+        var transaction = transaction("b".repeat(64), List.of(input("e".repeat(64), 0), input("e".repeat(64), 1)),
+                List.of(output(WALLET_ADDRESS, 1_000_000L)));
+        var stored = List.of(stored("e".repeat(64), 0, PROGRAMMABLE_ADDRESS, 3_000_000L),
+                stored("e".repeat(64), 1, WALLET_ADDRESS, 2_000_000L));
+
+        // When
+        var block = ClassifiedBlock.classify(event(transaction), SCRIPTS, ids -> stored);
+
+        // Then - only the programmable input counts, both were found
+        var inputs = block.transactions().getFirst().inputs();
+        assertEquals(1, inputs.size());
+        assertEquals(BigInteger.valueOf(3_000_000L), inputs.getFirst().value().getCoin());
+        assertEquals(KEY_HASH, inputs.getFirst().components().getStakeKeyHash());
+        assertEquals(0, block.unresolvedInputs());
+    }
+
+    @Test
+    void testProtocolParamsAndRegistryOutputsAreFound() {
+        // Given
+        var protocolParamsOutput = TransactionOutput.builder()
+                .address(WALLET_ADDRESS)
+                .amounts(List.of(lovelace(2_000_000L), asset("f".repeat(56), "ProtocolParams")))
+                .inlineDatum("d8799f40ff")
+                .build();
+        var registryOutput = TransactionOutput.builder()
+                .address(WALLET_ADDRESS)
+                .amounts(List.of(lovelace(2_000_000L), asset(REGISTRY_POLICY_ID, "node")))
+                .inlineDatum("d8799f41aaff")
+                .build();
+        var withoutDatum = TransactionOutput.builder()
+                .address(WALLET_ADDRESS)
+                .amounts(List.of(lovelace(2_000_000L), asset(REGISTRY_POLICY_ID, "node")))
+                .build();
+
+        // When
+        var block = ClassifiedBlock.classify(event(
+                transaction(PROTOCOL_PARAMS_TX_HASH, List.of(), List.of(protocolParamsOutput)),
+                transaction("b".repeat(64), List.of(), List.of(registryOutput, withoutDatum))), SCRIPTS, ids -> List.of());
+
+        // Then
+        assertEquals(List.of(new ClassifiedBlock.ProtocolParamsOutput(PROTOCOL_PARAMS_TX_HASH, "d8799f40ff")),
+                block.protocolParamsOutputs());
+        assertEquals(List.of(new ClassifiedBlock.RegistryOutput("b".repeat(64), "d8799f41aaff", PROTOCOL_PARAMS)),
+                block.registryOutputs());
+    }
+
+    @Test
+    void testNothingIsLookedUpBeforeTheFirstProtocolParams() {
+        // Given
+        var scripts = ClassifiedBlock.Scripts.of(List.of(), List.of(PROTOCOL_PARAMS_TX_HASH));
+        var transaction = transaction("b".repeat(64), List.of(input("e".repeat(64), 0)),
+                List.of(output(PROGRAMMABLE_ADDRESS, 1_000_000L)));
+
+        // When
+        var block = ClassifiedBlock.classify(event(transaction), scripts, ids -> fail("no lookup expected"));
+
+        // Then
+        assertTrue(block.transactions().getFirst().outputs().isEmpty());
+        assertEquals(0, block.unresolvedInputs());
+    }
+
+    private static TransactionEvent event(Transaction... transactions) {
+        return TransactionEvent.builder()
+                .metadata(EventMetadata.builder()
+                        .slot(100L)
+                        .block(10L)
+                        .blockHash("0".repeat(64))
+                        .build())
+                .transactions(List.of(transactions))
+                .build();
+    }
+
+    private static Transaction transaction(String txHash, List<TransactionInput> inputs, List<TransactionOutput> outputs) {
+        return Transaction.builder()
+                .txHash(txHash)
+                .body(TransactionBody.builder()
+                        .txHash(txHash)
+                        .inputs(new LinkedHashSet<>(inputs))
+                        .outputs(outputs)
+                        .mint(List.of())
+                        .build())
+                .build();
+    }
+
+    private static TransactionInput input(String txHash, int index) {
+        return new TransactionInput(txHash, index);
+    }
+
+    private static TransactionOutput output(String address, long lovelace) {
+        return TransactionOutput.builder()
+                .address(address)
+                .amounts(List.of(lovelace(lovelace)))
+                .build();
+    }
+
+    private static Amount lovelace(long quantity) {
+        return Amount.builder()
+                .unit("lovelace")
+                .quantity(BigInteger.valueOf(quantity))
+                .build();
+    }
+
+    private static Amount asset(String policyId, String assetName) {
+        return Amount.builder()
+                .unit(policyId + "." + assetName)
+                .policyId(policyId)
+                .assetName(assetName)
+                .quantity(BigInteger.ONE)
+                .build();
+    }
+
+    private static AddressUtxoEntity stored(String txHash, int outputIndex, String address, long lovelace) {
+        return AddressUtxoEntity.builder()
+                .txHash(txHash)
+                .outputIndex(outputIndex)
+                .ownerAddr(address)
+                .lovelaceAmount(BigInteger.valueOf(lovelace))
+                .amounts(List.of(Amt.builder()
+                        .unit("lovelace")
+                        .assetName("lovelace")
+                        .quantity(BigInteger.valueOf(lovelace))
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package org.cardanofoundation.cip113.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cardanofoundation.cip113.entity.BalanceLogEntity;
+import org.cardanofoundation.cip113.model.ExportFormat;
+import org.cardanofoundation.cip113.model.TransactionType;
+import org.cardanofoundation.cip113.repository.BalanceLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class BalanceHistoryExporterTest {
+
+    private static final String UNIT = "a1".repeat(28) + "746f6b656e";
+
+    @Autowired
+    private BalanceLogRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BalanceHistoryExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        repository.save(entry("addr1", "tx1", 100L, "{\"lovelace\":\"1000\",\"" + UNIT + "\":\"5\"}", "{\"" + UNIT + "\":\"+5\"}"));
+        repository.save(entry("addr1", "tx2", 200L, "{\"lovelace\":\"1000\"}", "{\"" + UNIT + "\":\"-5\"}"));
+        repository.save(entry("addr1", "tx3", 300L, "{\"lovelace\":\"3000\"}", null));
+        repository.save(entry("addr2", "tx4", 150L, "{\"lovelace\":\"4000\"}", "{\"lovelace\":\"+4000\"}"));
+        repository.flush();
+
+        exporter = new BalanceHistoryExporter(jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(exporter, "fetchSize", 2);
+    }
+
+    @Test
+    void testNdjsonExportOfAddressWithinSlotRange() throws Exception {
+        // Given
+        var query = new BalanceHistoryExportQuery("addr1", null, null, null, 150L, 300L);
+        var out = new ByteArrayOutputStream();
+
+        // When
+        long count = exporter.export(query, ExportFormat.NDJSON, out);
+
+        // Then - one JSON object per line, balances embedded as objects
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        var objectMapper = new ObjectMapper();
+        var first = objectMapper.readTree(lines[0]);
+        assertEquals("tx2", first.get("txHash").asText());
+        assertEquals("1000", first.get("balance").get("lovelace").asText());
+        assertEquals("-5", first.get("balanceDiff").get(UNIT).asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("balanceDiff").isNull());
+    }
+
+    @Test
+    void testCsvExportByUnit() {
+        // Given - rows of the stake key holding the unit or moving it
+        var query = new BalanceHistoryExportQuery(null, "stakeKey456", null, UNIT, 0L, Long.MAX_VALUE);
+        var out = new ByteArrayOutputStream();
+
+        // When
+        long count = exporter.export(query, ExportFormat.CSV, out);
+
+        // Then
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertTrue(lines[0].startsWith("id,address,tx_hash"));
+        assertTrue(lines[1].contains(",tx1,100,"));
+        assertTrue(lines[2].contains(",tx2,200,"));
+        assertTrue(lines[1].contains("\"{\"\"lovelace\"\":\"\"1000\"\""));
+    }
+
+    @Test
+    void testExportWithoutSelectorIsRejected() {
+        var query = new BalanceHistoryExportQuery(null, null, null, null, 0L, Long.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> exporter.export(query, ExportFormat.NDJSON, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testUnitOnlyExportIsRejected() {
+        var query = new BalanceHistoryExportQuery(null, null, null, UNIT, 0L, Long.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> exporter.export(query, ExportFormat.NDJSON, new ByteArrayOutputStream()));
+    }
+
+    private static BalanceLogEntity entry(String address, String txHash, long slot, String balance, String balanceDiff) {
+        return BalanceLogEntity.builder()
+                .address(address)
+                .paymentScriptHash("paymentScript123")
+                .stakeKeyHash("stakeKey456")
+                .txHash(txHash)
+                .slot(slot)
+                .blockHeight(slot)
+                .balance(balance)
+                .balanceDiff(balanceDiff)
+                .transactionType(TransactionType.TRANSFER)
+                .build();
+    }
+}
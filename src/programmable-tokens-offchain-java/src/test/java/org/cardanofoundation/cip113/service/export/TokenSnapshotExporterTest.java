@@ -0,0 +1,43 @@
+package org.cardanofoundation.cip113.service.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenSnapshotExporterTest {
+
+    @Test
+    void testAddressRangesAreDisjointAndCoverEverything() {
+        // Given - a histogram of 9 bounds
+        var bounds = List.of("addr_a", "addr_b", "addr_c", "addr_d", "addr_e", "addr_f", "addr_g", "addr_h", "addr_i");
+
+        // When
+        var ranges = TokenSnapshotExporter.addressRanges(bounds, 4);
+
+        // Then - open ends, each range starts where the previous one stops
+        assertEquals(List.of(
+                new TokenSnapshotExporter.AddressRange(null, "addr_c"),
+                new TokenSnapshotExporter.AddressRange("addr_c", "addr_e"),
+                new TokenSnapshotExporter.AddressRange("addr_e", "addr_g"),
+                new TokenSnapshotExporter.AddressRange("addr_g", null)), ranges);
+    }
+
+    @Test
+    void testWithoutStatisticsTheTableIsOneRange() {
+        assertEquals(List.of(new TokenSnapshotExporter.AddressRange(null, null)),
+                TokenSnapshotExporter.addressRanges(List.of(), 4));
+    }
+
+    @Test
+    void testSmallHistogramYieldsFewerRanges() {
+        // Given - fewer bounds than partitions, duplicate split points collapse
+        var ranges = TokenSnapshotExporter.addressRanges(List.of("addr_a", "addr_b", "addr_c"), 8);
+
+        // Then
+        assertEquals(3, ranges.size());
+        assertNull(ranges.getFirst().from());
+        assertNull(ranges.getLast().to());
+    }
+}
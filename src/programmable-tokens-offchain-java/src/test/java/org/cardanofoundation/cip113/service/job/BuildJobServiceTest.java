@@ -0,0 +1,132 @@
+package org.cardanofoundation.cip113.service.job;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.cardanofoundation.cip113.model.BuildJobStatus;
+import org.cardanofoundation.cip113.model.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildJobServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BuildJobService buildJobService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buildJobService = new BuildJobService(Executors.newVirtualThreadPerTaskExecutor(), 1, 3,
+                Duration.ofMinutes(10), Clock.systemUTC(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        buildJobService.shutdown();
+    }
+
+    @Test
+    void testJobCompletes() {
+        // When
+        var job = buildJobService.submit(TransactionType.MINT, "wallet-a", () -> new BuildJobResult("84a4", null, true, null));
+        var response = job.completion().block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(response);
+        assertEquals(BuildJobStatus.SUCCEEDED, response.status());
+        assertEquals("84a4", response.unsignedCborTx());
+        assertTrue(buildJobService.findJob(job.getJobId()).isPresent());
+        assertEquals(1, meterRegistry.get("tx.build.duration").timer().count());
+    }
+
+    @Test
+    void testFailingBuildIsReported() {
+        var job = buildJobService.submit(TransactionType.TRANSFER, "wallet-a", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        var response = job.completion().block(Duration.ofSeconds(5));
+
+        assertNotNull(response);
+        assertEquals(BuildJobStatus.FAILED, response.status());
+        assertEquals("boom", response.error());
+    }
+
+    @Test
+    void testWalletsAreServedRoundRobin() throws InterruptedException {
+        // Given - a single worker busy with the first job of wallet A
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var order = Collections.synchronizedList(new ArrayList<String>());
+
+        buildJobService.submit(TransactionType.TRANSFER, "wallet-a", blocking("a1", order, started, release));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        var jobs = List.of(
+                buildJobService.submit(TransactionType.TRANSFER, "wallet-a", recording("a2", order)),
+                buildJobService.submit(TransactionType.TRANSFER, "wallet-a", recording("a3", order)),
+                buildJobService.submit(TransactionType.TRANSFER, "wallet-b", recording("b1", order)));
+        assertEquals(3, buildJobService.getQueued());
+
+        // When
+        release.countDown();
+        jobs.forEach(job -> job.completion().block(Duration.ofSeconds(5)));
+
+        // Then - wallet B does not wait behind the whole backlog of wallet A
+        assertEquals(List.of("a1", "a2", "b1", "a3"), order);
+    }
+
+    @Test
+    void testQueueLimitRejectsSubmissions() throws InterruptedException {
+        // Given - worker busy and queue full
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var order = Collections.synchronizedList(new ArrayList<String>());
+        buildJobService.submit(TransactionType.MINT, "wallet-a", blocking("a1", order, started, release));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            buildJobService.submit(TransactionType.MINT, "wallet-a", recording("queued-" + i, order));
+        }
+
+        // When / Then
+        assertThrows(BuildQueueFullException.class,
+                () -> buildJobService.submit(TransactionType.MINT, "wallet-b", recording("rejected", order)));
+        assertEquals(1.0, meterRegistry.get("tx.build.rejected").counter().count());
+        assertEquals(3.0, meterRegistry.get("tx.build.queue.depth").gauge().value());
+
+        release.countDown();
+    }
+
+    private static Supplier<BuildJobResult> recording(String name, List<String> order) {
+        return () -> {
+            order.add(name);
+            return new BuildJobResult(name, null, true, null);
+        };
+    }
+
+    private static Supplier<BuildJobResult> blocking(String name, List<String> order,
+                                                                        CountDownLatch started, CountDownLatch release) {
+        return () -> {
+            order.add(name);
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new BuildJobResult(name, null, true, null);
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package org.cardanofoundation.cip113.service.replay;
+
+import com.bloxbean.cardano.yaci.core.model.Amount;
+import com.bloxbean.cardano.yaci.core.model.TransactionBody;
+import com.bloxbean.cardano.yaci.core.model.TransactionInput;
+import com.bloxbean.cardano.yaci.core.model.TransactionOutput;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import com.bloxbean.cardano.yaci.store.common.domain.Amt;
+import com.bloxbean.cardano.yaci.store.events.EventMetadata;
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxo;
+import com.bloxbean.cardano.yaci.store.utxo.domain.AddressUtxoEvent;
+import com.bloxbean.cardano.yaci.store.utxo.domain.TxInputOutput;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChainEventCodecTest {
+
+    private static final String POLICY_ID = "a1".repeat(28);
+
+    private static final String DATUM = "d8799f581c2584c485b40f65f3659dc94d36ee4389c3f95349f41437cb9b422160ff";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecordingRoundTrip() throws Exception {
+        // Given - a block recorded by two writers, as across a restart
+        var file = tempDir.resolve("events.ndjson.gz");
+        try (var writer = ChainEventCodec.openWriter(file)) {
+            writer.write(ChainEventCodec.fromTransactionEvent(transactionEvent()));
+        }
+        try (var writer = ChainEventCodec.openWriter(file)) {
+            writer.write(ChainEventCodec.fromAddressUtxoEvent(addressUtxoEvent()));
+        }
+
+        // When
+        List<ChainEventRecord> records = new ArrayList<>();
+        long read = ChainEventCodec.read(file, records::add);
+
+        // Then
+        assertEquals(2, read);
+        var transactionEvent = ChainEventCodec.toTransactionEvent(records.get(0).tx());
+        assertEquals(100L, transactionEvent.getMetadata().getSlot());
+        assertEquals(10L, transactionEvent.getMetadata().getBlock());
+        var body = transactionEvent.getTransactions().getFirst().getBody();
+        assertEquals("tx1", transactionEvent.getTransactions().getFirst().getTxHash());
+        var input = body.getInputs().iterator().next();
+        assertEquals("tx0", input.getTransactionId());
+        assertEquals(3, input.getIndex());
+        assertEquals("addr_test1", body.getOutputs().getFirst().getAddress());
+        assertEquals(BigInteger.valueOf(5), body.getOutputs().getFirst().getAmounts().get(1).getQuantity());
+        assertEquals(BigInteger.valueOf(5), body.getMint().getFirst().getQuantity());
+        assertArrayEquals(new byte[]{0x74, 0x6f}, body.getMint().getFirst().getAssetNameBytes());
+
+        var utxoEvent = ChainEventCodec.toAddressUtxoEvent(records.get(1).utxo());
+        var output = utxoEvent.getTxInputOutputs().getFirst().getOutputs().getFirst();
+        assertEquals(10L, records.get(1).block());
+        assertEquals("tx1", output.getTxHash());
+        assertEquals(1, output.getOutputIndex());
+        assertEquals(DATUM, output.getInlineDatum());
+        assertEquals(POLICY_ID, output.getAmounts().getFirst().getPolicyId());
+        assertEquals("tx0", utxoEvent.getTxInputOutputs().getFirst().getInputs().getFirst().getTxHash());
+    }
+
+    @Test
+    void testLatencyPercentiles() {
+        // Given - 1ms to 100ms
+        var latencies = new ChainEventReplayer.Latencies();
+        for (int i = 100; i >= 1; i--) {
+            latencies.add(i * 1_000_000L);
+        }
+
+        // When
+        var summary = latencies.summary();
+
+        // Then
+        assertEquals(50.0, summary.p50());
+        assertEquals(90.0, summary.p90());
+        assertEquals(99.0, summary.p99());
+        assertEquals(100.0, summary.max());
+        assertEquals(0.0, new ChainEventReplayer.Latencies().summary().p99());
+    }
+
+    private static TransactionEvent transactionEvent() {
+        var body = TransactionBody.builder()
+                .txHash("tx1")
+                .inputs(Set.of(new TransactionInput("tx0", 3)))
+                .outputs(List.of(TransactionOutput.builder()
+                        .address("addr_test1")
+                        .amounts(List.of(
+                                Amount.builder().unit("lovelace").quantity(BigInteger.valueOf(2_000_000)).build(),
+                                Amount.builder().unit(POLICY_ID + "746f").policyId(POLICY_ID).assetName("to")
+                                        .assetNameBytes(new byte[]{0x74, 0x6f}).quantity(BigInteger.valueOf(5)).build()))
+                        .build()))
+                .mint(List.of(Amount.builder().unit(POLICY_ID + ".746f").policyId(POLICY_ID).assetName("to")
+                        .assetNameBytes(new byte[]{0x74, 0x6f}).quantity(BigInteger.valueOf(5)).build()))
+                .build();
+        return TransactionEvent.builder()
+                .metadata(EventMetadata.builder().slot(100L).block(10L).blockHash("block10").build())
+                .transactions(List.of(Transaction.builder().txHash("tx1").body(body).build()))
+                .build();
+    }
+
+    private static AddressUtxoEvent addressUtxoEvent() {
+        var output = AddressUtxo.builder()
+                .txHash("tx1")
+                .outputIndex(1)
+                .ownerAddr("addr_test1")
+                .amounts(List.of(Amt.builder().unit(POLICY_ID + "746f").policyId(POLICY_ID).assetName("to")
+                        .quantity(BigInteger.ONE).build()))
+                .inlineDatum(DATUM)
+                .build();
+        var input = AddressUtxo.builder().txHash("tx0").outputIndex(3).build();
+        return new AddressUtxoEvent(EventMetadata.builder().slot(100L).block(10L).blockHash("block10").build(),
+                List.of(new TxInputOutput("tx1", List.of(input), List.of(output))));
+    }
+}
@@ -0,0 +1,118 @@
+package org.cardanofoundation.cip113.service.stream;
+
+import org.cardanofoundation.cip113.model.BalanceChangeEvent;
+import org.cardanofoundation.cip113.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceChangeBroadcasterTest {
+
+    private static final String UNIT = "a1".repeat(28) + "746f6b656e";
+
+    private BalanceChangeBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new BalanceChangeBroadcaster(8, 2, 3600);
+    }
+
+    @Test
+    void testChangesReachAddressStakeKeyAndUnitSubscribers() {
+        // Given
+        var byAddress = subscribe(BalanceChangeBroadcaster.Filter.ADDRESS, "addr1");
+        var byStakeKey = subscribe(BalanceChangeBroadcaster.Filter.STAKE_KEY, "stake1");
+        var otherAddress = subscribe(BalanceChangeBroadcaster.Filter.ADDRESS, "addr2");
+
+        // When
+        broadcaster.publish(event("addr1", "stake1", "tx1"));
+
+        // Then
+        assertEquals(List.of("tx1"), txHashes(byAddress));
+        assertEquals(List.of("tx1"), txHashes(byStakeKey));
+        assertTrue(otherAddress.events.isEmpty());
+    }
+
+    @Test
+    void testSlowSubscriberIsToldToResync() {
+        // Given - a subscriber that does not read
+        var slow = subscribe(BalanceChangeBroadcaster.Filter.UNIT, UNIT, 0);
+
+        // When - more changes than its buffer holds, then the client catches up
+        for (int i = 0; i < 20; i++) {
+            broadcaster.publish(event("addr1", "stake1", "tx" + i));
+        }
+        slow.request(Long.MAX_VALUE);
+        broadcaster.publish(event("addr1", "stake1", "tx-last"));
+
+        // Then - some changes were dropped, a resync precedes the next change
+        var names = slow.events.stream().map(ServerSentEvent::event).toList();
+        assertTrue(names.stream().filter(BalanceChangeBroadcaster.CHANGE_EVENT::equals).count() < 21);
+        assertEquals(BalanceChangeBroadcaster.RESYNC_EVENT, names.get(names.size() - 2));
+        assertEquals("tx-last", slow.events.getLast().data().txHash());
+    }
+
+    @Test
+    void testSubscriberLimitAndRelease() {
+        // Given
+        var first = subscribe(BalanceChangeBroadcaster.Filter.ADDRESS, "addr1");
+        subscribe(BalanceChangeBroadcaster.Filter.ADDRESS, "addr2");
+
+        // When / Then
+        assertTrue(broadcaster.subscribe(BalanceChangeBroadcaster.Filter.ADDRESS, "addr3").isEmpty());
+
+        first.dispose();
+        assertEquals(1, broadcaster.size());
+        assertTrue(broadcaster.subscribe(BalanceChangeBroadcaster.Filter.ADDRESS, "addr3").isPresent());
+    }
+
+    private CollectingSubscriber subscribe(BalanceChangeBroadcaster.Filter filter, String key) {
+        return subscribe(filter, key, Long.MAX_VALUE);
+    }
+
+    private CollectingSubscriber subscribe(BalanceChangeBroadcaster.Filter filter, String key, long initialRequest) {
+        var subscriber = new CollectingSubscriber(initialRequest);
+        broadcaster.subscribe(filter, key).orElseThrow().subscribe(subscriber);
+        return subscriber;
+    }
+
+    private static List<String> txHashes(CollectingSubscriber subscriber) {
+        return subscriber.events.stream().map(sse -> sse.data().txHash()).toList();
+    }
+
+    private static BalanceChangeEvent event(String address, String stakeKeyHash, String txHash) {
+        return new BalanceChangeEvent(address, stakeKeyHash, txHash, 100L, 10L, TransactionType.TRANSFER,
+                Map.of(UNIT, "10"), Map.of(UNIT, "+10"));
+    }
+
+    private static class CollectingSubscriber extends BaseSubscriber<ServerSentEvent<BalanceChangeEvent>> {
+
+        private final long initialRequest;
+
+        private final List<ServerSentEvent<BalanceChangeEvent>> events = new CopyOnWriteArrayList<>();
+
+        CollectingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialRequest > 0) {
+                request(initialRequest);
+            }
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<BalanceChangeEvent> value) {
+            events.add(value);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.cardanofoundation.cip113.service.submit;
+
+import com.bloxbean.cardano.yaci.store.events.EventMetadata;
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.cardanofoundation.cip113.model.SubmittedTransactionStatus;
+import org.cardanofoundation.cip113.service.utxo.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InFlightTransactionTrackerTest {
+
+    private static final String TX_HASH = "b".repeat(64);
+
+    private MutableClock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private InFlightTransactionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new InFlightTransactionTracker(Duration.ofSeconds(60), Duration.ofSeconds(30), clock, meterRegistry);
+    }
+
+    @Test
+    void testIndexedBlockConfirmsTrackedTransaction() {
+        // Given
+        tracker.track(TX_HASH);
+        var completion = tracker.awaitIndexed(TX_HASH).orElseThrow();
+
+        // When
+        clock.advance(Duration.ofSeconds(20));
+        tracker.blockIndexed(transactionEvent(TX_HASH, 1000L, 42L));
+
+        // Then
+        assertTrue(completion.isDone());
+        var response = completion.join();
+        assertEquals(SubmittedTransactionStatus.CONFIRMED, response.status());
+        assertEquals(1000L, response.slot());
+        assertEquals(42L, response.blockHeight());
+        assertEquals(20_000L, response.latencyMs());
+        assertEquals(1, meterRegistry.get("tx.submit.confirmation.latency").timer().count());
+    }
+
+    @Test
+    void testUnknownTransactionsAreIgnored() {
+        // Given
+        tracker.track(TX_HASH);
+
+        // When
+        tracker.blockIndexed(transactionEvent("c".repeat(64), 1000L, 42L));
+
+        // Then
+        assertEquals(SubmittedTransactionStatus.SUBMITTED, tracker.find(TX_HASH).orElseThrow().status());
+        assertTrue(tracker.find("c".repeat(64)).isEmpty());
+    }
+
+    @Test
+    void testUnconfirmedTransactionExpiresAndIsEvictedAfterRetention() {
+        // Given
+        tracker.track(TX_HASH);
+        var completion = tracker.awaitIndexed(TX_HASH).orElseThrow();
+
+        // When - past the ttl
+        clock.advance(Duration.ofSeconds(61));
+        tracker.evict();
+
+        // Then - reported as expired and still pollable
+        assertEquals(SubmittedTransactionStatus.EXPIRED, completion.join().status());
+        assertTrue(tracker.find(TX_HASH).isPresent());
+
+        // When - past the retention
+        clock.advance(Duration.ofSeconds(31));
+        tracker.evict();
+
+        // Then
+        assertTrue(tracker.find(TX_HASH).isEmpty());
+    }
+
+    private static TransactionEvent transactionEvent(String txHash, long slot, long block) {
+        return TransactionEvent.builder()
+                .metadata(EventMetadata.builder().slot(slot).block(block).build())
+                .transactions(List.of(Transaction.builder().txHash(txHash).build()))
+                .build();
+    }
+}
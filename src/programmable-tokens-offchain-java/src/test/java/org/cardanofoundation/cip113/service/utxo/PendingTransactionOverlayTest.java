@@ -0,0 +1,123 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.client.account.Account;
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.common.model.Networks;
+import com.bloxbean.cardano.client.transaction.spec.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingTransactionOverlayTest {
+
+    private static final String CONFIRMED_TX_HASH = "a".repeat(64);
+
+    private final String walletAddress = new Account(Networks.preview()).baseAddress();
+
+    private final String recipientAddress = new Account(Networks.preview()).baseAddress();
+
+    private MutableClock clock;
+
+    private PendingTransactionOverlay overlay;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        overlay = new PendingTransactionOverlay(Duration.ofSeconds(60), clock);
+    }
+
+    @Test
+    void testPendingInputsAreHiddenAndOutputsAdded() {
+        // Given - wallet has two confirmed utxos, one of them spent by a pending tx
+        var confirmed = List.of(utxo(CONFIRMED_TX_HASH, 0, walletAddress), utxo(CONFIRMED_TX_HASH, 1, walletAddress));
+        var txHash = overlay.record(transaction(CONFIRMED_TX_HASH, 0, walletAddress, recipientAddress));
+
+        // When
+        var walletView = overlay.applyForAddress(walletAddress, confirmed);
+        var recipientView = overlay.applyForAddress(recipientAddress, List.of());
+
+        // Then - wallet sees the untouched utxo and its change output
+        assertEquals(2, walletView.size());
+        assertTrue(walletView.stream().anyMatch(utxo -> utxo.getTxHash().equals(CONFIRMED_TX_HASH) && utxo.getOutputIndex() == 1));
+        assertTrue(walletView.stream().anyMatch(utxo -> utxo.getTxHash().equals(txHash) && utxo.getOutputIndex() == 1));
+        assertFalse(walletView.stream().anyMatch(utxo -> utxo.getTxHash().equals(CONFIRMED_TX_HASH) && utxo.getOutputIndex() == 0));
+
+        assertEquals(1, recipientView.size());
+        assertEquals(txHash, recipientView.getFirst().getTxHash());
+    }
+
+    @Test
+    void testChainedPendingTransactions() {
+        // Given - a second tx spends the change output of the first one
+        var firstTxHash = overlay.record(transaction(CONFIRMED_TX_HASH, 0, walletAddress, recipientAddress));
+        var secondTxHash = overlay.record(transaction(firstTxHash, 1, walletAddress, recipientAddress));
+
+        // When
+        var walletView = overlay.applyForAddress(walletAddress, List.of(utxo(CONFIRMED_TX_HASH, 0, walletAddress)));
+
+        // Then - only the change of the second tx is left
+        assertEquals(1, walletView.size());
+        assertEquals(secondTxHash, walletView.getFirst().getTxHash());
+        assertEquals(2, overlay.size());
+    }
+
+    @Test
+    void testExpiredTransactionsAreEvicted() {
+        // Given
+        overlay.record(transaction(CONFIRMED_TX_HASH, 0, walletAddress, recipientAddress));
+
+        // When
+        clock.advance(Duration.ofSeconds(61));
+        overlay.evictExpired();
+
+        // Then - the input is spendable again
+        assertEquals(0, overlay.size());
+        assertFalse(overlay.isSpent(CONFIRMED_TX_HASH, 0));
+    }
+
+    @Test
+    void testNoPendingTransactionsReturnsConfirmedUtxos() {
+        var confirmed = List.of(utxo(CONFIRMED_TX_HASH, 0, walletAddress));
+        assertSame(confirmed, overlay.applyForAddress(walletAddress, confirmed));
+    }
+
+    private static Utxo utxo(String txHash, int outputIndex, String address) {
+        return Utxo.builder()
+                .txHash(txHash)
+                .outputIndex(outputIndex)
+                .address(address)
+                .amount(List.of(Amount.ada(10)))
+                .build();
+    }
+
+    private static Transaction transaction(String inputTxHash, int inputIndex, String changeAddress, String recipient) {
+        var outputs = new ArrayList<TransactionOutput>();
+        outputs.add(TransactionOutput.builder()
+                .address(recipient)
+                .value(Value.builder().coin(BigInteger.valueOf(2_000_000)).build())
+                .build());
+        outputs.add(TransactionOutput.builder()
+                .address(changeAddress)
+                .value(Value.builder().coin(BigInteger.valueOf(7_800_000)).build())
+                .build());
+
+        var inputs = new ArrayList<TransactionInput>();
+        inputs.add(TransactionInput.builder().transactionId(inputTxHash).index(inputIndex).build());
+
+        return Transaction.builder()
+                .body(TransactionBody.builder()
+                        .inputs(inputs)
+                        .outputs(outputs)
+                        .fee(BigInteger.valueOf(200_000))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.client.address.AddressProvider;
+import com.bloxbean.cardano.client.address.Credential;
+import com.bloxbean.cardano.client.common.model.Networks;
+import org.cardanofoundation.cip113.entity.ProtocolParamsEntity;
+import org.cardanofoundation.cip113.model.bootstrap.DirectoryMintParams;
+import org.cardanofoundation.cip113.model.bootstrap.ProgrammableLogicBaseParams;
+import org.cardanofoundation.cip113.model.bootstrap.ProtocolBootstrapParams;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UtxoFilterTest {
+
+    private static final String PROG_LOGIC_SCRIPT_HASH = "61a2cbe362f27305434a46a9e7f2e5c1bfb65be1ff1300c2b980fa24";
+
+    private static final String REGISTRY_POLICY_ID = "dcd843423d12fbcb7fb48d840a467606613b83370edbbbd06149f0b2";
+
+    private static final String BLACKLIST_POLICY_ID = "c82b36c860b3953c4ee8ddd870abd4be4720bc8c6593873fab2e8ab1";
+
+    private static final String STAKE_KEY_HASH = "53fdd464ebef4d4dab8e89d49230801f70cd5d835db4f0fe754816d9";
+
+    private static final String PROTOCOL_PARAMS_TX_HASH = "a".repeat(64);
+
+    private static final String OTHER_TX_HASH = "b".repeat(64);
+
+    private static final String DEPLOYMENT_ADDRESS = scriptAddress("59c2e4c3abe2a93a0914164233be40a475d1161e78f9c3e8a7ceebe5");
+
+    private static final String WALLET_ADDRESS = AddressProvider.getBaseAddress(Credential.fromKey(STAKE_KEY_HASH),
+            Credential.fromKey(STAKE_KEY_HASH), Networks.preview()).toBech32();
+
+    private final UtxoFilter.Snapshot snapshot = UtxoFilter.Snapshot.of(List.of(protocolParams()), List.of(),
+            List.of(PROTOCOL_PARAMS_TX_HASH), Set.of(BLACKLIST_POLICY_ID), DEPLOYMENT_ADDRESS);
+
+    @Test
+    void testProgrammableLogicBaseOutputsAreKept() {
+        // Given
+        var programmableAddress = AddressProvider.getBaseAddress(Credential.fromScript(PROG_LOGIC_SCRIPT_HASH),
+                Credential.fromKey(STAKE_KEY_HASH), Networks.preview()).toBech32();
+
+        // When / Then - whatever the stake credential and the value
+        assertTrue(snapshot.accepts(OTHER_TX_HASH, programmableAddress, List.of("lovelace")));
+    }
+
+    @Test
+    void testNodeOutputsAreKeptByTheirPolicy() {
+        // When / Then - registry and blacklist node NFTs, wherever they are held
+        assertTrue(snapshot.accepts(OTHER_TX_HASH, WALLET_ADDRESS, List.of("lovelace", REGISTRY_POLICY_ID + "abcd")));
+        assertTrue(snapshot.accepts(OTHER_TX_HASH, WALLET_ADDRESS, List.of("lovelace", BLACKLIST_POLICY_ID)));
+    }
+
+    @Test
+    void testProtocolTransactionsAndDeploymentAddressAreKept() {
+        // When / Then
+        assertTrue(snapshot.accepts(PROTOCOL_PARAMS_TX_HASH, WALLET_ADDRESS, List.of("lovelace")));
+        assertTrue(snapshot.accepts(OTHER_TX_HASH, DEPLOYMENT_ADDRESS, List.of("lovelace")));
+    }
+
+    @Test
+    void testOtherOutputsAreSkipped() {
+        // Given - a wallet holding some other token and an address that is no valid Shelley address
+        var otherUnit = "d".repeat(56) + "abcd";
+
+        // When / Then
+        assertFalse(snapshot.accepts(OTHER_TX_HASH, WALLET_ADDRESS, List.of("lovelace", otherUnit)));
+        assertFalse(snapshot.accepts(OTHER_TX_HASH, "Ae2tdPwUPEZ", List.of("lovelace")));
+    }
+
+    @Test
+    void testSnapshotFollowsNewProtocolVersions() {
+        // Given
+        var nextScriptHash = "e".repeat(56);
+        var nextVersion = ProtocolParamsEntity.builder()
+                .registryNodePolicyId("f".repeat(56))
+                .progLogicScriptHash(nextScriptHash)
+                .txHash("c".repeat(64))
+                .slot(2L)
+                .blockHeight(2L)
+                .build();
+
+        // When
+        var next = UtxoFilter.Snapshot.of(List.of(protocolParams(), nextVersion), List.of(),
+                List.of(PROTOCOL_PARAMS_TX_HASH), Set.of(), "");
+
+        // Then
+        assertTrue(next.accepts(OTHER_TX_HASH, scriptAddress(nextScriptHash), List.of("lovelace")));
+        assertTrue(next.accepts("c".repeat(64), WALLET_ADDRESS, List.of("lovelace")));
+        assertTrue(next.addresses().isEmpty());
+    }
+
+    @Test
+    void testBootstrappedRegistryNodesAreKeptBeforeTheirProtocolParams() {
+        // Given - a bootstrap whose protocol params are not indexed yet
+        var bootstrap = new ProtocolBootstrapParams(null, null, new ProgrammableLogicBaseParams(null, "e".repeat(56)),
+                null, new DirectoryMintParams(null, null, "f".repeat(56)), null, null, null, "c".repeat(64));
+
+        // When
+        var bootstrapped = UtxoFilter.Snapshot.of(List.of(), List.of(bootstrap), List.of(), Set.of(), "");
+
+        // Then
+        assertEquals(0, bootstrapped.versions());
+        assertTrue(bootstrapped.accepts(OTHER_TX_HASH, WALLET_ADDRESS, List.of("lovelace", "f".repeat(56) + "abcd")));
+        assertTrue(bootstrapped.accepts(OTHER_TX_HASH, scriptAddress("e".repeat(56)), List.of("lovelace")));
+        assertTrue(bootstrapped.txHashes().contains("c".repeat(64)));
+    }
+
+    private static ProtocolParamsEntity protocolParams() {
+        return ProtocolParamsEntity.builder()
+                .registryNodePolicyId(REGISTRY_POLICY_ID)
+                .progLogicScriptHash(PROG_LOGIC_SCRIPT_HASH)
+                .txHash(PROTOCOL_PARAMS_TX_HASH)
+                .slot(1L)
+                .blockHeight(1L)
+                .build();
+    }
+
+    private static String scriptAddress(String scriptHash) {
+        return AddressProvider.getEntAddress(Credential.fromScript(scriptHash), Networks.preview()).toBech32();
+    }
+}
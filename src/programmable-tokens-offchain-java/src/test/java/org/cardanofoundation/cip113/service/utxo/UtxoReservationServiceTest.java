@@ -0,0 +1,262 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import com.bloxbean.cardano.yaci.store.events.EventMetadata;
+import com.bloxbean.cardano.yaci.store.events.TransactionEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UtxoReservationServiceTest {
+
+    private static final String TX_HASH = "b".repeat(64);
+
+    private MutableClock clock;
+
+    private UtxoReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        reservationService = new UtxoReservationService(Duration.ofSeconds(60), 16, clock, null);
+    }
+
+    @Test
+    void testReserveAllIsAllOrNothing() {
+        // Given - first build holds output #1
+        assertTrue(reservationService.reserveAll("build-1", List.of(utxo(1, 5))));
+
+        // When - second build asks for #0 and #1
+        var reserved = reservationService.reserveAll("build-2", List.of(utxo(0, 5), utxo(1, 5)));
+
+        // Then - nothing is held by the second build
+        assertFalse(reserved);
+        assertFalse(reservationService.isReserved(TX_HASH, 0));
+        assertTrue(reservationService.isReserved(TX_HASH, 1));
+    }
+
+    @Test
+    void testFeeInputsAreAllUnleasedOutputs() {
+        // Given - another build holds output #1
+        assertTrue(reservationService.reserveAll("build-1", List.of(utxo(1, 15))));
+
+        // When - a wallet of less than 10 ADA in total is enough
+        var feeInputs = reservationService.reserveFeeInputs("build-2", List.of(utxo(0, 2), utxo(1, 15), utxo(2, 3)));
+
+        // Then
+        assertEquals(List.of(0, 2), feeInputs.stream().map(Utxo::getOutputIndex).toList());
+        assertTrue(reservationService.reserveFeeInputs("build-3", List.of(utxo(0, 2), utxo(1, 15), utxo(2, 3))).isEmpty());
+    }
+
+    @Test
+    void testReserveAssetSkipsLeasedOutputs() {
+        // Given - three outputs holding 5, 3 and 2 tokens, the largest one leased by another build
+        var unit = "c".repeat(56) + "abcd";
+        var outputs = List.of(tokenUtxo(0, unit, 5), tokenUtxo(1, unit, 3), tokenUtxo(2, unit, 2), utxo(3, 50));
+        assertTrue(reservationService.reserveAll("build-1", List.of(outputs.getFirst())));
+
+        // When
+        var reserved = reservationService.reserveAsset("build-2", outputs, unit, BigInteger.valueOf(4));
+
+        // Then - the free token outputs cover the quantity, the ADA only output is left alone
+        assertEquals(List.of(1, 2), reserved.stream().map(Utxo::getOutputIndex).toList());
+        assertTrue(reservationService.reserveAsset("build-3", outputs, unit, BigInteger.ONE).isEmpty());
+    }
+
+    @Test
+    void testReserveLovelaceReturnsEmptyWhenNotCovered() {
+        var reserved = reservationService.reserveLovelace("build-1", List.of(utxo(0, 2), utxo(1, 3)), BigInteger.valueOf(10_000_000));
+
+        assertTrue(reserved.isEmpty());
+        assertFalse(reservationService.isReserved(TX_HASH, 0));
+        assertFalse(reservationService.isReserved(TX_HASH, 1));
+    }
+
+    @Test
+    void testReleaseMakesOutputsAvailable() {
+        // Given
+        reservationService.reserveAll("build-1", List.of(utxo(0, 5)));
+
+        // When
+        reservationService.release("build-1");
+
+        // Then
+        assertFalse(reservationService.isReserved(TX_HASH, 0));
+        assertTrue(reservationService.reserveAll("build-2", List.of(utxo(0, 5))));
+    }
+
+    @Test
+    void testExpiredLeasesCanBeTakenOver() {
+        // Given
+        reservationService.reserveAll("build-1", List.of(utxo(0, 5)));
+
+        // When - the first build never finished
+        clock.advance(Duration.ofSeconds(61));
+
+        // Then
+        assertFalse(reservationService.isReserved(TX_HASH, 0));
+        assertTrue(reservationService.reserveAll("build-2", List.of(utxo(0, 5))));
+
+        // And the stale lease no longer belongs to the first build
+        reservationService.release("build-1");
+        assertTrue(reservationService.isReserved(TX_HASH, 0));
+    }
+
+    @Test
+    void testConcurrentBuildsNeverShareInputs() throws InterruptedException {
+        // Given - 50 wallet outputs of 10 ADA and 100 concurrent builds
+        var walletUtxos = new ArrayList<Utxo>();
+        for (int i = 0; i < 50; i++) {
+            walletUtxos.add(utxo(i, 10));
+        }
+        var selected = Collections.synchronizedList(new ArrayList<Utxo>());
+        var latch = new CountDownLatch(100);
+
+        // When
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 100; i++) {
+                var reservationId = "build-" + i;
+                executor.submit(() -> {
+                    selected.addAll(reservationService.reserveFeeInputs(reservationId, walletUtxos));
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        }
+
+        // Then - every output was handed out exactly once
+        assertEquals(50, selected.size());
+        assertEquals(50, selected.stream().map(Utxo::getOutputIndex).distinct().count());
+    }
+
+    @Test
+    void testBuiltTransactionKeepsLeasesUntilConfirmed() {
+        // Given
+        reservationService.reserveAll("build-1", List.of(utxo(0, 5)));
+
+        // When - the build succeeded and the transaction was handed out for signing
+        reservationService.completeBuild("build-1", "c".repeat(64));
+
+        // Then
+        assertTrue(reservationService.isReserved(TX_HASH, 0));
+        assertFalse(reservationService.reserveAll("build-2", List.of(utxo(0, 5))));
+
+        // And the lease goes once the transaction is in a block
+        reservationService.blockIndexed(transactionEvent("d".repeat(64), "c".repeat(64)));
+        assertFalse(reservationService.isReserved(TX_HASH, 0));
+    }
+
+    @Test
+    void testFailedBuildReleasesLeases() {
+        // Given
+        reservationService.reserveAll("build-1", List.of(utxo(0, 5)));
+
+        // When
+        reservationService.completeBuild("build-1", null);
+
+        // Then
+        assertFalse(reservationService.isReserved(TX_HASH, 0));
+    }
+
+    @Test
+    void testLeasesOfOtherNodesAreReserved() {
+        // Given - two builder nodes sharing one store
+        var sharedStore = new InMemorySharedStore();
+        var otherNode = new UtxoReservationService(Duration.ofSeconds(60), 16, clock, sharedStore);
+        var thisNode = new UtxoReservationService(Duration.ofSeconds(60), 16, clock, sharedStore);
+        otherNode.reserveAll("build-1", List.of(utxo(0, 5)));
+
+        // When
+        var free = thisNode.withoutReserved(List.of(utxo(0, 5), utxo(1, 5)));
+
+        // Then
+        assertTrue(thisNode.isReserved(TX_HASH, 0));
+        assertEquals(List.of(1), free.stream().map(Utxo::getOutputIndex).toList());
+        assertFalse(thisNode.reserveAll("build-2", List.of(utxo(0, 5))));
+    }
+
+    private static TransactionEvent transactionEvent(String... txHashes) {
+        return TransactionEvent.builder()
+                .metadata(EventMetadata.builder().slot(100L).block(10L).build())
+                .transactions(Arrays.stream(txHashes)
+                        .map(txHash -> Transaction.builder().txHash(txHash).build())
+                        .toList())
+                .build();
+    }
+
+    private static Utxo utxo(int outputIndex, int ada) {
+        return Utxo.builder()
+                .txHash(TX_HASH)
+                .outputIndex(outputIndex)
+                .amount(List.of(Amount.ada(ada)))
+                .build();
+    }
+
+    private static Utxo tokenUtxo(int outputIndex, String unit, long quantity) {
+        return Utxo.builder()
+                .txHash(TX_HASH)
+                .outputIndex(outputIndex)
+                .amount(List.of(Amount.ada(2), new Amount(unit, BigInteger.valueOf(quantity))))
+                .build();
+    }
+
+    private static class InMemorySharedStore implements SharedUtxoReservationStore {
+
+        private final Map<String, String> reservedBy = new HashMap<>();
+
+        private final Map<String, Instant> expiresAt = new HashMap<>();
+
+        @Override
+        public synchronized boolean tryReserve(String reservationId, String txHash, int outputIndex, Instant now, Instant expiry) {
+            var key = UtxoReservationService.key(txHash, outputIndex);
+            var holder = reservedBy.get(key);
+            if (holder != null && !holder.equals(reservationId) && !expiresAt.get(key).isBefore(now)) {
+                return false;
+            }
+            reservedBy.put(key, reservationId);
+            expiresAt.put(key, expiry);
+            return true;
+        }
+
+        @Override
+        public synchronized Set<String> findReserved(Collection<String> keys, Instant now) {
+            var reserved = new HashSet<String>();
+            keys.stream()
+                    .filter(key -> reservedBy.containsKey(key) && !expiresAt.get(key).isBefore(now))
+                    .forEach(reserved::add);
+            return reserved;
+        }
+
+        @Override
+        public synchronized void release(String reservationId, Collection<String> keys) {
+            keys.stream()
+                    .filter(key -> reservationId.equals(reservedBy.get(key)))
+                    .forEach(key -> {
+                        reservedBy.remove(key);
+                        expiresAt.remove(key);
+                    });
+        }
+
+        @Override
+        public synchronized void evictExpired(Instant now) {
+            expiresAt.entrySet().removeIf(entry -> {
+                if (entry.getValue().isBefore(now)) {
+                    reservedBy.remove(entry.getKey());
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.cardanofoundation.cip113.service.utxo;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletUtxoCacheTest {
+
+    @Test
+    void testSecondLookupIsServedFromMemory() {
+        // Given
+        var cache = new WalletUtxoCache(10);
+        var loads = new AtomicInteger();
+        Function<String, List<Utxo>> loader = address -> {
+            loads.incrementAndGet();
+            return List.of(utxo(address));
+        };
+
+        // When
+        var first = cache.getUnspent("addr_a", loader);
+        var second = cache.getUnspent("addr_a", loader);
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testLeastRecentlyUsedAddressIsDropped() {
+        // Given
+        var cache = new WalletUtxoCache(2);
+        var loads = new AtomicInteger();
+        Function<String, List<Utxo>> loader = address -> {
+            loads.incrementAndGet();
+            return List.of(utxo(address));
+        };
+        cache.getUnspent("addr_a", loader);
+        cache.getUnspent("addr_b", loader);
+        cache.getUnspent("addr_a", loader);
+
+        // When - a third address pushes out addr_b
+        cache.getUnspent("addr_c", loader);
+        cache.getUnspent("addr_a", loader);
+        cache.getUnspent("addr_b", loader);
+
+        // Then - addr_a stayed cached, addr_b was loaded again
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+    }
+
+    private static Utxo utxo(String address) {
+        return Utxo.builder()
+                .txHash("c".repeat(64))
+                .outputIndex(0)
+                .address(address)
+                .amount(List.of(Amount.ada(5)))
+                .build();
+    }
+}